@@ -20,10 +20,10 @@ package reciter;
 
 import java.net.HttpURLConnection;
 import java.net.URL;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.servlet.http.HttpServletRequest;
 
@@ -58,18 +58,10 @@ import reciter.database.dyanmodb.files.InstitutionAfidFileImport;
 import reciter.database.dyanmodb.files.MeshTermFileImport;
 import reciter.database.dyanmodb.files.ScienceMetrixDepartmentCategoryFileImport;
 import reciter.database.dyanmodb.files.ScienceMetrixFileImport;
-import reciter.database.dynamodb.model.Gender;
-import reciter.database.dynamodb.model.InstitutionAfid;
-import reciter.database.dynamodb.model.MeshTerm;
-import reciter.database.dynamodb.model.ScienceMetrix;
-import reciter.database.dynamodb.model.ScienceMetrixDepartmentCategory;
 import reciter.engine.EngineParameters;
+import reciter.engine.ReferenceData;
 import reciter.security.APIKey;
-import reciter.service.GenderService;
-import reciter.service.ScienceMetrixDepartmentCategoryService;
-import reciter.service.ScienceMetrixService;
-import reciter.service.dynamo.DynamoDbInstitutionAfidService;
-import reciter.service.dynamo.DynamoDbMeshTermService;
+import reciter.service.dynamo.ReferenceDataLoader;
 import reciter.utils.AffiliationStrategyUtils;
 import reciter.utils.DegreeYearStrategyUtils;
 
@@ -92,19 +84,7 @@ public class Application {
 //	}
 	
     @Autowired
-    private DynamoDbMeshTermService dynamoDbMeshTermService;
-	
-    @Autowired
-    private ScienceMetrixService scienceMetrixService;
-    
-    @Autowired
-    private ScienceMetrixDepartmentCategoryService scienceMetrixDepartmentCategoryService;
-    
-    @Autowired
-    private DynamoDbInstitutionAfidService dynamoDbInstitutionAfidService;
-    
-    @Autowired
-    private GenderService genderService;
+    private ReferenceDataLoader referenceDataLoader;
     
     @Value("${use.scopus.articles}")
     private boolean useScopusArticles;
@@ -124,6 +104,9 @@ public class Application {
 	@Value("${strategy.authorAffiliationScoringStrategy.institutionStopwords}")
     private String instAfflInstitutionStopwords;
     
+    @Value("${reciter.article.translation.threads:0}")
+    private int articleTranslationThreads;
+    
     private String scopusService = System.getenv("SCOPUS_SERVICE");
     
     private String pubmedService = System.getenv("PUBMED_SERVICE");
@@ -140,6 +123,22 @@ public class Application {
         return filter;
     }
     
+    /**
+     * Pool shared by all requests to translate the candidate articles of an identity in parallel.
+     * @return bounded ExecutorService for article translation
+     */
+    @Bean(name = "articleTranslationExecutor", destroyMethod = "shutdown")
+    public ExecutorService articleTranslationExecutor() {
+    	int threads = (articleTranslationThreads > 0) ? articleTranslationThreads : Runtime.getRuntime().availableProcessors();
+    	final AtomicInteger threadCount = new AtomicInteger();
+    	ThreadFactory threadFactory = runnable -> {
+    		Thread thread = new Thread(runnable, "article-translation-" + threadCount.incrementAndGet());
+    		thread.setDaemon(true);
+    		return thread;
+    	};
+    	return Executors.newFixedThreadPool(threads, threadFactory);
+    }
+    
     
 
 	public static void main(String[] args) {
@@ -267,43 +266,10 @@ public class Application {
 	@EventListener(ApplicationReadyEvent.class)
 	public void populateStaticEngineParameters() {
 		
-		log.info("Loading ScienceMetrixJournals to Engine Parameters");
-		List<ScienceMetrix> scienceMetrixJournals = scienceMetrixService.findAll();
-        if(scienceMetrixJournals != null) {
-        		EngineParameters.setScienceMetrixJournals(scienceMetrixJournals);
-        }
-        
-        log.info("Loading ScienceMetrixDepartmentCategories to Engine Parameters");
-		List<ScienceMetrixDepartmentCategory> scienceMetrixDeptCategories = scienceMetrixDepartmentCategoryService.findAll();
-        if(scienceMetrixDeptCategories != null) {
-        		EngineParameters.setScienceMetrixDepartmentCategories(scienceMetrixDeptCategories);
-        }
-        
-        log.info("Loading MeshTermCounts to Engine Parameters");
-        if (EngineParameters.getMeshCountMap() == null) {
-            List<MeshTerm> meshTerms = dynamoDbMeshTermService.findAll();
-            Map<String, Long> meshCountMap = new HashMap<>();
-            for (MeshTerm meshTerm : meshTerms) {
-                meshCountMap.put(meshTerm.getMesh(), meshTerm.getCount());
-            }
-            EngineParameters.setMeshCountMap(meshCountMap);
-        }
-        if(useGenderStrategy) {
-	        log.info("Loading GenderProbability to Engine Parameters");
-	        List<Gender> genders = genderService.findAll();
-	        if(genders != null && !genders.isEmpty()) {
-	        	EngineParameters.setGenders(genders);
-	        }
-        }
-        
-        if(useScopusArticles) {
-	        log.info("Loading ScopusInstitutionalAfids to Engine Parameters");
-	        List<InstitutionAfid> instAfids = dynamoDbInstitutionAfidService.findAll();
-	        if(instAfids != null && instAfids.size() > 0) {
-		        	Map<String, List<String>> institutionAfids = instAfids.stream().collect(Collectors.toMap(InstitutionAfid::getInstitution, InstitutionAfid::getAfids));
-		        	EngineParameters.setAfiliationNameToAfidMap(institutionAfids);
-	        }
-		}
+		ReferenceData referenceData = referenceDataLoader.load();
+		EngineParameters.setReferenceData(referenceData);
+		log.info("Indexed " + EngineParameters.getScienceMetrixIndex().getJournalIssnCount() + " ScienceMetrix ISSNs and " + EngineParameters.getScienceMetrixIndex().getSubfieldCount() + " subfields");
+		
 		DegreeYearStrategyUtils degreeYearStrategyUtils = new DegreeYearStrategyUtils();
 		EngineParameters.setDegreeYearDiscrepancyScoreMap(degreeYearStrategyUtils.getDegreeYearDiscrepancyScoreMap(this.degreeYearDiscrepancyScore));
 
@@ -13,6 +13,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import reciter.algorithm.cluster.model.ReCiterCluster;
+import reciter.algorithm.evidence.ArticleEvidenceTable;
+import reciter.algorithm.evidence.ArticleEvidenceTable.Evidence;
 import reciter.algorithm.evidence.StrategyContext;
 import reciter.algorithm.evidence.article.ReCiterArticleStrategyContext;
 import reciter.algorithm.evidence.article.RemoveReCiterArticleStrategyContext;
@@ -20,9 +22,10 @@ import reciter.algorithm.evidence.article.acceptedrejected.AcceptedRejectedStrat
 import reciter.algorithm.evidence.article.acceptedrejected.strategy.AcceptedRejectedStrategy;
 import reciter.algorithm.evidence.article.standardizedscore.StandardScoreStrategyContext;
 import reciter.algorithm.evidence.article.standardizedscore.strategy.StandardScoreStrategy;
-import reciter.algorithm.evidence.cluster.ClusterStrategyContext;
 import reciter.algorithm.evidence.cluster.averageclustering.AverageClusteringStrategyContext;
 import reciter.algorithm.evidence.cluster.averageclustering.strategy.AverageClusteringStrategy;
+import reciter.algorithm.evidence.targetauthor.TargetAuthorEvidence;
+import reciter.algorithm.evidence.targetauthor.TargetAuthorEvidenceCache;
 import reciter.algorithm.evidence.targetauthor.TargetAuthorStrategyContext;
 import reciter.algorithm.evidence.targetauthor.affiliation.AffiliationStrategyContext;
 import reciter.algorithm.evidence.targetauthor.affiliation.strategy.CommonAffiliationStrategy;
@@ -50,6 +53,7 @@ import reciter.algorithm.evidence.targetauthor.persontype.strategy.PersonTypeStr
 import reciter.engine.StrategyParameters;
 import reciter.model.article.ReCiterArticle;
 import reciter.model.identity.Identity;
+import reciter.utils.NameNormalizationCache;
 
 /**
  * @author szd2013
@@ -176,6 +180,26 @@ public class ReCiterArticleScorer extends AbstractArticleScorer {
 	
 	private StrategyContext coCitationStrategyContext;
 	
+	private final DepartmentStringMatchStrategy departmentStringMatchStrategy;
+	
+	private final JournalCategoryStrategy journalCategoryStrategy;
+	
+	private final CommonAffiliationStrategy commonAffiliationStrategy;
+	
+	private final AverageClusteringStrategy averageClusteringStrategy;
+	
+	private final StandardScoreStrategy standardScoreStrategy;
+	
+	/**
+	 * Standardized score an article must reach to be output
+	 */
+	private double filterScore = Double.NEGATIVE_INFINITY;
+	
+	/**
+	 * Department, journal category and affiliation evidence of articles scored in earlier runs. Not used if null.
+	 */
+	private TargetAuthorEvidenceCache targetAuthorEvidenceCache;
+	
 	private List<StrategyContext> strategyContexts;
 
 	private Set<Long> selectedClusterIds; // List of currently selected cluster ids.
@@ -183,24 +207,41 @@ public class ReCiterArticleScorer extends AbstractArticleScorer {
 	public static StrategyParameters strategyParameters;
 	
 	public ReCiterArticleScorer(Map<Long, ReCiterCluster> clusters, Identity identity, StrategyParameters strategyParameters) {
+		this(clusters, identity, strategyParameters, null);
+	}
+	
+	/**
+	 * @param nameNormalizationCache normalized names of this run shared with article translation. A new one is used if null.
+	 */
+	public ReCiterArticleScorer(Map<Long, ReCiterCluster> clusters, Identity identity, StrategyParameters strategyParameters, NameNormalizationCache nameNormalizationCache) {
 		
 		ReCiterArticleScorer.strategyParameters = strategyParameters;
+		if(nameNormalizationCache == null) {
+			nameNormalizationCache = new NameNormalizationCache(strategyParameters.getNameExcludedSuffixes());
+		}
+		
+		// Strategies that are skipped for clusters that cannot reach the filter score. They read the strategy parameters when created.
+		this.departmentStringMatchStrategy = new DepartmentStringMatchStrategy();
+		this.journalCategoryStrategy = new JournalCategoryStrategy();
+		this.commonAffiliationStrategy = new CommonAffiliationStrategy();
+		this.averageClusteringStrategy = new AverageClusteringStrategy();
+		this.standardScoreStrategy = new StandardScoreStrategy();
 		
 		// Strategies that select clusters that are similar to the target author.
 		this.emailStrategyContext = new EmailStrategyContext(new EmailStringMatchStrategy());
-		this.nameStrategyContext = new ScoreByNameStrategyContext(new ScoreByNameStrategy());
-		this.departmentStringMatchStrategyContext = new DepartmentStrategyContext(new DepartmentStringMatchStrategy());
-		this.journalCategoryStrategyContext = new JournalCategoryStrategyContext(new JournalCategoryStrategy());
+		this.nameStrategyContext = new ScoreByNameStrategyContext(new ScoreByNameStrategy(nameNormalizationCache));
+		this.departmentStringMatchStrategyContext = new DepartmentStrategyContext(this.departmentStringMatchStrategy);
+		this.journalCategoryStrategyContext = new JournalCategoryStrategyContext(this.journalCategoryStrategy);
 		this.knownRelationshipsStrategyContext = new KnownRelationshipStrategyContext(new KnownRelationshipStrategy());
-		this.affiliationStrategyContext = new AffiliationStrategyContext(new CommonAffiliationStrategy());
+		this.affiliationStrategyContext = new AffiliationStrategyContext(this.commonAffiliationStrategy);
 		this.genderStrategyContext = new GenderStrategyContext(new GenderStrategy());
 
 		// Using the following strategy contexts in sequence to reassign individual articles
 		// to selected clusters.
 		this.grantStrategyContext = new GrantStrategyContext(new GrantStrategy());
 		this.acceptedRejectedStrategyContext = new AcceptedRejectedStrategyContext(new AcceptedRejectedStrategy());
-		this.averageClusteringStrategyContext = new AverageClusteringStrategyContext(new AverageClusteringStrategy());
-		this.standardScoreStrategyContext = new StandardScoreStrategyContext(new StandardScoreStrategy());
+		this.averageClusteringStrategyContext = new AverageClusteringStrategyContext(this.averageClusteringStrategy);
+		this.standardScoreStrategyContext = new StandardScoreStrategyContext(this.standardScoreStrategy);
 		
 		int numArticles = 0;
 		for (ReCiterCluster reCiterCluster : clusters.values()) {
@@ -281,18 +322,6 @@ public class ReCiterArticleScorer extends AbstractArticleScorer {
 				((RemoveReCiterArticleStrategyContext) doctoralYearDiscrepancyStrategyContext).executeStrategy(reCiterArticles, identity);
 			}
 
-			if (strategyParameters.isDepartment()) {
-				((TargetAuthorStrategyContext) departmentStringMatchStrategyContext).executeStrategy(reCiterArticles, identity);
-			}
-			
-			if(strategyParameters.isJournalCategory()) {
-				((TargetAuthorStrategyContext) journalCategoryStrategyContext).executeStrategy(reCiterArticles, identity);
-			}
-			
-			if (strategyParameters.isAffiliation()) {
-				((TargetAuthorStrategyContext)affiliationStrategyContext).executeStrategy(reCiterArticles, identity);
-			}
-			
 			if (strategyParameters.isArticleSize()) {
 				((TargetAuthorStrategyContext) articleSizeStrategyContext).executeStrategy(reCiterArticles, identity);
 			}
@@ -309,15 +338,118 @@ public class ReCiterArticleScorer extends AbstractArticleScorer {
 				((TargetAuthorStrategyContext) genderStrategyContext).executeStrategy(reCiterArticles, identity);
 			}
 			
+			ArticleEvidenceTable evidenceTable = new ArticleEvidenceTable(reCiterArticles);
+			// The department, journal category and affiliation strategies run last so that they can be skipped for clusters that cannot be output
+			if (cannotReachFilterScore(entry.getValue(), identity, evidenceTable)) {
+				slf4jLogger.info("Cluster " + clusterId + " cannot reach the standardized score " + filterScore + ". Skipping department, journal category and affiliation strategies.");
+			} else {
+				// Articles whose evidence is cached get it applied, the strategies only run on the others
+				List<ReCiterArticle> unscoredArticles = reCiterArticles;
+				List<String> unscoredArticleKeys = null;
+				if (targetAuthorEvidenceCache != null) {
+					unscoredArticles = new ArrayList<>();
+					unscoredArticleKeys = new ArrayList<>();
+					for (ReCiterArticle reCiterArticle : reCiterArticles) {
+						String key = targetAuthorEvidenceCache.getKey(reCiterArticle);
+						TargetAuthorEvidence targetAuthorEvidence = targetAuthorEvidenceCache.getIfPresent(key);
+						if (targetAuthorEvidence != null) {
+							targetAuthorEvidence.applyTo(reCiterArticle);
+						} else {
+							unscoredArticles.add(reCiterArticle);
+							unscoredArticleKeys.add(key);
+						}
+					}
+					slf4jLogger.info("Cluster " + clusterId + " department, journal category and affiliation evidence found in cache for " + (reCiterArticles.size() - unscoredArticles.size()) + " of " + reCiterArticles.size() + " articles");
+				}
+				
+				if (!unscoredArticles.isEmpty()) {
+					if (strategyParameters.isDepartment()) {
+						((TargetAuthorStrategyContext) departmentStringMatchStrategyContext).executeStrategy(unscoredArticles, identity);
+					}
+					
+					if(strategyParameters.isJournalCategory()) {
+						((TargetAuthorStrategyContext) journalCategoryStrategyContext).executeStrategy(unscoredArticles, identity);
+					}
+					
+					if (strategyParameters.isAffiliation()) {
+						((TargetAuthorStrategyContext)affiliationStrategyContext).executeStrategy(unscoredArticles, identity);
+					}
+				}
+				
+				if (targetAuthorEvidenceCache != null) {
+					for (int i = 0; i < unscoredArticles.size(); i++) {
+						targetAuthorEvidenceCache.put(unscoredArticleKeys.get(i), TargetAuthorEvidence.of(unscoredArticles.get(i)));
+					}
+				}
+				evidenceTable.refresh(Evidence.ORGANIZATIONAL_UNIT, Evidence.JOURNAL_CATEGORY, Evidence.AFFILIATION);
+			}
+			
 			if (strategyParameters.isAverageClustering()) {
-				((ClusterStrategyContext) averageClusteringStrategyContext).executeStrategy(entry.getValue());
+				((AverageClusteringStrategyContext) averageClusteringStrategyContext).executeStrategy(entry.getValue(), evidenceTable);
 			}
 			
-			((ReCiterArticleStrategyContext) standardScoreStrategyContext).executeStrategy(reCiterArticles);
+			((StandardScoreStrategyContext) standardScoreStrategyContext).executeStrategy(evidenceTable);
 			
 			
 			slf4jLogger.info("******************** Cluster " + clusterId + " scoring ends **********************");
 		}
 		
 	}
+	
+	/**
+	 * Articles whose standardized score is below filterScore are not output, so the strategies whose evidence is only output
+	 * can be skipped for clusters where no article can reach it.
+	 * @param filterScore standardized score an article must reach to be output
+	 */
+	public void setFilterScore(double filterScore) {
+		this.filterScore = filterScore;
+	}
+	
+	/**
+	 * @param targetAuthorEvidenceCache cache the department, journal category and affiliation evidence of the articles is read
+	 * from and written to. These strategies are run on every article if null.
+	 */
+	public void setTargetAuthorEvidenceCache(TargetAuthorEvidenceCache targetAuthorEvidenceCache) {
+		this.targetAuthorEvidenceCache = targetAuthorEvidenceCache;
+	}
+	
+	/**
+	 * The department, journal category and affiliation strategies are the costliest ones. With every other evidence scored,
+	 * their evidence of every article of the cluster is bounded by the highest score they can give it, and the total article
+	 * scores of the cluster by the average clustering of these bounds.
+	 * @param reCiterCluster
+	 * @param identity
+	 * @param evidenceTable evidence of the articles of reCiterCluster scored by the other strategies
+	 * @return true if no article of the cluster can reach the filter score whatever these strategies score
+	 */
+	private boolean cannotReachFilterScore(ReCiterCluster reCiterCluster, Identity identity, ArticleEvidenceTable evidenceTable) {
+		if(!strategyParameters.isThresholdPruning() 
+				|| 
+				!strategyParameters.isAverageClustering()
+				||
+				!(strategyParameters.isDepartment() || strategyParameters.isJournalCategory() || strategyParameters.isAffiliation())) {
+			return false;
+		}
+		List<ReCiterArticle> reCiterArticles = reCiterCluster.getArticleCluster();
+		double[] missingEvidenceUpperBounds = new double[reCiterArticles.size()];
+		for(int i = 0; i < reCiterArticles.size(); i++) {
+			ReCiterArticle reCiterArticle = reCiterArticles.get(i);
+			//Accepted and rejected articles are output whatever their score when the gold standard is used as evidence
+			if(strategyParameters.isUseGoldStandardEvidence() && (reCiterArticle.getGoldStandard() == 1 || reCiterArticle.getGoldStandard() == -1)) {
+				return false;
+			}
+			if (strategyParameters.isDepartment()) {
+				missingEvidenceUpperBounds[i] += departmentStringMatchStrategy.getMaximumScore(reCiterArticle, identity);
+			}
+			if(strategyParameters.isJournalCategory()) {
+				missingEvidenceUpperBounds[i] += journalCategoryStrategy.getMaximumScore(reCiterArticle);
+			}
+			if (strategyParameters.isAffiliation()) {
+				missingEvidenceUpperBounds[i] += commonAffiliationStrategy.getMaximumScore(reCiterArticle);
+			}
+		}
+		double maximumTotalArticleScore = averageClusteringStrategy.getMaximumTotalArticleScore(reCiterCluster, evidenceTable, missingEvidenceUpperBounds);
+		//Total article scores are rounded to 2 places
+		return standardScoreStrategy.getMaximumStandardizedScore(maximumTotalArticleScore + 0.01) < filterScore;
+	}
 }
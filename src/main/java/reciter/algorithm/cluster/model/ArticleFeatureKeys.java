@@ -0,0 +1,75 @@
+package reciter.algorithm.cluster.model;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+import reciter.model.article.ReCiterArticleFeatures;
+
+/**
+ * Hash sets of the mesh major, co-author and affiliation features of an article, built once per article so that counting
+ * the features two articles share is a lookup per feature instead of a pass over the features of the other article.
+ * Features are counted with the multiplicity they have in the first article, as when the feature lists are intersected with
+ * {@link java.util.List#retainAll(Collection)}.
+ */
+class ArticleFeatureKeys {
+
+	private final ReCiterArticleFeatures features;
+
+	private final Set<String> meshMajor;
+
+	private final Set<String> coAuthors;
+
+	private final Set<Integer> affiliationIds;
+
+	ArticleFeatureKeys(ReCiterArticleFeatures features) {
+		this.features = features;
+		this.meshMajor = toSet(features.getMeshMajor());
+		this.coAuthors = toSet(features.getCoAuthors());
+		this.affiliationIds = toSet(features.getAffiliationIds());
+	}
+
+	/**
+	 * @param other
+	 * @return number of features of this article found in the other: 1 for the same journal, 1 for every mesh major and
+	 * co-author and 1 if any affiliation is shared
+	 */
+	int overlapCount(ArticleFeatureKeys other) {
+		int matchCount = 0;
+		//Journal Feature match
+		if(features.getJournalName() != null && !features.getJournalName().isEmpty() &&
+				other.features.getJournalName() != null && !other.features.getJournalName().isEmpty() &&
+				StringUtils.equalsIgnoreCase(features.getJournalName(), other.features.getJournalName())) {
+			matchCount++;
+		}
+		//MeshMajor Feature match
+		matchCount = matchCount + countContained(features.getMeshMajor(), other.meshMajor);
+		//Co-Author Feature match
+		matchCount = matchCount + countContained(features.getCoAuthors(), other.coAuthors);
+
+		if(features.getAffiliationIds() != null && !other.affiliationIds.isEmpty() &&
+				features.getAffiliationIds().stream().anyMatch(other.affiliationIds::contains)) {
+			matchCount = matchCount + 1;
+		}
+		return matchCount;
+	}
+
+	private static <T> Set<T> toSet(Collection<T> values) {
+		return (values == null || values.isEmpty()) ? Collections.emptySet() : new HashSet<>(values);
+	}
+
+	private static <T> int countContained(Collection<T> values, Set<T> keys) {
+		if(values == null || keys.isEmpty()) {
+			return 0;
+		}
+		int count = 0;
+		for(T value: values) {
+			if(keys.contains(value)) {
+				count++;
+			}
+		}
+		return count;
+	}
+}
@@ -19,13 +19,18 @@
 package reciter.algorithm.cluster.model;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.StringUtils;
 import reciter.algorithm.cluster.similarity.clusteringstrategy.article.MeshMajorClusteringStrategy;
+import reciter.algorithm.util.ArticleAuthorIndex;
 import reciter.engine.EngineParameters;
 import reciter.engine.ReCiterEngine;
 import reciter.model.article.ReCiterArticle;
@@ -54,6 +59,25 @@ public class ReCiterCluster implements Comparable<ReCiterCluster>{
 	
 	private double clusterReliabilityScore;
 
+	/**
+	 * Characters removed from a target author first name before counting it e.g. initials
+	 */
+	private static final Pattern FIRST_NAME_UPPER_CASE_AND_PUNCTUATION = Pattern.compile("[A-Z-.\"() ]");
+
+	/**
+	 * Number of articles in this cluster by target author first name, maintained as articles are added and clusters merged
+	 */
+	private final Map<String, Integer> targetAuthorFirstNameCounts = new HashMap<>();
+
+	private int targetAuthorFirstNameCount;
+
+	private int mostCommonTargetAuthorFirstNameCount;
+
+	/**
+	 * Feature key sets of the articles compared by the tepid strategy, built the first time an article is compared
+	 */
+	private final Map<ReCiterArticleFeatures, ArticleFeatureKeys> articleFeatureKeys = new IdentityHashMap<>();
+
 	/**
 	 * Cluster originator.
 	 */
@@ -157,39 +181,96 @@ public class ReCiterCluster implements Comparable<ReCiterCluster>{
 	 */
 	public int getMatchingCoauthorCount(ReCiterArticle currentArticle, Identity targetAuthor) {
 		int matchingCoauthorCount = 0;
+		// Only the authors of the currentArticle with the same last name are compared
+		ArticleAuthorIndex currentAuthorIndex = ArticleAuthorIndex.of(currentArticle);
 		// For each article in this cluster.
 		for (ReCiterArticle article : articleCluster) {
 			// For each author in this article.
 			for (ReCiterAuthor author : article.getArticleCoAuthors().getAuthors()) {
-				// For each author in the currentArticle.
-				for (ReCiterAuthor currentAuthor : currentArticle.getArticleCoAuthors().getAuthors()) {
-					
-					// Check if the names match.
-					if ((currentAuthor.getAuthorName().isFullNameMatch(author.getAuthorName()) 
-							&& !currentAuthor.getAuthorName().firstInitialLastNameMatch(targetAuthor.getPrimaryName())
-							&& !author.getAuthorName().firstInitialLastNameMatch(targetAuthor.getPrimaryName()))) {
-						
+				for (int position : currentAuthorIndex.getPositionsByLastName(author.getAuthorName().getLastName())) {
+					if (isMatchingCoauthor(currentAuthorIndex.getAuthor(position), author, targetAuthor)) {
 						matchingCoauthorCount += 1;
-						
-					} else if (currentAuthor.getAffiliation() != null && author.getAffiliation() != null) {
-						if (currentAuthor.getAuthorName().firstInitialLastNameMatch(author.getAuthorName())) {
-							
-//							slf4jLogger.debug(currentAuthor.getAuthorName() + " " + author.getAuthorName());
-								matchingCoauthorCount += 1;
-							}
 					}
 				}
 			}
 		}
 		return matchingCoauthorCount;
 	}
+	
+	private static boolean isMatchingCoauthor(ReCiterAuthor currentAuthor, ReCiterAuthor author, Identity targetAuthor) {
+		// Check if the names match.
+		if ((currentAuthor.getAuthorName().isFullNameMatch(author.getAuthorName()) 
+				&& !currentAuthor.getAuthorName().firstInitialLastNameMatch(targetAuthor.getPrimaryName())
+				&& !author.getAuthorName().firstInitialLastNameMatch(targetAuthor.getPrimaryName()))) {
+			
+			return true;
+			
+		} else if (currentAuthor.getAffiliation() != null && author.getAffiliation() != null) {
+			return currentAuthor.getAuthorName().firstInitialLastNameMatch(author.getAuthorName());
+		}
+		return false;
+	}
 
 	public void add(ReCiterArticle article) {
 		this.articleCluster.add(article);
+		countTargetAuthorFirstName(article);
 	}
 
 	public void addAll(List<ReCiterArticle> reCiterArticles) {
 		articleCluster.addAll(reCiterArticles);
+		reCiterArticles.forEach(this::countTargetAuthorFirstName);
+	}
+
+	/**
+	 * Merges the articles of another cluster into this one. The target author first name counts of both clusters are added
+	 * up without going through the articles again.
+	 * @param reCiterCluster
+	 */
+	public void addAll(ReCiterCluster reCiterCluster) {
+		articleCluster.addAll(reCiterCluster.getArticleCluster());
+		reCiterCluster.targetAuthorFirstNameCounts.forEach((firstName, count) -> countTargetAuthorFirstName(firstName, count));
+		articleFeatureKeys.putAll(reCiterCluster.articleFeatureKeys);
+	}
+
+	/**
+	 * @return number of articles in this cluster whose target author has a first name (other than initials)
+	 */
+	public int getTargetAuthorFirstNameCount() {
+		return targetAuthorFirstNameCount;
+	}
+
+	/**
+	 * @return share of the articles counted by {@link #getTargetAuthorFirstNameCount()} having the most common target author first name,
+	 * 0 if there are none
+	 * @see <a href= "https://github.com/wcmc-its/ReCiter/issues/232">Average Clustering Strategy</a>
+	 */
+	public double getMostCommonTargetAuthorFirstNameRatio() {
+		if(targetAuthorFirstNameCount == 0) {
+			return 0;
+		}
+		return (double) mostCommonTargetAuthorFirstNameCount/targetAuthorFirstNameCount;
+	}
+
+	private void countTargetAuthorFirstName(ReCiterArticle reCiterArticle) {
+		ReCiterAuthor reCiterAuthor = reCiterArticle.getArticleCoAuthors().getAuthors().stream().filter(author -> author.isTargetAuthor() == true).findAny().orElse(null);
+		if(reCiterAuthor != null
+				&&
+				reCiterAuthor.getAuthorName() != null
+				&&
+				reCiterAuthor.getAuthorName().getFirstName() != null) {
+			String firstName = FIRST_NAME_UPPER_CASE_AND_PUNCTUATION.matcher(reCiterAuthor.getAuthorName().getFirstName()).replaceAll("").trim();
+			if(!firstName.isEmpty()) {
+				countTargetAuthorFirstName(firstName, 1);
+			}
+		}
+	}
+
+	private void countTargetAuthorFirstName(String firstName, int count) {
+		int firstNameCount = targetAuthorFirstNameCounts.merge(firstName, count, Integer::sum);
+		targetAuthorFirstNameCount += count;
+		if(firstNameCount > mostCommonTargetAuthorFirstNameCount) {
+			mostCommonTargetAuthorFirstNameCount = firstNameCount;
+		}
 	}
 
 	public List<ReCiterArticle> getArticleCluster() {
@@ -198,6 +279,10 @@ public class ReCiterCluster implements Comparable<ReCiterCluster>{
 
 	public void setArticleCluster(List<ReCiterArticle> articleCluster) {
 		this.articleCluster = articleCluster;
+		targetAuthorFirstNameCounts.clear();
+		targetAuthorFirstNameCount = 0;
+		mostCommonTargetAuthorFirstNameCount = 0;
+		articleCluster.forEach(this::countTargetAuthorFirstName);
 	}
 
 	public double getClusterReliabilityScore() {
@@ -315,11 +400,12 @@ public class ReCiterCluster implements Comparable<ReCiterCluster>{
 			for(ReCiterArticle reCiterArticle: o.getArticleCluster()) {
 				for(ReCiterArticleMeshHeading meshHeading: reCiterArticle.getMeshHeadings()) {
 					if(meshHeading != null && MeshMajorClusteringStrategy.isMeshMajor(meshHeading)) {
-						match = this.articleCluster.stream().anyMatch(articleList -> articleList.getMeshHeadings() != null && 
+						//The count only depends on this heading so it is checked once before scanning the cluster
+						match = EngineParameters.getMeshCounts() != null && 
+								EngineParameters.getMeshCounts().isCountBelow(meshHeading.getDescriptorName().getDescriptorName(), 4000L) &&
+								this.articleCluster.stream().anyMatch(articleList -> articleList.getMeshHeadings() != null && 
 								articleList.getMeshHeadings().stream().anyMatch(mesh -> MeshMajorClusteringStrategy.isMeshMajor(mesh) && 
-								StringUtils.equalsIgnoreCase(mesh.getDescriptorName().getDescriptorName(), meshHeading.getDescriptorName().getDescriptorName()) && 
-								EngineParameters.getMeshCountMap() != null && EngineParameters.getMeshCountMap().containsKey(meshHeading.getDescriptorName().getDescriptorName()) &&
-								EngineParameters.getMeshCountMap().get(meshHeading.getDescriptorName().getDescriptorName()) < 4000L
+								StringUtils.equalsIgnoreCase(mesh.getDescriptorName().getDescriptorName(), meshHeading.getDescriptorName().getDescriptorName())
 								));
 					}
 					if(match) {
@@ -332,7 +418,7 @@ public class ReCiterCluster implements Comparable<ReCiterCluster>{
 			double clusterSimilarityScore = 0;
 			for(ReCiterArticle reCiterArticleo: o.getArticleCluster()) {
 				for(ReCiterArticle reCiterArticle: this.articleCluster) {
-					matchCount = reCiterOverlapCount(reCiterArticle.getReCiterArticleFeatures(), reCiterArticleo.getReCiterArticleFeatures());
+					matchCount = getArticleFeatureKeys(reCiterArticle).overlapCount(o.getArticleFeatureKeys(reCiterArticleo));
 					if(matchCount > 0 && reCiterArticle.getReCiterArticleFeatures().getFeatureCount() >= 3 && reCiterArticleo.getReCiterArticleFeatures().getFeatureCount() >= 3) {
 						clusterSimilarityScore = computeClusterSimilarityScore(reCiterArticle.getReCiterArticleFeatures().getFeatureCount(), reCiterArticleo.getReCiterArticleFeatures().getFeatureCount(), matchCount);
 						if(clusterSimilarityScore > ReCiterEngine.clusterSimilarityThresholdScore) {
@@ -345,42 +431,8 @@ public class ReCiterCluster implements Comparable<ReCiterCluster>{
 		return 0;
 	}
 	
-	private int reCiterOverlapCount(ReCiterArticleFeatures reCiterArticleFeature1, ReCiterArticleFeatures reCiterArticleFeature2) {
-		int matchCount = 0;
-		//Journal Feature match
-		if(reCiterArticleFeature1.getJournalName() != null && !reCiterArticleFeature1.getJournalName().isEmpty() && 
-				reCiterArticleFeature2.getJournalName() != null && !reCiterArticleFeature2.getJournalName().isEmpty() &&
-				StringUtils.equalsIgnoreCase(reCiterArticleFeature1.getJournalName(), reCiterArticleFeature2.getJournalName())) {
-			matchCount++;
-		}
-		//MeshMajor Feature match
-		if(reCiterArticleFeature1.getMeshMajor() != null && reCiterArticleFeature1.getMeshMajor().size() > 0 &&
-				reCiterArticleFeature2.getMeshMajor() != null && reCiterArticleFeature2.getMeshMajor().size() > 0) {
-			List<String> matchingMeshMajor = new ArrayList<String>(reCiterArticleFeature1.getMeshMajor());
-			matchingMeshMajor.retainAll(reCiterArticleFeature2.getMeshMajor());
-			if(matchingMeshMajor.size() > 0) {
-				matchCount = matchCount + matchingMeshMajor.size();
-			}
-		}
-		//Co-Author Feature match
-		if(reCiterArticleFeature1.getCoAuthors() != null && reCiterArticleFeature1.getCoAuthors().size() > 0 &&
-				reCiterArticleFeature2.getCoAuthors() != null && reCiterArticleFeature2.getCoAuthors().size() > 0) {
-			List<String> matchingCoAuthor = new ArrayList<String>(reCiterArticleFeature1.getCoAuthors());
-			matchingCoAuthor.retainAll(reCiterArticleFeature2.getCoAuthors());
-			if(matchingCoAuthor.size() > 0) {
-				matchCount = matchCount + matchingCoAuthor.size();
-			}
-		}
-		
-		if(reCiterArticleFeature1.getAffiliationIds() != null && reCiterArticleFeature1.getAffiliationIds().size() > 0 &&
-				reCiterArticleFeature2.getAffiliationIds() != null && reCiterArticleFeature2.getAffiliationIds().size() > 0) {
-			List<Integer> matchingAffiliationId = new ArrayList<Integer>(reCiterArticleFeature1.getAffiliationIds());
-			matchingAffiliationId.retainAll(reCiterArticleFeature2.getAffiliationIds());
-			if(matchingAffiliationId.size() > 0) {
-				matchCount = matchCount + 1;
-			}
-		}
-		return matchCount;
+	private ArticleFeatureKeys getArticleFeatureKeys(ReCiterArticle reCiterArticle) {
+		return articleFeatureKeys.computeIfAbsent(reCiterArticle.getReCiterArticleFeatures(), ArticleFeatureKeys::new);
 	}
 	
 	private double computeClusterSimilarityScore(int clusterScore1, int clusterScore2, int overlapScore) {
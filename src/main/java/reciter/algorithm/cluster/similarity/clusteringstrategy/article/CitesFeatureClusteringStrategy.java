@@ -48,7 +48,7 @@ public class CitesFeatureClusteringStrategy extends AbstractClusteringStrategy {
 					if(clusters.get(j) != null && clusters.get(i) != null) {
 						
 						if(clusters.get(i).compareTo(clusters.get(j),"cites") == 1) {
-							clusters.get(i).addAll(clusters.get(j).getArticleCluster());
+							clusters.get(i).addAll(clusters.get(j));
 							clusters.remove(j);
 						}
 					}
@@ -63,7 +63,7 @@ public class EmailFeatureClusteringStrategy extends AbstractClusteringStrategy {
 				else {
 					if(clusters.get(j) != null && clusters.get(index) != null) {
 						if(clusters.get(index).compareTo(clusters.get(j)) == 1) {
-							clusters.get(index).addAll(clusters.get(j).getArticleCluster());
+							clusters.get(index).addAll(clusters.get(j));
 							clusters.remove(j);
 						}
 					}
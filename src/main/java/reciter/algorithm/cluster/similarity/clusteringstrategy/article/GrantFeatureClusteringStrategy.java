@@ -62,7 +62,7 @@ public class GrantFeatureClusteringStrategy extends AbstractClusteringStrategy {
 				else {
 					if(clusters.get(i) != null && clusters.get(j) != null) {
 						if(clusters.get(i).compareTo(clusters.get(j), "grant") == 1) {
-							clusters.get(i).addAll(clusters.get(j).getArticleCluster());
+							clusters.get(i).addAll(clusters.get(j));
 							clusters.remove(j);
 						}
 					}
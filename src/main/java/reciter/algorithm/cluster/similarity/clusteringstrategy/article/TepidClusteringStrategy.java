@@ -48,7 +48,7 @@ public class TepidClusteringStrategy extends AbstractClusteringStrategy {
 					if(clusters.get(i) != null && clusters.get(j) != null) {
 						if(clusters.get(i).compareTo(clusters.get(j), "tepid") == 1) {
 							//slf4jLogger.info("Cluster " + i + " match with Cluster " + j);
-							clusters.get(i).addAll(clusters.get(j).getArticleCluster());
+							clusters.get(i).addAll(clusters.get(j));
 							clusters.remove(j);
 						}
 					}
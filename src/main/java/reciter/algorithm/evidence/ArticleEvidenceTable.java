@@ -0,0 +1,135 @@
+package reciter.algorithm.evidence;
+
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+import reciter.model.article.ReCiterArticle;
+
+/**
+ * Columnar view of the evidence scores of the articles of a cluster: one double array per evidence type, indexed by the
+ * position of the article in the cluster. It is read from the evidence attached to the articles once per cluster, so that
+ * summing, averaging and standardizing the scores are loops over arrays instead of walks over every article's evidence
+ * objects. Columns of strategies that run after the table is read are read again with {@link #refresh(Evidence...)}.
+ */
+public class ArticleEvidenceTable {
+
+	/**
+	 * Evidence scores that add up to the total article score. Missing evidence scores 0.
+	 */
+	public enum Evidence {
+		NAME(reCiterArticle -> (reCiterArticle.getAuthorNameEvidence() != null) ? reCiterArticle.getAuthorNameEvidence().getNameScoreTotal() : 0),
+		EMAIL(reCiterArticle -> (reCiterArticle.getEmailEvidence() != null) ? reCiterArticle.getEmailEvidence().getEmailMatchScore() : 0),
+		GENDER(reCiterArticle -> (reCiterArticle.getGenderEvidence() != null && reCiterArticle.getGenderEvidence().getGenderScoreIdentityArticleDiscrepancy() != null) ? reCiterArticle.getGenderEvidence().getGenderScoreIdentityArticleDiscrepancy() : 0),
+		GRANT(ReCiterArticle::getGrantEvidenceTotalScore),
+		RELATIONSHIP(reCiterArticle -> (reCiterArticle.getRelationshipEvidence() != null) ? reCiterArticle.getRelationshipEvidence().getRelationshipEvidenceTotalScore() : 0),
+		BACHELORS_YEAR_DISCREPANCY(reCiterArticle -> (reCiterArticle.getEducationYearEvidence() != null) ? reCiterArticle.getEducationYearEvidence().getDiscrepancyDegreeYearBachelorScore() : 0),
+		DOCTORAL_YEAR_DISCREPANCY(reCiterArticle -> (reCiterArticle.getEducationYearEvidence() != null) ? reCiterArticle.getEducationYearEvidence().getDiscrepancyDegreeYearDoctoralScore() : 0),
+		ORGANIZATIONAL_UNIT(ReCiterArticle::getOrganizationalEvidencesTotalScore),
+		AFFILIATION(ReCiterArticle::getAffiliationScore),
+		ARTICLE_COUNT(reCiterArticle -> (reCiterArticle.getArticleCountEvidence() != null) ? reCiterArticle.getArticleCountEvidence().getArticleCountScore() : 0),
+		PERSON_TYPE(reCiterArticle -> (reCiterArticle.getPersonTypeEvidence() != null) ? reCiterArticle.getPersonTypeEvidence().getPersonTypeScore() : 0),
+		JOURNAL_CATEGORY(reCiterArticle -> (reCiterArticle.getJournalCategoryEvidence() != null) ? reCiterArticle.getJournalCategoryEvidence().getJournalSubfieldScore() : 0),
+		FEEDBACK_ACCEPTED(reCiterArticle -> (reCiterArticle.getAcceptedRejectedEvidence() != null && reCiterArticle.getAcceptedRejectedEvidence().getFeedbackScoreAccepted() != null) ? reCiterArticle.getAcceptedRejectedEvidence().getFeedbackScoreAccepted() : 0),
+		FEEDBACK_REJECTED(reCiterArticle -> (reCiterArticle.getAcceptedRejectedEvidence() != null && reCiterArticle.getAcceptedRejectedEvidence().getFeedbackScoreRejected() != null) ? reCiterArticle.getAcceptedRejectedEvidence().getFeedbackScoreRejected() : 0),
+		FEEDBACK_NULL(reCiterArticle -> (reCiterArticle.getAcceptedRejectedEvidence() != null && reCiterArticle.getAcceptedRejectedEvidence().getFeedbackScoreNull() != null) ? reCiterArticle.getAcceptedRejectedEvidence().getFeedbackScoreNull() : 0);
+
+		private final ToDoubleFunction<ReCiterArticle> score;
+
+		Evidence(ToDoubleFunction<ReCiterArticle> score) {
+			this.score = score;
+		}
+	}
+
+	private final List<ReCiterArticle> reCiterArticles;
+
+	private final double[][] scores;
+
+	private final double[] totalArticleScoresNonStandardized;
+
+	/**
+	 * @param reCiterArticles articles of a cluster with their evidence
+	 */
+	public ArticleEvidenceTable(List<ReCiterArticle> reCiterArticles) {
+		this.reCiterArticles = reCiterArticles;
+		int size = reCiterArticles.size();
+		Evidence[] evidences = Evidence.values();
+		this.scores = new double[evidences.length][size];
+		this.totalArticleScoresNonStandardized = new double[size];
+		for(int i = 0; i < size; i++) {
+			ReCiterArticle reCiterArticle = reCiterArticles.get(i);
+			for(Evidence evidence: evidences) {
+				scores[evidence.ordinal()][i] = evidence.score.applyAsDouble(reCiterArticle);
+			}
+			totalArticleScoresNonStandardized[i] = reCiterArticle.getTotalArticleScoreNonStandardized();
+		}
+	}
+
+	/**
+	 * Reads the scores of the evidences from the articles again, after the strategies giving them have run
+	 * @param evidences
+	 */
+	public void refresh(Evidence... evidences) {
+		for(Evidence evidence: evidences) {
+			double[] column = scores[evidence.ordinal()];
+			for(int i = 0; i < column.length; i++) {
+				column[i] = evidence.score.applyAsDouble(reCiterArticles.get(i));
+			}
+		}
+	}
+
+	public int size() {
+		return reCiterArticles.size();
+	}
+
+	/**
+	 * @param ordinal position of the article in the cluster
+	 */
+	public ReCiterArticle getArticle(int ordinal) {
+		return reCiterArticles.get(ordinal);
+	}
+
+	/**
+	 * @return score of the evidence for every article, by position in the cluster. The array is shared with the table.
+	 */
+	public double[] getScores(Evidence evidence) {
+		return scores[evidence.ordinal()];
+	}
+
+	/**
+	 * Adds up evidence scores article by article. Scores are added in the order of the evidences so that the totals are the
+	 * same as adding the scores of each article in that order.
+	 * @param evidences
+	 * @return total score for every article, by position in the cluster
+	 */
+	public double[] sum(Evidence... evidences) {
+		int size = size();
+		if(evidences.length == 0) {
+			return new double[size];
+		}
+		double[] totals = getScores(evidences[0]).clone();
+		for(int e = 1; e < evidences.length; e++) {
+			double[] column = getScores(evidences[e]);
+			for(int i = 0; i < size; i++) {
+				totals[i] += column[i];
+			}
+		}
+		return totals;
+	}
+
+	/**
+	 * @return total article score before standardization for every article, by position in the cluster. The array is shared with the table.
+	 */
+	public double[] getTotalArticleScoresNonStandardized() {
+		return totalArticleScoresNonStandardized;
+	}
+
+	/**
+	 * Sets the total article score before standardization of the article and of its row in the table
+	 * @param ordinal position of the article in the cluster
+	 * @param totalArticleScoreNonStandardized
+	 */
+	public void setTotalArticleScoreNonStandardized(int ordinal, double totalArticleScoreNonStandardized) {
+		totalArticleScoresNonStandardized[ordinal] = totalArticleScoreNonStandardized;
+		reCiterArticles.get(ordinal).setTotalArticleScoreNonStandardized(totalArticleScoreNonStandardized);
+	}
+}
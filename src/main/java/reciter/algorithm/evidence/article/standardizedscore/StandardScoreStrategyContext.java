@@ -2,15 +2,16 @@ package reciter.algorithm.evidence.article.standardizedscore;
 
 import java.util.List;
 
-import reciter.algorithm.evidence.article.ReCiterArticleStrategy;
+import reciter.algorithm.evidence.ArticleEvidenceTable;
 import reciter.algorithm.evidence.article.ReCiterArticleStrategyContext;
+import reciter.algorithm.evidence.article.standardizedscore.strategy.StandardScoreStrategy;
 import reciter.model.article.ReCiterArticle;
 
 public class StandardScoreStrategyContext implements ReCiterArticleStrategyContext {
 	
-	private final ReCiterArticleStrategy strategy;
+	private final StandardScoreStrategy strategy;
 	
-	public StandardScoreStrategyContext(ReCiterArticleStrategy strategy) {
+	public StandardScoreStrategyContext(StandardScoreStrategy strategy) {
 		this.strategy = strategy;
 	}
 
@@ -32,4 +33,8 @@ public class StandardScoreStrategyContext implements ReCiterArticleStrategyConte
 		return strategy.executeStrategy(reCiterArticles);
 	}
 
+	public double executeStrategy(ArticleEvidenceTable evidenceTable) {
+		return strategy.executeStrategy(evidenceTable);
+	}
+
 }
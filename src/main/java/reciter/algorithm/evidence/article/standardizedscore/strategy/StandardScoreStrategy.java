@@ -7,6 +7,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import reciter.algorithm.cluster.article.scorer.ReCiterArticleScorer;
+import reciter.algorithm.evidence.ArticleEvidenceTable;
 import reciter.algorithm.evidence.article.AbstractReCiterArticleStrategy;
 import reciter.algorithm.evidence.article.acceptedrejected.strategy.AcceptedRejectedStrategy;
 import reciter.model.article.ReCiterArticle;
@@ -16,10 +17,21 @@ public class StandardScoreStrategy extends AbstractReCiterArticleStrategy {
 	private static final Logger slf4jLogger = LoggerFactory.getLogger(AcceptedRejectedStrategy.class);
 	
 	private final String[] standardizedScoreMapping = ReCiterArticleScorer.strategyParameters.getStandardizedScoreMapping().trim().split(",");
-	private List<String> standardizedScores;
+	/**
+	 * Lower bounds of the standardized scores 1, 2, 3... parsed once from standardizedScoreMapping
+	 */
+	private final double[] standardizedScoreBreakpoints;
+	private final boolean sortedBreakpoints;
 	
 	public StandardScoreStrategy() {
-		this.standardizedScores = Arrays.asList(standardizedScoreMapping);
+		this.standardizedScoreBreakpoints = Arrays.stream(standardizedScoreMapping).mapToDouble(Double::parseDouble).toArray();
+		boolean sorted = true;
+		for(int i = 1; i < standardizedScoreBreakpoints.length; i++) {
+			if(!(standardizedScoreBreakpoints[i - 1] <= standardizedScoreBreakpoints[i])) {
+				sorted = false;
+			}
+		}
+		this.sortedBreakpoints = sorted;
 	}
 
 	@Override
@@ -36,23 +48,63 @@ public class StandardScoreStrategy extends AbstractReCiterArticleStrategy {
 
 	@Override
 	public double executeStrategy(List<ReCiterArticle> reCiterArticles) {
-		reCiterArticles.stream().forEach(reCiterArticle -> {
-			double standardizedScore = 1;
-			for(int i = 0; i < this.standardizedScores.size(); i++) {
-					if(i == this.standardizedScores.size() - 1) {
-						if(reCiterArticle.getTotalArticleScoreNonStandardized() >= Double.parseDouble(this.standardizedScores.get(i))) {
-							reCiterArticle.setTotalArticleScoreStandardized(standardizedScore);
-						}
-					} else if(reCiterArticle.getTotalArticleScoreNonStandardized() >= Double.parseDouble(this.standardizedScores.get(i)) 
-							&&
-							reCiterArticle.getTotalArticleScoreNonStandardized() < Double.parseDouble(this.standardizedScores.get(i + 1))) {
-						reCiterArticle.setTotalArticleScoreStandardized(standardizedScore);
-					}
-					standardizedScore++;
+		return executeStrategy(new ArticleEvidenceTable(reCiterArticles));
+	}
+
+	/**
+	 * @param evidenceTable articles with their total article score before standardization
+	 */
+	public double executeStrategy(ArticleEvidenceTable evidenceTable) {
+		double[] totalArticleScoresNonStandardized = evidenceTable.getTotalArticleScoresNonStandardized();
+		for(int ordinal = 0; ordinal < totalArticleScoresNonStandardized.length; ordinal++) {
+			int standardizedScore = getStandardizedScore(totalArticleScoresNonStandardized[ordinal]);
+			if(standardizedScore > 0) {
+				evidenceTable.getArticle(ordinal).setTotalArticleScoreStandardized((double) standardizedScore);
 			}
-			
-		});
+		}
 		return 0;
 	}
 
+	/**
+	 * @param totalArticleScoreNonStandardized upper bound of a total article score
+	 * @return upper bound of the standardized score of any total article score not greater than totalArticleScoreNonStandardized.
+	 * The standardized score only grows with the total score when the terms of the mapping are in ascending order, otherwise it
+	 * is the highest standardized score.
+	 */
+	public int getMaximumStandardizedScore(double totalArticleScoreNonStandardized) {
+		return sortedBreakpoints ? getStandardizedScore(totalArticleScoreNonStandardized) : standardizedScoreBreakpoints.length;
+	}
+
+	/**
+	 * An article scores n when its total score is between the nth (inclusive) and the n+1th (exclusive) term of the mapping,
+	 * or at least the last term. With the terms in ascending order this is the number of terms not greater than the score,
+	 * found by binary search.
+	 * @param totalArticleScoreNonStandardized
+	 * @return standardized score, 0 if the score is below the first term
+	 */
+	private int getStandardizedScore(double totalArticleScoreNonStandardized) {
+		if(!sortedBreakpoints) {
+			int standardizedScore = 0;
+			for(int i = 0; i < standardizedScoreBreakpoints.length; i++) {
+				if(totalArticleScoreNonStandardized >= standardizedScoreBreakpoints[i]
+						&&
+						(i == standardizedScoreBreakpoints.length - 1 || totalArticleScoreNonStandardized < standardizedScoreBreakpoints[i + 1])) {
+					standardizedScore = i + 1;
+				}
+			}
+			return standardizedScore;
+		}
+		int low = 0;
+		int high = standardizedScoreBreakpoints.length;
+		while(low < high) {
+			int mid = (low + high) >>> 1;
+			if(standardizedScoreBreakpoints[mid] <= totalArticleScoreNonStandardized) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
 }
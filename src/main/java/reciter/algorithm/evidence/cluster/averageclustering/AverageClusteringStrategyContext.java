@@ -1,14 +1,15 @@
 package reciter.algorithm.evidence.cluster.averageclustering;
 
 import reciter.algorithm.cluster.model.ReCiterCluster;
-import reciter.algorithm.evidence.cluster.ClusterStrategy;
+import reciter.algorithm.evidence.ArticleEvidenceTable;
 import reciter.algorithm.evidence.cluster.ClusterStrategyContext;
+import reciter.algorithm.evidence.cluster.averageclustering.strategy.AverageClusteringStrategy;
 
 public class AverageClusteringStrategyContext implements ClusterStrategyContext {
 	
-	private final ClusterStrategy strategy;
+	private final AverageClusteringStrategy strategy;
 	
-	public AverageClusteringStrategyContext(ClusterStrategy strategy) {
+	public AverageClusteringStrategyContext(AverageClusteringStrategy strategy) {
 		this.strategy = strategy;
 	}
 
@@ -19,6 +20,11 @@ public class AverageClusteringStrategyContext implements ClusterStrategyContext
 		return 0;
 	}
 
+	public double executeStrategy(ReCiterCluster reCiterCluster, ArticleEvidenceTable evidenceTable) {
+		this.strategy.executeStrategy(reCiterCluster, evidenceTable);
+		return 0;
+	}
+
 
 
 }
@@ -1,21 +1,17 @@
 package reciter.algorithm.evidence.cluster.averageclustering.strategy;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Arrays;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import reciter.algorithm.cluster.article.scorer.ReCiterArticleScorer;
 import reciter.algorithm.cluster.model.ReCiterCluster;
+import reciter.algorithm.evidence.ArticleEvidenceTable;
+import reciter.algorithm.evidence.ArticleEvidenceTable.Evidence;
 import reciter.algorithm.evidence.cluster.AbstractClusterStrategy;
 import reciter.engine.analysis.evidence.AverageClusteringEvidence;
 import reciter.model.article.ReCiterArticle;
-import reciter.model.article.ReCiterAuthor;
 
 /**
  * @author szd2013
@@ -25,107 +21,105 @@ public class AverageClusteringStrategy extends AbstractClusterStrategy {
 	
 	private static final Logger slf4jLogger = LoggerFactory.getLogger(AverageClusteringStrategy.class);
 
+	/**
+	 * Evidence added up for the total article score when gold standard evidence is used
+	 */
+	private static final Evidence[] GOLD_STANDARD_ARTICLE_SCORE_EVIDENCE = {Evidence.NAME, Evidence.EMAIL, Evidence.GENDER, Evidence.GRANT,
+			Evidence.RELATIONSHIP, Evidence.BACHELORS_YEAR_DISCREPANCY, Evidence.DOCTORAL_YEAR_DISCREPANCY, Evidence.ORGANIZATIONAL_UNIT,
+			Evidence.AFFILIATION, Evidence.ARTICLE_COUNT, Evidence.PERSON_TYPE, Evidence.JOURNAL_CATEGORY,
+			Evidence.FEEDBACK_ACCEPTED, Evidence.FEEDBACK_REJECTED, Evidence.FEEDBACK_NULL};
+
+	private static final Evidence[] ARTICLE_SCORE_EVIDENCE = {Evidence.NAME, Evidence.EMAIL, Evidence.GENDER, Evidence.GRANT,
+			Evidence.RELATIONSHIP, Evidence.BACHELORS_YEAR_DISCREPANCY, Evidence.DOCTORAL_YEAR_DISCREPANCY, Evidence.ORGANIZATIONAL_UNIT,
+			Evidence.AFFILIATION, Evidence.ARTICLE_COUNT, Evidence.JOURNAL_CATEGORY, Evidence.PERSON_TYPE};
+
 	@Override
 	public double executeStrategy(ReCiterCluster reCiterCluster) {
-			
-			List<String> articleAuthorFirstNames = new ArrayList<String>();
-			reCiterCluster.getArticleCluster().stream().forEach(reCiterArticle -> {
-				if(reCiterCluster.getArticleCluster().size() > 1) {
-					populateArticeAuthorFirstName(reCiterArticle, articleAuthorFirstNames);
-				}
-				if(ReCiterArticleScorer.strategyParameters.isUseGoldStandardEvidence()) {
-					double totalArticleScoreWithoutClustering =  ((reCiterArticle.getAuthorNameEvidence() != null)?(reCiterArticle.getAuthorNameEvidence().getNameScoreTotal()):0) +
-							((reCiterArticle.getEmailEvidence() != null)?reCiterArticle.getEmailEvidence().getEmailMatchScore():0) +
-							((reCiterArticle.getGenderEvidence() != null && reCiterArticle.getGenderEvidence().getGenderScoreIdentityArticleDiscrepancy() != null)?reCiterArticle.getGenderEvidence().getGenderScoreIdentityArticleDiscrepancy():0) +
-							reCiterArticle.getGrantEvidenceTotalScore() +
-							((reCiterArticle.getRelationshipEvidence() != null)?reCiterArticle.getRelationshipEvidence().getRelationshipEvidenceTotalScore():0) +
-							((reCiterArticle.getEducationYearEvidence() != null)?reCiterArticle.getEducationYearEvidence().getDiscrepancyDegreeYearBachelorScore():0) +
-							((reCiterArticle.getEducationYearEvidence() != null)?reCiterArticle.getEducationYearEvidence().getDiscrepancyDegreeYearDoctoralScore():0) +
-							reCiterArticle.getOrganizationalEvidencesTotalScore() +
-							reCiterArticle.getAffiliationScore() + 
-							reCiterArticle.getArticleCountEvidence().getArticleCountScore() +
-							((reCiterArticle.getPersonTypeEvidence() != null)?reCiterArticle.getPersonTypeEvidence().getPersonTypeScore():0) +
-							((reCiterArticle.getJournalCategoryEvidence() != null)?reCiterArticle.getJournalCategoryEvidence().getJournalSubfieldScore():0) +
-							((reCiterArticle.getAcceptedRejectedEvidence().getFeedbackScoreAccepted() !=null)?reCiterArticle.getAcceptedRejectedEvidence().getFeedbackScoreAccepted():0) + 
-							((reCiterArticle.getAcceptedRejectedEvidence().getFeedbackScoreRejected() !=null)?reCiterArticle.getAcceptedRejectedEvidence().getFeedbackScoreRejected():0) +
-							((reCiterArticle.getAcceptedRejectedEvidence().getFeedbackScoreNull() !=null)?reCiterArticle.getAcceptedRejectedEvidence().getFeedbackScoreNull():0);
-					
-					reCiterArticle.setTotalArticleScoreWithoutClustering(totalArticleScoreWithoutClustering);
-				} else {
-					double totalArticleScoreWithoutClustering = ((reCiterArticle.getAuthorNameEvidence() != null)?(reCiterArticle.getAuthorNameEvidence().getNameScoreTotal()):0) + 
-							((reCiterArticle.getEmailEvidence() != null)?reCiterArticle.getEmailEvidence().getEmailMatchScore():0) + 
-							((reCiterArticle.getGenderEvidence() != null && reCiterArticle.getGenderEvidence().getGenderScoreIdentityArticleDiscrepancy() != null)?reCiterArticle.getGenderEvidence().getGenderScoreIdentityArticleDiscrepancy():0) +
-							reCiterArticle.getGrantEvidenceTotalScore() +
-							((reCiterArticle.getRelationshipEvidence() != null)?reCiterArticle.getRelationshipEvidence().getRelationshipEvidenceTotalScore():0) +
-							((reCiterArticle.getEducationYearEvidence() != null)?reCiterArticle.getEducationYearEvidence().getDiscrepancyDegreeYearBachelorScore():0) +
-							((reCiterArticle.getEducationYearEvidence() != null)?reCiterArticle.getEducationYearEvidence().getDiscrepancyDegreeYearDoctoralScore():0) +
-							reCiterArticle.getOrganizationalEvidencesTotalScore() +
-							reCiterArticle.getAffiliationScore() +
-							reCiterArticle.getArticleCountEvidence().getArticleCountScore() +
-							((reCiterArticle.getJournalCategoryEvidence() != null)?reCiterArticle.getJournalCategoryEvidence().getJournalSubfieldScore():0) +
-							((reCiterArticle.getPersonTypeEvidence() != null)?reCiterArticle.getPersonTypeEvidence().getPersonTypeScore():0);
-					
-					reCiterArticle.setTotalArticleScoreWithoutClustering(totalArticleScoreWithoutClustering);
-				}
-						
-			});
-			
-			if(articleAuthorFirstNames.size() > 0) {
-				Map<String, Long> firstNameFrequencyCounts = articleAuthorFirstNames.stream().collect(Collectors.groupingBy(e -> e , Collectors.counting()));
-				if(firstNameFrequencyCounts.size() > 0) {
-					Long maxFrequencyCount = Collections.max(firstNameFrequencyCounts.entrySet(), Comparator.comparingLong(Map.Entry::getValue)).getValue();
-					if(articleAuthorFirstNames.size() > 0) {
-						double mostCommonNameRatio = (double) maxFrequencyCount.longValue()/articleAuthorFirstNames.size();
-						reCiterCluster.setClusterReliabilityScore(Math.pow(mostCommonNameRatio, ReCiterArticleScorer.strategyParameters.getClusterReliabilityScoreFactor()));
-					}
-				}
-			}
+		return executeStrategy(reCiterCluster, new ArticleEvidenceTable(reCiterCluster.getArticleCluster()));
+	}
+
+	/**
+	 * @param reCiterCluster
+	 * @param evidenceTable evidence of the articles of reCiterCluster
+	 */
+	public double executeStrategy(ReCiterCluster reCiterCluster, ArticleEvidenceTable evidenceTable) {
+		double[] totalArticleScoresWithoutClustering = evidenceTable.sum(ReCiterArticleScorer.strategyParameters.isUseGoldStandardEvidence() ? GOLD_STANDARD_ARTICLE_SCORE_EVIDENCE : ARTICLE_SCORE_EVIDENCE);
+
+		//Target author first name counts are kept up to date by the cluster as articles are added and clusters merged
+		if(reCiterCluster.getArticleCluster().size() > 1 && reCiterCluster.getTargetAuthorFirstNameCount() > 0) {
+			double mostCommonNameRatio = reCiterCluster.getMostCommonTargetAuthorFirstNameRatio();
+			reCiterCluster.setClusterReliabilityScore(Math.pow(mostCommonNameRatio, ReCiterArticleScorer.strategyParameters.getClusterReliabilityScoreFactor()));
+		}
 		
-		double averageClusterScore = getAverageClusterScore(reCiterCluster);
-		populateAverageClusterEvidence(reCiterCluster, averageClusterScore);
+		double averageClusterScore = getAverageClusterScore(totalArticleScoresWithoutClustering);
+		populateAverageClusterEvidence(reCiterCluster, evidenceTable, totalArticleScoresWithoutClustering, averageClusterScore);
 		
 		
 		return 0;
 	}
 	
-	private double getAverageClusterScore(ReCiterCluster reCiterCluster) {
-		double totalClusterScore = reCiterCluster.getArticleCluster().stream().mapToDouble(reCiterArticle -> reCiterArticle.getTotalArticleScoreWithoutClustering()).sum();
-		return totalClusterScore/reCiterCluster.getArticleCluster().size();
+	/**
+	 * Upper bound of the total article scores {@link #executeStrategy(ReCiterCluster, ArticleEvidenceTable)} gives the articles
+	 * of the cluster when some evidence has not been scored yet. As long as the cluster score factor scaled by the cluster
+	 * reliability is between 0 and 1, the total article score of an article only grows with the evidence scores of the articles
+	 * of its cluster, so it is bounded by scoring the missing evidence of every article with its upper bound.
+	 * @param reCiterCluster
+	 * @param evidenceTable evidence of the articles of reCiterCluster scored so far
+	 * @param missingEvidenceUpperBounds upper bound of the sum of the missing evidence scores, by position in the cluster. Each must be at least 0.
+	 * @return highest total article score before standardization of the cluster, or positive infinity if it cannot be bounded
+	 */
+	public double getMaximumTotalArticleScore(ReCiterCluster reCiterCluster, ArticleEvidenceTable evidenceTable, double[] missingEvidenceUpperBounds) {
+		double[] totalArticleScoresWithoutClustering = evidenceTable.sum(ReCiterArticleScorer.strategyParameters.isUseGoldStandardEvidence() ? GOLD_STANDARD_ARTICLE_SCORE_EVIDENCE : ARTICLE_SCORE_EVIDENCE);
+		for(int i = 0; i < totalArticleScoresWithoutClustering.length; i++) {
+			totalArticleScoresWithoutClustering[i] += missingEvidenceUpperBounds[i];
+		}
+		double clusterReliabilityScore = reCiterCluster.getClusterReliabilityScore();
+		if(reCiterCluster.getArticleCluster().size() > 1 && reCiterCluster.getTargetAuthorFirstNameCount() > 0) {
+			clusterReliabilityScore = Math.pow(reCiterCluster.getMostCommonTargetAuthorFirstNameRatio(), ReCiterArticleScorer.strategyParameters.getClusterReliabilityScoreFactor());
+		}
+		double clusterScoreFactor = ReCiterArticleScorer.strategyParameters.getClusterScoreFactor() * ((clusterReliabilityScore > 0) ? clusterReliabilityScore : 1);
+		if(!(clusterScoreFactor >= 0 && clusterScoreFactor <= 1)) {
+			return Double.POSITIVE_INFINITY;
+		}
+		double averageClusterScore = getAverageClusterScore(totalArticleScoresWithoutClustering);
+		double[] feedbackScoresAccepted = evidenceTable.getScores(Evidence.FEEDBACK_ACCEPTED);
+		double[] feedbackScoresRejected = evidenceTable.getScores(Evidence.FEEDBACK_REJECTED);
+		double maximumTotalArticleScore = Double.NEGATIVE_INFINITY;
+		for(int i = 0; i < totalArticleScoresWithoutClustering.length; i++) {
+			double totalArticleScoreWithoutClustering = totalArticleScoresWithoutClustering[i] - (feedbackScoresAccepted[i] + feedbackScoresRejected[i]);
+			double totalArticleScoreNonStandardized = totalArticleScoreWithoutClustering - (totalArticleScoreWithoutClustering - averageClusterScore) * clusterScoreFactor;
+			maximumTotalArticleScore = Math.max(maximumTotalArticleScore, totalArticleScoreNonStandardized);
+		}
+		return Double.isNaN(maximumTotalArticleScore) ? Double.POSITIVE_INFINITY : maximumTotalArticleScore;
 	}
 	
-	private void populateAverageClusterEvidence(ReCiterCluster reCiterCluster, double averageClusterScore) {
-		reCiterCluster.getArticleCluster().stream().forEach(reCiterArticle -> {
-			reCiterArticle.setTotalArticleScoreWithoutClustering(reCiterArticle.getTotalArticleScoreWithoutClustering()
-					- (((reCiterArticle.getAcceptedRejectedEvidence() != null && reCiterArticle.getAcceptedRejectedEvidence().getFeedbackScoreAccepted() !=null)?reCiterArticle.getAcceptedRejectedEvidence().getFeedbackScoreAccepted():0) +
-							((reCiterArticle.getAcceptedRejectedEvidence() != null && reCiterArticle.getAcceptedRejectedEvidence().getFeedbackScoreRejected() !=null)?reCiterArticle.getAcceptedRejectedEvidence().getFeedbackScoreRejected():0)));
-			double clusterScoreDiscrepancy = (reCiterArticle.getTotalArticleScoreWithoutClustering() - averageClusterScore) * ReCiterArticleScorer.strategyParameters.getClusterScoreFactor()
-					* ((reCiterCluster.getClusterReliabilityScore()>0)?reCiterCluster.getClusterReliabilityScore():1);
+	private double getAverageClusterScore(double[] totalArticleScoresWithoutClustering) {
+		double totalClusterScore = Arrays.stream(totalArticleScoresWithoutClustering).sum();
+		return totalClusterScore/totalArticleScoresWithoutClustering.length;
+	}
+	
+	private void populateAverageClusterEvidence(ReCiterCluster reCiterCluster, ArticleEvidenceTable evidenceTable, double[] totalArticleScoresWithoutClustering, double averageClusterScore) {
+		double[] feedbackScoresAccepted = evidenceTable.getScores(Evidence.FEEDBACK_ACCEPTED);
+		double[] feedbackScoresRejected = evidenceTable.getScores(Evidence.FEEDBACK_REJECTED);
+		double clusterReliabilityScore = (reCiterCluster.getClusterReliabilityScore()>0)?reCiterCluster.getClusterReliabilityScore():1;
+		for(int i = 0; i < evidenceTable.size(); i++) {
+			ReCiterArticle reCiterArticle = evidenceTable.getArticle(i);
+			//Remove accepted rejected score from raw score - https://github.com/wcmc-its/ReCiter/issues/286
+			double totalArticleScoreWithoutClustering = totalArticleScoresWithoutClustering[i] - (feedbackScoresAccepted[i] + feedbackScoresRejected[i]);
+			reCiterArticle.setTotalArticleScoreWithoutClustering(totalArticleScoreWithoutClustering);
+			double clusterScoreDiscrepancy = (totalArticleScoreWithoutClustering - averageClusterScore) * ReCiterArticleScorer.strategyParameters.getClusterScoreFactor()
+					* clusterReliabilityScore;
 			AverageClusteringEvidence averageClusteringEvidence = new AverageClusteringEvidence();
 			averageClusteringEvidence.setClusterScoreAverage(roundAvoid(averageClusterScore, 2));
 			averageClusteringEvidence.setClusterReliabilityScore(roundAvoid(reCiterCluster.getClusterReliabilityScore(),2));
 			averageClusteringEvidence.setClusterScoreModificationOfTotalScore(roundAvoid(-clusterScoreDiscrepancy, 2));
-			averageClusteringEvidence.setTotalArticleScoreWithoutClustering(roundAvoid(reCiterArticle.getTotalArticleScoreWithoutClustering(), 2));
+			averageClusteringEvidence.setTotalArticleScoreWithoutClustering(roundAvoid(totalArticleScoreWithoutClustering, 2));
 			averageClusteringEvidence.setClusterIdentifier(reCiterCluster.getClusterID());
-			//Remove accepted rejected score from raw score - https://github.com/wcmc-its/ReCiter/issues/286
-			double totalArticleScoreNonStandardized = reCiterArticle.getTotalArticleScoreWithoutClustering() - clusterScoreDiscrepancy;
-			reCiterArticle.setTotalArticleScoreNonStandardized(roundAvoid(totalArticleScoreNonStandardized, 2));
+			double totalArticleScoreNonStandardized = totalArticleScoreWithoutClustering - clusterScoreDiscrepancy;
+			evidenceTable.setTotalArticleScoreNonStandardized(i, roundAvoid(totalArticleScoreNonStandardized, 2));
 			reCiterArticle.setAverageClusteringEvidence(averageClusteringEvidence);
 			slf4jLogger.info("Pmid: " + reCiterArticle.getArticleId() + " " + averageClusteringEvidence);
-		});
-	}
-	
-	private void populateArticeAuthorFirstName(ReCiterArticle reCiterArticle, List<String> articleAuthorFirstNames) {
-		
-		ReCiterAuthor reCiterAuthor = reCiterArticle.getArticleCoAuthors().getAuthors().stream().filter(author -> author.isTargetAuthor() == true).findAny().orElse(null);
-		
-		if(reCiterAuthor != null) {
-			String firstName = reCiterAuthor.getAuthorName().getFirstName().replaceAll("[A-Z-.\"() ]", "").trim();
-			if(!firstName.isEmpty()) {
-				articleAuthorFirstNames.add(firstName);
-			}
-			
 		}
-		
 	}
 	
 	public static double roundAvoid(double value, int places) {
@@ -22,11 +22,11 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import reciter.algorithm.util.ReCiterStringUtil;
 import reciter.model.article.ReCiterArticle;
 import reciter.model.article.ReCiterArticleAuthors;
 import reciter.model.article.ReCiterAuthor;
 import reciter.model.identity.Identity;
+import reciter.utils.StringSimilarity;
 
 public abstract class AbstractTargetAuthorStrategy implements TargetAuthorStrategy {
 
@@ -66,7 +66,7 @@ public abstract class AbstractTargetAuthorStrategy implements TargetAuthorStrate
 								return true;
 							}
 						} else {
-							int levenshteinDist = ReCiterStringUtil.levenshteinDistance(firstName, targetAuthorFirstName);
+							int levenshteinDist = StringSimilarity.levenshteinDistance(firstName, targetAuthorFirstName, firstName.length() / 4);
 							boolean isAcceptableDistance = Double.valueOf(levenshteinDist) / firstName.length() <= 0.25;
 							
 							if (isAcceptableDistance) {
@@ -89,7 +89,7 @@ public abstract class AbstractTargetAuthorStrategy implements TargetAuthorStrate
 								return true;
 							}
 						} else {
-							int levenshteinDist = ReCiterStringUtil.levenshteinDistance(firstName, targetAuthorFirstName);
+							int levenshteinDist = StringSimilarity.levenshteinDistance(firstName, targetAuthorFirstName, firstName.length() / 4);
 							boolean isAcceptableDistance = Double.valueOf(levenshteinDist) / firstName.length() <= 0.25;
 							
 							if (isAcceptableDistance) {
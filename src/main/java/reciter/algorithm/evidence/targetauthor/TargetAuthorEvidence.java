@@ -0,0 +1,59 @@
+package reciter.algorithm.evidence.targetauthor;
+
+import java.util.List;
+
+import lombok.Data;
+import reciter.engine.analysis.evidence.AffiliationEvidence;
+import reciter.engine.analysis.evidence.JournalCategoryEvidence;
+import reciter.engine.analysis.evidence.OrganizationalUnitEvidence;
+import reciter.model.article.ReCiterArticle;
+import reciter.model.article.ReCiterJournalCategory;
+
+/**
+ * Evidence the department, journal category and affiliation strategies attach to an article. It only depends on the
+ * article content, the identity organizational units and institutions, the strategy parameters and the reference data, so
+ * it can be kept between runs in {@link TargetAuthorEvidenceCache} and applied instead of running these strategies again.
+ */
+@Data
+public class TargetAuthorEvidence {
+
+	private List<OrganizationalUnitEvidence> organizationalUnitEvidences;
+	private ReCiterJournalCategory journalCategory;
+	private JournalCategoryEvidence journalCategoryEvidence;
+	private AffiliationEvidence affiliationEvidence;
+	private double affiliationScore;
+
+	/**
+	 * @param reCiterArticle article the strategies have run on
+	 * @return evidence of the article
+	 */
+	public static TargetAuthorEvidence of(ReCiterArticle reCiterArticle) {
+		TargetAuthorEvidence targetAuthorEvidence = new TargetAuthorEvidence();
+		targetAuthorEvidence.setOrganizationalUnitEvidences(reCiterArticle.getOrganizationalUnitEvidences());
+		targetAuthorEvidence.setJournalCategory(reCiterArticle.getJournalCategory());
+		targetAuthorEvidence.setJournalCategoryEvidence(reCiterArticle.getJournalCategoryEvidence());
+		targetAuthorEvidence.setAffiliationEvidence(reCiterArticle.getAffiliationEvidence());
+		targetAuthorEvidence.setAffiliationScore(reCiterArticle.getAffiliationScore());
+		return targetAuthorEvidence;
+	}
+
+	/**
+	 * Sets the evidence on the article the way the strategies do: evidence they did not find is left unset.
+	 * @param reCiterArticle
+	 */
+	public void applyTo(ReCiterArticle reCiterArticle) {
+		if(organizationalUnitEvidences != null) {
+			reCiterArticle.setOrganizationalUnitEvidences(organizationalUnitEvidences);
+		}
+		if(journalCategory != null) {
+			reCiterArticle.setJournalCategory(journalCategory);
+		}
+		if(journalCategoryEvidence != null) {
+			reCiterArticle.setJournalCategoryEvidence(journalCategoryEvidence);
+		}
+		if(affiliationEvidence != null) {
+			reCiterArticle.setAffiliationEvidence(affiliationEvidence);
+			reCiterArticle.setAffiliationScore(affiliationScore);
+		}
+	}
+}
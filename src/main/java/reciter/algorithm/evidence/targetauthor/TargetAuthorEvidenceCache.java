@@ -0,0 +1,263 @@
+package reciter.algorithm.evidence.targetauthor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import reciter.engine.EngineParameters;
+import reciter.engine.StrategyParameters;
+import reciter.model.article.ReCiterArticle;
+import reciter.model.article.ReCiterArticleAuthors;
+import reciter.model.article.ReCiterAuthor;
+import reciter.model.identity.AuthorName;
+import reciter.model.identity.Identity;
+import reciter.model.identity.OrganizationalUnit;
+import reciter.model.pubmed.MedlineCitationJournalISSN;
+import reciter.model.scopus.Affiliation;
+import reciter.model.scopus.Author;
+import reciter.model.scopus.ScopusArticle;
+import reciter.service.cache.SerializedObjectCache;
+
+/**
+ * Content addressed cache of the {@link TargetAuthorEvidence} and the {@link TargetAuthorFlags} of articles. An evidence entry
+ * is keyed by the PMID, a hash of the article content the department, journal category and affiliation strategies read
+ * (authors, affiliations, journal ISSNs and Scopus affiliations) and a hash of what else they depend on (identity
+ * organizational units and institutions, strategy parameters and reference data version). A target author entry is keyed
+ * by the PMID, a hash of the author names, affiliations and target author flags of the article and a hash of the identity
+ * names and emails. Identities with the same organizational units and institutions, or the same names and emails, share
+ * the entries.
+ */
+public class TargetAuthorEvidenceCache {
+
+	private final SerializedObjectCache<TargetAuthorEvidence> cache;
+
+	private final SerializedObjectCache<TargetAuthorFlags> targetAuthorCache;
+
+	private final String identityHash;
+
+	private final String identityNameHash;
+
+	/**
+	 * @param cache
+	 * @param targetAuthorCache
+	 * @param identity identity with its sanitized names and institutions populated
+	 * @param strategyParameters
+	 */
+	public TargetAuthorEvidenceCache(SerializedObjectCache<TargetAuthorEvidence> cache, SerializedObjectCache<TargetAuthorFlags> targetAuthorCache,
+			Identity identity, StrategyParameters strategyParameters) {
+		this.cache = cache;
+		this.targetAuthorCache = targetAuthorCache;
+		ContentHash hash = new ContentHash();
+		hash.add(strategyParameters.isDepartment()).add(strategyParameters.isJournalCategory()).add(strategyParameters.isAffiliation())
+			.add(strategyParameters.isUseScopusArticles()).add(strategyParameters.isScopusCommonAffiliation())
+			.add(strategyParameters.getOrganizationalUnitDepartmentMatchingScore()).add(strategyParameters.getOrganizationalUnitModifier())
+			.add(strategyParameters.getOrganizationalUnitModifierScore()).add(strategyParameters.getOrganizationalUnitProgramMatchingScore())
+			.add(strategyParameters.getJournalSubfieldScore()).add(strategyParameters.getJournalSubfieldFactorScore())
+			.add(strategyParameters.getTargetAuthorInstAfflMatchTypePositiveIndividualScore()).add(strategyParameters.getTargetAuthorInstAfflMatchTypePositiveInstitutionScore())
+			.add(strategyParameters.getTargetAuthorInstAfflMatchTypeNullScore()).add(strategyParameters.getTargetAuthorInstAfflMatchTypeNoMatchScore())
+			.add(strategyParameters.getNonTargetAuthorInstAfflMatchTypeNoMatchScore()).add(strategyParameters.getNonTargetAuthorInstAfflMatchTypeWeight())
+			.add(strategyParameters.getNonTargetAuthorInstAfflMatchTypeMaxScore()).add(strategyParameters.getInstAfflInstLabel())
+			.add(strategyParameters.getInstAfflHomeInstKeywords()).add(strategyParameters.getInstAfflHomeInstScopusInstIDs())
+			.add(strategyParameters.getInstAfflCollaboratingInstKeywords()).add(strategyParameters.getInstAfflCollaboratingInstScopusInstIDs())
+			.add(EngineParameters.getRegexForStopWords()).add(EngineParameters.getReferenceData().getVersion());
+		addOrganizationalUnits(hash, identity.getOrganizationalUnits());
+		addOrganizationalUnits(hash, identity.getSanitizedIdentityInstitutions());
+		Map<String, List<String>> identityOrgUnitToSynonymMap = identity.getIdentityOrgUnitToSynonymMap();
+		hash.add(identityOrgUnitToSynonymMap == null ? -1 : identityOrgUnitToSynonymMap.size());
+		if(identityOrgUnitToSynonymMap != null) {
+			for(Map.Entry<String, List<String>> synonyms: identityOrgUnitToSynonymMap.entrySet()) {
+				hash.add(synonyms.getKey()).add(synonyms.getValue());
+			}
+		}
+		hash.add(identity.getInstitutions());
+		this.identityHash = hash.toString();
+
+		ContentHash nameHash = new ContentHash();
+		addAuthorName(nameHash, identity.getPrimaryName());
+		nameHash.add(identity.getAlternateNames() == null ? -1 : identity.getAlternateNames().size());
+		if(identity.getAlternateNames() != null) {
+			for(AuthorName alternateName: identity.getAlternateNames()) {
+				addAuthorName(nameHash, alternateName);
+			}
+		}
+		nameHash.add(identity.getSanitizedNames() == null ? -1 : identity.getSanitizedNames().size());
+		if(identity.getSanitizedNames() != null) {
+			for(AuthorName sanitizedName: identity.getSanitizedNames().values()) {
+				addAuthorName(nameHash, sanitizedName);
+			}
+		}
+		nameHash.add(identity.getEmails());
+		this.identityNameHash = nameHash.toString();
+	}
+
+	/**
+	 * @param reCiterArticle
+	 * @return key of the evidence of the article
+	 */
+	public String getKey(ReCiterArticle reCiterArticle) {
+		ContentHash hash = new ContentHash();
+		List<ReCiterAuthor> authors = reCiterArticle.getArticleCoAuthors() == null ? null : reCiterArticle.getArticleCoAuthors().getAuthors();
+		hash.add(authors == null ? -1 : authors.size());
+		if(authors != null) {
+			for(ReCiterAuthor author: authors) {
+				hash.add(author.getRank()).add(author.isTargetAuthor()).add(author.getAffiliation());
+			}
+		}
+		List<MedlineCitationJournalISSN> journalIssns = reCiterArticle.getJournal() == null ? null : reCiterArticle.getJournal().getJournalIssn();
+		hash.add(journalIssns == null ? -1 : journalIssns.size());
+		if(journalIssns != null) {
+			for(MedlineCitationJournalISSN journalIssn: journalIssns) {
+				hash.add(journalIssn.getIssntype()).add(journalIssn.getIssn());
+			}
+		}
+		ScopusArticle scopusArticle = reCiterArticle.getScopusArticle();
+		hash.add(scopusArticle != null);
+		if(scopusArticle != null) {
+			hash.add(scopusArticle.getAuthors() == null ? -1 : scopusArticle.getAuthors().size());
+			if(scopusArticle.getAuthors() != null) {
+				for(Author author: scopusArticle.getAuthors()) {
+					hash.add(author.getSeq()).add(author.getAfids());
+				}
+			}
+			hash.add(scopusArticle.getAffiliations() == null ? -1 : scopusArticle.getAffiliations().size());
+			if(scopusArticle.getAffiliations() != null) {
+				for(Affiliation affiliation: scopusArticle.getAffiliations()) {
+					hash.add(affiliation.getAfid()).add(affiliation.getAffilname());
+				}
+			}
+		}
+		return reCiterArticle.getArticleId() + ":" + hash + ":" + identityHash;
+	}
+
+	/**
+	 * @param key
+	 * @return a copy of the cached evidence, otherwise null
+	 */
+	public TargetAuthorEvidence getIfPresent(String key) {
+		return cache.getIfPresent(key);
+	}
+
+	public void put(String key, TargetAuthorEvidence targetAuthorEvidence) {
+		cache.put(key, targetAuthorEvidence);
+	}
+
+	/**
+	 * @param reCiterArticle article before its target author is selected
+	 * @return key of the target author flags of the article
+	 */
+	public String getTargetAuthorKey(ReCiterArticle reCiterArticle) {
+		ContentHash hash = new ContentHash();
+		ReCiterArticleAuthors articleAuthors = reCiterArticle.getArticleCoAuthors();
+		List<ReCiterAuthor> authors = articleAuthors == null ? null : articleAuthors.getAuthors();
+		hash.add(authors == null ? -1 : authors.size());
+		if(authors != null) {
+			for(ReCiterAuthor author: authors) {
+				addAuthor(hash, author);
+			}
+		}
+		Map<ReCiterAuthor, ReCiterAuthor> sanitizedAuthorMap = articleAuthors == null ? null : articleAuthors.getSanitizedAuthorMap();
+		hash.add(sanitizedAuthorMap == null ? -1 : sanitizedAuthorMap.size());
+		if(sanitizedAuthorMap != null) {
+			List<Map.Entry<ReCiterAuthor, ReCiterAuthor>> sanitizedAuthors = new ArrayList<>(sanitizedAuthorMap.entrySet());
+			sanitizedAuthors.sort(Comparator.comparingInt(sanitizedAuthor -> sanitizedAuthor.getKey().getRank()));
+			for(Map.Entry<ReCiterAuthor, ReCiterAuthor> sanitizedAuthor: sanitizedAuthors) {
+				addAuthor(hash, sanitizedAuthor.getKey());
+				addAuthor(hash, sanitizedAuthor.getValue());
+			}
+		}
+		return reCiterArticle.getArticleId() + ":" + hash + ":" + identityNameHash;
+	}
+
+	/**
+	 * @param key
+	 * @return a copy of the cached target author flags, otherwise null
+	 */
+	public TargetAuthorFlags getTargetAuthorsIfPresent(String key) {
+		return targetAuthorCache.getIfPresent(key);
+	}
+
+	/**
+	 * @param key
+	 * @param targetAuthorFlags flags to cache, not cached if null
+	 */
+	public void putTargetAuthors(String key, TargetAuthorFlags targetAuthorFlags) {
+		if(targetAuthorFlags != null) {
+			targetAuthorCache.put(key, targetAuthorFlags);
+		}
+	}
+
+	private static void addAuthor(ContentHash hash, ReCiterAuthor author) {
+		hash.add(author.getRank()).add(author.isTargetAuthor()).add(author.getAffiliation());
+		addAuthorName(hash, author.getAuthorName());
+	}
+
+	private static void addAuthorName(ContentHash hash, AuthorName authorName) {
+		hash.add(authorName != null);
+		if(authorName != null) {
+			hash.add(authorName.getFirstName()).add(authorName.getFirstInitial()).add(authorName.getMiddleName())
+				.add(authorName.getMiddleInitial()).add(authorName.getLastName());
+		}
+	}
+
+	private static void addOrganizationalUnits(ContentHash hash, Collection<OrganizationalUnit> orgUnits) {
+		hash.add(orgUnits == null ? -1 : orgUnits.size());
+		if(orgUnits != null) {
+			for(OrganizationalUnit orgUnit: orgUnits) {
+				hash.add(orgUnit.getOrganizationalUnitLabel()).add(orgUnit.getOrganizationalUnitType());
+			}
+		}
+	}
+
+	/**
+	 * SHA-256 of a sequence of values. Every value is prefixed with its length, and collections with their size, so that
+	 * different sequences cannot hash the same input.
+	 */
+	private static class ContentHash {
+
+		private final MessageDigest digest;
+
+		private ContentHash() {
+			try {
+				digest = MessageDigest.getInstance("SHA-256");
+			} catch (NoSuchAlgorithmException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		private ContentHash add(Object value) {
+			if(value == null) {
+				digest.update((byte) 0);
+				return this;
+			}
+			if(value instanceof Collection) {
+				Collection<?> values = (Collection<?>) value;
+				digest.update((byte) 2);
+				add(values.size());
+				for(Object element: values) {
+					add(element);
+				}
+				return this;
+			}
+			byte[] bytes = String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+			digest.update((byte) 1);
+			digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.US_ASCII));
+			digest.update((byte) ':');
+			digest.update(bytes);
+			return this;
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder hex = new StringBuilder(64);
+			for(byte b: digest.digest()) {
+				hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			}
+			return hex.toString();
+		}
+	}
+}
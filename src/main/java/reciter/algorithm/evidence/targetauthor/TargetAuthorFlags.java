@@ -0,0 +1,81 @@
+package reciter.algorithm.evidence.targetauthor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import lombok.Data;
+import reciter.model.article.ReCiterArticle;
+import reciter.model.article.ReCiterArticleAuthors;
+import reciter.model.article.ReCiterAuthor;
+
+/**
+ * Target author flags {@link TargetAuthorSelection} sets on the authors of an article. The flags of the sanitized author map
+ * are held by the rank of the original author since the map is not iterated in the same order by every run.
+ * They only depend on the author names and affiliations of the article and on the identity names and emails, so they can be
+ * kept between runs in {@link TargetAuthorEvidenceCache} and applied instead of selecting the target author again.
+ */
+@Data
+public class TargetAuthorFlags {
+
+	private List<Boolean> authors;
+	private Map<Integer, Boolean> originalAuthors;
+	private Map<Integer, Boolean> sanitizedAuthors;
+
+	/**
+	 * @param reCiterArticle article the target author was selected for
+	 * @return flags of the authors of the article, null if two of its authors have the same rank
+	 */
+	public static TargetAuthorFlags of(ReCiterArticle reCiterArticle) {
+		ReCiterArticleAuthors articleAuthors = reCiterArticle.getArticleCoAuthors();
+		if(articleAuthors == null || articleAuthors.getAuthors() == null || articleAuthors.getSanitizedAuthorMap() == null) {
+			return null;
+		}
+		TargetAuthorFlags targetAuthorFlags = new TargetAuthorFlags();
+		targetAuthorFlags.setAuthors(new ArrayList<>(articleAuthors.getAuthors().size()));
+		for(ReCiterAuthor author: articleAuthors.getAuthors()) {
+			targetAuthorFlags.getAuthors().add(author.isTargetAuthor());
+		}
+		targetAuthorFlags.setOriginalAuthors(new HashMap<>());
+		targetAuthorFlags.setSanitizedAuthors(new HashMap<>());
+		for(Entry<ReCiterAuthor, ReCiterAuthor> sanitizedAuthor: articleAuthors.getSanitizedAuthorMap().entrySet()) {
+			int rank = sanitizedAuthor.getKey().getRank();
+			if(targetAuthorFlags.getOriginalAuthors().put(rank, sanitizedAuthor.getKey().isTargetAuthor()) != null) {
+				return null;
+			}
+			targetAuthorFlags.getSanitizedAuthors().put(rank, sanitizedAuthor.getValue().isTargetAuthor());
+		}
+		return targetAuthorFlags;
+	}
+
+	/**
+	 * Sets the flags on the authors of the article. The article is left unchanged if its authors are not those the flags
+	 * were taken from.
+	 * @param reCiterArticle
+	 * @return whether the flags were set
+	 */
+	public boolean applyTo(ReCiterArticle reCiterArticle) {
+		ReCiterArticleAuthors articleAuthors = reCiterArticle.getArticleCoAuthors();
+		if(authors == null || originalAuthors == null || sanitizedAuthors == null || articleAuthors == null
+				|| articleAuthors.getAuthors() == null || articleAuthors.getSanitizedAuthorMap() == null
+				|| articleAuthors.getAuthors().size() != authors.size() || articleAuthors.getSanitizedAuthorMap().size() != originalAuthors.size()) {
+			return false;
+		}
+		for(ReCiterAuthor originalAuthor: articleAuthors.getSanitizedAuthorMap().keySet()) {
+			if(!originalAuthors.containsKey(originalAuthor.getRank()) || !sanitizedAuthors.containsKey(originalAuthor.getRank())) {
+				return false;
+			}
+		}
+		for(int i = 0; i < authors.size(); i++) {
+			articleAuthors.getAuthors().get(i).setTargetAuthor(Boolean.TRUE.equals(authors.get(i)));
+		}
+		for(Entry<ReCiterAuthor, ReCiterAuthor> sanitizedAuthor: articleAuthors.getSanitizedAuthorMap().entrySet()) {
+			int rank = sanitizedAuthor.getKey().getRank();
+			sanitizedAuthor.getKey().setTargetAuthor(Boolean.TRUE.equals(originalAuthors.get(rank)));
+			sanitizedAuthor.getValue().setTargetAuthor(Boolean.TRUE.equals(sanitizedAuthors.get(rank)));
+		}
+		return true;
+	}
+}
@@ -0,0 +1,192 @@
+package reciter.algorithm.evidence.targetauthor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+
+import reciter.algorithm.util.ArticleAuthorIndex;
+import reciter.model.identity.AuthorName;
+
+/**
+ * Lookup of the sanitized identity names used by {@link TargetAuthorSelection}. The names are folded to a case insensitive
+ * form and stored once under each combination of last, first and middle name (or initial) that a check compares, so that
+ * deciding whether an article author matches any identity name is a hash lookup instead of a pass over all identity names.
+ * Folding is {@link ArticleAuthorIndex#foldCase(String)} so the lookups give the same answers as the original comparisons.
+ */
+public class TargetAuthorNameIndex {
+
+	private static final char SEPARATOR = '\u0000';
+
+	private final Set<String> lastMiddleFirstNames = new HashSet<>();
+
+	private final Set<String> lastMiddleInitialFirstNames = new HashSet<>();
+
+	private final Set<String> lastFirstNames = new HashSet<>();
+
+	private final Set<String> lastFirstInitialNames = new HashSet<>();
+
+	/**
+	 * Trimmed last name with the middle initial and first initial swapped e.g. Smith, J, A for identity name Alan J Smith
+	 */
+	private final Set<String> lastSwappedInitialNames = new HashSet<>();
+
+	private final Set<String> trimmedLastNames = new HashSet<>();
+
+	private final Set<String> trimmedFirstNames = new HashSet<>();
+
+	private final Map<String, List<String>> firstNamesByLastName = new HashMap<>();
+
+	private final Set<String> identityLastNames = new LinkedHashSet<>();
+
+	private final Set<String> identityFirstNames = new LinkedHashSet<>();
+
+	public TargetAuthorNameIndex(List<AuthorName> sanitizedIdentityAuthors) {
+		for(AuthorName name: sanitizedIdentityAuthors) {
+			String lastName = name.getLastName();
+			String firstName = name.getFirstName();
+			if(lastName != null) {
+				String foldedLastName = ArticleAuthorIndex.foldCase(lastName);
+				trimmedLastNames.add(ArticleAuthorIndex.foldCase(lastName.trim()));
+				identityLastNames.add(lastName.trim());
+				if(firstName != null) {
+					lastFirstNames.add(key(foldedLastName, ArticleAuthorIndex.foldCase(firstName)));
+					firstNamesByLastName.computeIfAbsent(foldedLastName, k -> new ArrayList<>()).add(firstName);
+					if(name.getMiddleName() != null) {
+						lastMiddleFirstNames.add(key(foldedLastName, ArticleAuthorIndex.foldCase(name.getMiddleName()), ArticleAuthorIndex.foldCase(firstName)));
+					}
+					if(name.getMiddleInitial() != null) {
+						lastMiddleInitialFirstNames.add(key(foldedLastName, ArticleAuthorIndex.foldCase(name.getMiddleInitial()), ArticleAuthorIndex.foldCase(firstName)));
+					}
+				}
+				if(name.getFirstInitial() != null) {
+					lastFirstInitialNames.add(key(foldedLastName, ArticleAuthorIndex.foldCase(name.getFirstInitial())));
+					if(name.getFirstInitial().length() > 0 && name.getMiddleInitial() != null && name.getMiddleInitial().length() > 0) {
+						lastSwappedInitialNames.add(key(ArticleAuthorIndex.foldCase(lastName.trim()), ArticleAuthorIndex.foldCase(name.getMiddleInitial().trim()), ArticleAuthorIndex.foldCase(name.getFirstInitial().trim())));
+					}
+				}
+			}
+			if(firstName != null) {
+				trimmedFirstNames.add(ArticleAuthorIndex.foldCase(firstName.trim()));
+				identityFirstNames.add(firstName.trim());
+			}
+		}
+	}
+
+	/**
+	 * @param authorName article author name with last, middle and first name
+	 * @return true if an identity name has the same last, middle and first name
+	 */
+	public boolean matchesLastMiddleFirstName(AuthorName authorName) {
+		return lastMiddleFirstNames.contains(key(ArticleAuthorIndex.foldCase(authorName.getLastName()), ArticleAuthorIndex.foldCase(authorName.getMiddleName()), ArticleAuthorIndex.foldCase(authorName.getFirstName())));
+	}
+
+	/**
+	 * @param authorName article author name with last name, middle initial and first name
+	 * @return true if an identity name has the same last name, middle initial and first name
+	 */
+	public boolean matchesLastMiddleInitialFirstName(AuthorName authorName) {
+		return lastMiddleInitialFirstNames.contains(key(ArticleAuthorIndex.foldCase(authorName.getLastName()), ArticleAuthorIndex.foldCase(authorName.getMiddleInitial()), ArticleAuthorIndex.foldCase(authorName.getFirstName())));
+	}
+
+	/**
+	 * @param authorName article author name with last and first name
+	 * @return true if an identity name has the same last and first name
+	 */
+	public boolean matchesLastFirstName(AuthorName authorName) {
+		return lastFirstNames.contains(key(ArticleAuthorIndex.foldCase(authorName.getLastName()), ArticleAuthorIndex.foldCase(authorName.getFirstName())));
+	}
+
+	/**
+	 * @param authorName article author name with last and first name
+	 * @return true if an identity name has the same last name and a first name containing the article first name
+	 */
+	public boolean matchesLastNameArticleFirstNameInIdentity(AuthorName authorName) {
+		for(String identityFirstName: firstNamesWithLastName(authorName.getLastName())) {
+			if(StringUtils.containsIgnoreCase(identityFirstName, authorName.getFirstName())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @param authorName article author name with last and first name
+	 * @return true if an identity name has the same last name and a first name contained in the article first name
+	 */
+	public boolean matchesLastNameIdentityFirstNameInArticle(AuthorName authorName) {
+		for(String identityFirstName: firstNamesWithLastName(authorName.getLastName())) {
+			if(StringUtils.containsIgnoreCase(authorName.getFirstName(), identityFirstName)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @param authorName article author name with last name and first initial
+	 * @return true if an identity name has the same last name and first initial
+	 */
+	public boolean matchesLastFirstInitial(AuthorName authorName) {
+		return lastFirstInitialNames.contains(key(ArticleAuthorIndex.foldCase(authorName.getLastName()), ArticleAuthorIndex.foldCase(authorName.getFirstInitial())));
+	}
+
+	/**
+	 * @param authorName article author name with last name, first initial and middle initial
+	 * @return true if an identity name has the same trimmed last name, a middle initial equal to the article first initial
+	 * and a first initial equal to the article middle initial
+	 */
+	public boolean matchesLastNameSwappedInitials(AuthorName authorName) {
+		return lastSwappedInitialNames.contains(key(ArticleAuthorIndex.foldCase(authorName.getLastName().trim()), ArticleAuthorIndex.foldCase(authorName.getFirstInitial().trim()), ArticleAuthorIndex.foldCase(authorName.getMiddleInitial().trim())));
+	}
+
+	/**
+	 * @param authorName article author name with last name
+	 * @return true if an identity name has the same trimmed last name
+	 */
+	public boolean matchesLastName(AuthorName authorName) {
+		return trimmedLastNames.contains(ArticleAuthorIndex.foldCase(authorName.getLastName().trim()));
+	}
+
+	/**
+	 * @param authorName article author name with first name
+	 * @return true if an identity name has the same trimmed first name
+	 */
+	public boolean matchesFirstName(AuthorName authorName) {
+		return trimmedFirstNames.contains(ArticleAuthorIndex.foldCase(authorName.getFirstName().trim()));
+	}
+
+	/**
+	 * Every check except {@link #matchesFirstName(AuthorName)} only matches article authors with one of these last names ignoring case
+	 * @return trimmed last names of the identity names
+	 */
+	public Set<String> getTrimmedLastNames() {
+		return Collections.unmodifiableSet(identityLastNames);
+	}
+
+	/**
+	 * {@link #matchesFirstName(AuthorName)} only matches article authors with one of these first names ignoring case
+	 * @return trimmed first names of the identity names
+	 */
+	public Set<String> getTrimmedFirstNames() {
+		return Collections.unmodifiableSet(identityFirstNames);
+	}
+
+	private List<String> firstNamesWithLastName(String lastName) {
+		return firstNamesByLastName.getOrDefault(ArticleAuthorIndex.foldCase(lastName), Collections.emptyList());
+	}
+
+	private static String key(String... foldedNames) {
+		StringBuilder key = new StringBuilder();
+		for(String foldedName: foldedNames) {
+			key.append(foldedName).append(SEPARATOR);
+		}
+		return key.toString();
+	}
+}
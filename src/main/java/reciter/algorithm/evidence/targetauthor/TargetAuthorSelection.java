@@ -2,7 +2,9 @@ package reciter.algorithm.evidence.targetauthor;
 
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
@@ -10,6 +12,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import reciter.algorithm.util.ArticleAuthorIndex;
 import reciter.algorithm.util.ReCiterStringUtil;
 import reciter.model.article.ReCiterArticle;
 import reciter.model.article.ReCiterArticleAuthors;
@@ -31,128 +34,203 @@ public class TargetAuthorSelection {
 	 * @see <a href="https://github.com/wcmc-its/ReCiter/issues/185">Details</a>
 	 * @param reciterArticles
 	 * @param identity
+	 * @param articleAuthorIndexes author index of every article of the run
+	 * @param targetAuthorEvidenceCache cache the target authors of the articles are read from and stored in, null to not cache them
 	 */
-	public void identifyTargetAuthor(List<ReCiterArticle> reciterArticles, Identity identity) {
+	public void identifyTargetAuthor(List<ReCiterArticle> reciterArticles, Identity identity, Map<ReCiterArticle, ArticleAuthorIndex> articleAuthorIndexes, TargetAuthorEvidenceCache targetAuthorEvidenceCache) {
+		List<AuthorName> sanitizedIdentityAuthors = new ArrayList<AuthorName>(identity.getSanitizedNames().values());
+		TargetAuthorNameIndex identityNameIndex = new TargetAuthorNameIndex(sanitizedIdentityAuthors);
 		
+		int cachedCount = 0;
 		for(ReCiterArticle reciterArticle: reciterArticles) {
-			//Setting this for debug purposes
-			if(reciterArticle.getArticleId() == 15590364) {
-				slf4jLogger.info("here");
+			String key = null;
+			if(targetAuthorEvidenceCache != null) {
+				key = targetAuthorEvidenceCache.getTargetAuthorKey(reciterArticle);
+				TargetAuthorFlags targetAuthorFlags = targetAuthorEvidenceCache.getTargetAuthorsIfPresent(key);
+				if(targetAuthorFlags != null && targetAuthorFlags.applyTo(reciterArticle)) {
+					cachedCount++;
+					continue;
+				}
+			}
+			ArticleAuthorIndex articleAuthorIndex = articleAuthorIndexes.get(reciterArticle);
+			identifyTargetAuthor(reciterArticle, identity, sanitizedIdentityAuthors, identityNameIndex, articleAuthorIndex);
+			if(key != null) {
+				targetAuthorEvidenceCache.putTargetAuthors(key, TargetAuthorFlags.of(reciterArticle));
+			}
+		}
+		if(targetAuthorEvidenceCache != null) {
+			slf4jLogger.info("Target authors found in cache for " + cachedCount + " of " + reciterArticles.size() + " articles");
+		}
+	}
+	
+	/**
+	 * Identifies the target author of one article
+	 * @param reciterArticle
+	 * @param identity
+	 * @param sanitizedIdentityAuthors
+	 * @param identityNameIndex index of sanitizedIdentityAuthors
+	 * @param articleAuthorIndex author index of the article, null to build it
+	 */
+	private void identifyTargetAuthor(ReCiterArticle reciterArticle, Identity identity, List<AuthorName> sanitizedIdentityAuthors, TargetAuthorNameIndex identityNameIndex, ArticleAuthorIndex articleAuthorIndex) {
+		//Setting this for debug purposes
+		if(reciterArticle.getArticleId() == 15590364) {
+			slf4jLogger.info("here");
+		}
+		ReCiterArticleAuthors authors = reciterArticle.getArticleCoAuthors();
+		Set<Entry<ReCiterAuthor, ReCiterAuthor>> sanitizedAritcleAuthors = authors.getSanitizedAuthorMap().entrySet();
+		
+		Set<Entry<ReCiterAuthor, ReCiterAuthor>> multipleMarkedTargetAuthor = new HashSet<Entry<ReCiterAuthor, ReCiterAuthor>>();
+		if (authors != null && !sanitizedAritcleAuthors.isEmpty()) {
+			// The name checks only visit the authors that can match an identity name and the authors that may be marked as
+			// target author, which they unmark when they do not match
+			if(articleAuthorIndex == null) {
+				articleAuthorIndex = ArticleAuthorIndex.of(reciterArticle);
+			}
+			Set<Entry<ReCiterAuthor, ReCiterAuthor>> markedTargetAuthors = getMarkedTargetAuthors(sanitizedAritcleAuthors);
+			Set<Entry<ReCiterAuthor, ReCiterAuthor>> lastNameAuthors = new LinkedHashSet<Entry<ReCiterAuthor, ReCiterAuthor>>(markedTargetAuthors);
+			for(String lastName: identityNameIndex.getTrimmedLastNames()) {
+				lastNameAuthors.addAll(articleAuthorIndex.getSanitizedAuthorsByTrimmedLastName(lastName));
+			}
+			Set<Entry<ReCiterAuthor, ReCiterAuthor>> firstNameAuthors = new LinkedHashSet<Entry<ReCiterAuthor, ReCiterAuthor>>(markedTargetAuthors);
+			for(String firstName: identityNameIndex.getTrimmedFirstNames()) {
+				firstNameAuthors.addAll(articleAuthorIndex.getSanitizedAuthorsByTrimmedFirstName(firstName));
 			}
-			ReCiterArticleAuthors authors = reciterArticle.getArticleCoAuthors();
-			Set<Entry<ReCiterAuthor, ReCiterAuthor>> sanitizedAritcleAuthors = authors.getSanitizedAuthorMap().entrySet();
-			List<AuthorName> sanitizedIdentityAuthors = new ArrayList<AuthorName>(identity.getSanitizedNames().values());
 			
-			Set<Entry<ReCiterAuthor, ReCiterAuthor>> multipleMarkedTargetAuthor = new HashSet<Entry<ReCiterAuthor, ReCiterAuthor>>();
-			if (authors != null && !sanitizedAritcleAuthors.isEmpty()) {
-				
-				int lastMiddleFirstMatchCount = 0;
-				int lastNameMiddleInitialFirstMatchCount = 0;
-				int lastNameFirstNameMatchCount = 0;
-				int lastNameFirstNameSubstringIdentityMatchCount = 0;
-				int lastNameFirstNameIdentitySubstringMatchCount = 0;
-				int lastNameFirstInitialMatchCount = 0;
-				int emailMatchcount = 0;
-				int middleToFirstInitialAndFirstInitialToMiddleMatchCount = 0;
-				int lastNamePartialFirstInitialMatchCount = 0;
-				int lastNameMatchCount = 0;
-				int firstNameMatchCount = 0;
-				int fullLastNameToIdentityPartialMatchCount = 0;
-	            
-	            lastMiddleFirstMatchCount = checkExactLastMiddleFirstNameMatch(sanitizedAritcleAuthors, sanitizedIdentityAuthors, emailMatchcount, multipleMarkedTargetAuthor);
-	            if(lastMiddleFirstMatchCount == 0 || lastMiddleFirstMatchCount > 1)
-	            	lastNameMiddleInitialFirstMatchCount = checkExactLastMiddleInitialFirstNameMatch(sanitizedAritcleAuthors, sanitizedIdentityAuthors, lastMiddleFirstMatchCount, multipleMarkedTargetAuthor);
-	            if(lastMiddleFirstMatchCount ==1) {
-	            	slf4jLogger.info("Exact Last Name, Middle Name and First Name Match found for article: " + reciterArticle.getArticleId());
-	            	continue;
-	            }
-	            
-	            if(lastNameMiddleInitialFirstMatchCount == 0 || lastNameMiddleInitialFirstMatchCount > 1)
-	            	lastNameFirstNameMatchCount = checkExactLastFirstNameMatch(sanitizedAritcleAuthors, sanitizedIdentityAuthors, lastNameMiddleInitialFirstMatchCount, multipleMarkedTargetAuthor);
-	            if(lastNameMiddleInitialFirstMatchCount == 1) {
-	            	slf4jLogger.info("Last Name Middle Initial and First Name Match found for article: " + reciterArticle.getArticleId());
-	            	continue;
-	            }
-	            
-	            if(lastNameFirstNameMatchCount == 0 || lastNameFirstNameMatchCount > 1)
-	            	lastNameFirstNameSubstringIdentityMatchCount = checkExactLastFirstNamePartialSubstringIdentityMatch(sanitizedAritcleAuthors, sanitizedIdentityAuthors, lastNameFirstNameMatchCount, multipleMarkedTargetAuthor);
-	            if(lastNameFirstNameMatchCount == 1) {
-	            	slf4jLogger.info("Last Name First Name exact Match found for article: " + reciterArticle.getArticleId());
-	            	continue;
-	            }
-	            
-	            if(lastNameFirstNameSubstringIdentityMatchCount == 0 || lastNameFirstNameSubstringIdentityMatchCount > 1)
-	            	lastNameFirstNameIdentitySubstringMatchCount = checkExactLastFirstNamePartialIdentityPartialSubstringMatch(authors.getSanitizedAuthorMap().entrySet(), sanitizedIdentityAuthors, lastNameMiddleInitialFirstMatchCount, multipleMarkedTargetAuthor);
-	            if(lastNameFirstNameSubstringIdentityMatchCount == 1) {
-	            	slf4jLogger.info("Last Name First Name partial match of Identity Match found for article: " + reciterArticle.getArticleId());
-	            	continue;
-	            }
-	            
-	            if(lastNameFirstNameIdentitySubstringMatchCount == 0 || lastNameFirstNameIdentitySubstringMatchCount > 1)
-	            	lastNameFirstInitialMatchCount = checkExactLastFirstInitialNameMatch(sanitizedAritcleAuthors, sanitizedIdentityAuthors, lastNameMiddleInitialFirstMatchCount, multipleMarkedTargetAuthor);
-	            if(lastNameFirstNameIdentitySubstringMatchCount == 1) {
-	            	slf4jLogger.info("Last Name Identity First name partial of Article Match found for article: " + reciterArticle.getArticleId());
-	            	continue;
-	            }
-	            
-	            if(lastNameFirstInitialMatchCount == 0 || lastNameFirstInitialMatchCount > 1)
-	            	emailMatchcount = checkEmailMatch(sanitizedAritcleAuthors, identity, emailMatchcount, multipleMarkedTargetAuthor);
-	            if(lastNameFirstInitialMatchCount == 1) {	
-	            	slf4jLogger.info("Last Name First Initial exact Match found for article: " + reciterArticle.getArticleId());
-	            	continue;
-	            }
-	            
-	            if(emailMatchcount == 0 || emailMatchcount > 1)
-	            	middleToFirstInitialAndFirstInitialToMiddleMatchCount = checkFirstInitialTomiddleInitialAndmiddleInitialToFirstInitialMatch(sanitizedAritcleAuthors, sanitizedIdentityAuthors, lastNameFirstInitialMatchCount, multipleMarkedTargetAuthor);
-	            if(emailMatchcount == 1) {
-	            	slf4jLogger.info("Email Match found for article: " + reciterArticle.getArticleId());
-	            	continue;
-	            }
-	            
-	            if(middleToFirstInitialAndFirstInitialToMiddleMatchCount == 0 || middleToFirstInitialAndFirstInitialToMiddleMatchCount > 1)
-	            	lastNamePartialFirstInitialMatchCount = checkPartialLastNameFirstInitialMatch(sanitizedAritcleAuthors, sanitizedIdentityAuthors, middleToFirstInitialAndFirstInitialToMiddleMatchCount, multipleMarkedTargetAuthor);
-	            if(middleToFirstInitialAndFirstInitialToMiddleMatchCount == 1) {
-	            	slf4jLogger.info("Middle intial to first initial and first intial to middle initial Match found for article: " + reciterArticle.getArticleId());
-	            	continue;
-	            }
-	            
-	            if(lastNamePartialFirstInitialMatchCount == 0 || lastNamePartialFirstInitialMatchCount > 1)
-	            	lastNameMatchCount = checkLastNameExactMatch(sanitizedAritcleAuthors, sanitizedIdentityAuthors, lastNamePartialFirstInitialMatchCount, multipleMarkedTargetAuthor);
-	            if(lastNamePartialFirstInitialMatchCount == 1) {
-	            	slf4jLogger.info("Last Name Partial First Initial Match found for article: " + reciterArticle.getArticleId());
-	            	continue;
-	            }
-	            
-	            if(lastNameMatchCount == 0 || lastNameMatchCount > 1)
-	            	firstNameMatchCount = checkFirstNameExactMatch(sanitizedAritcleAuthors, sanitizedIdentityAuthors, lastNameMatchCount, multipleMarkedTargetAuthor);
-	            if(lastNameMatchCount == 1) {
-	            	slf4jLogger.info("Exact First name match found for article: " + reciterArticle.getArticleId());
-	            	continue;
-	            }
-	            
-	            if(firstNameMatchCount == 0 || firstNameMatchCount > 1)
-	            	fullLastNameToIdentityPartialMatchCount = checkLastNameFullArticleToIdentityPartialMatch(sanitizedAritcleAuthors, sanitizedIdentityAuthors, firstNameMatchCount, multipleMarkedTargetAuthor);
-	            if(firstNameMatchCount == 1) {
-	            	slf4jLogger.info("Exact First name match found for article: " + reciterArticle.getArticleId());
-	            	continue;
-	            }
-	            
-	            if(fullLastNameToIdentityPartialMatchCount == 0) {
-	            	slf4jLogger.info("There was no target author found for " + reciterArticle.getArticleId());
-	            	assignTargetAuthorFalse(authors.getAuthors());
-	            }
-	            else if(fullLastNameToIdentityPartialMatchCount > 1) {
-	            	slf4jLogger.info(fullLastNameToIdentityPartialMatchCount + " authors were marked as target author for article " + reciterArticle.getArticleId());
-	            }
-	            if(fullLastNameToIdentityPartialMatchCount == 1) {
-	            	slf4jLogger.info("Full Last Name match to partial Identity Last Name: " + reciterArticle.getArticleId());
-	            	continue;
-	            }
+			int lastMiddleFirstMatchCount = 0;
+			int lastNameMiddleInitialFirstMatchCount = 0;
+			int lastNameFirstNameMatchCount = 0;
+			int lastNameFirstNameSubstringIdentityMatchCount = 0;
+			int lastNameFirstNameIdentitySubstringMatchCount = 0;
+			int lastNameFirstInitialMatchCount = 0;
+			int emailMatchcount = 0;
+			int middleToFirstInitialAndFirstInitialToMiddleMatchCount = 0;
+			int lastNamePartialFirstInitialMatchCount = 0;
+			int lastNameMatchCount = 0;
+			int firstNameMatchCount = 0;
+			int fullLastNameToIdentityPartialMatchCount = 0;
+            
+            lastMiddleFirstMatchCount = checkExactLastMiddleFirstNameMatch(withMarked(lastNameAuthors, multipleMarkedTargetAuthor), identityNameIndex, emailMatchcount, multipleMarkedTargetAuthor);
+            if(lastMiddleFirstMatchCount == 0 || lastMiddleFirstMatchCount > 1)
+            	lastNameMiddleInitialFirstMatchCount = checkExactLastMiddleInitialFirstNameMatch(withMarked(lastNameAuthors, multipleMarkedTargetAuthor), identityNameIndex, lastMiddleFirstMatchCount, multipleMarkedTargetAuthor);
+            if(lastMiddleFirstMatchCount ==1) {
+            	slf4jLogger.info("Exact Last Name, Middle Name and First Name Match found for article: " + reciterArticle.getArticleId());
+            	return;
+            }
+            
+            if(lastNameMiddleInitialFirstMatchCount == 0 || lastNameMiddleInitialFirstMatchCount > 1)
+            	lastNameFirstNameMatchCount = checkExactLastFirstNameMatch(withMarked(lastNameAuthors, multipleMarkedTargetAuthor), identityNameIndex, lastNameMiddleInitialFirstMatchCount, multipleMarkedTargetAuthor);
+            if(lastNameMiddleInitialFirstMatchCount == 1) {
+            	slf4jLogger.info("Last Name Middle Initial and First Name Match found for article: " + reciterArticle.getArticleId());
+            	return;
+            }
+            
+            if(lastNameFirstNameMatchCount == 0 || lastNameFirstNameMatchCount > 1)
+            	lastNameFirstNameSubstringIdentityMatchCount = checkExactLastFirstNamePartialSubstringIdentityMatch(withMarked(lastNameAuthors, multipleMarkedTargetAuthor), identityNameIndex, lastNameFirstNameMatchCount, multipleMarkedTargetAuthor);
+            if(lastNameFirstNameMatchCount == 1) {
+            	slf4jLogger.info("Last Name First Name exact Match found for article: " + reciterArticle.getArticleId());
+            	return;
+            }
+            
+            if(lastNameFirstNameSubstringIdentityMatchCount == 0 || lastNameFirstNameSubstringIdentityMatchCount > 1)
+            	lastNameFirstNameIdentitySubstringMatchCount = checkExactLastFirstNamePartialIdentityPartialSubstringMatch(withMarked(lastNameAuthors, multipleMarkedTargetAuthor), identityNameIndex, lastNameMiddleInitialFirstMatchCount, multipleMarkedTargetAuthor);
+            if(lastNameFirstNameSubstringIdentityMatchCount == 1) {
+            	slf4jLogger.info("Last Name First Name partial match of Identity Match found for article: " + reciterArticle.getArticleId());
+            	return;
+            }
+            
+            if(lastNameFirstNameIdentitySubstringMatchCount == 0 || lastNameFirstNameIdentitySubstringMatchCount > 1)
+            	lastNameFirstInitialMatchCount = checkExactLastFirstInitialNameMatch(withMarked(lastNameAuthors, multipleMarkedTargetAuthor), identityNameIndex, lastNameMiddleInitialFirstMatchCount, multipleMarkedTargetAuthor);
+            if(lastNameFirstNameIdentitySubstringMatchCount == 1) {
+            	slf4jLogger.info("Last Name Identity First name partial of Article Match found for article: " + reciterArticle.getArticleId());
+            	return;
+            }
+            
+            if(lastNameFirstInitialMatchCount == 0 || lastNameFirstInitialMatchCount > 1)
+            	emailMatchcount = checkEmailMatch(sanitizedAritcleAuthors, identity, emailMatchcount, multipleMarkedTargetAuthor);
+            if(lastNameFirstInitialMatchCount == 1) {	
+            	slf4jLogger.info("Last Name First Initial exact Match found for article: " + reciterArticle.getArticleId());
+            	return;
+            }
+            
+            if(emailMatchcount == 0 || emailMatchcount > 1)
+            	middleToFirstInitialAndFirstInitialToMiddleMatchCount = checkFirstInitialTomiddleInitialAndmiddleInitialToFirstInitialMatch(withMarked(lastNameAuthors, multipleMarkedTargetAuthor), identityNameIndex, lastNameFirstInitialMatchCount, multipleMarkedTargetAuthor);
+            if(emailMatchcount == 1) {
+            	slf4jLogger.info("Email Match found for article: " + reciterArticle.getArticleId());
+            	return;
+            }
+            
+            if(middleToFirstInitialAndFirstInitialToMiddleMatchCount == 0 || middleToFirstInitialAndFirstInitialToMiddleMatchCount > 1)
+            	lastNamePartialFirstInitialMatchCount = checkPartialLastNameFirstInitialMatch(sanitizedAritcleAuthors, sanitizedIdentityAuthors, middleToFirstInitialAndFirstInitialToMiddleMatchCount, multipleMarkedTargetAuthor);
+            if(middleToFirstInitialAndFirstInitialToMiddleMatchCount == 1) {
+            	slf4jLogger.info("Middle intial to first initial and first intial to middle initial Match found for article: " + reciterArticle.getArticleId());
+            	return;
+            }
+            
+            if(lastNamePartialFirstInitialMatchCount == 0 || lastNamePartialFirstInitialMatchCount > 1)
+            	lastNameMatchCount = checkLastNameExactMatch(withMarked(lastNameAuthors, multipleMarkedTargetAuthor), identityNameIndex, lastNamePartialFirstInitialMatchCount, multipleMarkedTargetAuthor);
+            if(lastNamePartialFirstInitialMatchCount == 1) {
+            	slf4jLogger.info("Last Name Partial First Initial Match found for article: " + reciterArticle.getArticleId());
+            	return;
+            }
+            
+            if(lastNameMatchCount == 0 || lastNameMatchCount > 1)
+            	firstNameMatchCount = checkFirstNameExactMatch(withMarked(firstNameAuthors, multipleMarkedTargetAuthor), identityNameIndex, lastNameMatchCount, multipleMarkedTargetAuthor);
+            if(lastNameMatchCount == 1) {
+            	slf4jLogger.info("Exact First name match found for article: " + reciterArticle.getArticleId());
+            	return;
+            }
+            
+            if(firstNameMatchCount == 0 || firstNameMatchCount > 1)
+            	fullLastNameToIdentityPartialMatchCount = checkLastNameFullArticleToIdentityPartialMatch(sanitizedAritcleAuthors, sanitizedIdentityAuthors, firstNameMatchCount, multipleMarkedTargetAuthor);
+            if(firstNameMatchCount == 1) {
+            	slf4jLogger.info("Exact First name match found for article: " + reciterArticle.getArticleId());
+            	return;
+            }
+            
+            if(fullLastNameToIdentityPartialMatchCount == 0) {
+            	slf4jLogger.info("There was no target author found for " + reciterArticle.getArticleId());
+            	assignTargetAuthorFalse(authors.getAuthors());
+            }
+            else if(fullLastNameToIdentityPartialMatchCount > 1) {
+            	slf4jLogger.info(fullLastNameToIdentityPartialMatchCount + " authors were marked as target author for article " + reciterArticle.getArticleId());
+            }
+            if(fullLastNameToIdentityPartialMatchCount == 1) {
+            	slf4jLogger.info("Full Last Name match to partial Identity Last Name: " + reciterArticle.getArticleId());
+            	return;
+            }
             	
             		
-	        }
+        }
+	}
+	
+	/**
+	 * @param authors
+	 * @return entries whose original or sanitized author is marked as target author
+	 */
+	private static Set<Entry<ReCiterAuthor, ReCiterAuthor>> getMarkedTargetAuthors(Set<Entry<ReCiterAuthor, ReCiterAuthor>> authors) {
+		Set<Entry<ReCiterAuthor, ReCiterAuthor>> markedTargetAuthors = new LinkedHashSet<Entry<ReCiterAuthor, ReCiterAuthor>>();
+		for (Entry<ReCiterAuthor, ReCiterAuthor> entry : authors) {
+			if(entry.getKey().isTargetAuthor() || entry.getValue().isTargetAuthor()) {
+				markedTargetAuthors.add(entry);
+			}
 		}
-		
+		return markedTargetAuthors;
+	}
+	
+	/**
+	 * Authors the checks mark as target author are added to multipleMarkedTargetAuthor, so together with the authors marked
+	 * before the first check these are the only authors a check may have to unmark
+	 * @param authors authors that can match
+	 * @param multipleMarkedTargetAuthor
+	 * @return authors a check has to visit
+	 */
+	private static Set<Entry<ReCiterAuthor, ReCiterAuthor>> withMarked(Set<Entry<ReCiterAuthor, ReCiterAuthor>> authors, Set<Entry<ReCiterAuthor, ReCiterAuthor>> multipleMarkedTargetAuthor) {
+		if(multipleMarkedTargetAuthor.isEmpty()) {
+			return authors;
+		}
+		Set<Entry<ReCiterAuthor, ReCiterAuthor>> visitedAuthors = new LinkedHashSet<Entry<ReCiterAuthor, ReCiterAuthor>>(authors);
+		visitedAuthors.addAll(multipleMarkedTargetAuthor);
+		return visitedAuthors;
 	}
 	
 	//Step 7 : attempt email match if match then automatically its a target author
@@ -194,12 +272,12 @@ public class TargetAuthorSelection {
 	/**
 	 * Check for exact last name, middle and last name match from article to identity
 	 * @param authors
-	 * @param sanitizedIdentityAuthors
+	 * @param identityNameIndex
 	 * @param matchCount
 	 * @param multipleMarkedTargetAuthor
 	 * @return
 	 */
-	public int checkExactLastMiddleFirstNameMatch(Set<Entry<ReCiterAuthor, ReCiterAuthor>> authors, List<AuthorName> sanitizedIdentityAuthors, int matchCount, Set<Entry<ReCiterAuthor, ReCiterAuthor>> multipleMarkedTargetAuthor) {
+	public int checkExactLastMiddleFirstNameMatch(Set<Entry<ReCiterAuthor, ReCiterAuthor>> authors, TargetAuthorNameIndex identityNameIndex, int matchCount, Set<Entry<ReCiterAuthor, ReCiterAuthor>> multipleMarkedTargetAuthor) {
 		int count = 0;
 		if(matchCount > 1) {
 			authors = new HashSet<Entry<ReCiterAuthor, ReCiterAuthor>>(multipleMarkedTargetAuthor);
@@ -209,17 +287,7 @@ public class TargetAuthorSelection {
 			ReCiterAuthor originalAuthor = entry.getKey();
 			if(author.getAuthorName().getFirstName() != null && author.getAuthorName().getLastName() != null && author.getAuthorName().getMiddleName() != null) {
 				if(matchCount > 1 && author.isTargetAuthor()) {
-					if(sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getFirstName() != null
-							&&
-							sanitizedIdentityName.getMiddleName() != null
-							&& 
-							sanitizedIdentityName.getLastName() != null
-							&& 
-							author.getAuthorName().getLastName().equalsIgnoreCase(sanitizedIdentityName.getLastName())
-							&& 
-							author.getAuthorName().getMiddleName().equalsIgnoreCase(sanitizedIdentityName.getMiddleName())
-							&& 
-							author.getAuthorName().getFirstName().equalsIgnoreCase(sanitizedIdentityName.getFirstName()))) {
+					if(identityNameIndex.matchesLastMiddleFirstName(author.getAuthorName())) {
 						author.setTargetAuthor(true);
 						originalAuthor.setTargetAuthor(true);
 						multipleMarkedTargetAuthor.add(entry);
@@ -233,17 +301,7 @@ public class TargetAuthorSelection {
 					
 				}
 				else if(matchCount == 0) {
-					if(sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getFirstName() != null
-							&&
-							sanitizedIdentityName.getMiddleName() != null
-							&& 
-							sanitizedIdentityName.getLastName() != null
-							&& 
-							author.getAuthorName().getLastName().equalsIgnoreCase(sanitizedIdentityName.getLastName())
-							&& 
-							author.getAuthorName().getMiddleName().equalsIgnoreCase(sanitizedIdentityName.getMiddleName())
-							&& 
-							author.getAuthorName().getFirstName().equalsIgnoreCase(sanitizedIdentityName.getFirstName()))) {
+					if(identityNameIndex.matchesLastMiddleFirstName(author.getAuthorName())) {
 						author.setTargetAuthor(true);
 						originalAuthor.setTargetAuthor(true);
 						multipleMarkedTargetAuthor.add(entry);
@@ -266,12 +324,12 @@ public class TargetAuthorSelection {
 	/**
 	 * Check for exact last name, middle initial and first name match from article to identity
 	 * @param authors
-	 * @param sanitizedIdentityAuthors
+	 * @param identityNameIndex
 	 * @param matchCount
 	 * @param multipleMarkedTargetAuthor
 	 * @return
 	 */
-	public int checkExactLastMiddleInitialFirstNameMatch(Set<Entry<ReCiterAuthor, ReCiterAuthor>> authors, List<AuthorName> sanitizedIdentityAuthors, int matchCount, Set<Entry<ReCiterAuthor, ReCiterAuthor>> multipleMarkedTargetAuthor) {
+	public int checkExactLastMiddleInitialFirstNameMatch(Set<Entry<ReCiterAuthor, ReCiterAuthor>> authors, TargetAuthorNameIndex identityNameIndex, int matchCount, Set<Entry<ReCiterAuthor, ReCiterAuthor>> multipleMarkedTargetAuthor) {
 		int count = 0;
 		if(matchCount > 1) {
 			authors = new HashSet<Entry<ReCiterAuthor, ReCiterAuthor>>(multipleMarkedTargetAuthor);
@@ -281,17 +339,7 @@ public class TargetAuthorSelection {
 			ReCiterAuthor originalAuthor = entry.getKey();
 			if(author.getAuthorName().getFirstName() != null && author.getAuthorName().getLastName() != null && author.getAuthorName().getMiddleInitial() != null) {
 				if(matchCount > 1 && author.isTargetAuthor()) {
-					if(sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getFirstName() != null
-							&&
-							sanitizedIdentityName.getMiddleInitial() != null
-							&& 
-							sanitizedIdentityName.getLastName() != null
-							&& 
-							author.getAuthorName().getLastName().equalsIgnoreCase(sanitizedIdentityName.getLastName())
-							&& 
-							author.getAuthorName().getMiddleInitial().equalsIgnoreCase(sanitizedIdentityName.getMiddleInitial())
-							&& 
-							author.getAuthorName().getFirstName().equalsIgnoreCase(sanitizedIdentityName.getFirstName()))) {
+					if(identityNameIndex.matchesLastMiddleInitialFirstName(author.getAuthorName())) {
 						author.setTargetAuthor(true);
 						originalAuthor.setTargetAuthor(true);
 						multipleMarkedTargetAuthor.add(entry);
@@ -303,17 +351,7 @@ public class TargetAuthorSelection {
 					}
 				}
 				else if(matchCount == 0) {
-					if(sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getFirstName() != null
-							&&
-							sanitizedIdentityName.getMiddleInitial() != null
-							&& 
-							sanitizedIdentityName.getLastName() != null
-							&& 
-							author.getAuthorName().getLastName().equalsIgnoreCase(sanitizedIdentityName.getLastName())
-							&& 
-							author.getAuthorName().getMiddleInitial().equalsIgnoreCase(sanitizedIdentityName.getMiddleInitial())
-							&& 
-							author.getAuthorName().getFirstName().equalsIgnoreCase(sanitizedIdentityName.getFirstName()))) {
+					if(identityNameIndex.matchesLastMiddleInitialFirstName(author.getAuthorName())) {
 						author.setTargetAuthor(true);
 						originalAuthor.setTargetAuthor(true);
 						multipleMarkedTargetAuthor.add(entry);
@@ -335,13 +373,13 @@ public class TargetAuthorSelection {
 	/**
 	 * Check for exact last and first name match from article to identity
 	 * @param authors
-	 * @param sanitizedIdentityAuthors
+	 * @param identityNameIndex
 	 * @param matchCount
 	 * @param multipleMarkedTargetAuthor
 	 * @return
 	 */
 	//Step 3 : Attempt strict last name and strict first name match
-	public int checkExactLastFirstNameMatch(Set<Entry<ReCiterAuthor, ReCiterAuthor>> authors, List<AuthorName> sanitizedIdentityAuthors, int matchCount, Set<Entry<ReCiterAuthor, ReCiterAuthor>> multipleMarkedTargetAuthor) {
+	public int checkExactLastFirstNameMatch(Set<Entry<ReCiterAuthor, ReCiterAuthor>> authors, TargetAuthorNameIndex identityNameIndex, int matchCount, Set<Entry<ReCiterAuthor, ReCiterAuthor>> multipleMarkedTargetAuthor) {
 		int count = 0;
 		if(matchCount > 1) {
 			authors = new HashSet<Entry<ReCiterAuthor, ReCiterAuthor>>(multipleMarkedTargetAuthor);
@@ -351,13 +389,7 @@ public class TargetAuthorSelection {
 			ReCiterAuthor originalAuthor = entry.getKey();
 			if(author.getAuthorName().getFirstName() != null && author.getAuthorName().getLastName() != null) {
 				if(matchCount > 1 && author.isTargetAuthor()) {
-					if(sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getFirstName() != null
-							&&
-							sanitizedIdentityName.getLastName() != null
-							&& 
-							author.getAuthorName().getLastName().equalsIgnoreCase(sanitizedIdentityName.getLastName())
-							&& 
-							author.getAuthorName().getFirstName().equalsIgnoreCase(sanitizedIdentityName.getFirstName()))) {
+					if(identityNameIndex.matchesLastFirstName(author.getAuthorName())) {
 						author.setTargetAuthor(true);
 						originalAuthor.setTargetAuthor(true);
 						multipleMarkedTargetAuthor.add(entry);
@@ -369,13 +401,7 @@ public class TargetAuthorSelection {
 					}
 				}
 				else if(matchCount == 0) {
-					if(sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getFirstName() != null
-							&& 
-							sanitizedIdentityName.getLastName() != null
-							&& 
-							author.getAuthorName().getLastName().equalsIgnoreCase(sanitizedIdentityName.getLastName())
-							&& 
-							author.getAuthorName().getFirstName().equalsIgnoreCase(sanitizedIdentityName.getFirstName()))) {
+					if(identityNameIndex.matchesLastFirstName(author.getAuthorName())) {
 						author.setTargetAuthor(true);
 						originalAuthor.setTargetAuthor(true);
 						multipleMarkedTargetAuthor.add(entry);
@@ -398,12 +424,12 @@ public class TargetAuthorSelection {
 	/**
 	 * Check for exact last name and partial first name where article first name is a substring of identity first name
 	 * @param authors
-	 * @param sanitizedIdentityAuthors
+	 * @param identityNameIndex
 	 * @param matchCount
 	 * @param multipleMarkedTargetAuthor
 	 * @return
 	 */
-	public int checkExactLastFirstNamePartialSubstringIdentityMatch(Set<Entry<ReCiterAuthor, ReCiterAuthor>> authors, List<AuthorName> sanitizedIdentityAuthors, int matchCount, Set<Entry<ReCiterAuthor, ReCiterAuthor>> multipleMarkedTargetAuthor) {
+	public int checkExactLastFirstNamePartialSubstringIdentityMatch(Set<Entry<ReCiterAuthor, ReCiterAuthor>> authors, TargetAuthorNameIndex identityNameIndex, int matchCount, Set<Entry<ReCiterAuthor, ReCiterAuthor>> multipleMarkedTargetAuthor) {
 		int count = 0;
 		if(matchCount > 1) {
 			authors = new HashSet<Entry<ReCiterAuthor, ReCiterAuthor>>(multipleMarkedTargetAuthor);
@@ -413,13 +439,7 @@ public class TargetAuthorSelection {
 			ReCiterAuthor originalAuthor = entry.getKey();
 			if(author.getAuthorName().getFirstName() != null && author.getAuthorName().getLastName() != null) {
 				if(matchCount > 1 && author.isTargetAuthor()) {
-					if(sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getFirstName() != null
-							&& 
-							sanitizedIdentityName.getLastName() != null
-							&& 
-							author.getAuthorName().getLastName().equalsIgnoreCase(sanitizedIdentityName.getLastName())
-							&& 
-							StringUtils.containsIgnoreCase(sanitizedIdentityName.getFirstName(), author.getAuthorName().getFirstName()))) {
+					if(identityNameIndex.matchesLastNameArticleFirstNameInIdentity(author.getAuthorName())) {
 						author.setTargetAuthor(true);
 						originalAuthor.setTargetAuthor(true);
 						multipleMarkedTargetAuthor.add(entry);
@@ -433,13 +453,7 @@ public class TargetAuthorSelection {
 					
 				}
 				else if(matchCount == 0) {
-					if(sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getFirstName() != null
-							&& 
-							sanitizedIdentityName.getLastName() != null
-							&& 
-							author.getAuthorName().getLastName().equalsIgnoreCase(sanitizedIdentityName.getLastName())
-							&& 
-							StringUtils.containsIgnoreCase(sanitizedIdentityName.getFirstName(), author.getAuthorName().getFirstName()))) {
+					if(identityNameIndex.matchesLastNameArticleFirstNameInIdentity(author.getAuthorName())) {
 						author.setTargetAuthor(true);
 						originalAuthor.setTargetAuthor(true);
 						multipleMarkedTargetAuthor.add(entry);
@@ -462,12 +476,12 @@ public class TargetAuthorSelection {
 	/**
 	 * Check for exact last name and partial first name where identity first name is a substring of article first name
 	 * @param authors
-	 * @param sanitizedIdentityAuthors
+	 * @param identityNameIndex
 	 * @param matchCount
 	 * @param multipleMarkedTargetAuthor
 	 * @return
 	 */
-	public int checkExactLastFirstNamePartialIdentityPartialSubstringMatch(Set<Entry<ReCiterAuthor, ReCiterAuthor>> authors, List<AuthorName> sanitizedIdentityAuthors, int matchCount, Set<Entry<ReCiterAuthor, ReCiterAuthor>> multipleMarkedTargetAuthor) {
+	public int checkExactLastFirstNamePartialIdentityPartialSubstringMatch(Set<Entry<ReCiterAuthor, ReCiterAuthor>> authors, TargetAuthorNameIndex identityNameIndex, int matchCount, Set<Entry<ReCiterAuthor, ReCiterAuthor>> multipleMarkedTargetAuthor) {
 		int count = 0;
 		if(matchCount > 1) {
 			authors = new HashSet<Entry<ReCiterAuthor, ReCiterAuthor>>(multipleMarkedTargetAuthor);
@@ -477,13 +491,7 @@ public class TargetAuthorSelection {
 			ReCiterAuthor originalAuthor = entry.getKey();
 			if(author.getAuthorName().getFirstName() != null && author.getAuthorName().getLastName() != null) {
 				if(matchCount > 1 && author.isTargetAuthor()) {
-					if(sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getFirstName() != null
-							&& 
-							sanitizedIdentityName.getLastName() != null
-							&& 
-							author.getAuthorName().getLastName().equalsIgnoreCase(sanitizedIdentityName.getLastName())
-							&& 
-							StringUtils.containsIgnoreCase(author.getAuthorName().getFirstName(), sanitizedIdentityName.getFirstName()))) {
+					if(identityNameIndex.matchesLastNameIdentityFirstNameInArticle(author.getAuthorName())) {
 						author.setTargetAuthor(true);
 						originalAuthor.setTargetAuthor(true);
 						multipleMarkedTargetAuthor.add(entry);
@@ -495,13 +503,7 @@ public class TargetAuthorSelection {
 					}	
 				}
 				else if(matchCount == 0) {
-					if(sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getFirstName() != null
-							&& 
-							sanitizedIdentityName.getLastName() != null
-							&& 
-							author.getAuthorName().getLastName().equalsIgnoreCase(sanitizedIdentityName.getLastName())
-							&& 
-							StringUtils.containsIgnoreCase(author.getAuthorName().getFirstName(), sanitizedIdentityName.getFirstName()))) {
+					if(identityNameIndex.matchesLastNameIdentityFirstNameInArticle(author.getAuthorName())) {
 						author.setTargetAuthor(true);
 						originalAuthor.setTargetAuthor(true);
 						multipleMarkedTargetAuthor.add(entry);
@@ -523,13 +525,13 @@ public class TargetAuthorSelection {
 	/**
 	 * Check for exact last and first initial match from article to identity
 	 * @param authors
-	 * @param sanitizedIdentityAuthors
+	 * @param identityNameIndex
 	 * @param matchCount
 	 * @param multipleMarkedTargetAuthor
 	 * @return
 	 */
 	//Step 6 : Attempt strict last name and first initial match
-	public int checkExactLastFirstInitialNameMatch(Set<Entry<ReCiterAuthor, ReCiterAuthor>> authors, List<AuthorName> sanitizedIdentityAuthors, int matchCount, Set<Entry<ReCiterAuthor, ReCiterAuthor>> multipleMarkedTargetAuthor) {
+	public int checkExactLastFirstInitialNameMatch(Set<Entry<ReCiterAuthor, ReCiterAuthor>> authors, TargetAuthorNameIndex identityNameIndex, int matchCount, Set<Entry<ReCiterAuthor, ReCiterAuthor>> multipleMarkedTargetAuthor) {
 		int count = 0;
 		if(matchCount > 1) {
 			authors = new HashSet<Entry<ReCiterAuthor, ReCiterAuthor>>(multipleMarkedTargetAuthor);
@@ -539,13 +541,7 @@ public class TargetAuthorSelection {
 			ReCiterAuthor originalAuthor = entry.getKey();
 			if(author.getAuthorName().getFirstInitial() != null && author.getAuthorName().getLastName() != null) {
 				if(matchCount > 1 && author.isTargetAuthor()) {
-					if(sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getFirstInitial() != null
-							&&
-							sanitizedIdentityName.getLastName() != null
-							&& 
-							author.getAuthorName().getLastName().equalsIgnoreCase(sanitizedIdentityName.getLastName())
-							&& 
-							author.getAuthorName().getFirstInitial().equalsIgnoreCase(sanitizedIdentityName.getFirstInitial()))) {
+					if(identityNameIndex.matchesLastFirstInitial(author.getAuthorName())) {
 						author.setTargetAuthor(true);
 						originalAuthor.setTargetAuthor(true);
 						multipleMarkedTargetAuthor.add(entry);
@@ -557,13 +553,7 @@ public class TargetAuthorSelection {
 					}	
 				}
 				else if(matchCount == 0) {
-					if(sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getFirstInitial() != null
-							&&
-							sanitizedIdentityName.getLastName() != null
-							&& 
-							author.getAuthorName().getLastName().equalsIgnoreCase(sanitizedIdentityName.getLastName())
-							&& 
-							author.getAuthorName().getFirstInitial().equalsIgnoreCase(sanitizedIdentityName.getFirstInitial()))) {
+					if(identityNameIndex.matchesLastFirstInitial(author.getAuthorName())) {
 						author.setTargetAuthor(true);
 						originalAuthor.setTargetAuthor(true);
 						multipleMarkedTargetAuthor.add(entry);
@@ -585,13 +575,13 @@ public class TargetAuthorSelection {
 	/**
 	 * Check for article first initial to middle initial and article middle initial to first initial and exact lastname match
 	 * @param authors
-	 * @param sanitizedIdentityAuthors
+	 * @param identityNameIndex
 	 * @param matchCount
 	 * @param multipleMarkedTargetAuthor
 	 * @return
 	 */
 	//Step 8:Attempt firstInitial to middleInitial, and middleInitial to firstInitial match with strict lastname match
-	public int checkFirstInitialTomiddleInitialAndmiddleInitialToFirstInitialMatch(Set<Entry<ReCiterAuthor, ReCiterAuthor>> authors, List<AuthorName> sanitizedIdentityAuthors, int matchCount, Set<Entry<ReCiterAuthor, ReCiterAuthor>> multipleMarkedTargetAuthor) {
+	public int checkFirstInitialTomiddleInitialAndmiddleInitialToFirstInitialMatch(Set<Entry<ReCiterAuthor, ReCiterAuthor>> authors, TargetAuthorNameIndex identityNameIndex, int matchCount, Set<Entry<ReCiterAuthor, ReCiterAuthor>> multipleMarkedTargetAuthor) {
 		int count = 0;
 		if(matchCount > 1) {
 			authors = new HashSet<Entry<ReCiterAuthor, ReCiterAuthor>>(multipleMarkedTargetAuthor);
@@ -605,16 +595,7 @@ public class TargetAuthorSelection {
 							&& 
 							author.getAuthorName().getMiddleInitial() != null && author.getAuthorName().getMiddleInitial().length() > 0 
 							&& 
-							sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getFirstInitial() != null && sanitizedIdentityName.getFirstInitial().length() > 0
-							&&
-							sanitizedIdentityName.getMiddleInitial() != null && sanitizedIdentityName.getMiddleInitial().length() > 0
-							&& 
-							(StringUtils.equalsIgnoreCase(author.getAuthorName().getFirstInitial().trim(), sanitizedIdentityName.getMiddleInitial().trim())) //FirstInitial to MiddleInitial
-							&&
-							(StringUtils.equalsIgnoreCase(author.getAuthorName().getMiddleInitial().trim(), sanitizedIdentityName.getFirstInitial().trim()))//MiddleInitial to First Initial
-							&&
-							(StringUtils.equalsIgnoreCase(author.getAuthorName().getLastName().trim(), sanitizedIdentityName.getLastName().trim()))//Exact lastname match
-						    )) {
+							identityNameIndex.matchesLastNameSwappedInitials(author.getAuthorName())) {
 						author.setTargetAuthor(true);
 						originalAuthor.setTargetAuthor(true);
 						multipleMarkedTargetAuthor.add(entry);
@@ -630,16 +611,7 @@ public class TargetAuthorSelection {
 							&& 
 							author.getAuthorName().getMiddleInitial() != null && author.getAuthorName().getMiddleInitial().length() > 0 
 							&& 
-							sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getFirstInitial() != null && sanitizedIdentityName.getFirstInitial().length() > 0
-							&&
-							sanitizedIdentityName.getMiddleInitial() != null && sanitizedIdentityName.getMiddleInitial().length() > 0
-							&& 
-							(StringUtils.equalsIgnoreCase(author.getAuthorName().getFirstInitial().trim(), sanitizedIdentityName.getMiddleInitial().trim())) //FirstInitial to MiddleInitial
-							&&
-							(StringUtils.equalsIgnoreCase(author.getAuthorName().getMiddleInitial().trim(), sanitizedIdentityName.getFirstInitial().trim()))//MiddleInitial to First Initial
-							&&
-							(StringUtils.equalsIgnoreCase(author.getAuthorName().getLastName().trim(), sanitizedIdentityName.getLastName().trim()))//Exact lastname match
-						    )) {
+							identityNameIndex.matchesLastNameSwappedInitials(author.getAuthorName())) {
 						author.setTargetAuthor(true);
 						originalAuthor.setTargetAuthor(true);
 						multipleMarkedTargetAuthor.add(entry);
@@ -725,12 +697,12 @@ public class TargetAuthorSelection {
 	/**
 	 * Check for exact last name match from article to identity
 	 * @param authors
-	 * @param sanitizedIdentityAuthors
+	 * @param identityNameIndex
 	 * @param matchCount
 	 * @param multipleMarkedTargetAuthor
 	 * @return
 	 */
-	public int checkLastNameExactMatch(Set<Entry<ReCiterAuthor, ReCiterAuthor>> authors, List<AuthorName> sanitizedIdentityAuthors, int matchCount, Set<Entry<ReCiterAuthor, ReCiterAuthor>> multipleMarkedTargetAuthor) {
+	public int checkLastNameExactMatch(Set<Entry<ReCiterAuthor, ReCiterAuthor>> authors, TargetAuthorNameIndex identityNameIndex, int matchCount, Set<Entry<ReCiterAuthor, ReCiterAuthor>> multipleMarkedTargetAuthor) {
 		int count = 0;
 		if(matchCount > 1) {
 			authors = new HashSet<Entry<ReCiterAuthor, ReCiterAuthor>>(multipleMarkedTargetAuthor);
@@ -740,9 +712,7 @@ public class TargetAuthorSelection {
 			ReCiterAuthor originalAuthor = entry.getKey();
 			if(author.getAuthorName().getLastName() != null) {
 				if(matchCount > 1 && author.isTargetAuthor()) {
-					if(sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getLastName() != null
-							&&
-							StringUtils.equalsIgnoreCase(author.getAuthorName().getLastName().trim(), sanitizedIdentityName.getLastName().trim()))) {
+					if(identityNameIndex.matchesLastName(author.getAuthorName())) {
 						author.setTargetAuthor(true);
 						originalAuthor.setTargetAuthor(true);
 						multipleMarkedTargetAuthor.add(entry);
@@ -754,9 +724,7 @@ public class TargetAuthorSelection {
 					}		
 				}
 				else if(matchCount == 0) {
-					if(sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getLastName() != null
-							&&
-							StringUtils.equalsIgnoreCase(author.getAuthorName().getLastName().trim(), sanitizedIdentityName.getLastName().trim()))) {
+					if(identityNameIndex.matchesLastName(author.getAuthorName())) {
 						author.setTargetAuthor(true);
 						originalAuthor.setTargetAuthor(true);
 						multipleMarkedTargetAuthor.add(entry);
@@ -779,12 +747,12 @@ public class TargetAuthorSelection {
 	/**
 	 * Check for exact first name match from article to identity
 	 * @param authors
-	 * @param sanitizedIdentityAuthors
+	 * @param identityNameIndex
 	 * @param matchCount
 	 * @param multipleMarkedTargetAuthor
 	 * @return
 	 */
-	public int checkFirstNameExactMatch(Set<Entry<ReCiterAuthor, ReCiterAuthor>> authors, List<AuthorName> sanitizedIdentityAuthors, int matchCount, Set<Entry<ReCiterAuthor, ReCiterAuthor>> multipleMarkedTargetAuthor) {
+	public int checkFirstNameExactMatch(Set<Entry<ReCiterAuthor, ReCiterAuthor>> authors, TargetAuthorNameIndex identityNameIndex, int matchCount, Set<Entry<ReCiterAuthor, ReCiterAuthor>> multipleMarkedTargetAuthor) {
 		int count = 0;
 		if(matchCount > 1) {
 			authors = new HashSet<Entry<ReCiterAuthor, ReCiterAuthor>>(multipleMarkedTargetAuthor);
@@ -794,9 +762,7 @@ public class TargetAuthorSelection {
 			ReCiterAuthor originalAuthor = entry.getKey();
 			if(author.getAuthorName().getFirstName() != null) {
 				if(matchCount > 1 && author.isTargetAuthor()) {
-					if(sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getFirstName() != null
-							&&
-							StringUtils.equalsIgnoreCase(author.getAuthorName().getFirstName().trim(), sanitizedIdentityName.getFirstName().trim()))) {
+					if(identityNameIndex.matchesFirstName(author.getAuthorName())) {
 						author.setTargetAuthor(true);
 						originalAuthor.setTargetAuthor(true);
 						multipleMarkedTargetAuthor.add(entry);
@@ -808,9 +774,7 @@ public class TargetAuthorSelection {
 					}
 				}
 				else if(matchCount == 0) {
-					if(sanitizedIdentityAuthors.stream().anyMatch(sanitizedIdentityName -> sanitizedIdentityName.getFirstName() != null
-							&&
-							StringUtils.equalsIgnoreCase(author.getAuthorName().getFirstName().trim(), sanitizedIdentityName.getFirstName().trim()))) {
+					if(identityNameIndex.matchesFirstName(author.getAuthorName())) {
 						author.setTargetAuthor(true);
 						originalAuthor.setTargetAuthor(true);
 						multipleMarkedTargetAuthor.add(entry);
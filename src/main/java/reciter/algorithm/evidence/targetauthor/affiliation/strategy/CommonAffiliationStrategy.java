@@ -19,12 +19,9 @@
 package reciter.algorithm.evidence.targetauthor.affiliation.strategy;
 
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
@@ -36,6 +33,7 @@ import lombok.Data;
 import reciter.algorithm.cluster.article.scorer.ReCiterArticleScorer;
 import reciter.algorithm.evidence.cluster.averageclustering.strategy.AverageClusteringStrategy;
 import reciter.algorithm.evidence.targetauthor.AbstractTargetAuthorStrategy;
+import reciter.algorithm.evidence.targetauthor.affiliation.strategy.IdentityAffiliationContext.ArticleAffiliations;
 import reciter.engine.EngineParameters;
 import reciter.engine.Feature;
 import reciter.engine.analysis.evidence.AffiliationEvidence;
@@ -59,7 +57,7 @@ public class CommonAffiliationStrategy extends AbstractTargetAuthorStrategy {
 	private final String[] homeInstitutionsKeywords = ReCiterArticleScorer.strategyParameters.getInstAfflHomeInstKeywords().trim().split("\\s*,\\s*");
 	private final String[] collaboratingInstitutionsKeywords = ReCiterArticleScorer.strategyParameters.getInstAfflCollaboratingInstKeywords().trim().split("\\s*,\\s*");
 	
-	private Set<String> knownAffiliationIds = new HashSet<String>();
+	private IdentityAffiliationContext affiliationContext;
 	private List<Integer> nonTargetAuthorScopusAffiliationIds = new ArrayList<Integer>();
 	private double totalAffiliationScore = 0;
 	
@@ -87,15 +85,21 @@ public class CommonAffiliationStrategy extends AbstractTargetAuthorStrategy {
 	@Override
 	public double executeStrategy(List<ReCiterArticle> reCiterArticles, Identity identity) {
 		double sum = 0;
-		populateKnownAffiliationIds(identity);
+		this.affiliationContext = new IdentityAffiliationContext(identity.getInstitutions(), EngineParameters.getAfiliationNameToAfidMap(),
+				this.homeInstScopusInstitutionsIDs, this.collaboratingInstScopusInstitutionsIDs,
+				this.homeInstitutionsKeywords, this.collaboratingInstitutionsKeywords, EngineParameters.getRegexForStopWords());
 		for (ReCiterArticle reCiterArticle : reCiterArticles) {
 			AffiliationEvidence affiliationEvidence = new AffiliationEvidence();
+			ArticleAffiliations articleAffiliations = null;
+			if(ReCiterArticleScorer.strategyParameters.isScopusCommonAffiliation() && reCiterArticle.getScopusArticle() != null) {
+				articleAffiliations = new ArticleAffiliations(reCiterArticle.getScopusArticle());
+			}
 			for(ReCiterAuthor reCiterAuthor: reCiterArticle.getArticleCoAuthors().getAuthors()) {
 				if(reCiterAuthor.isTargetAuthor()) {
 					if(ReCiterArticleScorer.strategyParameters.isUseScopusArticles() && ReCiterArticleScorer.strategyParameters.isScopusCommonAffiliation()) {
 						if(reCiterArticle.getScopusArticle() != null) {
 							//Get the corresponding Scopus Author for the target author
-							Author scopusAuthor = reCiterArticle.getScopusArticle().getAuthors().stream().filter(author -> reCiterAuthor.getRank() == author.getSeq()).findFirst().orElse(null);
+							Author scopusAuthor = articleAffiliations.getAuthor(reCiterAuthor.getRank());
 							List<TargetAuthorScopusAffiliation> scopusAffiliationEvidences = new ArrayList<>();
 							if(scopusAuthor != null 
 									&& 
@@ -103,14 +107,14 @@ public class CommonAffiliationStrategy extends AbstractTargetAuthorStrategy {
 									&&
 									scopusAuthor.getAfids().size() > 0) {
 								//Get the matching affiliation ID for target author from scopus and identity affiliation ID and known home institution IDs
-								List<Integer> matchingAfids = scopusAuthor.getAfids().stream().distinct().filter(Objects::nonNull).filter(scopusAfid -> this.knownAffiliationIds.contains(String.valueOf(scopusAfid))).collect(Collectors.toList());
+								List<Integer> matchingAfids = scopusAuthor.getAfids().stream().distinct().filter(Objects::nonNull).filter(this.affiliationContext::isKnownAffiliation).collect(Collectors.toList());
 								
 								if(matchingAfids != null && matchingAfids.size() > 0) {
 									//For each match between known affiliation ID and article affiliation create scopusAffiliationEvidence
 									for(Integer afid: matchingAfids) {
 										TargetAuthorScopusAffiliation scopusAffiliationEvidence = new TargetAuthorScopusAffiliation();
 										if(reCiterArticle.getScopusArticle().getAffiliations() != null) {
-											Affiliation affiliationScopus = reCiterArticle.getScopusArticle().getAffiliations().stream().filter(affiliation -> affiliation.getAfid() == afid).findFirst().orElse(null);
+											Affiliation affiliationScopus = articleAffiliations.getAffiliation(afid);
 											if(affiliationScopus != null
 													&& 
 													affiliationScopus.getAffilname() != null) {
@@ -127,14 +131,14 @@ public class CommonAffiliationStrategy extends AbstractTargetAuthorStrategy {
 									}
 									
 								} else if(matchingAfids.size() == 0) { //If there is no match then match collaborating institutions, which are defined at the institutional level. Grab values from collaboratingInstitutions-scopusInstitutionIDs (stored in application.properties). Look for overlap between the two.
-									matchingAfids = scopusAuthor.getAfids().stream().distinct().filter(Objects::nonNull).filter(scopusAfid -> Arrays.asList(this.collaboratingInstScopusInstitutionsIDs).contains(String.valueOf(scopusAfid))).collect(Collectors.toList());
+									matchingAfids = scopusAuthor.getAfids().stream().distinct().filter(Objects::nonNull).filter(this.affiliationContext::isCollaboratingAffiliation).collect(Collectors.toList());
 									if(matchingAfids != null && matchingAfids.size() > 0) {
 										//While there can be multiple matches, the maximum score returned for this type of match should be 1.
 										int matchCount = 0;
 										for(Integer afid: matchingAfids) {
 											TargetAuthorScopusAffiliation scopusAffiliationEvidence = new TargetAuthorScopusAffiliation();
 											if(reCiterArticle.getScopusArticle().getAffiliations() != null) {
-												Affiliation affiliationScopus = reCiterArticle.getScopusArticle().getAffiliations().stream().filter(affiliation -> affiliation.getAfid() == afid).findFirst().orElse(null);
+												Affiliation affiliationScopus = articleAffiliations.getAffiliation(afid);
 												if(affiliationScopus != null 
 														&& 
 														affiliationScopus.getAffilname() != null) {
@@ -207,7 +211,7 @@ public class CommonAffiliationStrategy extends AbstractTargetAuthorStrategy {
 							) {
 						//Evaluate Pubmed
 						if(reCiterAuthor.getAffiliation() != null) {
-							evaluateTargetAuthorPubmedAffiliation(affiliationEvidence, reCiterAuthor, identity);
+							evaluateTargetAuthorPubmedAffiliation(affiliationEvidence, reCiterAuthor);
 						}
 						
 					}
@@ -216,8 +220,8 @@ public class CommonAffiliationStrategy extends AbstractTargetAuthorStrategy {
 			
 			if(ReCiterArticleScorer.strategyParameters.isScopusCommonAffiliation()) {
 				if(reCiterArticle.getScopusArticle() != null) {
-					populateScopusNonTargetAuthorInstitutionsIds(reCiterArticle);
-					evaluateNonTargetAuthorScopusAffiliation(affiliationEvidence, reCiterArticle);
+					populateScopusNonTargetAuthorInstitutionsIds(reCiterArticle, articleAffiliations);
+					evaluateNonTargetAuthorScopusAffiliation(affiliationEvidence, articleAffiliations);
 				}
 			}
 			reCiterArticle.setAffiliationEvidence(affiliationEvidence);
@@ -233,22 +237,52 @@ public class CommonAffiliationStrategy extends AbstractTargetAuthorStrategy {
 		return sum;
 	}
 	
-	private void evaluateNonTargetAuthorScopusAffiliation(AffiliationEvidence affiliationEvidence, ReCiterArticle reCiterArticle) {
-		Set<String> collaboratingInstScopusInstIds = new HashSet<String>(Arrays.asList(this.collaboratingInstScopusInstitutionsIDs));
+	/**
+	 * Every target author adds at most one match type score per Scopus affiliation ID of its Scopus author, or one if there
+	 * are none, and one for its PubMed affiliation. The non target author score is at most the non target author max score
+	 * scaled by the weight.
+	 * @param reCiterArticle
+	 * @return upper bound of the affiliation score {@link #executeStrategy(List, Identity)} can give the article
+	 */
+	public double getMaximumScore(ReCiterArticle reCiterArticle) {
+		double matchTypeScore = Math.max(0, Math.max(
+				Math.max(ReCiterArticleScorer.strategyParameters.getTargetAuthorInstAfflMatchTypePositiveIndividualScore(), ReCiterArticleScorer.strategyParameters.getTargetAuthorInstAfflMatchTypePositiveInstitutionScore()),
+				Math.max(Math.max(ReCiterArticleScorer.strategyParameters.getTargetAuthorInstAfflMatchTypeNoMatchScore(), ReCiterArticleScorer.strategyParameters.getTargetAuthorInstAfflMatchTypeNullScore()),
+						ReCiterArticleScorer.strategyParameters.getNonTargetAuthorInstAfflMatchTypeNoMatchScore())));
+		int scopusAffiliationIds = 1;
+		if(reCiterArticle.getScopusArticle() != null && reCiterArticle.getScopusArticle().getAuthors() != null) {
+			for(Author scopusAuthor: reCiterArticle.getScopusArticle().getAuthors()) {
+				if(scopusAuthor.getAfids() != null) {
+					scopusAffiliationIds = Math.max(scopusAffiliationIds, scopusAuthor.getAfids().size());
+				}
+			}
+		}
+		long targetAuthors = reCiterArticle.getArticleCoAuthors().getAuthors().stream().filter(ReCiterAuthor::isTargetAuthor).count();
+		double maximumScore = targetAuthors * (scopusAffiliationIds + 1) * matchTypeScore;
+		if(ReCiterArticleScorer.strategyParameters.isScopusCommonAffiliation() && reCiterArticle.getScopusArticle() != null) {
+			double nonTargetAuthorMaxScore = ReCiterArticleScorer.strategyParameters.getNonTargetAuthorInstAfflMatchTypeMaxScore();
+			double nonTargetAuthorWeight = ReCiterArticleScorer.strategyParameters.getNonTargetAuthorInstAfflMatchTypeWeight();
+			//The non target author score is rounded to 2 places
+			maximumScore += Math.max(0, Math.max(nonTargetAuthorMaxScore * Math.max(1, nonTargetAuthorWeight), nonTargetAuthorMaxScore * Math.min(0, nonTargetAuthorWeight))) + 0.01;
+		}
+		return maximumScore;
+	}
+	
+	private void evaluateNonTargetAuthorScopusAffiliation(AffiliationEvidence affiliationEvidence, ArticleAffiliations articleAffiliations) {
 		List<Integer> matchingKnownInstitutionIds = null;
 		List<Integer> matchingCollaboratingInstituionIds = new ArrayList<>();
 		//count of cases where affiliation ID from scopusIDsNonTargetAuthor-Article is in scopusIDsNonTargetAuthor-Identity-KnownInstitutions
 		int countScopusIDsNonTargetAuthorArticleKnownInstitution = 0;
-		if(this.nonTargetAuthorScopusAffiliationIds.size() > 0 && this.knownAffiliationIds.size() > 0) {
+		if(this.nonTargetAuthorScopusAffiliationIds.size() > 0) {
 			//countScopusIDsNonTargetAuthorArticleKnownInstitution = (int)this.nonTargetAuthorScopusAffiliationIds.stream().filter(scopusAffiliationId -> this.knownAffiliationIds.contains(String.valueOf(scopusAffiliationId))).count();
-			matchingKnownInstitutionIds = this.nonTargetAuthorScopusAffiliationIds.stream().filter(scopusAffiliationId -> this.knownAffiliationIds.contains(String.valueOf(scopusAffiliationId))).collect(Collectors.toList());
+			matchingKnownInstitutionIds = this.nonTargetAuthorScopusAffiliationIds.stream().filter(this.affiliationContext::isKnownAffiliation).collect(Collectors.toList());
 			countScopusIDsNonTargetAuthorArticleKnownInstitution = matchingKnownInstitutionIds.size();
 		}
 		
 		int countScopusIDsNonTargetAuthorArticleCollaboratingInstitution = 0;
-		if(this.nonTargetAuthorScopusAffiliationIds.size() > 0 && collaboratingInstScopusInstIds.size() > 0) {
+		if(this.nonTargetAuthorScopusAffiliationIds.size() > 0) {
 			for(Integer scopusAffiliationId: this.nonTargetAuthorScopusAffiliationIds) {
-				if(collaboratingInstScopusInstIds.contains(String.valueOf(scopusAffiliationId)) && !matchingKnownInstitutionIds.contains(scopusAffiliationId)) {
+				if(this.affiliationContext.isCollaboratingAffiliation(scopusAffiliationId) && !this.affiliationContext.isKnownAffiliation(scopusAffiliationId)) {
 					countScopusIDsNonTargetAuthorArticleCollaboratingInstitution++;
 					matchingCollaboratingInstituionIds.add(scopusAffiliationId);
 				}
@@ -291,7 +325,7 @@ public class CommonAffiliationStrategy extends AbstractTargetAuthorStrategy {
 					matchingKnownInstitutionIds.size() > 0) {
 				List<InstEvidence> nonTargetAuthorKnownInstIdsMatch = new ArrayList<InstEvidence>(matchingKnownInstitutionIds.size());
 				for(Integer afil : matchingKnownInstitutionIds) {
-					Affiliation scopusAffiliation = reCiterArticle.getScopusArticle().getAffiliations().stream().filter(affiliation -> affiliation.getAfid()==afil).findFirst().orElse(null);
+					Affiliation scopusAffiliation = articleAffiliations.getAffiliation(afil);
 					if(scopusAffiliation != null
 							&&
 							scopusAffiliation.getAffilname() != null) {
@@ -323,7 +357,7 @@ public class CommonAffiliationStrategy extends AbstractTargetAuthorStrategy {
 					matchingCollaboratingInstituionIds.size() > 0) {
 				List<InstEvidence> nonTargetAuthorCollabInstIdsMatch = new ArrayList<InstEvidence>(matchingCollaboratingInstituionIds.size());
 				for(Integer afil : matchingCollaboratingInstituionIds) {
-					Affiliation scopusAffiliation = reCiterArticle.getScopusArticle().getAffiliations().stream().filter(affiliation -> affiliation.getAfid()==afil).findFirst().orElse(null);
+					Affiliation scopusAffiliation = articleAffiliations.getAffiliation(afil);
 					if(scopusAffiliation != null 
 							&& 
 							scopusAffiliation.getAffilname() != null) {
@@ -361,85 +395,44 @@ public class CommonAffiliationStrategy extends AbstractTargetAuthorStrategy {
 	 * This function evaluates pubmed affiliation string for target author with identity as well as home institution keywords and collaborating institution keywords
 	 * @param affiliationEvidence The affiliationEvidence object 
 	 * @param reCiterAuthor The target author for the article
-	 * @param identity The identity related information of the target author stored in SOR
 	 */
-	private void evaluateTargetAuthorPubmedAffiliation(AffiliationEvidence affiliationEvidence, ReCiterAuthor reCiterAuthor, Identity identity) {
+	private void evaluateTargetAuthorPubmedAffiliation(AffiliationEvidence affiliationEvidence, ReCiterAuthor reCiterAuthor) {
 		TargetAuthorPubmedAffiliation pubmedAffiliationEvidence = null;
-		String affiliation = reCiterAuthor.getAffiliation().replaceAll(EngineParameters.getRegexForStopWords(), "");
-		//Attempt match against identity instituions and if there is a single match then break 
-		if(identity.getInstitutions() != null 
-				&&
-				identity.getInstitutions().size() > 0) {
-			for(String identityInst: identity.getInstitutions()) {
-				Set<String> santizeInst = new HashSet<String>(Arrays.asList(identityInst.replaceAll(EngineParameters.getRegexForStopWords(), "").split(" ")));
-				List<String> matchingKeywords = santizeInst.stream().filter(inst -> StringUtils.containsIgnoreCase(affiliation.trim(), inst.trim())).collect(Collectors.toList());
-				if(santizeInst != null 
-						&& 
-						matchingKeywords != null 
-						&& 
-						santizeInst.size() == matchingKeywords.size()) {
-					pubmedAffiliationEvidence = new TargetAuthorPubmedAffiliation();
-					pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationIdentity(identityInst);
-					pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationArticlePubmedLabel(affiliation);
-					pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationMatchType(InstitutionalAffiliationMatchType.POSITIVE_MATCH_INDIVIDUAL);
-					pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationSource(InstitutionalAffiliationSource.PUBMED);
-					pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationMatchTypeScore(ReCiterArticleScorer.strategyParameters.getTargetAuthorInstAfflMatchTypePositiveIndividualScore());
-					totalAffiliationScore = totalAffiliationScore + ReCiterArticleScorer.strategyParameters.getTargetAuthorInstAfflMatchTypePositiveIndividualScore();
-					break;
-				}
-			}
+		String affiliation = this.affiliationContext.removeStopWords(reCiterAuthor.getAffiliation());
+		//Attempt match against identity instituions and stop at the first match
+		String identityInst = this.affiliationContext.matchIdentityInstitution(affiliation);
+		if(identityInst != null) {
+			pubmedAffiliationEvidence = new TargetAuthorPubmedAffiliation();
+			pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationIdentity(identityInst);
+			pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationArticlePubmedLabel(affiliation);
+			pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationMatchType(InstitutionalAffiliationMatchType.POSITIVE_MATCH_INDIVIDUAL);
+			pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationSource(InstitutionalAffiliationSource.PUBMED);
+			pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationMatchTypeScore(ReCiterArticleScorer.strategyParameters.getTargetAuthorInstAfflMatchTypePositiveIndividualScore());
+			totalAffiliationScore = totalAffiliationScore + ReCiterArticleScorer.strategyParameters.getTargetAuthorInstAfflMatchTypePositiveIndividualScore();
 		}
 		//If there is not match try with home institutions keywords
-		if(pubmedAffiliationEvidence == null) {
-			List<String> homeInstKeywords = Arrays.asList(this.homeInstitutionsKeywords);
-			if(homeInstKeywords != null 
-					&&
-					homeInstKeywords.size() > 0) {
-				for(String keywords: homeInstKeywords) {
-					Set<String> keyword = new HashSet<String>(Arrays.asList(keywords.trim().split("\\|")));
-					List<String> matchingKeywords = keyword.stream().filter(inst -> StringUtils.containsIgnoreCase(affiliation, inst)).collect(Collectors.toList());
-					if(keyword != null 
-							&& 
-							matchingKeywords != null 
-							&& 
-							keyword.size() == matchingKeywords.size()) {
-						pubmedAffiliationEvidence = new TargetAuthorPubmedAffiliation();
-						pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationIdentity(ReCiterArticleScorer.strategyParameters.getInstAfflInstLabel());
-						pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationArticlePubmedLabel(affiliation);
-						pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationMatchType(InstitutionalAffiliationMatchType.POSITIVE_MATCH_INDIVIDUAL);
-						pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationSource(InstitutionalAffiliationSource.PUBMED);
-						pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationMatchTypeScore(ReCiterArticleScorer.strategyParameters.getTargetAuthorInstAfflMatchTypePositiveIndividualScore());
-						totalAffiliationScore = totalAffiliationScore + ReCiterArticleScorer.strategyParameters.getTargetAuthorInstAfflMatchTypePositiveIndividualScore();
-						break;
-					}
-				}
-			}
+		if(pubmedAffiliationEvidence == null
+				&&
+				this.affiliationContext.matchesHomeInstitution(affiliation)) {
+			pubmedAffiliationEvidence = new TargetAuthorPubmedAffiliation();
+			pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationIdentity(ReCiterArticleScorer.strategyParameters.getInstAfflInstLabel());
+			pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationArticlePubmedLabel(affiliation);
+			pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationMatchType(InstitutionalAffiliationMatchType.POSITIVE_MATCH_INDIVIDUAL);
+			pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationSource(InstitutionalAffiliationSource.PUBMED);
+			pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationMatchTypeScore(ReCiterArticleScorer.strategyParameters.getTargetAuthorInstAfflMatchTypePositiveIndividualScore());
+			totalAffiliationScore = totalAffiliationScore + ReCiterArticleScorer.strategyParameters.getTargetAuthorInstAfflMatchTypePositiveIndividualScore();
 		}
 		//If there is still no match try to attempt match using collaborating institutions, which are defined at the institutional level. Grab values from collaboratingInstitutions-keywords (stored in application.properties)
-		if(pubmedAffiliationEvidence == null) {
-			List<String> collabInstKeywords = Arrays.asList(this.collaboratingInstitutionsKeywords);
-			if(collabInstKeywords != null 
-					&&
-					collabInstKeywords.size() > 0) {
-				for(String keywords: collabInstKeywords) {
-					List<String> keyword = Arrays.asList(keywords.trim().split("\\|"));
-					List<String> matchingKeywords = keyword.stream().filter(inst -> StringUtils.containsIgnoreCase(affiliation.trim(), inst.trim())).collect(Collectors.toList());
-					if(keyword != null 
-							&& 
-							matchingKeywords != null 
-							&& 
-							keyword.size() == matchingKeywords.size()) {
-						pubmedAffiliationEvidence = new TargetAuthorPubmedAffiliation();
-						pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationIdentity(ReCiterArticleScorer.strategyParameters.getInstAfflInstLabel());
-						pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationArticlePubmedLabel(affiliation);
-						pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationMatchType(InstitutionalAffiliationMatchType.POSITIVE_MATCH_INSTITUTION);
-						pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationSource(InstitutionalAffiliationSource.PUBMED);
-						pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationMatchTypeScore(ReCiterArticleScorer.strategyParameters.getTargetAuthorInstAfflMatchTypePositiveInstitutionScore());
-						totalAffiliationScore = totalAffiliationScore + ReCiterArticleScorer.strategyParameters.getTargetAuthorInstAfflMatchTypePositiveInstitutionScore();
-						break;
-					}
-				}
-			}
+		if(pubmedAffiliationEvidence == null
+				&&
+				this.affiliationContext.matchesCollaboratingInstitution(affiliation)) {
+			pubmedAffiliationEvidence = new TargetAuthorPubmedAffiliation();
+			pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationIdentity(ReCiterArticleScorer.strategyParameters.getInstAfflInstLabel());
+			pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationArticlePubmedLabel(affiliation);
+			pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationMatchType(InstitutionalAffiliationMatchType.POSITIVE_MATCH_INSTITUTION);
+			pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationSource(InstitutionalAffiliationSource.PUBMED);
+			pubmedAffiliationEvidence.setTargetAuthorInstitutionalAffiliationMatchTypeScore(ReCiterArticleScorer.strategyParameters.getTargetAuthorInstAfflMatchTypePositiveInstitutionScore());
+			totalAffiliationScore = totalAffiliationScore + ReCiterArticleScorer.strategyParameters.getTargetAuthorInstAfflMatchTypePositiveInstitutionScore();
 		}
 		if(pubmedAffiliationEvidence == null 
 				&&
@@ -469,11 +462,12 @@ public class CommonAffiliationStrategy extends AbstractTargetAuthorStrategy {
 	/**
 	 * This function contains all scopusInstitutionIDs (e.g., 60007997) from article.affiliation for all nonTargetAuthors.
 	 * @param reCiterArticle
+	 * @param articleAffiliations Scopus authors of the article by sequence
 	 */
-	private void populateScopusNonTargetAuthorInstitutionsIds(ReCiterArticle reCiterArticle) {
+	private void populateScopusNonTargetAuthorInstitutionsIds(ReCiterArticle reCiterArticle, ArticleAffiliations articleAffiliations) {
 		for(ReCiterAuthor reCiterAuthor: reCiterArticle.getArticleCoAuthors().getAuthors()) {
 			if(!reCiterAuthor.isTargetAuthor()) {
-				Author scopusAuthor = reCiterArticle.getScopusArticle().getAuthors().stream().filter(author -> reCiterAuthor.getRank() == author.getSeq()).findFirst().orElse(null);
+				Author scopusAuthor = articleAffiliations.getAuthor(reCiterAuthor.getRank());
 				if(scopusAuthor != null
 						&& scopusAuthor.getAfids() != null) {
 					this.nonTargetAuthorScopusAffiliationIds.addAll(scopusAuthor.getAfids().stream().distinct().collect(Collectors.toList()));
@@ -482,31 +476,6 @@ public class CommonAffiliationStrategy extends AbstractTargetAuthorStrategy {
 		}
 	}
 	
-	/**
-	 * This function gets institutions from Identity sources and Scopus home Institutions IDs if declared in application.properties and return a unique set of knownAffiliationIDs
-	 * @param identity
-	 */
-	private void populateKnownAffiliationIds(Identity identity) {
-		if(identity.getInstitutions() != null 
-				&&
-				identity.getInstitutions().size() > 0) {
-			//Map<String, List<String>> afidTomap = EngineParameters.getAfiliationNameToAfidMap();
-			//identity.getInstitutions().stream().forEach(institutions -> {
-			for(String institutions: identity.getInstitutions()) {
-				if(EngineParameters.getAfiliationNameToAfidMap() != null 
-						&& 
-						EngineParameters.getAfiliationNameToAfidMap().containsKey(institutions.trim())
-						) {
-					this.knownAffiliationIds.addAll(EngineParameters.getAfiliationNameToAfidMap().get(institutions.trim()));
-				}
-			}
-		}
-		
-		if(this.homeInstScopusInstitutionsIDs.length > 0) {
-			this.knownAffiliationIds.addAll(Arrays.asList(this.homeInstScopusInstitutionsIDs));
-		}
-	}
-	
 	/**
 	 * Check if the ReCiterArticle's affiliation information contains the phrase 
 	 * "weill cornell", "weill-cornell", "weill medical" using case-insensitive
@@ -0,0 +1,209 @@
+package reciter.algorithm.evidence.targetauthor.affiliation.strategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+
+import reciter.model.scopus.Affiliation;
+import reciter.model.scopus.Author;
+import reciter.model.scopus.ScopusArticle;
+import reciter.utils.NamePatterns;
+
+/**
+ * Affiliation data of an identity prepared once per run for {@link CommonAffiliationStrategy}. Known (identity and home
+ * institution) and collaborating institution Scopus affiliation IDs are held in hash sets, and the identity institutions
+ * and the home and collaborating institution keywords are split and stripped of stop words up front, so that scoring an
+ * article only does lookups and keyword comparisons against its own affiliations.
+ */
+public class IdentityAffiliationContext {
+
+	private final Set<Integer> knownAffiliationIds = new HashSet<>();
+
+	private final Set<Integer> collaboratingAffiliationIds = new HashSet<>();
+
+	private final Pattern stopWords;
+
+	private final List<IdentityInstitution> identityInstitutions = new ArrayList<>();
+
+	private final List<List<String>> homeInstitutionKeywords = new ArrayList<>();
+
+	private final List<List<String>> collaboratingInstitutionKeywords = new ArrayList<>();
+
+	/**
+	 * @param identityInstitutions institutions of the identity, may be null
+	 * @param afiliationNameToAfidMap institution name to its Scopus affiliation IDs, may be null
+	 * @param homeInstScopusInstitutionsIDs Scopus affiliation IDs of the home institution
+	 * @param collaboratingInstScopusInstitutionsIDs Scopus affiliation IDs of the collaborating institutions
+	 * @param homeInstitutionsKeywords home institution keywords, each a | separated list of words that must all be present
+	 * @param collaboratingInstitutionsKeywords collaborating institution keywords, each a | separated list of words that must all be present
+	 * @param regexForStopWords
+	 */
+	public IdentityAffiliationContext(Collection<String> identityInstitutions, Map<String, List<String>> afiliationNameToAfidMap,
+			String[] homeInstScopusInstitutionsIDs, String[] collaboratingInstScopusInstitutionsIDs,
+			String[] homeInstitutionsKeywords, String[] collaboratingInstitutionsKeywords, String regexForStopWords) {
+		this.stopWords = NamePatterns.compile(regexForStopWords);
+		if(identityInstitutions != null) {
+			for(String identityInst: identityInstitutions) {
+				if(afiliationNameToAfidMap != null
+						&&
+						afiliationNameToAfidMap.containsKey(identityInst.trim())) {
+					addAffiliationIds(knownAffiliationIds, afiliationNameToAfidMap.get(identityInst.trim()));
+				}
+				Set<String> sanitizedInst = Arrays.stream(stopWords.matcher(identityInst).replaceAll("").split(" "))
+						.map(String::trim)
+						.collect(Collectors.toCollection(LinkedHashSet::new));
+				this.identityInstitutions.add(new IdentityInstitution(identityInst, new ArrayList<>(sanitizedInst)));
+			}
+		}
+		addAffiliationIds(knownAffiliationIds, Arrays.asList(homeInstScopusInstitutionsIDs));
+		addAffiliationIds(collaboratingAffiliationIds, Arrays.asList(collaboratingInstScopusInstitutionsIDs));
+		for(String keywords: homeInstitutionsKeywords) {
+			homeInstitutionKeywords.add(new ArrayList<>(new LinkedHashSet<>(Arrays.asList(keywords.trim().split("\\|")))));
+		}
+		for(String keywords: collaboratingInstitutionsKeywords) {
+			collaboratingInstitutionKeywords.add(Arrays.stream(keywords.trim().split("\\|")).map(String::trim).collect(Collectors.toList()));
+		}
+	}
+
+	/**
+	 * Scopus affiliation IDs are configured as strings and were compared against <code>String.valueOf(afid)</code>, so only
+	 * IDs in their canonical decimal form can match an article affiliation ID
+	 */
+	private static void addAffiliationIds(Set<Integer> affiliationIds, List<String> ids) {
+		for(String id: ids) {
+			try {
+				Integer afid = Integer.valueOf(id);
+				if(afid.toString().equals(id)) {
+					affiliationIds.add(afid);
+				}
+			} catch(NumberFormatException e) {
+				// not an affiliation ID e.g. an empty property
+			}
+		}
+	}
+
+	/**
+	 * @return true if afid is one of the identity institutions or the home institution Scopus affiliation IDs
+	 */
+	public boolean isKnownAffiliation(Integer afid) {
+		return knownAffiliationIds.contains(afid);
+	}
+
+	/**
+	 * @return true if afid is one of the collaborating institutions Scopus affiliation IDs
+	 */
+	public boolean isCollaboratingAffiliation(Integer afid) {
+		return collaboratingAffiliationIds.contains(afid);
+	}
+
+	/**
+	 * @param affiliation article author affiliation
+	 * @return affiliation with the stop words removed
+	 */
+	public String removeStopWords(String affiliation) {
+		return stopWords.matcher(affiliation).replaceAll("");
+	}
+
+	/**
+	 * @param affiliation article author affiliation stripped of stop words
+	 * @return first identity institution all of whose words are contained in the affiliation, otherwise null
+	 */
+	public String matchIdentityInstitution(String affiliation) {
+		String trimmedAffiliation = affiliation.trim();
+		for(IdentityInstitution identityInstitution: identityInstitutions) {
+			if(containsAll(trimmedAffiliation, identityInstitution.words)) {
+				return identityInstitution.label;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @param affiliation article author affiliation stripped of stop words
+	 * @return true if all the words of any home institution keyword are contained in the affiliation
+	 */
+	public boolean matchesHomeInstitution(String affiliation) {
+		return homeInstitutionKeywords.stream().anyMatch(keywords -> containsAll(affiliation, keywords));
+	}
+
+	/**
+	 * @param affiliation article author affiliation stripped of stop words
+	 * @return true if all the words of any collaborating institution keyword are contained in the affiliation
+	 */
+	public boolean matchesCollaboratingInstitution(String affiliation) {
+		String trimmedAffiliation = affiliation.trim();
+		return collaboratingInstitutionKeywords.stream().anyMatch(keywords -> containsAll(trimmedAffiliation, keywords));
+	}
+
+	private static boolean containsAll(String affiliation, List<String> words) {
+		for(String word: words) {
+			if(!StringUtils.containsIgnoreCase(affiliation, word)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Scopus authors and affiliations of an article indexed by author sequence and affiliation ID. When several authors share
+	 * a sequence or several affiliations share an ID the first one in the article is kept.
+	 */
+	public static class ArticleAffiliations {
+
+		private final Map<Integer, Author> authorsBySeq;
+
+		private final Map<Integer, Affiliation> affiliationsByAfid;
+
+		public ArticleAffiliations(ScopusArticle scopusArticle) {
+			List<Author> authors = (scopusArticle.getAuthors() == null) ? Collections.emptyList() : scopusArticle.getAuthors();
+			List<Affiliation> affiliations = (scopusArticle.getAffiliations() == null) ? Collections.emptyList() : scopusArticle.getAffiliations();
+			authorsBySeq = new HashMap<>(authors.size() * 2);
+			for(Author author: authors) {
+				authorsBySeq.putIfAbsent(author.getSeq(), author);
+			}
+			affiliationsByAfid = new HashMap<>(affiliations.size() * 2);
+			for(Affiliation affiliation: affiliations) {
+				affiliationsByAfid.putIfAbsent(affiliation.getAfid(), affiliation);
+			}
+		}
+
+		/**
+		 * @param seq author rank in the article
+		 * @return Scopus author at that sequence, otherwise null
+		 */
+		public Author getAuthor(int seq) {
+			return authorsBySeq.get(seq);
+		}
+
+		/**
+		 * @param afid Scopus affiliation ID
+		 * @return article affiliation with that ID, otherwise null
+		 */
+		public Affiliation getAffiliation(int afid) {
+			return affiliationsByAfid.get(afid);
+		}
+	}
+
+	private static class IdentityInstitution {
+
+		private final String label;
+
+		private final List<String> words;
+
+		private IdentityInstitution(String label, List<String> words) {
+			this.label = label;
+			this.words = words;
+		}
+	}
+}
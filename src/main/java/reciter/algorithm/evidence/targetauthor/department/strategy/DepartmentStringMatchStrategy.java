@@ -19,11 +19,10 @@
 package reciter.algorithm.evidence.targetauthor.department.strategy;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeSet;
@@ -56,7 +55,6 @@ import reciter.model.identity.OrganizationalUnit.OrganizationalUnitType;
 public class DepartmentStringMatchStrategy extends AbstractTargetAuthorStrategy {
 
 	private final static Logger slf4jLogger = LoggerFactory.getLogger(DepartmentStringMatchStrategy.class);
-	private final List<String> orgUnitSynonym = Arrays.asList(ReCiterArticleScorer.strategyParameters.getOrganizationalUnitSynonym().trim().split("\\s*,\\s*"));
 
 	private String extractedDept;
 	private long pmid;
@@ -111,8 +109,9 @@ public class DepartmentStringMatchStrategy extends AbstractTargetAuthorStrategy
 	@Override
 	public double executeStrategy(List<ReCiterArticle> reCiterArticles, Identity identity) {
 		double sum = 0;
-		Set<OrganizationalUnit> sanitizedIdentityInstitutions = identity.getSanitizedIdentityInstitutions();
-		Map<String, List<String>> identityOrgUnitToSynonymMap = identity.getIdentityOrgUnitToSynonymMap();
+		OrganizationalUnitMatcher orgUnitMatcher = new OrganizationalUnitMatcher(identity.getSanitizedIdentityInstitutions(), identity.getIdentityOrgUnitToSynonymMap(), 
+				ReCiterArticleScorer.strategyParameters.getOrganizationalUnitModifier(), EngineParameters.getRegexForStopWords());
+		List<OrganizationalUnitMatcher.Unit> orgUnits = orgUnitMatcher.getUnits();
 		for (ReCiterArticle reCiterArticle : reCiterArticles) {
 			List<OrganizationalUnitEvidence> orgUnitEvidences = new ArrayList<OrganizationalUnitEvidence>(); 
 			if (reCiterArticle.getArticleCoAuthors() != null && reCiterArticle.getArticleCoAuthors().getAuthors() != null) {
@@ -121,156 +120,36 @@ public class DepartmentStringMatchStrategy extends AbstractTargetAuthorStrategy
 							&& 
 							author.getAffiliation() != null) {
 						
-						String synonymOrgUnitLabel = null;
-						String articleAffiliation = author.getAffiliation().replaceAll("&", "and").replaceAll("Tri-I", "Tri-Institutional").replaceAll("[-,]", "");
 						if(identity.getOrganizationalUnits() != null 
 								&& 
 								identity.getOrganizationalUnits().size() > 0) {
+							BitSet orgUnitMatches = orgUnitMatcher.match(author.getAffiliation());
 							//This is for department
-							for(OrganizationalUnit orgUnit: sanitizedIdentityInstitutions) {
-								boolean isOrgUnitMatch = false;
+							for(int i = 0; i < orgUnits.size(); i++) {
+								OrganizationalUnitMatcher.Unit unit = orgUnits.get(i);
+								OrganizationalUnit orgUnit = unit.getOrgUnit();
+								String identityDepartment = unit.getIdentityDepartment();
 								OrganizationalUnitEvidence orgUnitEvidence = new OrganizationalUnitEvidence();
 								orgUnitEvidence.setOrganizationalUnitType(orgUnit.getOrganizationalUnitType());
-								String identityDepartment = orgUnit.getOrganizationalUnitLabel().replaceAll("&", "and").replaceAll("Tri-I", "Tri-Institutional").replaceAll("[-,]", "");
-								if(orgUnit.getOrganizationalUnitType() == OrganizationalUnitType.DEPARTMENT || orgUnit.getOrganizationalUnitType() == OrganizationalUnitType.DIVISION) {
-									if(orgUnit.getOrganizationalUnitLabel() != null 
-											&& 
-											(StringUtils.containsIgnoreCase(orgUnit.getOrganizationalUnitLabel(), "Center")
-													||
-													StringUtils.containsIgnoreCase(orgUnit.getOrganizationalUnitLabel(), "Program")
-													||
-													StringUtils.containsIgnoreCase(orgUnit.getOrganizationalUnitLabel(), "Institute")) 
-											&& 
-											orgUnit.getOrganizationalUnitLabel().length() > 14) {
-										if(StringUtils.containsIgnoreCase(articleAffiliation.replaceAll(EngineParameters.getRegexForStopWords(), ""), identityDepartment.replaceAll(EngineParameters.getRegexForStopWords(), ""))) {
-											//articleAffiliation: "Center for Integrative Medicine, Weill Cornell Medicine, New York, NY, USA."
-											//identityDepartment: "Center for Integrative Medicine"
-											//departmentMatchingScore: 2
-											if(identityOrgUnitToSynonymMap.size() > 0 &&
-													identityOrgUnitToSynonymMap.values().stream().anyMatch(synonymOrgUnit -> synonymOrgUnit.contains(identityDepartment))) {
-													synonymOrgUnitLabel = identityOrgUnitToSynonymMap.entrySet().stream().
-														filter(synonymOrgUnit -> synonymOrgUnit.getValue().contains(identityDepartment))
-														.map(Map.Entry::getKey)
-														.findFirst()
-														.orElse(null);
-													if(synonymOrgUnitLabel != null) {
-														orgUnitEvidence.setIdentityOrganizationalUnit(synonymOrgUnitLabel);
-													} 
-											}
-											if(synonymOrgUnitLabel == null) {
-												orgUnitEvidence.setIdentityOrganizationalUnit(orgUnit.getOrganizationalUnitLabel());
-											}
-											orgUnitEvidence.setArticleAffiliation(author.getAffiliation());
-											orgUnitEvidence.setOrganizationalUnitMatchingScore(ReCiterArticleScorer.strategyParameters.getOrganizationalUnitDepartmentMatchingScore());
-											isOrgUnitMatch = true;
-										}
-									}  
-									
-									/*if(orgUnitEvidence.getOrganizationalUnitMatchingScore() == 0 
-											&&
-											StringUtils.containsIgnoreCase(articleAffiliation.replaceAll(constructRegexForStopWords(), ""), identityDepartment.replaceAll(constructRegexForStopWords(), ""))) {
-										//This is for https://github.com/wcmc-its/ReCiter/issues/251 - Account for possibility that department name may be missing preposition in article.affiliation
-										if(identityOrgUnitToSynonymMap.size() > 0 &&
-												identityOrgUnitToSynonymMap.entrySet().stream().anyMatch(synonymOrgUnit -> synonymOrgUnit.getValue().contains(identityDepartment))) {
-												synonymOrgUnitLabel = identityOrgUnitToSynonymMap.entrySet().stream().
-													filter(synonymOrgUnit -> synonymOrgUnit.getValue().contains(identityDepartment))
-													.map(Map.Entry::getKey)
-													.findFirst()
-													.orElse(null);
-											if(synonymOrgUnitLabel != null) {
-												orgUnitEvidence.setIdentityOrganizationalUnit(synonymOrgUnitLabel);
-											} 
-										}
-										if(synonymOrgUnitLabel == null) {
-											orgUnitEvidence.setIdentityOrganizationalUnit(orgUnit.getOrganizationalUnitLabel());
-										}
+								if(unit.isDepartment()) {
+									//Center, Program or Institute e.g. articleAffiliation: "Center for Integrative Medicine, Weill Cornell Medicine, New York, NY, USA." identityDepartment: "Center for Integrative Medicine"
+									//is matched without stop words, otherwise https://github.com/wcmc-its/ReCiter/issues/250 e.g. articleAffiliation: "Department of Pharmacology, Weill Cornell Medical College. New York, NY 10021, USA. jobuck@med.cornell.edu" identityDepartment: "Pharmacology"
+									//departmentMatchingScore: 2
+									boolean isOrgUnitMatch = orgUnitMatches.get(i);
+									if(isOrgUnitMatch) {
+										orgUnitEvidence.setIdentityOrganizationalUnit(unit.getIdentityOrganizationalUnit());
 										orgUnitEvidence.setArticleAffiliation(author.getAffiliation());
 										orgUnitEvidence.setOrganizationalUnitMatchingScore(ReCiterArticleScorer.strategyParameters.getOrganizationalUnitDepartmentMatchingScore());
-										isOrgUnitMatch = true;
-									}*/ else if(StringUtils.containsIgnoreCase(articleAffiliation, "Department of " + identityDepartment) 
-											|| 
-											StringUtils.containsIgnoreCase(articleAffiliation, "Division of " + identityDepartment)
-											||
-											StringUtils.containsIgnoreCase(articleAffiliation, "Dept of " + identityDepartment)
-											||
-											StringUtils.containsIgnoreCase(articleAffiliation, "Departments of " + identityDepartment)
-											||
-											StringUtils.containsIgnoreCase(articleAffiliation, "Divisions of " + identityDepartment)
-											||
-											StringUtils.containsIgnoreCase(articleAffiliation, "Depts of " + identityDepartment)
-											||
-											StringUtils.containsIgnoreCase(articleAffiliation, identityDepartment + " Department")
-											||
-											StringUtils.containsIgnoreCase(articleAffiliation, identityDepartment + " Division")
-											||
-											StringUtils.containsIgnoreCase(articleAffiliation, identityDepartment + " Dept")) {
-										//This addresses https://github.com/wcmc-its/ReCiter/issues/250
-										//articleAffiliation: "Department of Pharmacology, Weill Cornell Medical College. New York, NY 10021, USA. jobuck@med.cornell.edu"
-										//identityDepartment: "Pharmacology"
-										//departmentMatchingScore: 2
-										if(identityOrgUnitToSynonymMap.size() > 0 &&
-												identityOrgUnitToSynonymMap.values().stream().anyMatch(synonymOrgUnit -> synonymOrgUnit.contains(identityDepartment))) {
-											 	synonymOrgUnitLabel = identityOrgUnitToSynonymMap.entrySet().stream().
-													filter(synonymOrgUnit -> synonymOrgUnit.getValue().contains(identityDepartment))
-													.map(Map.Entry::getKey)
-													.findFirst()
-													.orElse(null);
-											if(synonymOrgUnitLabel != null) {
-												orgUnitEvidence.setIdentityOrganizationalUnit(synonymOrgUnitLabel);
-											}
-										}
-										if(synonymOrgUnitLabel == null) {
-											orgUnitEvidence.setIdentityOrganizationalUnit(orgUnit.getOrganizationalUnitLabel());
-										}
-										orgUnitEvidence.setArticleAffiliation(author.getAffiliation());
-										orgUnitEvidence.setOrganizationalUnitMatchingScore(ReCiterArticleScorer.strategyParameters.getOrganizationalUnitDepartmentMatchingScore());
-										isOrgUnitMatch = true;
-									}  
-									
+									}
 									//This is added to the modifier should be dependent on the matched score which should be more than 0
-									if(isOrgUnitMatch
-											&&
-											Arrays.asList(ReCiterArticleScorer.strategyParameters.getOrganizationalUnitModifier().trim().split("\\s*,\\s*")).contains(identityDepartment)) {
-										if(identityOrgUnitToSynonymMap.size() > 0 &&
-												identityOrgUnitToSynonymMap.values().stream().anyMatch(synonymOrgUnit -> synonymOrgUnit.contains(identityDepartment))) {
-												synonymOrgUnitLabel = identityOrgUnitToSynonymMap.entrySet().stream().
-													filter(synonymOrgUnit -> synonymOrgUnit.getValue().contains(identityDepartment))
-													.map(Map.Entry::getKey)
-													.findFirst()
-													.orElse(null);
-											if(synonymOrgUnitLabel != null) {
-												orgUnitEvidence.setIdentityOrganizationalUnit(synonymOrgUnitLabel);
-											} 
-										}
-										if(synonymOrgUnitLabel == null) {
-											orgUnitEvidence.setIdentityOrganizationalUnit(orgUnit.getOrganizationalUnitLabel());
-										}
+									if(isOrgUnitMatch && unit.isModifier()) {
 										orgUnitEvidence.setOrganizationalUnitModifier(identityDepartment);
 										orgUnitEvidence.setOrganizationalUnitModifierScore(ReCiterArticleScorer.strategyParameters.getOrganizationalUnitModifierScore());
 									}
-								} else {
-									if(articleAffiliation.contains("Program in " + identityDepartment) 
-											||
-											articleAffiliation.contains(identityDepartment + " Program")
-											||
-											articleAffiliation.contains(identityDepartment + " Graduate Program")) {
-										if(identityOrgUnitToSynonymMap.size() > 0 &&
-												identityOrgUnitToSynonymMap.values().stream().anyMatch(synonymOrgUnit -> synonymOrgUnit.contains(identityDepartment))) {
-												synonymOrgUnitLabel = identityOrgUnitToSynonymMap.entrySet().stream().
-													filter(synonymOrgUnit -> synonymOrgUnit.getValue().contains(identityDepartment))
-													.map(Map.Entry::getKey)
-													.findFirst()
-													.orElse(null);
-											if(synonymOrgUnitLabel != null) {
-												orgUnitEvidence.setIdentityOrganizationalUnit(synonymOrgUnitLabel);
-											} 
-										}
-										if(synonymOrgUnitLabel == null) {
-											orgUnitEvidence.setIdentityOrganizationalUnit(orgUnit.getOrganizationalUnitLabel());
-										}
-										orgUnitEvidence.setArticleAffiliation(author.getAffiliation());
-										orgUnitEvidence.setOrganizationalUnitMatchingScore(ReCiterArticleScorer.strategyParameters.getOrganizationalUnitProgramMatchingScore());
-									}
+								} else if(orgUnitMatches.get(i)) {
+									orgUnitEvidence.setIdentityOrganizationalUnit(unit.getIdentityOrganizationalUnit());
+									orgUnitEvidence.setArticleAffiliation(author.getAffiliation());
+									orgUnitEvidence.setOrganizationalUnitMatchingScore(ReCiterArticleScorer.strategyParameters.getOrganizationalUnitProgramMatchingScore());
 								}
 								if(orgUnitEvidence.getIdentityOrganizationalUnit() == null) {
 									orgUnitEvidence.setIdentityOrganizationalUnit(orgUnit.getOrganizationalUnitLabel());
@@ -300,6 +179,31 @@ public class DepartmentStringMatchStrategy extends AbstractTargetAuthorStrategy
 		return sum;
 	}
 
+	/**
+	 * Each organizational unit of the identity adds at most one evidence, with its matching score and modifier score
+	 * @param reCiterArticle
+	 * @param identity
+	 * @return upper bound of the organizational unit score {@link #executeStrategy(List, Identity)} can give the article
+	 */
+	public double getMaximumScore(ReCiterArticle reCiterArticle, Identity identity) {
+		if(identity.getOrganizationalUnits() == null
+				||
+				identity.getOrganizationalUnits().isEmpty()
+				||
+				identity.getSanitizedIdentityInstitutions() == null
+				||
+				reCiterArticle.getArticleCoAuthors() == null
+				||
+				reCiterArticle.getArticleCoAuthors().getAuthors() == null
+				||
+				reCiterArticle.getArticleCoAuthors().getAuthors().stream().noneMatch(author -> author.isTargetAuthor() && author.getAffiliation() != null)) {
+			return 0;
+		}
+		double orgUnitScore = Math.max(0, Math.max(ReCiterArticleScorer.strategyParameters.getOrganizationalUnitDepartmentMatchingScore(), ReCiterArticleScorer.strategyParameters.getOrganizationalUnitProgramMatchingScore()))
+				+ Math.max(0, ReCiterArticleScorer.strategyParameters.getOrganizationalUnitModifierScore());
+		return identity.getSanitizedIdentityInstitutions().size() * orgUnitScore;
+	}
+
 	/**
 	 * Leverage departmental affiliation string matching for phase two matching.
 	 * 
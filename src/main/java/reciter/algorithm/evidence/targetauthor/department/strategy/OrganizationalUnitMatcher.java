@@ -0,0 +1,207 @@
+package reciter.algorithm.evidence.targetauthor.department.strategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+
+import reciter.model.identity.OrganizationalUnit;
+import reciter.model.identity.OrganizationalUnit.OrganizationalUnitType;
+import reciter.utils.KeywordMatcher;
+import reciter.utils.NamePatterns;
+
+/**
+ * Identity organizational units prepared once per identity for {@link DepartmentStringMatchStrategy}. Labels are normalized,
+ * stripped of stop words and resolved to their synonym label up front, and every phrase a unit can match in an affiliation
+ * (e.g. "Department of " + label) is compiled into a {@link KeywordMatcher}, so that an affiliation is normalized and
+ * searched for all units in a single pass.
+ * @see <a href="https://github.com/wcmc-its/ReCiter/issues/264">Sanitization details</a>
+ */
+public class OrganizationalUnitMatcher {
+
+	private static final String[] DEPARTMENT_PREFIXES = {"Department of ", "Division of ", "Dept of ", "Departments of ", "Divisions of ", "Depts of "};
+
+	private static final String[] DEPARTMENT_SUFFIXES = {" Department", " Division", " Dept"};
+
+	private final List<Unit> units = new ArrayList<>();
+
+	private final Pattern stopWords;
+
+	private final KeywordMatcher departmentMatcher;
+
+	private final KeywordMatcher departmentWithoutStopWordsMatcher;
+
+	private final KeywordMatcher programMatcher;
+
+	private final boolean anyUnitWithoutStopWords;
+
+	/**
+	 * @param sanitizedIdentityInstitutions identity organizational units including synonyms, may be null
+	 * @param identityOrgUnitToSynonymMap synonym label to its synonyms, may be null
+	 * @param organizationalUnitModifiers comma separated departments from the <code>strategy.orgUnitScoringStrategy.organizationalUnitModifier</code> property
+	 * @param regexForStopWords
+	 */
+	public OrganizationalUnitMatcher(Set<OrganizationalUnit> sanitizedIdentityInstitutions, Map<String, List<String>> identityOrgUnitToSynonymMap,
+			String organizationalUnitModifiers, String regexForStopWords) {
+		this.stopWords = NamePatterns.compile(regexForStopWords);
+		Set<String> modifiers = new HashSet<>(Arrays.asList(organizationalUnitModifiers.trim().split("\\s*,\\s*")));
+		List<String> departmentPhrases = new ArrayList<>();
+		List<String> departmentsWithoutStopWords = new ArrayList<>();
+		List<String> programPhrases = new ArrayList<>();
+		boolean anyUnitWithoutStopWords = false;
+		Set<OrganizationalUnit> orgUnits = (sanitizedIdentityInstitutions == null) ? Collections.emptySet() : sanitizedIdentityInstitutions;
+		Map<String, List<String>> synonyms = (identityOrgUnitToSynonymMap == null) ? Collections.emptyMap() : identityOrgUnitToSynonymMap;
+		for(OrganizationalUnit orgUnit: orgUnits) {
+			Unit unit = new Unit(orgUnit, normalize(orgUnit.getOrganizationalUnitLabel()));
+			unit.synonymLabel = synonyms.entrySet().stream()
+					.filter(synonymOrgUnit -> synonymOrgUnit.getValue().contains(unit.identityDepartment))
+					.map(Map.Entry::getKey)
+					.findFirst()
+					.orElse(null);
+			unit.modifier = modifiers.contains(unit.identityDepartment);
+			if(orgUnit.getOrganizationalUnitType() == OrganizationalUnitType.DEPARTMENT || orgUnit.getOrganizationalUnitType() == OrganizationalUnitType.DIVISION) {
+				String label = orgUnit.getOrganizationalUnitLabel();
+				if(label != null
+						&&
+						(StringUtils.containsIgnoreCase(label, "Center") || StringUtils.containsIgnoreCase(label, "Program") || StringUtils.containsIgnoreCase(label, "Institute"))
+						&&
+						label.length() > 14) {
+					unit.matchWithoutStopWords = true;
+					anyUnitWithoutStopWords = true;
+					unit.firstKeyword = departmentsWithoutStopWords.size();
+					departmentsWithoutStopWords.add(stopWords.matcher(unit.identityDepartment).replaceAll(""));
+					unit.lastKeyword = departmentsWithoutStopWords.size();
+				} else {
+					unit.firstKeyword = departmentPhrases.size();
+					for(String prefix: DEPARTMENT_PREFIXES) {
+						departmentPhrases.add(prefix + unit.identityDepartment);
+					}
+					for(String suffix: DEPARTMENT_SUFFIXES) {
+						departmentPhrases.add(unit.identityDepartment + suffix);
+					}
+					unit.lastKeyword = departmentPhrases.size();
+				}
+			} else {
+				unit.firstKeyword = programPhrases.size();
+				programPhrases.add("Program in " + unit.identityDepartment);
+				programPhrases.add(unit.identityDepartment + " Program");
+				programPhrases.add(unit.identityDepartment + " Graduate Program");
+				unit.lastKeyword = programPhrases.size();
+			}
+			units.add(unit);
+		}
+		this.anyUnitWithoutStopWords = anyUnitWithoutStopWords;
+		this.departmentMatcher = new KeywordMatcher(departmentPhrases, true);
+		this.departmentWithoutStopWordsMatcher = new KeywordMatcher(departmentsWithoutStopWords, true);
+		this.programMatcher = new KeywordMatcher(programPhrases, false);
+	}
+
+	/**
+	 * @return units in the iteration order of the identity organizational units
+	 */
+	public List<Unit> getUnits() {
+		return units;
+	}
+
+	/**
+	 * @param affiliation article author affiliation
+	 * @return units whose label is found in the affiliation, by position in {@link #getUnits()}
+	 */
+	public BitSet match(String affiliation) {
+		String articleAffiliation = normalize(affiliation);
+		BitSet departments = departmentMatcher.find(articleAffiliation);
+		BitSet programs = programMatcher.find(articleAffiliation);
+		BitSet departmentsWithoutStopWords = anyUnitWithoutStopWords
+				? departmentWithoutStopWordsMatcher.find(stopWords.matcher(articleAffiliation).replaceAll(""))
+				: new BitSet();
+		BitSet matches = new BitSet(units.size());
+		for(int i = 0; i < units.size(); i++) {
+			Unit unit = units.get(i);
+			BitSet found = unit.matchWithoutStopWords ? departmentsWithoutStopWords : (unit.isDepartment() ? departments : programs);
+			int next = found.nextSetBit(unit.firstKeyword);
+			if(next >= 0 && next < unit.lastKeyword) {
+				matches.set(i);
+			}
+		}
+		return matches;
+	}
+
+	/**
+	 * Same as <code>s.replaceAll("&", "and").replaceAll("Tri-I", "Tri-Institutional").replaceAll("[-,]", "")</code> in one pass
+	 * @param s
+	 * @return normalized s
+	 */
+	static String normalize(String s) {
+		StringBuilder sb = new StringBuilder(s.length() + 16);
+		for(int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			if(c == '&') {
+				sb.append("and");
+			} else if(c == 'T' && s.startsWith("Tri-I", i)) {
+				sb.append("TriInstitutional");
+				i += "Tri-I".length() - 1;
+			} else if(c != '-' && c != ',') {
+				sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+
+	public static class Unit {
+
+		private final OrganizationalUnit orgUnit;
+
+		private final String identityDepartment;
+
+		private String synonymLabel;
+
+		private boolean modifier;
+
+		private boolean matchWithoutStopWords;
+
+		private int firstKeyword;
+
+		private int lastKeyword;
+
+		private Unit(OrganizationalUnit orgUnit, String identityDepartment) {
+			this.orgUnit = orgUnit;
+			this.identityDepartment = identityDepartment;
+		}
+
+		public OrganizationalUnit getOrgUnit() {
+			return orgUnit;
+		}
+
+		/**
+		 * @return normalized organizational unit label
+		 */
+		public String getIdentityDepartment() {
+			return identityDepartment;
+		}
+
+		/**
+		 * @return synonym label the unit is listed under, otherwise the organizational unit label
+		 */
+		public String getIdentityOrganizationalUnit() {
+			return synonymLabel != null ? synonymLabel : orgUnit.getOrganizationalUnitLabel();
+		}
+
+		/**
+		 * @return true if the unit is listed in the organizational unit modifiers
+		 */
+		public boolean isModifier() {
+			return modifier;
+		}
+
+		public boolean isDepartment() {
+			return orgUnit.getOrganizationalUnitType() == OrganizationalUnitType.DEPARTMENT || orgUnit.getOrganizationalUnitType() == OrganizationalUnitType.DIVISION;
+		}
+	}
+}
@@ -15,6 +15,7 @@ import reciter.database.dynamodb.model.ScienceMetrix;
 import reciter.database.dynamodb.model.ScienceMetrixDepartmentCategory;
 import reciter.engine.EngineParameters;
 import reciter.engine.Feature;
+import reciter.engine.ScienceMetrixIndex;
 import reciter.engine.analysis.evidence.JournalCategoryEvidence;
 import reciter.model.article.ReCiterArticle;
 import reciter.model.article.ReCiterJournalCategory;
@@ -131,6 +132,24 @@ public class JournalCategoryStrategy extends AbstractTargetAuthorStrategy {
 		return 0;
 	}
 
+	/**
+	 * @param reCiterArticle
+	 * @return upper bound of the journal subfield score {@link #executeStrategy(List, Identity)} can give the article
+	 */
+	public double getMaximumScore(ReCiterArticle reCiterArticle) {
+		ScienceMetrixIndex scienceMetrixIndex = EngineParameters.getScienceMetrixIndex();
+		if(scienceMetrixIndex == null
+				||
+				reCiterArticle.getJournal().getJournalIssn() == null
+				||
+				reCiterArticle.getJournal().getJournalIssn().isEmpty()) {
+			return 0;
+		}
+		double journalSubfieldFactorScore = ReCiterArticleScorer.strategyParameters.getJournalSubfieldFactorScore();
+		return Math.max(Math.max(0, ReCiterArticleScorer.strategyParameters.getJournalSubfieldScore()),
+				Math.max(journalSubfieldFactorScore * scienceMetrixIndex.getMaximumLogOddsRatio(), journalSubfieldFactorScore * scienceMetrixIndex.getMinimumLogOddsRatio()));
+	}
+
 	@Override
 	public void populateFeature(ReCiterArticle reCiterArticle, Identity identity, Feature feature) {
 		// TODO Auto-generated method stub
@@ -142,9 +161,7 @@ public class JournalCategoryStrategy extends AbstractTargetAuthorStrategy {
 		if(subfieldId != null 
 				&& 
 				!subfieldId.isEmpty()) {
-			scienceMetrixDeptCategory = EngineParameters.getScienceMetrixDepartmentCategories().parallelStream().filter(scienceMetrixDepartmentCategory -> 
-			scienceMetrixDepartmentCategory.getScienceMetrixJournalSubfieldId() == Integer.parseInt(subfieldId)
-					).collect(Collectors.toList());
+			scienceMetrixDeptCategory = EngineParameters.getScienceMetrixIndex().getDepartmentCategories(Integer.parseInt(subfieldId));
 		}
 		return scienceMetrixDeptCategory;
 	}
@@ -153,7 +170,6 @@ public class JournalCategoryStrategy extends AbstractTargetAuthorStrategy {
 		String issnPrint = null;
 		String issnElectronic = null;
 		String issnLinking = null;
-		ScienceMetrix scienceMetrix = null;
 		for(MedlineCitationJournalISSN journalIssn: journalIssns) {
 			if(journalIssn.getIssntype().equalsIgnoreCase("Print")) {
 				issnPrint = journalIssn.getIssn().trim();
@@ -163,74 +179,18 @@ public class JournalCategoryStrategy extends AbstractTargetAuthorStrategy {
 				issnLinking = journalIssn.getIssn().trim();
 			}
 		}
-		
-		/*if(issnLinking != null) {
-			scienceMetrix = scienceMetrixService.findByIssn(issnLinking);
-			if(scienceMetrix == null) {
-				scienceMetrix = scienceMetrixService.findByEissn(issnLinking);
-			}
-		} else if(scienceMetrix == null && issnPrint != null) {
-			scienceMetrix = scienceMetrixService.findByIssn(issnPrint);
-			if(scienceMetrix == null) {
-				scienceMetrix = scienceMetrixService.findByEissn(issnPrint);
-			}
-		} else if(scienceMetrix == null && issnElectronic != null) {
-			scienceMetrix = scienceMetrixService.findByIssn(issnElectronic);
-			if(scienceMetrix == null) {
-				scienceMetrix = scienceMetrixService.findByEissn(issnElectronic);
-			}
-		}*/
-		
-		for(ScienceMetrix scienceMetrixJournal: EngineParameters.getScienceMetrixJournals()) {
-			if(issnLinking != null) {
-				if(scienceMetrixJournal.getIssn() != null 
-						&&
-						scienceMetrixJournal.getIssn().equals(issnLinking)) {
-					scienceMetrix = scienceMetrixJournal;
-					break;
-				}
-				if(scienceMetrix == null) {
-					if(scienceMetrixJournal.getEissn() != null 
-							&&
-							scienceMetrixJournal.getEissn().equals(issnLinking)) {
-						scienceMetrix = scienceMetrixJournal;
-						break;
-					}
-				}
-			} else if(scienceMetrix == null && issnPrint != null) {
-				if(scienceMetrixJournal.getIssn() != null 
-						&&
-						scienceMetrixJournal.getIssn().equals(issnPrint)) {
-					scienceMetrix = scienceMetrixJournal;
-					break;
-				}
-				if(scienceMetrix == null) {
-					if(scienceMetrixJournal.getEissn() != null 
-							&&
-							scienceMetrixJournal.getEissn().equals(issnPrint)) {
-						scienceMetrix = scienceMetrixJournal;
-						break;
-					}
-				}
-			} else if(scienceMetrix == null && issnElectronic != null) {
-				if(scienceMetrixJournal.getIssn() != null 
-						&&
-						scienceMetrixJournal.getIssn().equals(issnElectronic)) {
-					scienceMetrix = scienceMetrixJournal;
-					break;
-				}
-				if(scienceMetrix == null) {
-					if(scienceMetrixJournal.getEissn() != null 
-							&&
-							scienceMetrixJournal.getEissn().equals(issnElectronic)) {
-						scienceMetrix = scienceMetrixJournal;
-						break;
-					}
-				}
-			}
+		ScienceMetrixIndex scienceMetrixIndex = EngineParameters.getScienceMetrixIndex();
+		if(scienceMetrixIndex == null) {
+			return null;
 		}
-		
-
-		return scienceMetrix;
+		//Only the first available of linking, print and electronic ISSN is looked up. It is matched against both ISSN and EISSN of the journal.
+		if(issnLinking != null) {
+			return scienceMetrixIndex.findJournalByIssn(issnLinking);
+		} else if(issnPrint != null) {
+			return scienceMetrixIndex.findJournalByIssn(issnPrint);
+		} else if(issnElectronic != null) {
+			return scienceMetrixIndex.findJournalByIssn(issnElectronic);
+		}
+		return null;
 	}
 }
@@ -21,13 +21,17 @@ package reciter.algorithm.evidence.targetauthor.knownrelationship.strategy;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import lombok.extern.slf4j.Slf4j;
 import reciter.algorithm.cluster.article.scorer.ReCiterArticleScorer;
 import reciter.algorithm.evidence.targetauthor.AbstractTargetAuthorStrategy;
+import reciter.algorithm.util.ArticleAuthorIndex;
 import reciter.engine.Feature;
 import reciter.engine.analysis.evidence.RelationshipEvidence;
 import reciter.engine.analysis.evidence.RelationshipNegativeMatch;
@@ -74,6 +78,9 @@ public class KnownRelationshipStrategy extends AbstractTargetAuthorStrategy {
 	@Override
 	public double executeStrategy(List<ReCiterArticle> reCiterArticles, Identity identity) {
 		double sum = 0;
+		// Relationships are grouped by last name once for the identity so that each author is only compared with the relationships having the same last name
+		Map<String, List<KnownRelationship>> relationshipsByLastName = (identity.getKnownRelationships() != null) 
+				? getRelationshipsByLastName(identity.getKnownRelationships()) : null;
 		for (ReCiterArticle reCiterArticle : reCiterArticles) {
 			if(reCiterArticle.getArticleId() == 25119024) {
 				log.info("Here");
@@ -94,7 +101,8 @@ public class KnownRelationshipStrategy extends AbstractTargetAuthorStrategy {
 					Set<String> relationshipTypes = new HashSet<String>();
 					// do not match target author's name
 					if (!author.isTargetAuthor()) {
-						for (KnownRelationship authorName : relationships) {
+						List<KnownRelationship> candidateRelationships = getCandidateRelationships(author, relationshipsByLastName, relationships);
+						for (KnownRelationship authorName : candidateRelationships) {
 							if (authorName.getName().firstInitialLastNameMatch(author.getAuthorName())) {
 								RelationshipPostiveMatch relationshipEvidence = new RelationshipPostiveMatch();
 								//if(StringUtils.equalsIgnoreCase(authorName.getName().getFirstName(), author.getAuthorName().getFirstName())) {
@@ -210,6 +218,39 @@ public class KnownRelationshipStrategy extends AbstractTargetAuthorStrategy {
 		return sum;
 	}
 
+	/**
+	 * @param relationships known relationships of the identity
+	 * @return relationships by last name folded to a case insensitive form, in the order of relationships, or null if a
+	 * relationship has no last name
+	 */
+	private static Map<String, List<KnownRelationship>> getRelationshipsByLastName(List<KnownRelationship> relationships) {
+		Map<String, List<KnownRelationship>> relationshipsByLastName = new HashMap<>();
+		for (KnownRelationship relationship : relationships) {
+			if (relationship.getName() == null || relationship.getName().getLastName() == null) {
+				return null;
+			}
+			relationshipsByLastName.computeIfAbsent(ArticleAuthorIndex.foldCase(relationship.getName().getLastName()), k -> new ArrayList<>()).add(relationship);
+		}
+		return relationshipsByLastName;
+	}
+
+	/**
+	 * @param author author of the article
+	 * @param relationshipsByLastName relationships grouped by {@link #getRelationshipsByLastName(List)}
+	 * @param relationships known relationships of the identity
+	 * @return relationships that can match the author: those having the same last name ignoring case when they are grouped,
+	 * otherwise all of them
+	 */
+	private static List<KnownRelationship> getCandidateRelationships(ReCiterAuthor author, Map<String, List<KnownRelationship>> relationshipsByLastName, List<KnownRelationship> relationships) {
+		if (relationshipsByLastName == null || author.getAuthorName() == null) {
+			return relationships;
+		}
+		if (author.getAuthorName().getLastName() == null) {
+			return Collections.emptyList();
+		}
+		return relationshipsByLastName.getOrDefault(ArticleAuthorIndex.foldCase(author.getAuthorName().getLastName()), Collections.emptyList());
+	}
+
 	@Override
 	public void populateFeature(ReCiterArticle reCiterArticle, Identity identity, Feature feature) {
 		int score = 0;
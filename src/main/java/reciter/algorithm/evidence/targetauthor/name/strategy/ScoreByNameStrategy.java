@@ -20,7 +20,6 @@ import org.slf4j.LoggerFactory;
 
 import reciter.algorithm.cluster.article.scorer.ReCiterArticleScorer;
 import reciter.algorithm.evidence.targetauthor.AbstractTargetAuthorStrategy;
-import reciter.algorithm.util.ReCiterStringUtil;
 import reciter.engine.Feature;
 import reciter.engine.analysis.evidence.AuthorNameEvidence;
 import reciter.model.article.ReCiterArticle;
@@ -28,6 +27,9 @@ import reciter.model.article.ReCiterArticleAuthors;
 import reciter.model.article.ReCiterAuthor;
 import reciter.model.identity.AuthorName;
 import reciter.model.identity.Identity;
+import reciter.utils.NameNormalizationCache;
+import reciter.utils.NamePatterns;
+import reciter.utils.StringSimilarity;
 
 /**
  * @author szd2013
@@ -39,6 +41,19 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 	private static final Logger slf4jLogger = LoggerFactory.getLogger(ScoreByNameStrategy.class);
 	
 	private final List<String> nameExcludedSuffixes = Arrays.asList(ReCiterArticleScorer.strategyParameters.getNameExcludedSuffixes().trim().split("\\s*,\\s*"));
+	
+	private final NameNormalizationCache nameNormalizationCache;
+	
+	public ScoreByNameStrategy() {
+		this(new NameNormalizationCache(ReCiterArticleScorer.strategyParameters.getNameExcludedSuffixes()));
+	}
+	
+	/**
+	 * @param nameNormalizationCache normalized names shared by all articles of the run
+	 */
+	public ScoreByNameStrategy(NameNormalizationCache nameNormalizationCache) {
+		this.nameNormalizationCache = nameNormalizationCache;
+	}
 
 	@Override
 	public double executeStrategy(List<ReCiterArticle> reCiterArticles, Identity identity) {
@@ -203,7 +218,7 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 				authorNameEvidence.setNameMatchLastScore(ReCiterArticleScorer.strategyParameters.getNameMatchLastTypeFullExactScore());
 				authorNameEvidence.setNameMatchModifier("identitySubstringOfArticle-lastName");
 				authorNameEvidence.setNameMatchModifierScore(ReCiterArticleScorer.strategyParameters.getNameMatchModifierIdentitySubstringOfArticleLastnameScore());
-			} else if(identityAuthor.getLastName().length() >= 4 && ReCiterStringUtil.levenshteinDistance(identityAuthor.getLastName(), articleAuthorName.getLastName()) <= 1) {
+			} else if(identityAuthor.getLastName().length() >= 4 && StringSimilarity.isWithinDistance(identityAuthor.getLastName(), articleAuthorName.getLastName(), 1)) {
 				//Attempt match where identity.lastName >= 4 characters and levenshteinDistance between identity.lastName and article.lastName is <=1.
 				//Example: Kaushal (identity.lastName) = Kaushai (article.lastName)
 				authorNameEvidence.setNameMatchLastType("full-fuzzy");
@@ -274,7 +289,7 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 					&&
 					identityAuthor.getFirstName().length() >= 4 
 					&& 
-					ReCiterStringUtil.levenshteinDistance(identityAuthor.getFirstName(), articleAuthorName.getFirstName()) == 1) {
+					StringSimilarity.levenshteinDistance(identityAuthor.getFirstName(), articleAuthorName.getFirstName(), 1) == 1) {
 				//Attempt match where identity.firstName is greater than 4 characters and Levenshtein distance between identity.firstName and article.firstName is 1.
 				//Example: Paula (identity.firstName) = Pauly (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("full-fuzzy");
@@ -340,7 +355,7 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 					&& 
 					articleAuthorName.getFirstName() != null  
 					&& 
-					articleAuthorName.getFirstName().toLowerCase().matches(identityAuthor.getFirstName().toLowerCase() + "(.*)" + identityAuthor.getMiddleName().toLowerCase())) {
+					NamePatterns.matchesPrefixAndSuffix(nameNormalizationCache.lowerCase(articleAuthorName.getFirstName()), nameNormalizationCache.lowerCase(identityAuthor.getFirstName()), nameNormalizationCache.lowerCase(identityAuthor.getMiddleName()))) {
 				//Attempt match where identity.firstName + "%" + identity.middleName = article.firstName
 				//Example: Paul (identity.firstName) + James (identity.middleName) = PaulaJames (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("full-exact");
@@ -368,7 +383,7 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 					&& 
 					articleAuthorName.getFirstName() != null  
 					&& 
-					articleAuthorName.getFirstName().toLowerCase().matches(identityAuthor.getFirstName().toLowerCase() + "(.*)" + identityAuthor.getMiddleInitial().toLowerCase())) {
+					NamePatterns.matchesPrefixAndSuffix(nameNormalizationCache.lowerCase(articleAuthorName.getFirstName()), nameNormalizationCache.lowerCase(identityAuthor.getFirstName()), nameNormalizationCache.lowerCase(identityAuthor.getMiddleInitial()))) {
 				//Attempt match where identity.firstName + "%" + identity.middleInitial = article.firstName
 				//Example: Paul (identity.firstName) + J (identity.middleInitial) = PaulaJ (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("full-exact");
@@ -409,7 +424,7 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 					&& 
 					articleAuthorName.getFirstName() != null  
 					&& 
-					articleAuthorName.getFirstName().toLowerCase().matches(identityAuthor.getFirstName().toLowerCase() + identityAuthor.getMiddleName().toLowerCase() + "(.*)")) {
+					NamePatterns.matchesPrefixAndSuffix(nameNormalizationCache.lowerCase(articleAuthorName.getFirstName()), nameNormalizationCache.lowerCase(identityAuthor.getFirstName()) + nameNormalizationCache.lowerCase(identityAuthor.getMiddleName()), "")) {
 				//Attempt match where identity.firstName + identity.middleName + "%" = article.firstName
 				//Example: Paul (identity.firstName) + James (identity.middleName) = PaulJamesA (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("full-exact");
@@ -424,7 +439,7 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 					&& 
 					articleAuthorName.getFirstName() != null  
 					&& 
-					articleAuthorName.getFirstName().toLowerCase().matches(identityAuthor.getFirstName().toLowerCase() + identityAuthor.getMiddleInitial().toLowerCase() + "(.*)")) {
+					NamePatterns.matchesPrefixAndSuffix(nameNormalizationCache.lowerCase(articleAuthorName.getFirstName()), nameNormalizationCache.lowerCase(identityAuthor.getFirstName()) + nameNormalizationCache.lowerCase(identityAuthor.getMiddleInitial()), "")) {
 				//Attempt match where identity.firstName + identity.middleInitial + "%" = article.firstName
 				//Example: Paul (identity.firstName) + J (identity.middleInitial) = PaulJZ (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("full-exact");
@@ -515,7 +530,7 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 					&& 
 					articleAuthorName.getFirstName() != null  
 					&& 
-					articleAuthorName.getFirstName().toLowerCase().matches(identityAuthor.getFirstName().toLowerCase() + "(.*)")) {
+					NamePatterns.matchesPrefixAndSuffix(nameNormalizationCache.lowerCase(articleAuthorName.getFirstName()), nameNormalizationCache.lowerCase(identityAuthor.getFirstName()), "")) {
 				//Attempt match where identity.firstName + "%" = article.firstName
 				//Example: Robert (identity.firstName) = RobertR (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("full-exact");
@@ -528,7 +543,7 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 					&& 
 					articleAuthorName.getFirstName() != null  
 					&& 
-					articleAuthorName.getFirstName().toLowerCase().matches("(.*)" + identityAuthor.getFirstName().toLowerCase())) {
+					NamePatterns.matchesPrefixAndSuffix(nameNormalizationCache.lowerCase(articleAuthorName.getFirstName()), "", nameNormalizationCache.lowerCase(identityAuthor.getFirstName()))) {
 				//Attempt match where "%" + identity.firstName = article.firstName
 				//Example: Cary (identity.firstName) = MCary (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("full-exact");
@@ -556,7 +571,7 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 					&& 
 					articleAuthorName.getFirstName() != null  
 					&& 
-					articleAuthorName.getFirstName().toLowerCase().matches(identityAuthor.getMiddleName().toLowerCase() + "(.*)")) {
+					NamePatterns.matchesPrefixAndSuffix(nameNormalizationCache.lowerCase(articleAuthorName.getFirstName()), nameNormalizationCache.lowerCase(identityAuthor.getMiddleName()), "")) {
 				//Attempt match where identity.middleName + "%" = article.firstName
 				//Example: Clifford (identity.middleName) = CliffordKS (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("noMatch");
@@ -571,7 +586,7 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 					&& 
 					articleAuthorName.getFirstName() != null  
 					&& 
-					articleAuthorName.getFirstName().toLowerCase().matches("(.*)" + identityAuthor.getMiddleName().toLowerCase())) {
+					NamePatterns.matchesPrefixAndSuffix(nameNormalizationCache.lowerCase(articleAuthorName.getFirstName()), "", nameNormalizationCache.lowerCase(identityAuthor.getMiddleName()))) {
 				//Attempt match where "%" + identity.middleName = article.firstName
 				//Example: Clifford (identity.middleName) = KunSungClifford (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("noMatch");
@@ -586,7 +601,7 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 					&& 
 					articleAuthorName.getFirstName() != null  
 					&& 
-					ReCiterStringUtil.levenshteinDistance(identityAuthor.getFirstName() + identityAuthor.getMiddleName(), articleAuthorName.getFirstName()) <= 2) {
+					StringSimilarity.isWithinDistance(identityAuthor.getFirstName() + identityAuthor.getMiddleName(), articleAuthorName.getFirstName(), 2)) {
 				//Attempt match where levenshteinDistance between identity.firstName + identity.middleName and article.firstName is <=2.
 				//Example: Manney (identity.firstName) + Carrington (identity.middleName) = MannyCarrington (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("full-fuzzy");
@@ -599,7 +614,7 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 					&&
 					identityAuthor.getFirstName().length() >= 4 
 					&& 
-					ReCiterStringUtil.levenshteinDistance(identityAuthor.getFirstName(), articleAuthorName.getFirstName()) <= 1) {
+					StringSimilarity.isWithinDistance(identityAuthor.getFirstName(), articleAuthorName.getFirstName(), 1)) {
 				//Attempt match where identity.firstName >= 4 characters and levenshteinDistance between identity.firstName and article.firstName is <=1.
 				//Example: Nassar (identity.firstName) = Nasser (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("full-fuzzy");
@@ -627,7 +642,7 @@ public class ScoreByNameStrategy extends AbstractTargetAuthorStrategy {
 					&& 
 					articleAuthorName.getFirstName() != null  
 					&& 
-					articleAuthorName.getFirstName().toLowerCase().matches(identityAuthor.getFirstInitial().toLowerCase() + "(.*)" + identityAuthor.getMiddleName().toLowerCase())) {
+					NamePatterns.matchesPrefixAndSuffix(nameNormalizationCache.lowerCase(articleAuthorName.getFirstName()), nameNormalizationCache.lowerCase(identityAuthor.getFirstInitial()), nameNormalizationCache.lowerCase(identityAuthor.getMiddleName()))) {
 				//Attempt match where identity.firstInitial + "%" + identity.middleName = article.firstName
 				//Example: M (identity.firstInitial) + Carrington (identity.middleName) = MannyCarrington (article.firstName)
 				authorNameEvidence.setNameMatchFirstType("inferredInitials-exact");
@@ -0,0 +1,175 @@
+package reciter.algorithm.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import reciter.model.article.ReCiterArticle;
+import reciter.model.article.ReCiterArticleAuthors;
+import reciter.model.article.ReCiterAuthor;
+
+/**
+ * Compact view of the authors of an article. Authors are held in an array by position and indexed by last name folded to a
+ * case insensitive form, so that finding the authors that can match a name is a hash lookup instead of a pass over every
+ * author (e.g. consortium papers with hundreds or thousands of authors). Name comparisons made on the authors found still
+ * decide whether they match; the index only skips authors whose last name differs ignoring case, which none of these
+ * comparisons accept.
+ * The indexes of the candidate articles of a run are built once with {@link #of(List)} and passed along with the
+ * {@link reciter.engine.EngineParameters} of the run. The index of an article also indexes the sanitized authors of the article by trimmed last and first name for {@code TargetAuthorSelection}.
+ */
+public class ArticleAuthorIndex {
+
+	private static final int[] NO_POSITIONS = new int[0];
+
+	private final ReCiterAuthor[] authors;
+
+	private final Map<String, int[]> positionsByLastName;
+
+	private final ReCiterArticleAuthors articleAuthors;
+
+	private volatile SanitizedAuthors sanitizedAuthors;
+
+	/**
+	 * @param authors authors of an article in rank order
+	 */
+	public ArticleAuthorIndex(List<ReCiterAuthor> authors) {
+		this(authors, null);
+	}
+
+	private ArticleAuthorIndex(List<ReCiterAuthor> authors, ReCiterArticleAuthors articleAuthors) {
+		this.articleAuthors = articleAuthors;
+		this.authors = authors.toArray(new ReCiterAuthor[0]);
+		Map<String, List<Integer>> positions = new HashMap<>();
+		for(int i = 0; i < this.authors.length; i++) {
+			ReCiterAuthor author = this.authors[i];
+			if(author != null && author.getAuthorName() != null && author.getAuthorName().getLastName() != null) {
+				positions.computeIfAbsent(foldCase(author.getAuthorName().getLastName()), lastName -> new ArrayList<>()).add(i);
+			}
+		}
+		this.positionsByLastName = new HashMap<>(positions.size() * 2);
+		positions.forEach((lastName, authorPositions) -> positionsByLastName.put(lastName, authorPositions.stream().mapToInt(Integer::intValue).toArray()));
+	}
+
+	/**
+	 * The authors of the article must not change once it is indexed
+	 * @param reCiterArticle
+	 * @return index of the authors of the article
+	 */
+	public static ArticleAuthorIndex of(ReCiterArticle reCiterArticle) {
+		ReCiterArticleAuthors articleAuthors = reCiterArticle.getArticleCoAuthors();
+		List<ReCiterAuthor> authors = (articleAuthors == null || articleAuthors.getAuthors() == null) ? Collections.emptyList() : articleAuthors.getAuthors();
+		return new ArticleAuthorIndex(authors, articleAuthors);
+	}
+
+	/**
+	 * @param reCiterArticles articles of a run
+	 * @return index of the authors of every article, keyed by the article compared by identity
+	 */
+	public static Map<ReCiterArticle, ArticleAuthorIndex> of(List<ReCiterArticle> reCiterArticles) {
+		Map<ReCiterArticle, ArticleAuthorIndex> articleAuthorIndexes = new IdentityHashMap<>(reCiterArticles.size());
+		for(ReCiterArticle reCiterArticle: reCiterArticles) {
+			articleAuthorIndexes.put(reCiterArticle, of(reCiterArticle));
+		}
+		return articleAuthorIndexes;
+	}
+
+	public int size() {
+		return authors.length;
+	}
+
+	/**
+	 * @param position position of the author in the article
+	 */
+	public ReCiterAuthor getAuthor(int position) {
+		return authors[position];
+	}
+
+	/**
+	 * @param lastName
+	 * @return positions, in increasing order, of the authors whose last name is equal to lastName ignoring case. The array is
+	 * shared with the index.
+	 */
+	public int[] getPositionsByLastName(String lastName) {
+		if(lastName == null) {
+			return NO_POSITIONS;
+		}
+		return positionsByLastName.getOrDefault(foldCase(lastName), NO_POSITIONS);
+	}
+
+	/**
+	 * @param lastName
+	 * @return entries of the sanitized author map of the article, in map order, whose sanitized author has a last name equal
+	 * to lastName ignoring case once both are trimmed
+	 */
+	public List<Entry<ReCiterAuthor, ReCiterAuthor>> getSanitizedAuthorsByTrimmedLastName(String lastName) {
+		if(lastName == null) {
+			return Collections.emptyList();
+		}
+		return getSanitizedAuthors().byTrimmedLastName.getOrDefault(foldCase(lastName.trim()), Collections.emptyList());
+	}
+
+	/**
+	 * @param firstName
+	 * @return entries of the sanitized author map of the article, in map order, whose sanitized author has a first name equal
+	 * to firstName ignoring case once both are trimmed
+	 */
+	public List<Entry<ReCiterAuthor, ReCiterAuthor>> getSanitizedAuthorsByTrimmedFirstName(String firstName) {
+		if(firstName == null) {
+			return Collections.emptyList();
+		}
+		return getSanitizedAuthors().byTrimmedFirstName.getOrDefault(foldCase(firstName.trim()), Collections.emptyList());
+	}
+
+	/**
+	 * The sanitized author map is filled after translation so it is indexed on first use. Concurrent first uses may each build
+	 * it; they build the same lookup.
+	 */
+	private SanitizedAuthors getSanitizedAuthors() {
+		SanitizedAuthors indexed = sanitizedAuthors;
+		if(indexed == null) {
+			indexed = new SanitizedAuthors(articleAuthors == null ? null : articleAuthors.getSanitizedAuthorMap());
+			sanitizedAuthors = indexed;
+		}
+		return indexed;
+	}
+
+	private static class SanitizedAuthors {
+
+		private final Map<String, List<Entry<ReCiterAuthor, ReCiterAuthor>>> byTrimmedLastName = new HashMap<>();
+
+		private final Map<String, List<Entry<ReCiterAuthor, ReCiterAuthor>>> byTrimmedFirstName = new HashMap<>();
+
+		private SanitizedAuthors(Map<ReCiterAuthor, ReCiterAuthor> sanitizedAuthorMap) {
+			if(sanitizedAuthorMap == null) {
+				return;
+			}
+			for(Entry<ReCiterAuthor, ReCiterAuthor> entry: sanitizedAuthorMap.entrySet()) {
+				ReCiterAuthor author = entry.getValue();
+				if(author == null || author.getAuthorName() == null) {
+					continue;
+				}
+				if(author.getAuthorName().getLastName() != null) {
+					byTrimmedLastName.computeIfAbsent(foldCase(author.getAuthorName().getLastName().trim()), k -> new ArrayList<>()).add(entry);
+				}
+				if(author.getAuthorName().getFirstName() != null) {
+					byTrimmedFirstName.computeIfAbsent(foldCase(author.getAuthorName().getFirstName().trim()), k -> new ArrayList<>()).add(entry);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Two strings are equal ignoring case, as in {@link String#equalsIgnoreCase(String)}, exactly when their folded forms are equal
+	 * @param s
+	 * @return s with every code point mapped to the lower case of its upper case
+	 */
+	public static String foldCase(String s) {
+		StringBuilder sb = new StringBuilder(s.length());
+		s.codePoints().forEach(codePoint -> sb.appendCodePoint(Character.toLowerCase(Character.toUpperCase(codePoint))));
+		return sb.toString();
+	}
+}
@@ -18,7 +18,6 @@
  *******************************************************************************/
 package reciter.algorithm.util;
 
-import org.apache.commons.lang3.StringUtils;
 import org.joda.time.LocalDate;
 import org.springframework.stereotype.Component;
 
@@ -53,12 +52,14 @@ import reciter.model.pubmed.PubMedPubDate;
 import reciter.model.scopus.Author;
 import reciter.model.scopus.ScopusArticle;
 import reciter.utils.AuthorNameSanitizationUtils;
+import reciter.utils.NameNormalizationCache;
 
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -80,6 +81,17 @@ public class ArticleTranslator {
      * @return
      */
     public static ReCiterArticle translate(PubMedArticle pubmedArticle, ScopusArticle scopusArticle, String nameIgnoredCoAuthors, StrategyParameters strategyParameters) {
+    	return translate(pubmedArticle, scopusArticle, nameIgnoredCoAuthors, strategyParameters, null);
+    }
+
+    /**
+     * Translates a PubmedArticle into a ReCiterArticle.
+     *
+     * @param pubmedArticle
+     * @param nameNormalizationCache per run memo of sanitized author names shared by all articles of the run. May be null.
+     * @return
+     */
+    public static ReCiterArticle translate(PubMedArticle pubmedArticle, ScopusArticle scopusArticle, String nameIgnoredCoAuthors, StrategyParameters strategyParameters, NameNormalizationCache nameNormalizationCache) {
 
         // PMID
         long pmid = pubmedArticle.getMedlinecitation().getMedlinecitationpmid().getPmid();
@@ -328,29 +340,35 @@ public class ArticleTranslator {
         // 6. Sanitization: remove periods and whitespaces. Grab only the first name (Scopus also provides middle initial).
 
         if (scopusArticle != null) {
+            // PubMed authors with the same last name ignoring case, in rank order, so each Scopus author is matched with a lookup
+            Map<String, List<ReCiterAuthor>> reCiterAuthorsByLastName = new HashMap<>();
+            for (ReCiterAuthor reCiterAuthor : reCiterArticle.getArticleCoAuthors().getAuthors()) {
+                reCiterAuthorsByLastName.computeIfAbsent(ArticleAuthorIndex.foldCase(reCiterAuthor.getAuthorName().getLastName()), lastName -> new ArrayList<>()).add(reCiterAuthor);
+            }
             for (Author scopusAuthor : scopusArticle.getAuthors()) {
                 String scopusAuthorFirstName = scopusAuthor.getGivenName();
                 String scopusAuthorLastName = scopusAuthor.getSurname();
-                for (ReCiterAuthor reCiterAuthor : reCiterArticle.getArticleCoAuthors().getAuthors()) {
-                    String reCiterAuthorLastName = reCiterAuthor.getAuthorName().getLastName();
-                    if (StringUtils.equalsIgnoreCase(scopusAuthorLastName, reCiterAuthorLastName)) {
-                        String reCiterAuthorFirstName = reCiterAuthor.getAuthorName().getFirstName();
-                        String reCiterAuthorFirstInitial = reCiterAuthor.getAuthorName().getFirstInitial();
-                        if (scopusAuthorFirstName != null && scopusAuthorFirstName.length() > 1) {
-                            if (scopusAuthorFirstName.substring(0, 1).equals(reCiterAuthorFirstInitial)) {
-                                if (scopusAuthorFirstName.length() > reCiterAuthorFirstName.length()) {
-                                    //									System.out.println("[" + scopusAuthorFirstName + "], [" + reCiterAuthorFirstName + "]");
-
-                                    if (reCiterAuthorFirstName.length() == 1) {
-
-                                        scopusAuthorFirstName = scopusAuthorFirstName.replaceAll("[\\.]", "");
-                                        int indexOfWhiteSpace = scopusAuthorFirstName.indexOf(" "); // index should be calculated here because scopusFirstName is updated.
-                                        // i.e. If scopusAuthorFirstName = "A. J.", indexOfWhiteSpace would be 2, but it should be 1 after the scopusAuthorFirstName is trimmed.
-                                        if (indexOfWhiteSpace == -1) {
-                                            reCiterAuthor.getAuthorName().setFirstName(scopusAuthorFirstName);
-                                        } else {
-                                            reCiterAuthor.getAuthorName().setFirstName(scopusAuthorFirstName.substring(0, indexOfWhiteSpace));
-                                        }
+                List<ReCiterAuthor> sameLastNameAuthors = (scopusAuthorLastName == null) ? null : reCiterAuthorsByLastName.get(ArticleAuthorIndex.foldCase(scopusAuthorLastName));
+                if (sameLastNameAuthors == null) {
+                    continue;
+                }
+                for (ReCiterAuthor reCiterAuthor : sameLastNameAuthors) {
+                    String reCiterAuthorFirstName = reCiterAuthor.getAuthorName().getFirstName();
+                    String reCiterAuthorFirstInitial = reCiterAuthor.getAuthorName().getFirstInitial();
+                    if (scopusAuthorFirstName != null && scopusAuthorFirstName.length() > 1) {
+                        if (scopusAuthorFirstName.substring(0, 1).equals(reCiterAuthorFirstInitial)) {
+                            if (scopusAuthorFirstName.length() > reCiterAuthorFirstName.length()) {
+                                //									System.out.println("[" + scopusAuthorFirstName + "], [" + reCiterAuthorFirstName + "]");
+
+                                if (reCiterAuthorFirstName.length() == 1) {
+
+                                    scopusAuthorFirstName = scopusAuthorFirstName.replaceAll("[\\.]", "");
+                                    int indexOfWhiteSpace = scopusAuthorFirstName.indexOf(" "); // index should be calculated here because scopusFirstName is updated.
+                                    // i.e. If scopusAuthorFirstName = "A. J.", indexOfWhiteSpace would be 2, but it should be 1 after the scopusAuthorFirstName is trimmed.
+                                    if (indexOfWhiteSpace == -1) {
+                                        reCiterAuthor.getAuthorName().setFirstName(scopusAuthorFirstName);
+                                    } else {
+                                        reCiterAuthor.getAuthorName().setFirstName(scopusAuthorFirstName.substring(0, indexOfWhiteSpace));
                                     }
                                 }
                             }
@@ -427,7 +445,7 @@ public class ArticleTranslator {
         populateFeatures(reCiterArticle, nameIgnoredCoAuthors);
         
       //Add sanitized Author
-	  AuthorNameSanitizationUtils authorNameSanitizationUtils= new AuthorNameSanitizationUtils(strategyParameters);
+	  AuthorNameSanitizationUtils authorNameSanitizationUtils= new AuthorNameSanitizationUtils(strategyParameters, nameNormalizationCache);
 	  Map<ReCiterAuthor, ReCiterAuthor> sanitizedAuthorMap = authorNameSanitizationUtils.sanitizeArticleAuthorNames(reCiterArticle);
 	  reCiterArticle.getArticleCoAuthors().setSanitizedAuthorMap(sanitizedAuthorMap);
 
@@ -606,8 +624,8 @@ public class ArticleTranslator {
 		//MeshMajor Feature
 		if(reCiterArticle.getMeshHeadings() != null && !reCiterArticle.getMeshHeadings().isEmpty()) {
 			for(ReCiterArticleMeshHeading meshHeading: reCiterArticle.getMeshHeadings()) {
-				if(MeshMajorClusteringStrategy.isMeshMajor(meshHeading) && EngineParameters.getMeshCountMap() != null && EngineParameters.getMeshCountMap().containsKey(meshHeading.getDescriptorName().getDescriptorName()) &&
-						EngineParameters.getMeshCountMap().get(meshHeading.getDescriptorName().getDescriptorName()) < 100000L) {
+				if(MeshMajorClusteringStrategy.isMeshMajor(meshHeading) && EngineParameters.getMeshCounts() != null && 
+						EngineParameters.getMeshCounts().isCountBelow(meshHeading.getDescriptorName().getDescriptorName(), 100000L)) {
 					reCiterArticleFeatures.getMeshMajor().add(meshHeading.getDescriptorName().getDescriptorName());
 				}
 			}
@@ -0,0 +1,115 @@
+package reciter.controller;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiImplicitParam;
+import io.swagger.annotations.ApiImplicitParams;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import lombok.extern.slf4j.Slf4j;
+import reciter.engine.ReferenceData;
+import reciter.engine.ReferenceDataHolder;
+import reciter.service.cache.ReCiterCacheManager;
+import reciter.service.dynamo.ReferenceDataLoader;
+
+@Api(value = "ReCiterAdminController", description = "Administrative operations on ReCiter.")
+@Slf4j
+@Controller
+public class ReCiterAdminController {
+
+	@Autowired
+	private ReCiterCacheManager reCiterCacheManager;
+
+	@Autowired
+	private ReferenceDataLoader referenceDataLoader;
+
+	@ApiOperation(value = "Get in-process cache statistics", notes = "This api returns hit/miss statistics and size of the in-process caches for Identity, ESearchResult, GoldStandard and AnalysisOutput.")
+    @ApiImplicitParams({
+    	@ApiImplicitParam(name = "api-key", value = "api-key for this resource", paramType = "header", dataTypeClass = String.class)
+    })
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Cache statistics retrieved"),
+            @ApiResponse(code = 401, message = "You are not authorized to view the resource"),
+            @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden"),
+            @ApiResponse(code = 404, message = "The resource you were trying to reach is not found")
+    })
+    @RequestMapping(value = "/reciter/admin/cache/stats", method = RequestMethod.GET, produces = "application/json")
+    @ResponseBody
+	public ResponseEntity<Map<String, Map<String, Object>>> getCacheStatistics() {
+		return ResponseEntity.ok(reCiterCacheManager.getStatistics());
+	}
+
+	@ApiOperation(value = "Clear in-process caches", notes = "This api invalidates all entries in the in-process caches of this instance.")
+    @ApiImplicitParams({
+    	@ApiImplicitParam(name = "api-key", value = "api-key for this resource", paramType = "header", dataTypeClass = String.class)
+    })
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Caches cleared"),
+            @ApiResponse(code = 401, message = "You are not authorized to view the resource"),
+            @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden"),
+            @ApiResponse(code = 404, message = "The resource you were trying to reach is not found")
+    })
+    @RequestMapping(value = "/reciter/admin/cache", method = RequestMethod.DELETE)
+    @ResponseBody
+	public ResponseEntity clearCaches() {
+		log.info("Clearing all in-process caches");
+		reCiterCacheManager.invalidateAll();
+		return ResponseEntity.ok().build();
+	}
+
+	@ApiOperation(value = "Get reference data version", notes = "This api returns the version and size of the reference data (ScienceMetrix, MeSH counts, genders and institution afids) currently used by new runs on this instance.")
+    @ApiImplicitParams({
+    	@ApiImplicitParam(name = "api-key", value = "api-key for this resource", paramType = "header", dataTypeClass = String.class)
+    })
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Reference data version retrieved"),
+            @ApiResponse(code = 401, message = "You are not authorized to view the resource"),
+            @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden"),
+            @ApiResponse(code = 404, message = "The resource you were trying to reach is not found")
+    })
+    @RequestMapping(value = "/reciter/admin/reference-data", method = RequestMethod.GET, produces = "application/json")
+    @ResponseBody
+	public ResponseEntity<Map<String, Object>> getReferenceData() {
+		ReferenceData referenceData = ReferenceDataHolder.getCurrent();
+		Map<String, Object> status = new LinkedHashMap<>();
+		status.put("version", referenceData.getVersion());
+		status.put("loadedAt", new Date(referenceData.getVersion()));
+		status.put("source", referenceData.getSource());
+		status.put("summary", referenceData.toString());
+		status.put("reloading", referenceDataLoader.isReloading());
+		return ResponseEntity.ok(status);
+	}
+
+	@ApiOperation(value = "Reload reference data", notes = "This api reloads the reference data from DynamoDB in the background and swaps it in once complete. Runs already in progress finish with the version they started with.")
+    @ApiImplicitParams({
+    	@ApiImplicitParam(name = "api-key", value = "api-key for this resource", paramType = "header", dataTypeClass = String.class)
+    })
+    @ApiResponses(value = {
+            @ApiResponse(code = 202, message = "Reload started"),
+            @ApiResponse(code = 401, message = "You are not authorized to view the resource"),
+            @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden"),
+            @ApiResponse(code = 404, message = "The resource you were trying to reach is not found"),
+            @ApiResponse(code = 409, message = "A reload is already running")
+    })
+    @RequestMapping(value = "/reciter/admin/reference-data/reload", method = RequestMethod.POST)
+    @ResponseBody
+	public ResponseEntity reloadReferenceData() {
+		if(!referenceDataLoader.reloadInBackground()) {
+			return ResponseEntity.status(HttpStatus.CONFLICT).body("A reference data reload is already running");
+		}
+		log.info("Started reference data reload");
+		return ResponseEntity.accepted().build();
+	}
+}
@@ -19,6 +19,9 @@
 package reciter.controller;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.sql.Date;
 import java.text.SimpleDateFormat;
 import java.time.LocalDate;
@@ -29,15 +32,20 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.util.StopWatch;
@@ -47,6 +55,10 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Lists;
 
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiImplicitParam;
@@ -55,7 +67,11 @@ import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import lombok.extern.slf4j.Slf4j;
+import reciter.algorithm.evidence.targetauthor.TargetAuthorEvidence;
+import reciter.algorithm.evidence.targetauthor.TargetAuthorEvidenceCache;
+import reciter.algorithm.evidence.targetauthor.TargetAuthorFlags;
 import reciter.algorithm.evidence.targetauthor.TargetAuthorSelection;
+import reciter.algorithm.util.ArticleAuthorIndex;
 import reciter.algorithm.util.ArticleTranslator;
 import reciter.api.parameters.FilterFeedbackType;
 import reciter.api.parameters.GoldStandardUpdateFlag;
@@ -69,6 +85,8 @@ import reciter.engine.Engine;
 import reciter.engine.EngineOutput;
 import reciter.engine.EngineParameters;
 import reciter.engine.ReCiterEngine;
+import reciter.engine.ReferenceData;
+import reciter.engine.ReferenceDataHolder;
 import reciter.engine.StrategyParameters;
 import reciter.engine.analysis.ReCiterArticleFeature;
 import reciter.engine.analysis.ReCiterArticleFeature.PublicationFeedback;
@@ -84,10 +102,12 @@ import reciter.service.ESearchResultService;
 import reciter.service.IdentityService;
 import reciter.service.PubMedService;
 import reciter.service.ScopusService;
+import reciter.service.cache.ReCiterCacheManager;
 import reciter.service.dynamo.IDynamoDbGoldStandardService;
 import reciter.utils.AuthorNameSanitizationUtils;
 import reciter.utils.GenderProbability;
 import reciter.utils.InstitutionSanitizationUtil;
+import reciter.utils.NameNormalizationCache;
 import reciter.xml.retriever.engine.ReCiterRetrievalEngine;
 
 @Api(value = "ReCiterController", description = "Operations on ReCiter API.")
@@ -118,6 +138,13 @@ public class ReCiterController {
 
     @Autowired
     private IDynamoDbGoldStandardService dynamoDbGoldStandardService;
+    
+    @Autowired
+    private ReCiterCacheManager reCiterCacheManager;
+    
+    @Autowired
+    @Qualifier("articleTranslationExecutor")
+    private ExecutorService articleTranslationExecutor;
 
     @Value("${use.scopus.articles}")
     private boolean useScopusArticles;
@@ -130,6 +157,19 @@ public class ReCiterController {
     
     @Value("${reciter.feature.generator.keywordCountMax}")
     private double keywordsMax;
+    
+    @Value("${reciter.cache.targetAuthorEvidence.enabled:false}")
+    private boolean targetAuthorEvidenceCacheEnabled;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    /**
+     * Number of uids looked up per batch when streaming group results. DynamoDB BatchGetItem accepts at most 100 keys.
+     */
+    private static final int GROUP_STREAM_BATCH_SIZE = 100;
+    
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
 
     @ApiOperation(value = "Update the goldstandard by passing GoldStandard model(uid, knownPmids, rejectedPmids)", notes = "This api updates the goldstandard by passing GoldStandard model(uid, knownPmids, rejectedPmids).")
     @ApiImplicitParams({
@@ -237,7 +277,7 @@ public class ReCiterController {
         LocalDate startDate = initial.withDayOfMonth(1);
         LocalDate endDate = initial.withDayOfMonth(initial.lengthOfMonth());
 
-        List<Identity> identities = identityService.findAll();
+        List<Identity> identities = identityService.findAllForUpdate();
         try {
             aliasReCiterRetrievalEngine.retrieveArticlesByDateRange(identities, Date.valueOf(startDate), Date.valueOf(endDate), refreshFlag);
         } catch (IOException e) {
@@ -366,61 +406,13 @@ public class ReCiterController {
         }
         
         if(identities != null && identities.size() > 0) {
-        	List<String> identitySubset = identities.parallelStream().filter(identity -> 
-        			((personType == null)?
-        			true:
-        			(identity.getPersonTypes() != null
-        			&&
-        			!identity.getPersonTypes().isEmpty() && !Collections.disjoint(identity.getPersonTypes(), personType)))
-        			&&
-        			((organizationalAffiliation == null)?
-        			true:
-        			(identity.getInstitutions() != null
-        			&&
-        			!identity.getInstitutions().isEmpty()
-        			&&
-        			!Collections.disjoint(identity.getInstitutions(), organizationalAffiliation)))
-        			&&
-        			((departmentalAffiliation == null)?
-        			true:		
-        			(identity.getOrganizationalUnits() != null
-        			&&
-        			!identity.getOrganizationalUnits().isEmpty()
-        			&&
-        			!Collections.disjoint(identity.getOrganizationalUnits().stream()
-        					.map(OrganizationalUnit::getOrganizationalUnitLabel)
-        					.collect(Collectors.toList()), departmentalAffiliation))))
-        			.map(Identity::getUid)
-        			.collect(Collectors.toList());
+        	List<String> identitySubset = filterGroupIdentities(identities, personType, organizationalAffiliation, departmentalAffiliation);
         	List<AnalysisOutput> analysis = analysisService.findByUids(identitySubset);
         	if (analysis != null && !analysis.isEmpty()) {
-        		analysis.stream().forEach(anl -> {
-        			if(anl.getReCiterFeature() != null
-        			&& 
-        			anl.getReCiterFeature().getReCiterArticleFeatures() != null
-        			&& 
-        			!anl.getReCiterFeature().getReCiterArticleFeatures().isEmpty()) {
-        				anl.getReCiterFeature().setReCiterArticleFeatures(anl.getReCiterFeature().getReCiterArticleFeatures()
-        						.stream()
-        						.limit(maxArticlesPerPerson)
-        						.collect(Collectors.toList())
-        						.stream()
-        						.filter(article ->
-			    					article.getUserAssertion() == PublicationFeedback.NULL
-			    					&&
-			    					article.getTotalArticleScoreStandardized() >= totalScore)
-        						.collect(Collectors.toList()));
-        			}
-        		});
-            	List<ReCiterFeature> analysisSubset= analysis.parallelStream()
-            			.filter(anl -> anl.getReCiterFeature().getReCiterArticleFeatures() != null && !anl.getReCiterFeature().getReCiterArticleFeatures().isEmpty())
-            			.map(AnalysisOutput::getReCiterFeature)
+            	List<ReCiterFeature> analysisSubset= analysis.stream()
+            			.map(anl -> filterPendingArticles(anl, totalScore, maxArticlesPerPerson))
+            			.filter(reCiterFeature -> reCiterFeature != null)
                         .collect(Collectors.toList());
-                
-                //Set Count of pending articles. The articles are already filtered by score and FeedBack NULL
-                analysisSubset.forEach(anl -> {
-                    anl.setCountPendingArticles(anl.getReCiterArticleFeatures().size());
-                });
             	
                 stopWatch.stop();
                 log.info(stopWatch.getId() + " took " + stopWatch.getTotalTimeSeconds() + "s");
@@ -431,6 +423,130 @@ public class ReCiterController {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body("There is no publications data for the group. Please wait while feature-generator re-runs tonight.");
     }
 
+    @ApiOperation(value = "Stream pending articles for a group of users.", response = ResponseEntity.class, notes = "Streams pending articles for a group of users as newline delimited JSON (one ReCiterFeature per line). "
+    		+ "Each person is written as soon as its analysis is retrieved so memory use does not grow with the size of the group.")
+    @ApiImplicitParams({
+    	@ApiImplicitParam(name = "api-key", value = "api-key for this resource", paramType = "header", dataTypeClass = String.class)
+    })
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully streamed list"),
+            @ApiResponse(code = 401, message = "You are not authorized to view the resource"),
+            @ApiResponse(code = 403, message = "Accessing the resource you were trying to reach is forbidden"),
+            @ApiResponse(code = 404, message = "The resource you were trying to reach is not found")
+    })
+    @RequestMapping(value = "/reciter/feature-generator/by/group/stream", method = RequestMethod.GET, produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamBulkFeatureGenerator(@RequestParam(required =false) List<String> personType, @RequestParam(required = false) List<String> organizationalAffiliation, @RequestParam(required = false) List<String> departmentalAffiliation,
+    		@RequestParam(required = true) Double totalStandardizedArticleScore, @RequestParam(required = true) int maxArticlesPerPerson) {
+        List<Identity> identities;
+        try {
+            identities = identityService.findAll();
+        } catch (Exception ne) {
+        	log.error("Issue with the request", ne);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+        if(identities == null || identities.isEmpty()) {
+        	return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        
+        final double totalScore = (totalStandardizedArticleScore == null) ? totalArticleScoreStandardizedDefault : totalStandardizedArticleScore;
+        final List<String> identitySubset = filterGroupIdentities(identities, personType, organizationalAffiliation, departmentalAffiliation);
+        
+        StreamingResponseBody responseBody = outputStream -> {
+        	StopWatch stopWatch = new StopWatch("Stream pending articles for a group of users");
+            stopWatch.start("Stream pending articles for a group of users");
+        	try {
+        		//Only one batch of analyses is held in memory at any time
+	        	for(List<String> uidBatch: Lists.partition(identitySubset, GROUP_STREAM_BATCH_SIZE)) {
+	        		analysisService.findByUids(uidBatch, anl -> {
+	        			ReCiterFeature reCiterFeature = filterPendingArticles(anl, totalScore, maxArticlesPerPerson);
+	        			if(reCiterFeature != null) {
+	        				writeNdjsonLine(outputStream, reCiterFeature);
+	        			}
+	        		});
+	        		outputStream.flush();
+	        	}
+        	} catch (UncheckedIOException e) {
+        		throw e.getCause();
+        	}
+        	stopWatch.stop();
+            log.info(stopWatch.getId() + " took " + stopWatch.getTotalTimeSeconds() + "s");
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE)).body(responseBody);
+    }
+    
+    private void writeNdjsonLine(OutputStream outputStream, ReCiterFeature reCiterFeature) {
+    	try {
+    		outputStream.write(objectMapper.writeValueAsBytes(reCiterFeature));
+    		outputStream.write("\n".getBytes(StandardCharsets.UTF_8));
+    	} catch (IOException e) {
+    		throw new UncheckedIOException(e);
+    	}
+    }
+    
+    /**
+     * Filters the identities by personType, organizationalAffiliation and departmentalAffiliation. A null filter matches all identities.
+     * @return uids of the identities matching all supplied filters
+     */
+    private List<String> filterGroupIdentities(List<Identity> identities, List<String> personType, List<String> organizationalAffiliation, List<String> departmentalAffiliation) {
+    	return identities.parallelStream().filter(identity -> 
+				((personType == null)?
+				true:
+				(identity.getPersonTypes() != null
+				&&
+				!identity.getPersonTypes().isEmpty() && !Collections.disjoint(identity.getPersonTypes(), personType)))
+				&&
+				((organizationalAffiliation == null)?
+				true:
+				(identity.getInstitutions() != null
+				&&
+				!identity.getInstitutions().isEmpty()
+				&&
+				!Collections.disjoint(identity.getInstitutions(), organizationalAffiliation)))
+				&&
+				((departmentalAffiliation == null)?
+				true:		
+				(identity.getOrganizationalUnits() != null
+				&&
+				!identity.getOrganizationalUnits().isEmpty()
+				&&
+				!Collections.disjoint(identity.getOrganizationalUnits().stream()
+						.map(OrganizationalUnit::getOrganizationalUnitLabel)
+						.collect(Collectors.toList()), departmentalAffiliation))))
+				.map(Identity::getUid)
+				.collect(Collectors.toList());
+    }
+    
+    /**
+     * Limits the analysis to maxArticlesPerPerson and keeps only the articles without feedback scoring at or above totalScore.
+     * @return the filtered ReCiterFeature with its pending count set or null if there is nothing pending
+     */
+    private ReCiterFeature filterPendingArticles(AnalysisOutput anl, double totalScore, int maxArticlesPerPerson) {
+    	if(anl == null
+    			||
+    			anl.getReCiterFeature() == null
+    			|| 
+    			anl.getReCiterFeature().getReCiterArticleFeatures() == null
+    			|| 
+    			anl.getReCiterFeature().getReCiterArticleFeatures().isEmpty()) {
+    		return null;
+    	}
+    	List<ReCiterArticleFeature> pendingArticles = anl.getReCiterFeature().getReCiterArticleFeatures()
+				.stream()
+				.limit(maxArticlesPerPerson)
+				.filter(article ->
+					article.getUserAssertion() == PublicationFeedback.NULL
+					&&
+					article.getTotalArticleScoreStandardized() >= totalScore)
+				.collect(Collectors.toList());
+    	if(pendingArticles.isEmpty()) {
+    		return null;
+    	}
+    	anl.getReCiterFeature().setReCiterArticleFeatures(pendingArticles);
+    	//Set Count of pending articles. The articles are already filtered by score and FeedBack NULL
+    	anl.getReCiterFeature().setCountPendingArticles(pendingArticles.size());
+    	return anl.getReCiterFeature();
+    }
+
     @ApiOperation(value = "Feature generation for UID.", response = ReCiterFeature.class, notes = "This api generates all the suggestion for a given uid along with its relevant evidence.")
     @ApiImplicitParams({
     	@ApiImplicitParam(name = "api-key", value = "api-key for this resource", paramType = "header", dataTypeClass = String.class),
@@ -592,26 +708,29 @@ public class ReCiterController {
                 strategyParameters.setUseGoldStandardEvidence(true);
             }
 
-            parameters = initializeEngineParameters(uid, totalStandardizedArticleScore, retrievalRefreshFlag);
-            if (parameters == null) {
-                stopWatch.stop();
-                log.info(stopWatch.getId() + " took " + stopWatch.getTotalTimeSeconds() + "s");
-                return ResponseEntity
-                        .status(HttpStatus.NOT_FOUND)
-                        .body(String.format("The uid provided '%s' does not have any candidate records in " +
-                                "ESearchResult table. Try running the candidate article retrieval api first with " +
-                                "refreshFlag = true.", uid));
-            }
-            TargetAuthorSelection t = new TargetAuthorSelection();
-            t.identifyTargetAuthor(parameters.getReciterArticles(), parameters.getIdentity());
             double filterScore = 0;
-            if(parameters.getTotalStandardzizedArticleScore() >= strategyParameters.getMinimumStorageThreshold()) {
-            	filterScore = strategyParameters.getMinimumStorageThreshold();
-            } else {
-            	filterScore = parameters.getTotalStandardzizedArticleScore();
+            // Translation and scoring read the same reference data version even if a reload swaps it in meanwhile
+            try (ReferenceDataHolder.Pin pin = ReferenceDataHolder.pin()) {
+                parameters = initializeEngineParameters(uid, totalStandardizedArticleScore, retrievalRefreshFlag);
+                if (parameters == null) {
+                    stopWatch.stop();
+                    log.info(stopWatch.getId() + " took " + stopWatch.getTotalTimeSeconds() + "s");
+                    return ResponseEntity
+                            .status(HttpStatus.NOT_FOUND)
+                            .body(String.format("The uid provided '%s' does not have any candidate records in " +
+                                    "ESearchResult table. Try running the candidate article retrieval api first with " +
+                                    "refreshFlag = true.", uid));
+                }
+                TargetAuthorSelection t = new TargetAuthorSelection();
+                t.identifyTargetAuthor(parameters.getReciterArticles(), parameters.getIdentity(), parameters.getArticleAuthorIndexes(), parameters.getTargetAuthorEvidenceCache());
+                if(parameters.getTotalStandardzizedArticleScore() >= strategyParameters.getMinimumStorageThreshold()) {
+                	filterScore = strategyParameters.getMinimumStorageThreshold();
+                } else {
+                	filterScore = parameters.getTotalStandardzizedArticleScore();
+                }
+                Engine engine = new ReCiterEngine();
+                engineOutput = engine.run(parameters, strategyParameters, filterScore, keywordsMax);
             }
-            Engine engine = new ReCiterEngine();
-            engineOutput = engine.run(parameters, strategyParameters, filterScore, keywordsMax);
             originalFeatures.addAll(engineOutput.getReCiterFeature().getReCiterArticleFeatures());
             
             //Store Analysis only in evidence mode
@@ -902,15 +1021,9 @@ public class ReCiterController {
         }
 
         // combine PubMed and Scopus articles into a list of ReCiterArticle
-        List<ReCiterArticle> reCiterArticles = new ArrayList<>();
-        for (PubMedArticle pubMedArticle : pubMedArticles) {
-            long pmid = pubMedArticle.getMedlinecitation().getMedlinecitationpmid().getPmid();
-            if (map.containsKey(pmid)) {
-                reCiterArticles.add(ArticleTranslator.translate(pubMedArticle, map.get(pmid), nameIgnoredCoAuthors, strategyParameters));
-            } else {
-                reCiterArticles.add(ArticleTranslator.translate(pubMedArticle, null, nameIgnoredCoAuthors, strategyParameters));
-            }
-        }
+        // co-author names repeat across the candidate articles so their normalized forms are shared for this run
+        NameNormalizationCache nameNormalizationCache = new NameNormalizationCache(strategyParameters.getNameExcludedSuffixes());
+        List<ReCiterArticle> reCiterArticles = translateArticles(pubMedArticles, map, nameNormalizationCache);
         
         //Sanitize Identity names
         AuthorNameSanitizationUtils authorNameSanitizationUtils = new AuthorNameSanitizationUtils(strategyParameters);
@@ -929,6 +1042,13 @@ public class ReCiterController {
         parameters.setPubMedArticles(pubMedArticles);
         parameters.setScopusArticles(Collections.emptyList());
         parameters.setReciterArticles(reCiterArticles);
+        parameters.setNameNormalizationCache(nameNormalizationCache);
+        parameters.setArticleAuthorIndexes(ArticleAuthorIndex.of(reCiterArticles));
+        if (targetAuthorEvidenceCacheEnabled) {
+            parameters.setTargetAuthorEvidenceCache(new TargetAuthorEvidenceCache(
+                    reCiterCacheManager.getCache("targetAuthorEvidence", TargetAuthorEvidence.class),
+                    reCiterCacheManager.getCache("targetAuthorSelection", TargetAuthorFlags.class), identity, strategyParameters));
+        }
 
         GoldStandard goldStandard = dynamoDbGoldStandardService.findByUid(uid);
         if (goldStandard == null) {
@@ -945,4 +1065,43 @@ public class ReCiterController {
         }
         return parameters;
     }
+    
+    /**
+     * Translates the articles in parallel on the article translation pool. Each translation reads the reference data
+     * pinned by the calling thread.
+     * @param pubMedArticles candidate articles
+     * @param scopusArticles Scopus articles by PMID
+     * @param nameNormalizationCache
+     * @return translated articles in the order of pubMedArticles
+     */
+    private List<ReCiterArticle> translateArticles(List<PubMedArticle> pubMedArticles, Map<Long, ScopusArticle> scopusArticles, NameNormalizationCache nameNormalizationCache) {
+        ReferenceData referenceData = ReferenceDataHolder.get();
+        List<Future<ReCiterArticle>> translations = new ArrayList<>(pubMedArticles.size());
+        for (PubMedArticle pubMedArticle : pubMedArticles) {
+            long pmid = pubMedArticle.getMedlinecitation().getMedlinecitationpmid().getPmid();
+            ScopusArticle scopusArticle = scopusArticles.get(pmid);
+            translations.add(articleTranslationExecutor.submit(() -> {
+                try (ReferenceDataHolder.Pin pin = ReferenceDataHolder.pin(referenceData)) {
+                    return ArticleTranslator.translate(pubMedArticle, scopusArticle, nameIgnoredCoAuthors, strategyParameters, nameNormalizationCache);
+                }
+            }));
+        }
+        List<ReCiterArticle> reCiterArticles = new ArrayList<>(translations.size());
+        try {
+            for (Future<ReCiterArticle> translation : translations) {
+                reCiterArticles.add(translation.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while translating articles", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Unable to translate articles", e.getCause());
+        } finally {
+            translations.forEach(translation -> translation.cancel(true));
+        }
+        return reCiterArticles;
+    }
 }
\ No newline at end of file
@@ -14,6 +14,7 @@ import com.google.gson.Gson;
 import lombok.extern.slf4j.Slf4j;
 import reciter.database.dynamodb.model.Gender;
 import reciter.service.GenderService;
+import reciter.service.dynamo.ReferenceDataLoader;
 
 @Slf4j
 @Component
@@ -22,6 +23,9 @@ public class GenderFileImport {
 	@Autowired
 	private GenderService genderService;
 	
+	@Autowired
+	private ReferenceDataLoader referenceDataLoader;
+	
 	/**
 	 * This function imports gender data to Gender table
 	 */
@@ -43,6 +47,7 @@ public class GenderFileImport {
 					!genders.isEmpty()) {
 				log.info("The file Gender.json and the Gender table in DynamoDb is not isomorphic and hence starting import.");
 				genderService.save(genders);
+				referenceDataLoader.markSourceChanged();
 			}
 		}
 	}
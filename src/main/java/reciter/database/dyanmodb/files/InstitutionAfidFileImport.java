@@ -12,6 +12,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import reciter.database.dynamodb.model.InstitutionAfid;
 import reciter.service.dynamo.IDynamoDbInstitutionAfidService;
+import reciter.service.dynamo.ReferenceDataLoader;
 
 /**
  * This class deals with import of InstitutionAfid from files and import it into dynamodb
@@ -25,6 +26,9 @@ public class InstitutionAfidFileImport {
 	@Autowired
 	private IDynamoDbInstitutionAfidService institutionAfIdService;
 	
+	@Autowired
+	private ReferenceDataLoader referenceDataLoader;
+	
 	/**
 	 * This function imports identity data to identity table
 	 */
@@ -47,6 +51,7 @@ public class InstitutionAfidFileImport {
 				log.info("The file InstitutionAfid.json and the InstitutionAfid table in DynamoDb is not isomorphic and hence starting import.");
 				
 				institutionAfIdService.save(institutionAfids);
+				referenceDataLoader.markSourceChanged();
 			}
 		}
 	}
@@ -12,6 +12,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import reciter.database.dynamodb.model.MeshTerm;
 import reciter.service.IDynamoDbMeshTermService;
+import reciter.service.dynamo.ReferenceDataLoader;
 
 /**
  * This class deals with import of MeshTerm from files and import it into dynamodb
@@ -25,6 +26,9 @@ public class MeshTermFileImport {
 	@Autowired
 	private IDynamoDbMeshTermService meshTermService;
 	
+	@Autowired
+	private ReferenceDataLoader referenceDataLoader;
+	
 	/**
 	 * This function imports identity data to identity table
 	 */
@@ -46,6 +50,7 @@ public class MeshTermFileImport {
 					!meshTerms.isEmpty()) {
 				log.info("The file MeshTerm.json and the MeshTerm table in DynamoDb is not isomorphic and hence starting import.");
 				meshTermService.save(meshTerms);
+				referenceDataLoader.markSourceChanged();
 			}
 		}
 	}
@@ -12,6 +12,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import reciter.database.dynamodb.model.ScienceMetrixDepartmentCategory;
 import reciter.service.ScienceMetrixDepartmentCategoryService;
+import reciter.service.dynamo.ReferenceDataLoader;
 
 /**
  * This class deals with import of ScienceMetrixDepartmentCategory from files and import it into dynamodb
@@ -25,6 +26,9 @@ public class ScienceMetrixDepartmentCategoryFileImport {
 	@Autowired
 	private ScienceMetrixDepartmentCategoryService scienceMetrixDepartmentCategoryService;
 	
+	@Autowired
+	private ReferenceDataLoader referenceDataLoader;
+	
 	public void importScienceMetrixDepartmentCategory() {
 		List<ScienceMetrixDepartmentCategory> sciMetrixDeptCatgeoryBeans = null;
 		ObjectMapper mapper = new ObjectMapper();
@@ -43,6 +47,7 @@ public class ScienceMetrixDepartmentCategoryFileImport {
 					sciMetrixDeptCatgeoryBeans.size() > 0) {
 				log.info("The file ScienceMetrixDepartmentCategory.json and the ScienceMetrixDepartmentCategory table in DynamoDb is not isomorphic and hence starting import.");
 				scienceMetrixDepartmentCategoryService.save(sciMetrixDeptCatgeoryBeans);
+				referenceDataLoader.markSourceChanged();
 			}
 		}
 	}
@@ -12,6 +12,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import reciter.database.dynamodb.model.ScienceMetrix;
 import reciter.service.ScienceMetrixService;
+import reciter.service.dynamo.ReferenceDataLoader;
 
 /**
  * This class deals with import of ScienceMetrix from files and import it into dynamodb
@@ -25,6 +26,9 @@ public class ScienceMetrixFileImport {
 	@Autowired
 	private ScienceMetrixService scienceMetrixService;
 	
+	@Autowired
+	private ReferenceDataLoader referenceDataLoader;
+	
 	public void importScienceMetrix() {
 		ObjectMapper mapper = new ObjectMapper();
 		List<ScienceMetrix> scienceMetrixBeans = null;
@@ -43,6 +47,7 @@ public class ScienceMetrixFileImport {
 						scienceMetrixBeans.size() > 0) {
 					log.info("The file ScienceMetrix.json and the ScienceMetrix table in DynamoDb is not isomorphic and hence starting import.");
 					scienceMetrixService.save(scienceMetrixBeans);
+					referenceDataLoader.markSourceChanged();
 			}
 		}
 	}
@@ -0,0 +1,233 @@
+package reciter.database.dynamodb;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.UnaryOperator;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemResult;
+import com.amazonaws.services.dynamodbv2.model.PutItemRequest;
+import com.amazonaws.services.dynamodbv2.model.PutRequest;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+import com.google.common.collect.Lists;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bulk writer for tables that receive large volumes of items during retrieval (PubMed and Scopus articles).
+ * Items are converted once, measured against the dynamodb item limit and deduplicated by key. The remaining items are
+ * written with parallel BatchWriteItem calls of 25 items each and unprocessed items are retried with exponential backoff.
+ */
+@Slf4j
+@Component
+public class DynamoDbBatchWriter {
+
+	/**
+	 * DynamoDB item limit. This includes the attribute names as well as the values.
+	 */
+	public static final int MAX_ITEM_SIZE_IN_BYTES = 400 * 1024;
+
+	private static final int MAX_BATCH_SIZE = 25;
+
+	private static final int MAX_RETRIES = 8;
+
+	private static final long BASE_BACKOFF_MILLIS = 50;
+
+	@Autowired
+	private AmazonDynamoDB amazonDynamoDB;
+
+	@Autowired
+	private DynamoDBMapperConfig dynamoDBMapperConfig;
+
+	@Autowired
+	@Qualifier("dynamoDbBatchWriteExecutor")
+	private ExecutorService dynamoDbBatchWriteExecutor;
+
+	/**
+	 * Writes the items to the table mapped by the class. Items over {@link #MAX_ITEM_SIZE_IN_BYTES} are handed to the
+	 * oversizedItemHandler which returns the item to write instead (e.g. a stub after the payload was moved to S3) or null to skip it.
+	 * When several items share the same key the last one wins.
+	 * @param clazz dynamodb model class
+	 * @param items items to write
+	 * @param oversizedItemHandler handler for items over the item limit
+	 * @return number of items that could not be written
+	 */
+	public <T> int batchSave(Class<T> clazz, Collection<T> items, UnaryOperator<T> oversizedItemHandler) {
+		if(items == null || items.isEmpty()) {
+			return 0;
+		}
+		DynamoDBMapper dynamoDBMapper = new DynamoDBMapper(amazonDynamoDB, dynamoDBMapperConfig);
+		DynamoDBMapperTableModel<T> tableModel = dynamoDBMapper.getTableModel(clazz);
+		String tableName = getTableName(clazz);
+
+		int failed = 0;
+		Map<Map<String, AttributeValue>, WriteRequest> writeRequests = new LinkedHashMap<>();
+		for(T item: items) {
+			Map<String, AttributeValue> attributes = tableModel.convert(item);
+			int itemSize = getItemSize(attributes);
+			if(itemSize > MAX_ITEM_SIZE_IN_BYTES) {
+				log.info("Item with key " + tableModel.convertKey(item) + " in " + tableName + " is " + itemSize + " bytes which exceeds the dynamodb item limit");
+				T replacement = oversizedItemHandler.apply(item);
+				if(replacement == null) {
+					failed++;
+					continue;
+				}
+				attributes = tableModel.convert(replacement);
+			}
+			writeRequests.put(tableModel.convertKey(item), new WriteRequest().withPutRequest(new PutRequest().withItem(attributes)));
+		}
+
+		List<List<WriteRequest>> batches = Lists.partition(new ArrayList<>(writeRequests.values()), MAX_BATCH_SIZE);
+		List<Future<Integer>> futures = new ArrayList<>(batches.size());
+		for(List<WriteRequest> batch: batches) {
+			futures.add(dynamoDbBatchWriteExecutor.submit(() -> writeBatch(tableName, batch)));
+		}
+		for(int i = 0; i < futures.size(); i++) {
+			try {
+				failed += futures.get(i).get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				log.error("Interrupted while writing to " + tableName, e);
+				//Batches not waited for are counted as failed since it is not known whether they were written
+				for(int j = i; j < futures.size(); j++) {
+					futures.get(j).cancel(true);
+					failed += batches.get(j).size();
+				}
+				break;
+			} catch (ExecutionException e) {
+				log.error("Unable to write batch to " + tableName, e.getCause());
+				failed += batches.get(i).size();
+			}
+		}
+		if(failed > 0) {
+			log.error(failed + " of " + items.size() + " items could not be written to " + tableName);
+		}
+		return failed;
+	}
+
+	/**
+	 * @param attributes item in dynamodb format
+	 * @return size of the item as counted by dynamodb against the item limit
+	 */
+	public static int getItemSize(Map<String, AttributeValue> attributes) {
+		int size = 0;
+		for(Map.Entry<String, AttributeValue> attribute: attributes.entrySet()) {
+			size += utf8Length(attribute.getKey()) + getAttributeSize(attribute.getValue());
+		}
+		return size;
+	}
+
+	private static int getAttributeSize(AttributeValue value) {
+		if(value == null) {
+			return 0;
+		}
+		if(value.getS() != null) {
+			return utf8Length(value.getS());
+		}
+		if(value.getN() != null) {
+			return value.getN().length();
+		}
+		if(value.getB() != null) {
+			return value.getB().remaining();
+		}
+		if(value.getBOOL() != null || value.getNULL() != null) {
+			return 1;
+		}
+		//Documents and sets carry a few bytes of overhead on top of their elements
+		int size = 3;
+		if(value.getM() != null) {
+			size += getItemSize(value.getM());
+		} else if(value.getL() != null) {
+			for(AttributeValue element: value.getL()) {
+				size += 1 + getAttributeSize(element);
+			}
+		} else if(value.getSS() != null) {
+			for(String element: value.getSS()) {
+				size += utf8Length(element);
+			}
+		} else if(value.getNS() != null) {
+			for(String element: value.getNS()) {
+				size += element.length();
+			}
+		} else if(value.getBS() != null) {
+			for(ByteBuffer element: value.getBS()) {
+				size += element.remaining();
+			}
+		}
+		return size;
+	}
+
+	private static int utf8Length(String value) {
+		return value.getBytes(StandardCharsets.UTF_8).length;
+	}
+
+	private int writeBatch(String tableName, List<WriteRequest> batch) throws InterruptedException {
+		Map<String, List<WriteRequest>> requestItems = Collections.singletonMap(tableName, batch);
+		for(int attempt = 0; attempt <= MAX_RETRIES; attempt++) {
+			if(attempt > 0) {
+				Thread.sleep(BASE_BACKOFF_MILLIS << Math.min(attempt, 6));
+			}
+			try {
+				BatchWriteItemResult result = amazonDynamoDB.batchWriteItem(new BatchWriteItemRequest().withRequestItems(requestItems));
+				Map<String, List<WriteRequest>> unprocessedItems = result.getUnprocessedItems();
+				if(unprocessedItems == null || unprocessedItems.isEmpty()) {
+					return 0;
+				}
+				requestItems = unprocessedItems;
+			} catch(AmazonServiceException e) {
+				//Throttling is retried as a whole, anything else e.g. a validation error fails the whole batch so the items are written one by one
+				if(!"ProvisionedThroughputExceededException".equals(e.getErrorCode()) && !"ThrottlingException".equals(e.getErrorCode())) {
+					log.error("Unable to write batch to " + tableName + ": " + e.getErrorMessage() + ". Writing items individually.");
+					return writeIndividually(tableName, requestItems.get(tableName));
+				}
+			}
+		}
+		int unprocessed = countWriteRequests(requestItems);
+		log.error(unprocessed + " items to " + tableName + " were still unprocessed after " + MAX_RETRIES + " retries");
+		return unprocessed;
+	}
+
+	private int writeIndividually(String tableName, List<WriteRequest> writeRequests) {
+		int failed = 0;
+		for(WriteRequest writeRequest: writeRequests) {
+			try {
+				amazonDynamoDB.putItem(new PutItemRequest().withTableName(tableName).withItem(writeRequest.getPutRequest().getItem()));
+			} catch(AmazonServiceException e) {
+				log.error("Unable to write item to " + tableName + ": " + e.getErrorMessage());
+				failed++;
+			}
+		}
+		return failed;
+	}
+
+	private static int countWriteRequests(Map<String, List<WriteRequest>> requestItems) {
+		return requestItems.values().stream().mapToInt(List::size).sum();
+	}
+
+	private String getTableName(Class<?> clazz) {
+		DynamoDBMapperConfig.TableNameResolver tableNameResolver = dynamoDBMapperConfig.getTableNameResolver();
+		if(tableNameResolver == null) {
+			tableNameResolver = DynamoDBMapperConfig.DefaultTableNameResolver.INSTANCE;
+		}
+		return tableNameResolver.getTableName(clazz, dynamoDBMapperConfig);
+	}
+}
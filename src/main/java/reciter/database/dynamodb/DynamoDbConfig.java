@@ -12,6 +12,8 @@ import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDBAsyncClientBuilder;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClient;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClientBuilder;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBStreams;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBStreamsClientBuilder;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTable;
 import com.amazonaws.services.dynamodbv2.document.DynamoDB;
@@ -41,6 +43,10 @@ import org.springframework.core.type.filter.AnnotationTypeFilter;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.socialsignin.spring.data.dynamodb.repository.config.EnableDynamoDBRepositories;
 import org.springframework.beans.factory.annotation.Value;
@@ -66,6 +72,8 @@ import com.amazonaws.services.dynamodbv2.model.KeyType;
 import com.amazonaws.services.dynamodbv2.model.ListTablesResult;
 import com.amazonaws.services.dynamodbv2.model.ProvisionedThroughput;
 import com.amazonaws.services.dynamodbv2.model.ScalarAttributeType;
+import com.amazonaws.services.dynamodbv2.model.StreamSpecification;
+import com.amazonaws.services.dynamodbv2.model.StreamViewType;
 import com.amazonaws.services.dynamodbv2.util.TableUtils;
 import com.amazonaws.services.dynamodbv2.util.TableUtils.TableNeverTransitionedToStateException;
 
@@ -119,6 +127,9 @@ public class DynamoDbConfig {
     
     @Value("${aws.dynamodb.settings.table.billingmode}")
     private BillingMode billingMode;
+    
+    @Value("${aws.dynamodb.settings.batchWrite.threads:8}")
+    private int batchWriteThreads;
 
     @Bean
     public AmazonDynamoDB amazonDynamoDB() {
@@ -195,6 +206,24 @@ public class DynamoDbConfig {
         return amazonDynamoDB;
     }
 
+    /**
+     * Client reading the streams of the tables, used by {@link reciter.service.dynamo.IdentitySnapshot} to pick up identities changed by other instances.
+     * @return AmazonDynamoDBStreams with the same endpoint and credentials as {@link #amazonDynamoDB()}
+     */
+    @Bean
+    public AmazonDynamoDBStreams amazonDynamoDBStreams() {
+    	if(isDynamoDbLocal) {
+    		return AmazonDynamoDBStreamsClientBuilder.standard().withEndpointConfiguration(
+        			new AwsClientBuilder.EndpointConfiguration("http://localhost:" + this.dynamoDbLocalPort, dynamodbLocalRegion))
+    				.withCredentials(new AWSStaticCredentialsProvider(amazonAWSCredentials()))
+    				.build();
+    	}
+    	return AmazonDynamoDBStreamsClientBuilder.standard()
+    			.withRegion(dyanmodbRegion)
+    			.withCredentials(new AWSStaticCredentialsProvider(amazonAWSCredentials()))
+    			.build();
+    }
+
     @Bean
     public AWSCredentials amazonAWSCredentials() {
     		if(isDynamoDbLocal 
@@ -218,6 +247,21 @@ public class DynamoDbConfig {
     	return builder.build();
     }
     
+    /**
+     * Dedicated pool used by {@link DynamoDbBatchWriter} to send BatchWriteItem calls in parallel.
+     * @return bounded ExecutorService for batch writes
+     */
+    @Bean(name = "dynamoDbBatchWriteExecutor", destroyMethod = "shutdown")
+    public ExecutorService dynamoDbBatchWriteExecutor() {
+    	final AtomicInteger threadCount = new AtomicInteger();
+    	ThreadFactory threadFactory = runnable -> {
+    		Thread thread = new Thread(runnable, "dynamodb-batch-write-" + threadCount.incrementAndGet());
+    		thread.setDaemon(true);
+    		return thread;
+    	};
+    	return Executors.newFixedThreadPool(Math.max(1, batchWriteThreads), threadFactory);
+    }
+    
     /**
      * Creates the necessary tables.
      */
@@ -336,6 +380,10 @@ public class DynamoDbConfig {
                                                                               .withWriteCapacityUnits(WRITE_CAPACITY_UNITS));
 	                } 
 	                if(request != null) {
+	                	if(tableName.equalsIgnoreCase("Identity")) {
+	                		//Instances read the keys of changed identities from the stream to keep their identity snapshot current
+	                		request.withStreamSpecification(new StreamSpecification().withStreamEnabled(true).withStreamViewType(StreamViewType.KEYS_ONLY));
+	                	}
 	                	amazonDynamoDB.createTable(request);
 	                }
 	                	log.info("Waiting for table " + tableName + " to be created in AWS.");
@@ -1,13 +1,21 @@
 package reciter.database.dynamodb;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import org.apache.commons.io.IOUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,6 +29,7 @@ import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.PutObjectRequest;
 import com.amazonaws.services.s3.model.S3Object;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.extern.slf4j.Slf4j;
@@ -45,6 +54,8 @@ public class DynamoDbS3Operations {
 	
 	private static final String CONTENT_TYPE = "application/json";
 	
+	private static final String CONTENT_ENCODING_GZIP = "gzip";
+	
 	/**
 	 * This function stores large object which has size more than 400kb.
 	 * @param bucketName
@@ -131,6 +142,117 @@ public class DynamoDbS3Operations {
 		
 	}
 	
+	/**
+	 * This function stores a gzip compressed json of the object. Used for items that are known to exceed the 
+	 * dynamodb item limit before they are written e.g. PubMed articles with very large author lists.
+	 * @param bucketName
+	 * @param object
+	 * @param keyName
+	 * @return true if the object was stored
+	 */
+	public boolean saveCompressedItem(String bucketName, Object object, String keyName) {
+		if(s3 == null || bucketName == null) {
+			return false;
+		}
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try(OutputStream out = new GZIPOutputStream(bytes)) {
+			OBJECT_MAPPER.writeValue(out, object);
+		} catch (IOException e) {
+			log.error(e.getMessage());
+			return false;
+		}
+		byte[] objectContentBytes = bytes.toByteArray();
+		ObjectMetadata metadata = new ObjectMetadata();
+		metadata.setContentType(CONTENT_TYPE);
+		metadata.setContentEncoding(CONTENT_ENCODING_GZIP);
+		metadata.setContentLength(objectContentBytes.length);
+		try {
+			//putObject overwrites any existing object with the same key
+			s3.putObject(new PutObjectRequest(bucketName.toLowerCase(), keyName, new ByteArrayInputStream(objectContentBytes), metadata));
+			return true;
+		} catch(AmazonServiceException e) {
+			log.error(e.getErrorMessage());
+		}
+		return false;
+	}
+	
+	/**
+	 * This function retrieves an object stored with {@link #saveCompressedItem(String, Object, String)}
+	 * @param bucketName
+	 * @param keyName
+	 * @param objectClass
+	 * @return the object
+	 * @throws AmazonServiceException if the object could not be retrieved
+	 * @throws UncheckedIOException if the object could not be read
+	 */
+	public <T> T retrieveCompressedItem(String bucketName, String keyName, Class<T> objectClass) {
+		try(S3Object s3Object = s3.getObject(new GetObjectRequest(bucketName.toLowerCase(), keyName));
+				InputStream in = new GZIPInputStream(s3Object.getObjectContent())) {
+			return OBJECT_MAPPER.readerFor(objectClass).without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES).readValue(in);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Unable to read " + keyName + " from s3", e);
+		}
+	}
+	
+	/**
+	 * This function stores a file as is e.g. the reference data snapshot shared by all instances
+	 * @param bucketName
+	 * @param keyName
+	 * @param file
+	 * @return true if the file was stored
+	 */
+	public boolean saveFile(String bucketName, String keyName, Path file) {
+		if(s3 == null || bucketName == null) {
+			return false;
+		}
+		try {
+			s3.putObject(bucketName.toLowerCase(), keyName, file.toFile());
+			return true;
+		} catch(AmazonServiceException e) {
+			log.error(e.getErrorMessage());
+		}
+		return false;
+	}
+	
+	/**
+	 * This function retrieves a file stored with {@link #saveFile(String, String, Path)}. The file is written to a temporary
+	 * file next to the target that is moved in place, so a partially downloaded file is never picked up.
+	 * @param bucketName
+	 * @param keyName
+	 * @param file target file
+	 * @return true if the file was retrieved, false if there is no such object or it could not be retrieved
+	 */
+	public boolean retrieveFile(String bucketName, String keyName, Path file) {
+		if(s3 == null || bucketName == null) {
+			return false;
+		}
+		Path tempFile = null;
+		try {
+			if(!s3.doesObjectExist(bucketName.toLowerCase(), keyName)) {
+				return false;
+			}
+			Path parent = file.toAbsolutePath().getParent();
+			Files.createDirectories(parent);
+			tempFile = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+			s3.getObject(new GetObjectRequest(bucketName.toLowerCase(), keyName), tempFile.toFile());
+			Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			return true;
+		} catch(AmazonServiceException e) {
+			log.error(e.getErrorMessage());
+		} catch(IOException e) {
+			log.error(e.getMessage());
+		} finally {
+			if(tempFile != null) {
+				try {
+					Files.deleteIfExists(tempFile);
+				} catch (IOException e) {
+					log.error(e.getMessage());
+				}
+			}
+		}
+		return false;
+	}
+	
 	/**
 	 * This function delete large objects from S3
 	 * @param bucketName
@@ -0,0 +1,34 @@
+package reciter.database.dynamodb.model;
+
+import java.util.Date;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBAttribute;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBHashKey;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTable;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Version of the content of the reference data tables (ScienceMetrix, ScienceMetrixDepartmentCategory, MeshTerm, Gender and
+ * InstitutionAfid). Whoever writes to those tables replaces the version once the write is complete, so a reference data snapshot
+ * is only used while it carries the current version.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@DynamoDBTable(tableName = "ReferenceDataVersion")
+public class ReferenceDataVersion {
+
+	public static final String REFERENCE_DATA = "referenceData";
+
+	@DynamoDBHashKey(attributeName = "id")
+	private String id;
+
+	@DynamoDBAttribute(attributeName = "version")
+	private String version;
+
+	@DynamoDBAttribute(attributeName = "updatedAt")
+	private Date updatedAt;
+}
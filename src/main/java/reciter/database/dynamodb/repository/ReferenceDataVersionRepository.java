@@ -0,0 +1,11 @@
+package reciter.database.dynamodb.repository;
+
+import org.socialsignin.spring.data.dynamodb.repository.EnableScan;
+import org.springframework.data.repository.CrudRepository;
+
+import reciter.database.dynamodb.model.ReferenceDataVersion;
+
+@EnableScan
+public interface ReferenceDataVersionRepository extends CrudRepository<ReferenceDataVersion, String> {
+
+}
@@ -18,6 +18,8 @@
  *******************************************************************************/
 package reciter.engine;
 
+import reciter.algorithm.evidence.targetauthor.TargetAuthorEvidenceCache;
+import reciter.algorithm.util.ArticleAuthorIndex;
 import reciter.database.dynamodb.model.Gender;
 import reciter.database.dynamodb.model.ScienceMetrix;
 import reciter.database.dynamodb.model.ScienceMetrixDepartmentCategory;
@@ -25,6 +27,7 @@ import reciter.model.article.ReCiterArticle;
 import reciter.model.identity.Identity;
 import reciter.model.pubmed.PubMedArticle;
 import reciter.model.scopus.ScopusArticle;
+import reciter.utils.NameNormalizationCache;
 
 import java.util.List;
 import java.util.Map;
@@ -36,21 +39,6 @@ import lombok.Setter;
 @Data
 public class EngineParameters {
 	
-	@Getter
-	@Setter
-    private static Map<String, Long> meshCountMap;
-	@Getter
-	@Setter
-    private static Map<String, List<String>> afiliationNameToAfidMap;
-	@Getter
-	@Setter
-    private static List<ScienceMetrix> scienceMetrixJournals;
-	@Getter
-	@Setter
-    private static List<ScienceMetrixDepartmentCategory> scienceMetrixDepartmentCategories;
-	@Getter
-	@Setter
-    private static List<Gender> genders;
     private Identity identity;
     private List<PubMedArticle> pubMedArticles;
     private List<ScopusArticle> scopusArticles;
@@ -58,10 +46,63 @@ public class EngineParameters {
     private List<Long> knownPmids;
     private List<Long> rejectedPmids;
     private double totalStandardzizedArticleScore;
+    private NameNormalizationCache nameNormalizationCache;
+    private TargetAuthorEvidenceCache targetAuthorEvidenceCache;
+    private Map<ReCiterArticle, ArticleAuthorIndex> articleAuthorIndexes;
     @Getter
 	@Setter
     private static Map<Double, Double> degreeYearDiscrepancyScoreMap;
     @Getter
 	@Setter
     private static String regexForStopWords;
+    
+    /**
+     * Installs a complete set of reference data along with the indexes built from it. Runs that pinned the previous
+     * set through {@link ReferenceDataHolder#pin()} keep using it until they finish.
+     * @param referenceData
+     * @return the reference data that was replaced
+     */
+    public static ReferenceData setReferenceData(ReferenceData referenceData) {
+    	return ReferenceDataHolder.swap(referenceData);
+    }
+    
+    public static ReferenceData getReferenceData() {
+    	return ReferenceDataHolder.get();
+    }
+    
+    public static MeshCountDictionary getMeshCounts() {
+    	return ReferenceDataHolder.get().getMeshCounts();
+    }
+    
+    public static Map<String, List<String>> getAfiliationNameToAfidMap() {
+    	return ReferenceDataHolder.get().getAfiliationNameToAfidMap();
+    }
+    
+    public static List<ScienceMetrix> getScienceMetrixJournals() {
+    	return ReferenceDataHolder.get().getScienceMetrixJournals();
+    }
+    
+    public static List<ScienceMetrixDepartmentCategory> getScienceMetrixDepartmentCategories() {
+    	return ReferenceDataHolder.get().getScienceMetrixDepartmentCategories();
+    }
+    
+    public static ScienceMetrixIndex getScienceMetrixIndex() {
+    	return ReferenceDataHolder.get().getScienceMetrixIndex();
+    }
+    
+    public static List<Gender> getGenders() {
+    	return ReferenceDataHolder.get().getGenders();
+    }
+    
+    public static GenderIndex getGenderIndex() {
+    	return ReferenceDataHolder.get().getGenderIndex();
+    }
+    
+    /**
+     * Replaces the gender reference data and the name index used by GenderProbability
+     * @param genders
+     */
+    public static void setGenders(List<Gender> genders) {
+    	ReferenceDataHolder.swap(ReferenceDataHolder.getCurrent().withGenders(genders));
+    }
 }
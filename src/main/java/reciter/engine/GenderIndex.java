@@ -0,0 +1,76 @@
+package reciter.engine;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import reciter.database.dynamodb.model.Gender;
+import reciter.database.dynamodb.model.GenderEnum;
+
+/**
+ * Immutable lookup index over the Gender reference data keyed by normalized first name. Each name keeps the sum and count of
+ * its male probabilities (female records count as 1 - probability) so the average over any set of names is a few hash lookups.
+ */
+public final class GenderIndex {
+
+	private final Map<String, double[]> maleProbabilitySumAndCountByName;
+
+	private GenderIndex(Map<String, double[]> maleProbabilitySumAndCountByName) {
+		this.maleProbabilitySumAndCountByName = maleProbabilitySumAndCountByName;
+	}
+
+	public static GenderIndex build(List<Gender> genders) {
+		Map<String, double[]> maleProbabilitySumAndCountByName = new HashMap<>();
+		if(genders != null) {
+			for(Gender gender: genders) {
+				String name = normalizeName(gender.getName());
+				if(name == null) {
+					continue;
+				}
+				double[] sumAndCount = maleProbabilitySumAndCountByName.computeIfAbsent(name, key -> new double[2]);
+				sumAndCount[0] += (gender.getGender() == GenderEnum.F) ? (1 - gender.getProbability()) : gender.getProbability();
+				sumAndCount[1]++;
+			}
+		}
+		return new GenderIndex(maleProbabilitySumAndCountByName);
+	}
+
+	/**
+	 * @param names first names. Each distinct name is counted once.
+	 * @return Gender with the average probability over all Gender records matching any of the names or null if none match
+	 */
+	public Gender getAverageProbability(Collection<String> names) {
+		double sum = 0;
+		double count = 0;
+		Set<String> normalizedNames = new HashSet<>();
+		for(String name: names) {
+			String normalizedName = normalizeName(name);
+			if(normalizedName == null || !normalizedNames.add(normalizedName)) {
+				continue;
+			}
+			double[] sumAndCount = maleProbabilitySumAndCountByName.get(normalizedName);
+			if(sumAndCount != null) {
+				sum += sumAndCount[0];
+				count += sumAndCount[1];
+			}
+		}
+		if(count == 0) {
+			return null;
+		}
+		return new Gender(null, null, null, sum / count);
+	}
+
+	public boolean isEmpty() {
+		return maleProbabilitySumAndCountByName.isEmpty();
+	}
+
+	private static String normalizeName(String name) {
+		if(name == null) {
+			return null;
+		}
+		return name.trim().toLowerCase();
+	}
+}
@@ -0,0 +1,211 @@
+package reciter.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only dictionary of MeSH descriptor counts without per-entry objects. Descriptors are kept sorted in a single char array
+ * addressed by offsets and their counts in a parallel long array. The position of a descriptor in the sorted order is its id
+ * so other parts of the engine can refer to descriptors by int instead of by String. Lookups go through an open addressing
+ * hash table of ids keyed by {@link String#hashCode()}.
+ */
+public final class MeshCountDictionary {
+
+	public static final int NOT_FOUND = -1;
+
+	private static final int EMPTY = -1;
+
+	private final char[] descriptorChars;
+
+	/**
+	 * Start of descriptor i in descriptorChars. Has one more element than there are descriptors.
+	 */
+	private final int[] descriptorOffsets;
+
+	private final long[] counts;
+
+	private final int[] hashTable;
+
+	private final int hashMask;
+
+	private MeshCountDictionary(char[] descriptorChars, int[] descriptorOffsets, long[] counts) {
+		this.descriptorChars = descriptorChars;
+		this.descriptorOffsets = descriptorOffsets;
+		this.counts = counts;
+		int size = counts.length;
+		int capacity = Integer.highestOneBit(Math.max(2, size * 2 - 1)) << 1;
+		this.hashTable = new int[capacity];
+		this.hashMask = capacity - 1;
+		Arrays.fill(hashTable, EMPTY);
+		for(int id = 0; id < size; id++) {
+			int slot = spread(hashCode(id)) & hashMask;
+			while(hashTable[slot] != EMPTY) {
+				slot = (slot + 1) & hashMask;
+			}
+			hashTable[slot] = id;
+		}
+	}
+
+	public static MeshCountDictionary build(Map<String, Long> meshCountMap) {
+		List<String> descriptors = new ArrayList<>(meshCountMap.size());
+		for(Map.Entry<String, Long> meshCount: meshCountMap.entrySet()) {
+			if(meshCount.getKey() != null && meshCount.getValue() != null) {
+				descriptors.add(meshCount.getKey());
+			}
+		}
+		Collections.sort(descriptors);
+		Builder builder = builder(descriptors.size());
+		for(String descriptor: descriptors) {
+			builder.add(descriptor, meshCountMap.get(descriptor));
+		}
+		return builder.build();
+	}
+
+	/**
+	 * @param expectedSize number of descriptors
+	 * @return builder that takes descriptors in ascending order
+	 */
+	public static Builder builder(int expectedSize) {
+		return new Builder(expectedSize);
+	}
+
+	public int size() {
+		return counts.length;
+	}
+
+	/**
+	 * @param descriptor MeSH descriptor name
+	 * @return id of the descriptor or {@link #NOT_FOUND}
+	 */
+	public int getId(String descriptor) {
+		if(descriptor == null) {
+			return NOT_FOUND;
+		}
+		int slot = spread(descriptor.hashCode()) & hashMask;
+		int id;
+		while((id = hashTable[slot]) != EMPTY) {
+			if(descriptorEquals(id, descriptor)) {
+				return id;
+			}
+			slot = (slot + 1) & hashMask;
+		}
+		return NOT_FOUND;
+	}
+
+	public boolean contains(String descriptor) {
+		return getId(descriptor) != NOT_FOUND;
+	}
+
+	/**
+	 * @param id descriptor id
+	 * @return count of the descriptor
+	 */
+	public long getCount(int id) {
+		return counts[id];
+	}
+
+	/**
+	 * @param descriptor MeSH descriptor name
+	 * @return count of the descriptor or null if it is not in the dictionary
+	 */
+	public Long getCount(String descriptor) {
+		int id = getId(descriptor);
+		return id == NOT_FOUND ? null : counts[id];
+	}
+
+	/**
+	 * @param descriptor MeSH descriptor name
+	 * @param threshold exclusive upper bound
+	 * @return true if the descriptor is in the dictionary with a count below the threshold
+	 */
+	public boolean isCountBelow(String descriptor, long threshold) {
+		int id = getId(descriptor);
+		return id != NOT_FOUND && counts[id] < threshold;
+	}
+
+	public String getDescriptor(int id) {
+		return new String(descriptorChars, descriptorOffsets[id], descriptorOffsets[id + 1] - descriptorOffsets[id]);
+	}
+
+	private boolean descriptorEquals(int id, String descriptor) {
+		int offset = descriptorOffsets[id];
+		int length = descriptorOffsets[id + 1] - offset;
+		if(length != descriptor.length()) {
+			return false;
+		}
+		for(int i = 0; i < length; i++) {
+			if(descriptorChars[offset + i] != descriptor.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Same value as {@link String#hashCode()} of the descriptor
+	 */
+	private int hashCode(int id) {
+		int hash = 0;
+		for(int i = descriptorOffsets[id]; i < descriptorOffsets[id + 1]; i++) {
+			hash = 31 * hash + descriptorChars[i];
+		}
+		return hash;
+	}
+
+	private static int spread(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+
+	public static final class Builder {
+
+		private char[] descriptorChars;
+
+		private int charCount;
+
+		private final int[] descriptorOffsets;
+
+		private final long[] counts;
+
+		private int size;
+
+		private String previousDescriptor;
+
+		private Builder(int expectedSize) {
+			this.descriptorChars = new char[Math.max(16, expectedSize * 24)];
+			this.descriptorOffsets = new int[expectedSize + 1];
+			this.counts = new long[expectedSize];
+		}
+
+		/**
+		 * @param descriptor must sort after the previously added descriptor
+		 * @param count
+		 * @return this builder
+		 */
+		public Builder add(String descriptor, long count) {
+			if(size == counts.length) {
+				throw new IllegalStateException("More descriptors than the expected " + counts.length);
+			}
+			if(previousDescriptor != null && previousDescriptor.compareTo(descriptor) >= 0) {
+				throw new IllegalArgumentException("Descriptors must be added in ascending order without duplicates: " + previousDescriptor + ", " + descriptor);
+			}
+			if(charCount + descriptor.length() > descriptorChars.length) {
+				descriptorChars = Arrays.copyOf(descriptorChars, Math.max(descriptorChars.length * 2, charCount + descriptor.length()));
+			}
+			descriptor.getChars(0, descriptor.length(), descriptorChars, charCount);
+			descriptorOffsets[size] = charCount;
+			charCount += descriptor.length();
+			counts[size] = count;
+			size++;
+			descriptorOffsets[size] = charCount;
+			previousDescriptor = descriptor;
+			return this;
+		}
+
+		public MeshCountDictionary build() {
+			return new MeshCountDictionary(Arrays.copyOf(descriptorChars, charCount), Arrays.copyOf(descriptorOffsets, size + 1), Arrays.copyOf(counts, size));
+		}
+	}
+}
@@ -21,7 +21,6 @@ package reciter.engine;
 import lombok.extern.slf4j.Slf4j;
 import reciter.algorithm.cluster.Clusterer;
 import reciter.algorithm.cluster.ReCiterClusterer;
-import reciter.algorithm.cluster.article.scorer.ArticleScorer;
 import reciter.algorithm.cluster.article.scorer.ReCiterArticleScorer;
 import reciter.algorithm.cluster.model.ReCiterCluster;
 import reciter.api.parameters.UseGoldStandard;
@@ -55,7 +54,9 @@ public class ReCiterEngine implements Engine {
         Clusterer clusterer = new ReCiterClusterer(identity, reCiterArticles);
         clusterer.cluster();
 
-        ArticleScorer articleScorer = new ReCiterArticleScorer(clusterer.getClusters(), identity, strategyParameters);
+        ReCiterArticleScorer articleScorer = new ReCiterArticleScorer(clusterer.getClusters(), identity, strategyParameters, parameters.getNameNormalizationCache());
+        articleScorer.setFilterScore(filterScore);
+        articleScorer.setTargetAuthorEvidenceCache(parameters.getTargetAuthorEvidenceCache());
         articleScorer.runArticleScorer(clusterer.getClusters(), identity);
 
         log.info(clusterer.toString());
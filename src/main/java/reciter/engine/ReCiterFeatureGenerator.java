@@ -3,11 +3,13 @@ package reciter.engine;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -59,18 +61,41 @@ public class ReCiterFeatureGenerator {
     private List<Long> falsePositiveList = new ArrayList<>();
     private List<Long> falseNegativeList = new ArrayList<>();
 
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("([a-z0-9_.-]+)@([a-z0-9_.-]+[a-z])", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern ORCID_PATTERN = Pattern.compile("[0-9]{4}-[0-9]{4}-[0-9]{4}-[0-9]{4}");
+
     public ReCiterFeature computeFeatures(UseGoldStandard mode,
                                           final double filterScore,
                                           final double keywordsMax,
                                           Clusterer reCiterClusterer,
                                           List<Long> goldStandardPmids,
                                           List<Long> rejectedPmids) {
+        return computeFeatures(mode, filterScore, keywordsMax, reCiterClusterer, goldStandardPmids, rejectedPmids, null);
+    }
+
+    /**
+     * Same as {@link #computeFeatures(UseGoldStandard, double, double, Clusterer, List, List)} but each article feature is
+     * handed to articleFeatureSink as soon as it is built, in descending order of TotalArticleScoreNonStandardized,
+     * instead of being collected in the returned feature. This lets a caller write the features straight to a serializer
+     * without holding all of them in memory. The returned feature, e.g. the top keywords, is only complete once this
+     * method returns.
+     * No endpoint passes a sink yet: the feature generator endpoints store every computed analysis whole, and the NDJSON
+     * group stream (/reciter/feature-generator/by/group/stream) only serves analyses that are already stored.
+     * @param articleFeatureSink receives the article features, if null they are collected in the returned feature
+     */
+    public ReCiterFeature computeFeatures(UseGoldStandard mode,
+                                          final double filterScore,
+                                          final double keywordsMax,
+                                          Clusterer reCiterClusterer,
+                                          List<Long> goldStandardPmids,
+                                          List<Long> rejectedPmids,
+                                          Consumer<ReCiterArticleFeature> articleFeatureSink) {
         Map<Long, ReCiterCluster> finalCluster = reCiterClusterer.getClusters();
         //Select Filter to filter by total score
         
         //Set<Long> selection = clusterSelector.getSelectedClusterIds();
         Identity identity = reCiterClusterer.getIdentity();
-        List<Long> finalArticles = reCiterClusterer.getReCiterArticles().stream().map(article -> article.getArticleId()).collect(Collectors.toList());
 
         ReCiterFeature reCiterFeature = new ReCiterFeature();
         reCiterFeature.setPersonIdentifier(identity.getUid());
@@ -104,29 +129,27 @@ public class ReCiterFeatureGenerator {
 	        }
         }
         reCiterFeature.setInGoldStandardButNotRetrieved(inGoldStandardButNotRetrieved);
+        //Select the articles, count the pending ones and collect the pmids for the analysis in one pass
+        List<Long> finalArticles = new ArrayList<>(reCiterClusterer.getReCiterArticles().size());
         List<ReCiterArticle> selectedArticles = new ArrayList<>();
-        if(mode == UseGoldStandard.AS_EVIDENCE) {
-        	selectedArticles = reCiterClusterer.getReCiterArticles()
-        			.stream()
-        			.filter(reCiterArticle -> reCiterArticle.getTotalArticleScoreStandardized() >= filterScore || reCiterArticle.getGoldStandard() == 1 || reCiterArticle.getGoldStandard() == -1)
-        			.collect(Collectors.toList());
-        } else {
-        	selectedArticles = reCiterClusterer.getReCiterArticles()
-        			.stream()
-        			.filter(reCiterArticle -> reCiterArticle.getTotalArticleScoreStandardized() >= filterScore)
-        			.collect(Collectors.toList());
+        List<Long> filteredArticles = new ArrayList<>();
+        int countPendingArticles = 0;
+        for (ReCiterArticle reCiterArticle : reCiterClusterer.getReCiterArticles()) {
+            finalArticles.add(reCiterArticle.getArticleId());
+            boolean aboveFilterScore = reCiterArticle.getTotalArticleScoreStandardized() >= filterScore;
+            if (aboveFilterScore
+                    || (mode == UseGoldStandard.AS_EVIDENCE && (reCiterArticle.getGoldStandard() == 1 || reCiterArticle.getGoldStandard() == -1))) {
+                selectedArticles.add(reCiterArticle);
+                filteredArticles.add(reCiterArticle.getArticleId());
+                //Count of pending publications
+                if (aboveFilterScore && reCiterArticle.getGoldStandard() == 0) {
+                    countPendingArticles++;
+                }
+            }
         }
 
         reCiterFeature.setCountSuggestedArticles(selectedArticles.size());
-
-        //Count of pending publications
-        List<ReCiterArticle> pendingArticles = selectedArticles
-        			.stream()
-        			.filter(reCiterArticle -> reCiterArticle.getTotalArticleScoreStandardized() >= filterScore && reCiterArticle.getGoldStandard() == 0)
-                    .collect(Collectors.toList());
-        reCiterFeature.setCountPendingArticles(pendingArticles.size());
-        
-        List<Long> filteredArticles = selectedArticles.stream().map(article -> article.getArticleId()).collect(Collectors.toList());
+        reCiterFeature.setCountPendingArticles(countPendingArticles);
         
         Analysis analysis = Analysis.performAnalysis(finalArticles, filteredArticles, goldStandardPmids);
         
@@ -154,7 +177,10 @@ public class ReCiterFeatureGenerator {
         reCiterFeature.setRecall(analysis.getRecall());
 
         // "suggestedArticles"
-        List<ReCiterArticleFeature> reCiterArticleFeatures = new ArrayList<>(selectedArticles.size());
+        //Sorting the articles in descending order based on TotalScoreNonStandardized so that the features are built in output order
+        selectedArticles.sort(Comparator.comparingDouble(ReCiterArticle::getTotalArticleScoreNonStandardized).reversed());
+        List<ReCiterArticleFeature> reCiterArticleFeatures = new ArrayList<>((articleFeatureSink == null) ? selectedArticles.size() : 0);
+        Map<String, Long> acceptedArticleKeywords = new HashMap<>();
         for (ReCiterArticle reCiterArticle : selectedArticles) {
             ReCiterArticleFeature reCiterArticleFeature = new ReCiterArticleFeature();
             reCiterArticleFeature.setPmid(reCiterArticle.getArticleId());
@@ -213,12 +239,17 @@ public class ReCiterFeatureGenerator {
                 List<ReCiterArticleFeature.ArticleKeyword> articleKeywords = new ArrayList<>();
                 for (ReCiterArticleMeshHeading reCiterArticleMeshHeading : reCiterArticle.getMeshHeadings()) {
                     if(MeshMajorClusteringStrategy.isMeshMajor(reCiterArticleMeshHeading)) {
-                        ReCiterArticleFeature.ArticleKeyword articleKeyword = new ArticleKeyword(reCiterArticleMeshHeading.getDescriptorName().getDescriptorName(), KeywordType.MESH_MAJOR, EngineParameters.getMeshCountMap().get(reCiterArticleMeshHeading.getDescriptorName().getDescriptorName()));
+                        ReCiterArticleFeature.ArticleKeyword articleKeyword = new ArticleKeyword(reCiterArticleMeshHeading.getDescriptorName().getDescriptorName(), KeywordType.MESH_MAJOR, EngineParameters.getMeshCounts().getCount(reCiterArticleMeshHeading.getDescriptorName().getDescriptorName()));
                         articleKeywords.add(articleKeyword);
                     }
                 }
                 if(!articleKeywords.isEmpty()) {
                     reCiterArticleFeature.setArticleKeywords(articleKeywords);
+                    if(reCiterArticleFeature.getUserAssertion() == PublicationFeedback.ACCEPTED) {
+                        for (ReCiterArticleFeature.ArticleKeyword articleKeyword : articleKeywords) {
+                            acceptedArticleKeywords.merge(articleKeyword.getKeyword(), 1L, Long::sum);
+                        }
+                    }
                 }
                 
             }
@@ -347,8 +378,7 @@ public class ReCiterFeatureGenerator {
                 reCiterArticleAuthorFeature.setAffiliations(reCiterArticleAffiliationFeature);*/
                 //email
                 if(reCiterArticleAuthor.getAffiliation() != null) {
-                    Pattern pattern = Pattern.compile("([a-z0-9_.-]+)@([a-z0-9_.-]+[a-z])", Pattern.CASE_INSENSITIVE);
-                    Matcher matcher = pattern.matcher(reCiterArticleAuthor.getAffiliation());
+                    Matcher matcher = EMAIL_PATTERN.matcher(reCiterArticleAuthor.getAffiliation());
                     while(matcher.find()) {
                         reCiterArticleAuthorFeature.setEmail(matcher.group());
                     }
@@ -358,8 +388,7 @@ public class ReCiterFeatureGenerator {
 
                 // Orcid
                 if(reCiterArticleAuthor.getOrcid() != null && !reCiterArticleAuthor.getOrcid().isEmpty()) {
-                    Pattern pattern = Pattern.compile("[0-9]{4}-[0-9]{4}-[0-9]{4}-[0-9]{4}");
-                    Matcher matcher = pattern.matcher(reCiterArticleAuthor.getOrcid());
+                    Matcher matcher = ORCID_PATTERN.matcher(reCiterArticleAuthor.getOrcid());
                     if(matcher.find()) {
                         reCiterArticleAuthorFeature.setOrcid(matcher.group());
                     }
@@ -441,41 +470,49 @@ public class ReCiterFeatureGenerator {
             // Clustering Evidence
             //positiveEvidence.setClusteringEvidence(reCiterArticle.getClusteringEvidence());
 
-            log.info("reCiter {} hashcode {}", reCiterArticle.getArticleId(), reCiterArticle.hashCode());
             reCiterArticleFeature.setEvidence(evidence);
 
-            reCiterArticleFeatures.add(reCiterArticleFeature);
+            if(articleFeatureSink != null) {
+                articleFeatureSink.accept(reCiterArticleFeature);
+            } else {
+                reCiterArticleFeatures.add(reCiterArticleFeature);
+            }
+        }
+        calculateTopKeywords(acceptedArticleKeywords, reCiterFeature, keywordsMax);
+        if(articleFeatureSink == null) {
+            reCiterFeature.setReCiterArticleFeatures(reCiterArticleFeatures);
         }
-        calculateTopKeywords(reCiterArticleFeatures, reCiterFeature, keywordsMax);
-        //Sorting the List in descending order based on TotalScoreNonStandardized
-        reCiterFeature.setReCiterArticleFeatures(reCiterArticleFeatures.stream().sorted(Comparator.comparing(ReCiterArticleFeature::getTotalArticleScoreNonStandardized).reversed()).collect(Collectors.toList()));
 
         return reCiterFeature;
     }
 
-    private void calculateTopKeywords(List<ReCiterArticleFeature> reCiterArticleFeatures, ReCiterFeature reCiterFeature, double keywordsMax) {
-        
-        Map<String, Long> acceptedArticleKeywords = reCiterArticleFeatures
-            .stream()
-            .filter(reCiterArticleFeature -> reCiterArticleFeature.getUserAssertion() != null 
-                && reCiterArticleFeature.getUserAssertion() == PublicationFeedback.ACCEPTED
-                && reCiterArticleFeature.getArticleKeywords() != null)
-            .flatMap(keyword -> keyword.getArticleKeywords().stream())
-            .map(ReCiterArticleFeature.ArticleKeyword::getKeyword)
-            .collect(Collectors.groupingBy(acceptedKeyword -> acceptedKeyword , Collectors.counting()));
-
+    /**
+     * Keeps the keywordsMax most frequent keywords of the accepted articles, by descending count and then ascending keyword,
+     * in a bounded heap instead of sorting all of them
+     * @param acceptedArticleKeywords count of accepted articles by keyword
+     */
+    private void calculateTopKeywords(Map<String, Long> acceptedArticleKeywords, ReCiterFeature reCiterFeature, double keywordsMax) {
         if(acceptedArticleKeywords != null && !acceptedArticleKeywords.isEmpty()) {
             //Sort descending by Count and ascending by Keyword
-            LinkedHashMap<String, Long> sortedAcceptedKeywordCount = acceptedArticleKeywords.entrySet().stream()
-                        .sorted(Map.Entry
+            Comparator<Map.Entry<String, Long>> keywordOrder = Map.Entry
                         .<String, Long>comparingByValue().reversed()
-                        .thenComparing(Map.Entry.comparingByKey()))
-                        .limit((long)keywordsMax)
-                        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue,
-                                (oldValue, newValue) -> oldValue, LinkedHashMap::new));
+                        .thenComparing(Map.Entry.comparingByKey());
+            int limit = (int) Math.max(0, Math.min((long) keywordsMax, acceptedArticleKeywords.size()));
+            //Head of the heap is the last of the top keywords kept so far
+            PriorityQueue<Map.Entry<String, Long>> topKeywords = new PriorityQueue<>(Math.max(1, limit), keywordOrder.reversed());
+            for (Map.Entry<String, Long> keyword : acceptedArticleKeywords.entrySet()) {
+                if(topKeywords.size() < limit) {
+                    topKeywords.add(keyword);
+                } else if(limit > 0 && keywordOrder.compare(keyword, topKeywords.peek()) < 0) {
+                    topKeywords.poll();
+                    topKeywords.add(keyword);
+                }
+            }
+            List<Map.Entry<String, Long>> sortedAcceptedKeywordCount = new ArrayList<>(topKeywords);
+            sortedAcceptedKeywordCount.sort(keywordOrder);
             
             List<ReCiterArticleFeature.ArticleKeyword> acceptedKeywords = 
-                sortedAcceptedKeywordCount.entrySet()
+                sortedAcceptedKeywordCount
                     .stream()
                     .map(keyword -> 
                         new ArticleKeyword(keyword.getKey(), KeywordType.MESH_MAJOR, keyword.getValue()))
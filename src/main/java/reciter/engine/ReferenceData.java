@@ -0,0 +1,129 @@
+package reciter.engine;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import reciter.database.dynamodb.model.Gender;
+import reciter.database.dynamodb.model.ScienceMetrix;
+import reciter.database.dynamodb.model.ScienceMetrixDepartmentCategory;
+
+/**
+ * Immutable, versioned set of reference data used by the engine (ScienceMetrix journals and department categories,
+ * MeSH term counts, genders and Scopus institution afids) together with the indexes built from it. It is loaded either from
+ * DynamoDB or from a {@link ReferenceDataSnapshot} file and installed as a whole through {@link ReferenceDataHolder}.
+ */
+public final class ReferenceData {
+
+	private final long version;
+
+	private final String source;
+
+	private final List<ScienceMetrix> scienceMetrixJournals;
+
+	private final List<ScienceMetrixDepartmentCategory> scienceMetrixDepartmentCategories;
+
+	private final MeshCountDictionary meshCounts;
+
+	private final List<Gender> genders;
+
+	private final Map<String, List<String>> afiliationNameToAfidMap;
+
+	private final ScienceMetrixIndex scienceMetrixIndex;
+
+	private final GenderIndex genderIndex;
+
+	/**
+	 * @param version creation time in milliseconds of the data. Snapshots keep the version of the DynamoDB load they were written from.
+	 * @param source where the data was loaded from e.g. dynamodb or the snapshot path
+	 */
+	public ReferenceData(long version, String source, List<ScienceMetrix> scienceMetrixJournals,
+			List<ScienceMetrixDepartmentCategory> scienceMetrixDepartmentCategories, MeshCountDictionary meshCounts,
+			List<Gender> genders, Map<String, List<String>> afiliationNameToAfidMap) {
+		this.version = version;
+		this.source = source;
+		this.scienceMetrixJournals = unmodifiableList(scienceMetrixJournals);
+		this.scienceMetrixDepartmentCategories = unmodifiableList(scienceMetrixDepartmentCategories);
+		this.meshCounts = meshCounts;
+		this.genders = unmodifiableList(genders);
+		this.afiliationNameToAfidMap = unmodifiableMap(afiliationNameToAfidMap);
+		this.scienceMetrixIndex = ScienceMetrixIndex.build(scienceMetrixJournals, scienceMetrixDepartmentCategories);
+		this.genderIndex = (genders == null) ? null : GenderIndex.build(genders);
+	}
+
+	/**
+	 * @param genders
+	 * @return copy of this reference data with the genders replaced
+	 */
+	public ReferenceData withGenders(List<Gender> genders) {
+		return new ReferenceData(version, source, scienceMetrixJournals, scienceMetrixDepartmentCategories, meshCounts, genders, afiliationNameToAfidMap);
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	public String getSource() {
+		return source;
+	}
+
+	public List<ScienceMetrix> getScienceMetrixJournals() {
+		return scienceMetrixJournals;
+	}
+
+	public List<ScienceMetrixDepartmentCategory> getScienceMetrixDepartmentCategories() {
+		return scienceMetrixDepartmentCategories;
+	}
+
+	public MeshCountDictionary getMeshCounts() {
+		return meshCounts;
+	}
+
+	/**
+	 * @return genders or null if the gender strategy is not used
+	 */
+	public List<Gender> getGenders() {
+		return genders;
+	}
+
+	/**
+	 * @return afids by institution or null if Scopus is not used
+	 */
+	public Map<String, List<String>> getAfiliationNameToAfidMap() {
+		return afiliationNameToAfidMap;
+	}
+
+	public ScienceMetrixIndex getScienceMetrixIndex() {
+		return scienceMetrixIndex;
+	}
+
+	/**
+	 * @return gender index or null if there are no genders
+	 */
+	public GenderIndex getGenderIndex() {
+		return genderIndex;
+	}
+
+	@Override
+	public String toString() {
+		return "ReferenceData [version=" + version + " (" + new Date(version) + "), source=" + source
+				+ ", scienceMetrixJournals=" + size(scienceMetrixJournals)
+				+ ", scienceMetrixDepartmentCategories=" + size(scienceMetrixDepartmentCategories)
+				+ ", meshTerms=" + (meshCounts == null ? 0 : meshCounts.size())
+				+ ", genders=" + size(genders)
+				+ ", institutionAfids=" + (afiliationNameToAfidMap == null ? 0 : afiliationNameToAfidMap.size()) + "]";
+	}
+
+	private static int size(List<?> list) {
+		return list == null ? 0 : list.size();
+	}
+
+	private static <T> List<T> unmodifiableList(List<T> list) {
+		return list == null ? null : Collections.unmodifiableList(list);
+	}
+
+	private static <K, V> Map<K, V> unmodifiableMap(Map<K, V> map) {
+		return map == null ? null : Collections.unmodifiableMap(map);
+	}
+}
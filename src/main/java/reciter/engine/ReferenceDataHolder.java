@@ -0,0 +1,91 @@
+package reciter.engine;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the {@link ReferenceData} used by the engine. A reload builds a complete new {@link ReferenceData} off to the side and
+ * installs it with {@link #swap(ReferenceData)}, so readers never see a half updated set. A run that calls {@link #pin()} keeps
+ * reading the version that was current when it started, on that thread, even if a newer version is installed meanwhile.
+ */
+public final class ReferenceDataHolder {
+
+	private static final ReferenceData EMPTY = new ReferenceData(0L, "none", null, null, null, null, null);
+
+	private static final AtomicReference<ReferenceData> current = new AtomicReference<>(EMPTY);
+
+	private static final ThreadLocal<ReferenceData> pinned = new ThreadLocal<>();
+
+	private ReferenceDataHolder() {
+	}
+
+	/**
+	 * @return reference data pinned on this thread or the current reference data
+	 */
+	public static ReferenceData get() {
+		ReferenceData referenceData = pinned.get();
+		return referenceData != null ? referenceData : current.get();
+	}
+
+	/**
+	 * @return the latest installed reference data regardless of any pin on this thread
+	 */
+	public static ReferenceData getCurrent() {
+		return current.get();
+	}
+
+	/**
+	 * Installs new reference data for runs started from now on
+	 * @param referenceData
+	 * @return the reference data that was replaced
+	 */
+	public static ReferenceData swap(ReferenceData referenceData) {
+		return current.getAndSet(Objects.requireNonNull(referenceData, "referenceData"));
+	}
+
+	/**
+	 * Pins the current reference data on this thread until the returned pin is closed. Pins can be nested.
+	 * @return pin to be closed with try-with-resources
+	 */
+	public static Pin pin() {
+		return pin(current.get());
+	}
+
+	/**
+	 * Pins the given reference data on this thread until the returned pin is closed, e.g. in a worker thread doing part of a
+	 * run with the reference data the run has pinned
+	 * @param referenceData
+	 * @return pin to be closed with try-with-resources
+	 */
+	public static Pin pin(ReferenceData referenceData) {
+		Objects.requireNonNull(referenceData, "referenceData");
+		ReferenceData previous = pinned.get();
+		pinned.set(referenceData);
+		return new Pin(previous, referenceData);
+	}
+
+	public static final class Pin implements AutoCloseable {
+
+		private final ReferenceData previous;
+
+		private final ReferenceData referenceData;
+
+		private Pin(ReferenceData previous, ReferenceData referenceData) {
+			this.previous = previous;
+			this.referenceData = referenceData;
+		}
+
+		public ReferenceData getReferenceData() {
+			return referenceData;
+		}
+
+		@Override
+		public void close() {
+			if(previous == null) {
+				pinned.remove();
+			} else {
+				pinned.set(previous);
+			}
+		}
+	}
+}
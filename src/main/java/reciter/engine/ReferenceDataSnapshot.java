@@ -0,0 +1,369 @@
+package reciter.engine;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import reciter.database.dynamodb.model.Gender;
+import reciter.database.dynamodb.model.GenderEnum;
+import reciter.database.dynamodb.model.ScienceMetrix;
+import reciter.database.dynamodb.model.ScienceMetrixDepartmentCategory;
+
+/**
+ * Compact binary snapshot of {@link ReferenceData} so pods can start from a local file instead of scanning the reference tables in DynamoDB.
+ * <p>
+ * Layout (big endian): magic, format version, data version, source version, one section per data set (ScienceMetrix journals, ScienceMetrix
+ * department categories, MeSH counts sorted by descriptor, genders, institution afids) and a trailing CRC32 over everything before it. Strings are
+ * stored as a length followed by UTF-8 bytes, with length -1 for null. Absent data sets are stored with a count of -1.
+ * The source version identifies the content of the DynamoDB tables the data was loaded from, so that a snapshot older than the tables can
+ * be detected from its header without decoding the rest of it.
+ * The file is written to a temporary file that is moved in place, so a partially written snapshot is never picked up. It saves the DynamoDB
+ * scans at startup; the data read from it takes the same heap as the data loaded from DynamoDB.
+ */
+public final class ReferenceDataSnapshot {
+
+	private static final int MAGIC = 0x52435244; //RCRD
+
+	/**
+	 * Increment when the layout changes. Snapshots with another format version are ignored and rebuilt from DynamoDB.
+	 */
+	public static final int FORMAT_VERSION = 2;
+
+	private static final int ABSENT = -1;
+
+	private ReferenceDataSnapshot() {
+	}
+
+	/**
+	 * @param referenceData
+	 * @param sourceVersion state of the DynamoDB tables the data was loaded from, null if unknown
+	 * @param path snapshot file
+	 * @throws IOException
+	 */
+	public static void write(ReferenceData referenceData, String sourceVersion, Path path) throws IOException {
+		Path parent = path.toAbsolutePath().getParent();
+		if(parent != null) {
+			Files.createDirectories(parent);
+		}
+		Path tempPath = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+		try {
+			CRC32 crc = new CRC32();
+			try(OutputStream fileOut = Files.newOutputStream(tempPath);
+					DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new CrcOutputStream(fileOut, crc), 1 << 16))) {
+				out.writeInt(MAGIC);
+				out.writeInt(FORMAT_VERSION);
+				out.writeLong(referenceData.getVersion());
+				writeString(out, sourceVersion);
+				writeScienceMetrixJournals(out, referenceData.getScienceMetrixJournals());
+				writeScienceMetrixDepartmentCategories(out, referenceData.getScienceMetrixDepartmentCategories());
+				writeMeshCounts(out, referenceData.getMeshCounts());
+				writeGenders(out, referenceData.getGenders());
+				writeInstitutionAfids(out, referenceData.getAfiliationNameToAfidMap());
+				out.flush();
+				//The checksum itself is written past the checked stream
+				new DataOutputStream(fileOut).writeLong(crc.getValue());
+			}
+			Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(tempPath);
+		}
+	}
+
+	/**
+	 * @param path snapshot file
+	 * @return reference data in the snapshot
+	 * @throws IOException if the file cannot be read, is corrupt or was written with another format version
+	 */
+	public static ReferenceData read(Path path) throws IOException {
+		try {
+			ByteBuffer payload = readPayload(path);
+			CRC32 crc = new CRC32();
+			crc.update(payload.duplicate());
+			ByteBuffer checksum = payload.duplicate();
+			checksum.limit(checksum.capacity());
+			if(crc.getValue() != checksum.getLong(payload.limit())) {
+				throw new IOException("Checksum mismatch for reference data snapshot " + path);
+			}
+			long version = readHeader(payload, path);
+			readString(payload);
+			return new ReferenceData(version, path.toString(),
+					readScienceMetrixJournals(payload),
+					readScienceMetrixDepartmentCategories(payload),
+					readMeshCounts(payload),
+					readGenders(payload),
+					readInstitutionAfids(payload));
+		} catch(RuntimeException e) {
+			//Buffer underflow and the like mean the snapshot is truncated or malformed
+			throw new IOException("Unable to read reference data snapshot " + path, e);
+		}
+	}
+
+	/**
+	 * Reads the source version from the header only, without checking or decoding the rest of the snapshot
+	 * @param path snapshot file
+	 * @return source version the snapshot was written with, null if unknown
+	 * @throws IOException if the file cannot be read, is not a snapshot or was written with another format version
+	 */
+	public static String readSourceVersion(Path path) throws IOException {
+		try {
+			ByteBuffer payload = readPayload(path);
+			readHeader(payload, path);
+			return readString(payload);
+		} catch(RuntimeException e) {
+			throw new IOException("Unable to read reference data snapshot " + path, e);
+		}
+	}
+
+	/**
+	 * @return buffer over the snapshot up to the checksum. The checksum is at its limit.
+	 */
+	private static ByteBuffer readPayload(Path path) throws IOException {
+		long size = Files.size(path);
+		if(size < 24 || size > Integer.MAX_VALUE) {
+			throw new IOException("Invalid reference data snapshot size " + size + " for " + path);
+		}
+		ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+		if(buffer.capacity() != size) {
+			throw new IOException("Reference data snapshot " + path + " changed while it was read");
+		}
+		buffer.limit(buffer.capacity() - Long.BYTES);
+		return buffer;
+	}
+
+	/**
+	 * @return data version
+	 */
+	private static long readHeader(ByteBuffer payload, Path path) throws IOException {
+		if(payload.getInt() != MAGIC) {
+			throw new IOException(path + " is not a reference data snapshot");
+		}
+		int formatVersion = payload.getInt();
+		if(formatVersion != FORMAT_VERSION) {
+			throw new IOException("Reference data snapshot " + path + " has format version " + formatVersion + ", expected " + FORMAT_VERSION);
+		}
+		return payload.getLong();
+	}
+
+	private static void writeScienceMetrixJournals(DataOutputStream out, List<ScienceMetrix> scienceMetrixJournals) throws IOException {
+		if(writeCount(out, scienceMetrixJournals == null ? null : scienceMetrixJournals.size())) {
+			for(ScienceMetrix scienceMetrix: scienceMetrixJournals) {
+				out.writeBoolean(scienceMetrix.getSmsid() != null);
+				out.writeLong(scienceMetrix.getSmsid() == null ? 0 : scienceMetrix.getSmsid());
+				writeString(out, scienceMetrix.getIssn());
+				writeString(out, scienceMetrix.getEissn());
+				writeString(out, scienceMetrix.getPublicationName());
+				writeString(out, scienceMetrix.getScienceMatrixSubfieldId());
+				writeString(out, scienceMetrix.getScienceMetrixDomain());
+				writeString(out, scienceMetrix.getScienceMetrixField());
+				writeString(out, scienceMetrix.getScienceMetrixSubfield());
+			}
+		}
+	}
+
+	private static List<ScienceMetrix> readScienceMetrixJournals(ByteBuffer in) {
+		int count = in.getInt();
+		if(count == ABSENT) {
+			return null;
+		}
+		List<ScienceMetrix> scienceMetrixJournals = new ArrayList<>(count);
+		for(int i = 0; i < count; i++) {
+			ScienceMetrix scienceMetrix = new ScienceMetrix();
+			boolean hasSmsid = in.get() != 0;
+			long smsid = in.getLong();
+			scienceMetrix.setSmsid(hasSmsid ? smsid : null);
+			scienceMetrix.setIssn(readString(in));
+			scienceMetrix.setEissn(readString(in));
+			scienceMetrix.setPublicationName(readString(in));
+			scienceMetrix.setScienceMatrixSubfieldId(readString(in));
+			scienceMetrix.setScienceMetrixDomain(readString(in));
+			scienceMetrix.setScienceMetrixField(readString(in));
+			scienceMetrix.setScienceMetrixSubfield(readString(in));
+			scienceMetrixJournals.add(scienceMetrix);
+		}
+		return scienceMetrixJournals;
+	}
+
+	private static void writeScienceMetrixDepartmentCategories(DataOutputStream out, List<ScienceMetrixDepartmentCategory> categories) throws IOException {
+		if(writeCount(out, categories == null ? null : categories.size())) {
+			for(ScienceMetrixDepartmentCategory category: categories) {
+				out.writeInt(category.getPk());
+				out.writeDouble(category.getLogOddsRatio());
+				writeString(out, category.getPrimaryDepartment());
+				writeString(out, category.getScienceMetrixJournalSubfield());
+				out.writeInt(category.getScienceMetrixJournalSubfieldId());
+			}
+		}
+	}
+
+	private static List<ScienceMetrixDepartmentCategory> readScienceMetrixDepartmentCategories(ByteBuffer in) {
+		int count = in.getInt();
+		if(count == ABSENT) {
+			return null;
+		}
+		List<ScienceMetrixDepartmentCategory> categories = new ArrayList<>(count);
+		for(int i = 0; i < count; i++) {
+			ScienceMetrixDepartmentCategory category = new ScienceMetrixDepartmentCategory();
+			category.setPk(in.getInt());
+			category.setLogOddsRatio(in.getDouble());
+			category.setPrimaryDepartment(readString(in));
+			category.setScienceMetrixJournalSubfield(readString(in));
+			category.setScienceMetrixJournalSubfieldId(in.getInt());
+			categories.add(category);
+		}
+		return categories;
+	}
+
+	private static void writeMeshCounts(DataOutputStream out, MeshCountDictionary meshCounts) throws IOException {
+		if(writeCount(out, meshCounts == null ? null : meshCounts.size())) {
+			//Written in id order which is sorted by descriptor so the dictionary is rebuilt without sorting
+			for(int id = 0; id < meshCounts.size(); id++) {
+				writeString(out, meshCounts.getDescriptor(id));
+				out.writeLong(meshCounts.getCount(id));
+			}
+		}
+	}
+
+	private static MeshCountDictionary readMeshCounts(ByteBuffer in) {
+		int count = in.getInt();
+		if(count == ABSENT) {
+			return null;
+		}
+		MeshCountDictionary.Builder builder = MeshCountDictionary.builder(count);
+		for(int i = 0; i < count; i++) {
+			builder.add(readString(in), in.getLong());
+		}
+		return builder.build();
+	}
+
+	private static void writeGenders(DataOutputStream out, List<Gender> genders) throws IOException {
+		if(writeCount(out, genders == null ? null : genders.size())) {
+			for(Gender gender: genders) {
+				writeString(out, gender.getUniqueId());
+				writeString(out, gender.getName());
+				writeString(out, gender.getGender() == null ? null : gender.getGender().name());
+				out.writeDouble(gender.getProbability());
+			}
+		}
+	}
+
+	private static List<Gender> readGenders(ByteBuffer in) {
+		int count = in.getInt();
+		if(count == ABSENT) {
+			return null;
+		}
+		List<Gender> genders = new ArrayList<>(count);
+		for(int i = 0; i < count; i++) {
+			String uniqueId = readString(in);
+			String name = readString(in);
+			String gender = readString(in);
+			genders.add(new Gender(uniqueId, name, gender == null ? null : GenderEnum.valueOf(gender), in.getDouble()));
+		}
+		return genders;
+	}
+
+	private static void writeInstitutionAfids(DataOutputStream out, Map<String, List<String>> afiliationNameToAfidMap) throws IOException {
+		if(writeCount(out, afiliationNameToAfidMap == null ? null : afiliationNameToAfidMap.size())) {
+			for(Map.Entry<String, List<String>> institutionAfids: afiliationNameToAfidMap.entrySet()) {
+				writeString(out, institutionAfids.getKey());
+				List<String> afids = institutionAfids.getValue();
+				if(writeCount(out, afids == null ? null : afids.size())) {
+					for(String afid: afids) {
+						writeString(out, afid);
+					}
+				}
+			}
+		}
+	}
+
+	private static Map<String, List<String>> readInstitutionAfids(ByteBuffer in) {
+		int count = in.getInt();
+		if(count == ABSENT) {
+			return null;
+		}
+		Map<String, List<String>> afiliationNameToAfidMap = new HashMap<>(count * 4 / 3 + 1);
+		for(int i = 0; i < count; i++) {
+			String institution = readString(in);
+			int afidCount = in.getInt();
+			List<String> afids = null;
+			if(afidCount != ABSENT) {
+				afids = new ArrayList<>(afidCount);
+				for(int j = 0; j < afidCount; j++) {
+					afids.add(readString(in));
+				}
+			}
+			afiliationNameToAfidMap.put(institution, afids);
+		}
+		return afiliationNameToAfidMap;
+	}
+
+	private static boolean writeCount(DataOutputStream out, Integer count) throws IOException {
+		out.writeInt(count == null ? ABSENT : count);
+		return count != null;
+	}
+
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		if(value == null) {
+			out.writeInt(ABSENT);
+			return;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(ByteBuffer in) {
+		int length = in.getInt();
+		if(length == ABSENT) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		in.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Updates the checksum with everything written through it
+	 */
+	private static final class CrcOutputStream extends OutputStream {
+		private final OutputStream out;
+		private final CRC32 crc;
+
+		private CrcOutputStream(OutputStream out, CRC32 crc) {
+			this.out = out;
+			this.crc = crc;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			out.write(b);
+			crc.update(b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			crc.update(b, off, len);
+		}
+
+		@Override
+		public void flush() throws IOException {
+			out.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			//The underlying stream is closed by the caller after the checksum is appended
+		}
+	}
+}
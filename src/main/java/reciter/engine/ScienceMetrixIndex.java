@@ -0,0 +1,116 @@
+package reciter.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import reciter.database.dynamodb.model.ScienceMetrix;
+import reciter.database.dynamodb.model.ScienceMetrixDepartmentCategory;
+
+/**
+ * Immutable lookup index over the ScienceMetrix reference data. Built once when the reference data is loaded so the
+ * journal category evidence is a couple of hash lookups per article instead of scans over the full journal and category lists.
+ */
+public final class ScienceMetrixIndex {
+
+	private final Map<String, ScienceMetrix> journalsByIssn;
+
+	private final Map<Integer, List<ScienceMetrixDepartmentCategory>> departmentCategoriesBySubfieldId;
+
+	private final double minimumLogOddsRatio;
+
+	private final double maximumLogOddsRatio;
+
+	private ScienceMetrixIndex(Map<String, ScienceMetrix> journalsByIssn, Map<Integer, List<ScienceMetrixDepartmentCategory>> departmentCategoriesBySubfieldId,
+			double minimumLogOddsRatio, double maximumLogOddsRatio) {
+		this.journalsByIssn = journalsByIssn;
+		this.departmentCategoriesBySubfieldId = departmentCategoriesBySubfieldId;
+		this.minimumLogOddsRatio = minimumLogOddsRatio;
+		this.maximumLogOddsRatio = maximumLogOddsRatio;
+	}
+
+	/**
+	 * ISSN and EISSN share one key space. When several journals list the same ISSN the first one in the list wins, same as the previous linear scan.
+	 * @param scienceMetrixJournals
+	 * @param scienceMetrixDepartmentCategories
+	 * @return index over the journals and department categories
+	 */
+	public static ScienceMetrixIndex build(List<ScienceMetrix> scienceMetrixJournals, List<ScienceMetrixDepartmentCategory> scienceMetrixDepartmentCategories) {
+		Map<String, ScienceMetrix> journalsByIssn = new HashMap<>();
+		if(scienceMetrixJournals != null) {
+			for(ScienceMetrix scienceMetrixJournal: scienceMetrixJournals) {
+				String issn = normalizeIssn(scienceMetrixJournal.getIssn());
+				if(issn != null) {
+					journalsByIssn.putIfAbsent(issn, scienceMetrixJournal);
+				}
+				String eissn = normalizeIssn(scienceMetrixJournal.getEissn());
+				if(eissn != null) {
+					journalsByIssn.putIfAbsent(eissn, scienceMetrixJournal);
+				}
+			}
+		}
+		Map<Integer, List<ScienceMetrixDepartmentCategory>> departmentCategoriesBySubfieldId = new HashMap<>();
+		double minimumLogOddsRatio = 0;
+		double maximumLogOddsRatio = 0;
+		if(scienceMetrixDepartmentCategories != null) {
+			for(ScienceMetrixDepartmentCategory scienceMetrixDepartmentCategory: scienceMetrixDepartmentCategories) {
+				minimumLogOddsRatio = Math.min(minimumLogOddsRatio, scienceMetrixDepartmentCategory.getLogOddsRatio());
+				maximumLogOddsRatio = Math.max(maximumLogOddsRatio, scienceMetrixDepartmentCategory.getLogOddsRatio());
+				departmentCategoriesBySubfieldId.computeIfAbsent(scienceMetrixDepartmentCategory.getScienceMetrixJournalSubfieldId(), subfieldId -> new ArrayList<>())
+					.add(scienceMetrixDepartmentCategory);
+			}
+			departmentCategoriesBySubfieldId.replaceAll((subfieldId, categories) -> Collections.unmodifiableList(categories));
+		}
+		return new ScienceMetrixIndex(journalsByIssn, departmentCategoriesBySubfieldId, minimumLogOddsRatio, maximumLogOddsRatio);
+	}
+
+	/**
+	 * @param issn print, electronic or linking ISSN
+	 * @return journal whose ISSN or EISSN matches, or null
+	 */
+	public ScienceMetrix findJournalByIssn(String issn) {
+		String normalizedIssn = normalizeIssn(issn);
+		return normalizedIssn == null ? null : journalsByIssn.get(normalizedIssn);
+	}
+
+	/**
+	 * @param subfieldId ScienceMetrix journal subfield id
+	 * @return department categories for the subfield. Empty if there are none.
+	 */
+	public List<ScienceMetrixDepartmentCategory> getDepartmentCategories(int subfieldId) {
+		return departmentCategoriesBySubfieldId.getOrDefault(subfieldId, Collections.emptyList());
+	}
+
+	/**
+	 * @return lowest log odds ratio of the department categories, at most 0
+	 */
+	public double getMinimumLogOddsRatio() {
+		return minimumLogOddsRatio;
+	}
+
+	/**
+	 * @return highest log odds ratio of the department categories, at least 0
+	 */
+	public double getMaximumLogOddsRatio() {
+		return maximumLogOddsRatio;
+	}
+
+	public int getJournalIssnCount() {
+		return journalsByIssn.size();
+	}
+
+	public int getSubfieldCount() {
+		return departmentCategoriesBySubfieldId.size();
+	}
+
+	private static String normalizeIssn(String issn) {
+		if(issn == null) {
+			return null;
+		}
+		String normalizedIssn = issn.trim();
+		return normalizedIssn.isEmpty() ? null : normalizedIssn.toUpperCase(Locale.ROOT);
+	}
+}
@@ -105,6 +105,9 @@ public class StrategyParameters {
     @Value("${strategy.mesh.major}")
     private boolean isMeshMajor;
 
+    @Value("${strategy.threshold.pruning:false}")
+    private boolean isThresholdPruning;
+
     private boolean useGoldStandardEvidence;
     
     @NotEmpty(message = "namesIgnoredCoauthors should not be empty. Its a list of authors separated by commas who are two common in publications. We found these ones which can be ignored \"Wang Y, Wang J, Smith J, Kim S, Lee S, Lee J\". Notice the format is <lastName><space><firstInitial>.")
@@ -19,6 +19,7 @@
 package reciter.service;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import reciter.database.dynamodb.model.AnalysisOutput;
 import reciter.model.identity.Identity;
@@ -29,8 +30,25 @@ public interface AnalysisService {
 	
 	AnalysisOutput findByUid(String uid);
 	
+	/**
+	 * Analyses stored in S3 are fetched in parallel. They are returned in the order DynamoDB returns them, as if
+	 * they were fetched one after another, and a failure to fetch one from S3 is rethrown.
+	 * @param uids
+	 * @return analyses of the uids found
+	 */
 	List<AnalysisOutput> findByUids(List<String> uids);
 	
+	/**
+	 * Streams the analysis for the supplied uids to the consumer as soon as each one is ready.
+	 * Analyses stored in DynamoDB are handed over as DynamoDB returns them. Analyses stored in S3 are fetched in
+	 * parallel, at most aws.s3.hydration.threads at a time, and handed over in completion order, not in the order of uids,
+	 * so only that many fetched analyses are held at once. A failure to fetch one from S3 is rethrown and the remaining
+	 * fetches are cancelled. The consumer is always invoked on the calling thread.
+	 * @param uids
+	 * @param consumer
+	 */
+	void findByUids(List<String> uids, Consumer<AnalysisOutput> consumer);
+	
 	void deleteAll();
 
 	void delete(String uid);
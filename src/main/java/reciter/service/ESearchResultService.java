@@ -27,6 +27,13 @@ public interface ESearchResultService {
 	void save(ESearchResult eSearchResult);
 
 	ESearchResult findByUid(String uid);
+	
+	/**
+	 * Reads the eSearchResult from DynamoDB without going through the cache, for callers that modify and save it back
+	 * @param uid
+	 * @return eSearchResult of the uid, otherwise null
+	 */
+	ESearchResult findByUidForUpdate(String uid);
 
 	boolean pushESearchResult(ESearchResult eSearchResult);
 
@@ -33,7 +33,15 @@ public interface IdentityService {
 	
 	Identity findByUid(String uid);
 
+	/**
+	 * @return all identities. They are shared with other callers and must not be modified.
+	 */
 	List<Identity> findAll();
+
+	/**
+	 * @return copies of all identities, for callers that modify them
+	 */
+	List<Identity> findAllForUpdate();
 	
 	void deleteAll();
 
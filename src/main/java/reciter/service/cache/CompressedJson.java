@@ -0,0 +1,38 @@
+package reciter.service.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Gzip compressed JSON form of entities kept in memory. Reading an entity back always returns a new copy.
+ */
+public final class CompressedJson {
+
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+			.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+	private CompressedJson() {
+	}
+
+	public static byte[] serialize(Object value) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try(OutputStream out = new GZIPOutputStream(bytes)) {
+			OBJECT_MAPPER.writeValue(out, value);
+		}
+		return bytes.toByteArray();
+	}
+
+	public static <T> T deserialize(byte[] bytes, Class<T> type) throws IOException {
+		try(InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+			return OBJECT_MAPPER.readValue(in, type);
+		}
+	}
+}
@@ -0,0 +1,72 @@
+package reciter.service.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Holds the in-process caches placed in front of DynamoDB and S3 reads. Each cache is sized with
+ * <code>reciter.cache.&lt;name&gt;.maximumWeightMb</code> and expires entries after
+ * <code>reciter.cache.&lt;name&gt;.expireAfterWriteMinutes</code>, which defaults to
+ * <code>reciter.cache.expireAfterWriteMinutes</code>.
+ */
+@Slf4j
+@Component
+public class ReCiterCacheManager {
+
+	private static final long DEFAULT_MAXIMUM_WEIGHT_MB = 16;
+
+	@Value("${reciter.cache.enabled:true}")
+	private boolean cacheEnabled;
+
+	@Value("${reciter.cache.expireAfterWriteMinutes:30}")
+	private long expireAfterWriteMinutes;
+
+	@Autowired
+	private Environment env;
+
+	private final Map<String, SerializedObjectCache<?>> caches = new ConcurrentHashMap<>();
+
+	@SuppressWarnings("unchecked")
+	public <T> SerializedObjectCache<T> getCache(String name, Class<T> type) {
+		return (SerializedObjectCache<T>) caches.computeIfAbsent(name, cacheName -> {
+			long maximumWeightMb = env.getProperty("reciter.cache." + cacheName + ".maximumWeightMb", Long.class, DEFAULT_MAXIMUM_WEIGHT_MB);
+			long cacheExpireAfterWriteMinutes = env.getProperty("reciter.cache." + cacheName + ".expireAfterWriteMinutes", Long.class, expireAfterWriteMinutes);
+			log.info("Creating " + cacheName + " cache with maximum weight of " + maximumWeightMb + "MB and expiry of " + cacheExpireAfterWriteMinutes + " minutes. Cache enabled: " + cacheEnabled);
+			return new SerializedObjectCache<>(cacheName, type, cacheEnabled, maximumWeightMb * 1024 * 1024, Duration.ofMinutes(cacheExpireAfterWriteMinutes));
+		});
+	}
+
+	public void invalidateAll() {
+		caches.values().forEach(SerializedObjectCache::invalidateAll);
+	}
+
+	/**
+	 * @return hit/miss statistics keyed by cache name
+	 */
+	public Map<String, Map<String, Object>> getStatistics() {
+		Map<String, Map<String, Object>> statistics = new LinkedHashMap<>();
+		for(SerializedObjectCache<?> cache: caches.values()) {
+			CacheStats stats = cache.stats();
+			Map<String, Object> cacheStatistics = new LinkedHashMap<>();
+			cacheStatistics.put("hitCount", stats.hitCount());
+			cacheStatistics.put("missCount", stats.missCount());
+			cacheStatistics.put("hitRate", stats.hitRate());
+			cacheStatistics.put("evictionCount", stats.evictionCount());
+			cacheStatistics.put("estimatedSize", cache.estimatedSize());
+			cacheStatistics.put("weightedSizeInBytes", cache.weightedSize());
+			statistics.put(cache.getName(), cacheStatistics);
+		}
+		return statistics;
+	}
+}
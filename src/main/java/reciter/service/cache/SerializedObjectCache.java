@@ -0,0 +1,180 @@
+package reciter.service.cache;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded in-process cache that keeps entities as compressed JSON. Every hit returns a fresh copy so callers
+ * (controllers filtering ReCiterArticleFeatures, identity sanitization etc.) are free to mutate what they get back.
+ * Entries are weighed by their compressed size in bytes and expire after a fixed time since they were written.
+ * Misses are loaded on the calling thread, outside of the cache's own locking, so a slow DynamoDB or S3 read only holds up
+ * the callers waiting for the same key.
+ *
+ * @param <T> type of the cached entity
+ */
+@Slf4j
+public class SerializedObjectCache<T> {
+
+	private final String name;
+
+	private final Class<T> type;
+
+	private final boolean enabled;
+
+	private final AsyncCache<String, byte[]> cache;
+
+	public SerializedObjectCache(String name, Class<T> type, boolean enabled, long maximumWeightInBytes, Duration expireAfterWrite) {
+		this.name = name;
+		this.type = type;
+		this.enabled = enabled;
+		this.cache = Caffeine.newBuilder()
+				.maximumWeight(maximumWeightInBytes)
+				.weigher((String key, byte[] value) -> value.length)
+				.expireAfterWrite(expireAfterWrite.toNanos(), TimeUnit.NANOSECONDS)
+				.recordStats()
+				.buildAsync();
+	}
+
+	/**
+	 * Returns a copy of the cached entity or loads it with the loader and caches it. Null values are never cached.
+	 * Concurrent misses on the same key wait for a single load instead of each calling the loader. The load runs on the
+	 * calling thread and not inside the cache's mapping function. If the key is invalidated while it is loaded, the loaded
+	 * entity is returned but not cached.
+	 * @param key
+	 * @param loader
+	 * @return entity for the key
+	 */
+	public T get(String key, Function<String, T> loader) {
+		if(!enabled || key == null) {
+			return loader.apply(key);
+		}
+		CompletableFuture<byte[]> loading = new CompletableFuture<>();
+		//The mapping function only registers the pending load, the loader is called once it has returned
+		CompletableFuture<byte[]> future = cache.get(normalize(key), (normalizedKey, executor) -> loading);
+		if(future == loading) {
+			T value;
+			try {
+				value = loader.apply(key);
+			} catch (RuntimeException | Error e) {
+				//Callers waiting for this load call the loader themselves
+				loading.complete(null);
+				throw e;
+			}
+			loading.complete((value == null) ? null : serializeOrNull(key, value));
+			//The caller that loaded the entity gets it as loaded, every other caller gets its own copy
+			return value;
+		}
+		byte[] bytes = future.join();
+		if(bytes == null) {
+			//Nothing was found, it could not be serialized or the load failed, none of which is cached
+			return loader.apply(key);
+		}
+		try {
+			return deserialize(bytes);
+		} catch (IOException e) {
+			log.error("Unable to read " + key + " from " + name + " cache", e);
+			invalidate(key);
+			return loader.apply(key);
+		}
+	}
+
+	/**
+	 * @param key
+	 * @return copy of the cached entity or null if it is not cached or still being loaded
+	 */
+	public T getIfPresent(String key) {
+		if(!enabled || key == null) {
+			return null;
+		}
+		CompletableFuture<byte[]> future = cache.getIfPresent(normalize(key));
+		if(future == null || !future.isDone()) {
+			return null;
+		}
+		byte[] bytes = future.join();
+		if(bytes == null) {
+			return null;
+		}
+		try {
+			return deserialize(bytes);
+		} catch (IOException e) {
+			log.error("Unable to read " + key + " from " + name + " cache", e);
+			invalidate(key);
+			return null;
+		}
+	}
+
+	public void put(String key, T value) {
+		if(!enabled || key == null || value == null) {
+			return;
+		}
+		try {
+			cache.put(normalize(key), CompletableFuture.completedFuture(serialize(value)));
+		} catch (IOException e) {
+			log.error("Unable to write " + key + " to " + name + " cache", e);
+		}
+	}
+
+	public void invalidate(String key) {
+		if(key != null) {
+			cache.synchronous().invalidate(normalize(key));
+		}
+	}
+
+	public void invalidateAll(Iterable<String> keys) {
+		for(String key: keys) {
+			invalidate(key);
+		}
+	}
+
+	public void invalidateAll() {
+		cache.synchronous().invalidateAll();
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public CacheStats stats() {
+		return cache.synchronous().stats();
+	}
+
+	public long estimatedSize() {
+		return cache.synchronous().estimatedSize();
+	}
+
+	public long weightedSize() {
+		return cache.synchronous().policy().eviction()
+				.map(eviction -> eviction.weightedSize().orElse(0L))
+				.orElse(0L);
+	}
+
+	private static String normalize(String key) {
+		return key.trim();
+	}
+
+	private byte[] serializeOrNull(String key, T value) {
+		try {
+			return serialize(value);
+		} catch (IOException e) {
+			log.error("Unable to write " + key + " to " + name + " cache", e);
+			return null;
+		}
+	}
+
+	private byte[] serialize(T value) throws IOException {
+		return CompressedJson.serialize(value);
+	}
+
+	private T deserialize(byte[] bytes) throws IOException {
+		return CompressedJson.deserialize(bytes, type);
+	}
+}
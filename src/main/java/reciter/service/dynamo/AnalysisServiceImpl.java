@@ -3,10 +3,20 @@ package reciter.service.dynamo;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import javax.annotation.PostConstruct;
 
 import com.amazonaws.services.dynamodbv2.model.AmazonDynamoDBException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -16,6 +26,8 @@ import reciter.database.dynamodb.model.AnalysisOutput;
 import reciter.database.dynamodb.repository.AnalysisOutputRepository;
 import reciter.engine.analysis.ReCiterFeature;
 import reciter.service.AnalysisService;
+import reciter.service.cache.ReCiterCacheManager;
+import reciter.service.cache.SerializedObjectCache;
 import reciter.storage.s3.AmazonS3Config;
 
 @Slf4j
@@ -28,11 +40,28 @@ public class AnalysisServiceImpl implements AnalysisService{
 	@Autowired(required=false)
 	private DynamoDbS3Operations ddbs3;
 	
+	@Autowired
+	@Qualifier("s3HydrationExecutor")
+	private ExecutorService s3HydrationExecutor;
+	
     @Value("${aws.s3.use}")
     private boolean isS3Use;
     
     @Value("${aws.dynamoDb.local}")
     private boolean isDynamoDbLocal;
+    
+    @Value("${aws.s3.hydration.threads:10}")
+    private int hydrationThreads;
+    
+    @Autowired
+    private ReCiterCacheManager reCiterCacheManager;
+    
+    private SerializedObjectCache<AnalysisOutput> analysisCache;
+    
+    @PostConstruct
+    public void init() {
+    	analysisCache = reCiterCacheManager.getCache("analysis", AnalysisOutput.class);
+    }
 
 	@Override
 	public void save(AnalysisOutput analysis) {
@@ -52,10 +81,15 @@ public class AnalysisServiceImpl implements AnalysisService{
 			}
 			
 		}
+		analysisCache.invalidate(analysis.getUid());
 	}
 
 	@Override
 	public AnalysisOutput findByUid(String uid) {
+		return analysisCache.get(uid, this::findByUidFromDynamoDb);
+	}
+	
+	private AnalysisOutput findByUidFromDynamoDb(String uid) {
 		AnalysisOutput analysisOutput = analysisOutputRepository.findById(uid).orElseGet(() -> null);
 		performResourceCleanup(analysisOutput);
 		if(analysisOutput != null 
@@ -71,30 +105,114 @@ public class AnalysisServiceImpl implements AnalysisService{
 	@Override
 	public void deleteAll() {
 		 analysisOutputRepository.deleteAll();
+		 analysisCache.invalidateAll();
 	}
 
 	@Override
 	public void delete(String uid) {
 		analysisOutputRepository.deleteById(uid);
+		analysisCache.invalidate(uid);
 	}
 
 	@Override
 	public List<AnalysisOutput> findByUids(List<String> uids) {
-		List<AnalysisOutput> analysisOutputs = null;
-        Iterator<reciter.database.dynamodb.model.AnalysisOutput> iterator = analysisOutputRepository.findAllById(uids).iterator();
-        analysisOutputs = new ArrayList<>(uids.size());
-        while (iterator.hasNext()) {
-        	AnalysisOutput anaOutput = iterator.next();
-        	if(anaOutput != null 
-    				&&
-    				anaOutput.isUsingS3()) {
-        		log.info("Retreving analysis from s3 for " + anaOutput.getUid());
-        		ReCiterFeature reCiterFeature = (ReCiterFeature) ddbs3.retrieveLargeItem(AmazonS3Config.BUCKET_NAME, AnalysisOutput.class.getSimpleName() + "/" + anaOutput.getUid(), ReCiterFeature.class);
-        		anaOutput.setReCiterFeature(reCiterFeature);
-        	}
-        	analysisOutputs.add(anaOutput);
-        }
-        return analysisOutputs;
+		List<Future<AnalysisOutput>> analysisOutputs = new ArrayList<>(uids.size());
+		try {
+			Iterator<reciter.database.dynamodb.model.AnalysisOutput> iterator = analysisOutputRepository.findAllById(uids).iterator();
+			while (iterator.hasNext()) {
+				AnalysisOutput anaOutput = iterator.next();
+				if(anaOutput != null 
+						&&
+						anaOutput.isUsingS3()) {
+					analysisOutputs.add(s3HydrationExecutor.submit(() -> hydrateFromS3(anaOutput)));
+				} else {
+					analysisOutputs.add(CompletableFuture.completedFuture(anaOutput));
+				}
+			}
+			//Total latency is bounded by the slowest S3 fetch instead of the sum of all of them. Analyses are returned in the order DynamoDB returned them
+			List<AnalysisOutput> hydratedAnalysisOutputs = new ArrayList<>(analysisOutputs.size());
+			for(Future<AnalysisOutput> future: analysisOutputs) {
+				hydratedAnalysisOutputs.add(awaitHydration(future));
+			}
+			return hydratedAnalysisOutputs;
+		} finally {
+			analysisOutputs.forEach(future -> future.cancel(true));
+		}
+	}
+	
+	@Override
+	public void findByUids(List<String> uids, Consumer<AnalysisOutput> consumer) {
+		CompletionService<AnalysisOutput> completionService = new ExecutorCompletionService<>(s3HydrationExecutor);
+		//At most one fetch per hydration thread is in flight so that fetched analyses do not pile up waiting for the consumer
+		int maxInFlight = Math.max(1, hydrationThreads);
+		List<Future<AnalysisOutput>> pending = new ArrayList<>();
+		int consumed = 0;
+		try {
+			Iterator<reciter.database.dynamodb.model.AnalysisOutput> iterator = analysisOutputRepository.findAllById(uids).iterator();
+			while (iterator.hasNext()) {
+				AnalysisOutput anaOutput = iterator.next();
+				if(anaOutput != null 
+						&&
+						anaOutput.isUsingS3()) {
+					if(pending.size() - consumed >= maxInFlight) {
+						consumer.accept(takeHydrated(completionService));
+						consumed++;
+					}
+					pending.add(completionService.submit(() -> hydrateFromS3(anaOutput)));
+				} else {
+					consumer.accept(anaOutput);
+				}
+			}
+			while(consumed < pending.size()) {
+				consumer.accept(takeHydrated(completionService));
+				consumed++;
+			}
+		} finally {
+			pending.forEach(future -> future.cancel(true));
+		}
+	}
+	
+	/**
+	 * @param completionService
+	 * @return the next analysis retrieved from s3, waiting for one if none is ready
+	 */
+	private AnalysisOutput takeHydrated(CompletionService<AnalysisOutput> completionService) {
+		Future<AnalysisOutput> future;
+		try {
+			future = completionService.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for analysis to be retrieved from s3", e);
+		}
+		return awaitHydration(future);
+	}
+	
+	private AnalysisOutput hydrateFromS3(AnalysisOutput anaOutput) {
+		log.info("Retreving analysis from s3 for " + anaOutput.getUid());
+		ReCiterFeature reCiterFeature = (ReCiterFeature) ddbs3.retrieveLargeItem(AmazonS3Config.BUCKET_NAME, AnalysisOutput.class.getSimpleName() + "/" + anaOutput.getUid(), ReCiterFeature.class);
+		anaOutput.setReCiterFeature(reCiterFeature);
+		return anaOutput;
+	}
+	
+	/**
+	 * @param future
+	 * @return the hydrated analysis. A failure to retrieve it from s3 is rethrown as it would have been by a sequential fetch
+	 */
+	private AnalysisOutput awaitHydration(Future<AnalysisOutput> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for analysis to be retrieved from s3", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw new IllegalStateException("Unable to retrieve analysis from s3", e.getCause());
+		}
 	}
 	
 	private void performResourceCleanup(AnalysisOutput analysisOutput) {
@@ -38,7 +38,7 @@ public class DynamoDbGoldStandardService implements IDynamoDbGoldStandardService
     			List<Long> rejectedPmids = goldStandardDdb.getRejectedPmids();
     			if(goldStandardUpdateFlag == GoldStandardUpdateFlag.DELETE) {
     				//This portion deals with cases when deleting a pmid from GoldStandard it will delete it from eSearchResult as well if it exists
-    				ESearchResult eSearchResult = eSearchResultService.findByUid(goldStandard.getUid());
+    				ESearchResult eSearchResult = eSearchResultService.findByUidForUpdate(goldStandard.getUid());
     				if(eSearchResult != null && eSearchResult.getESearchPmids() != null && eSearchResult.getESearchPmids().size() > 0) {
     					List<ESearchPmid> eSearchPmidGS = eSearchResult.getESearchPmids().stream().filter(eSearchPmid -> eSearchPmid.getRetrievalStrategyName().equalsIgnoreCase("GoldStandardRetrievalStrategy")).collect(Collectors.toList());
     					if(eSearchPmidGS != null && !eSearchPmidGS.isEmpty()) {
@@ -0,0 +1,151 @@
+package reciter.service.dynamo;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBStreams;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.DescribeStreamRequest;
+import com.amazonaws.services.dynamodbv2.model.ExpiredIteratorException;
+import com.amazonaws.services.dynamodbv2.model.GetRecordsRequest;
+import com.amazonaws.services.dynamodbv2.model.GetRecordsResult;
+import com.amazonaws.services.dynamodbv2.model.GetShardIteratorRequest;
+import com.amazonaws.services.dynamodbv2.model.Record;
+import com.amazonaws.services.dynamodbv2.model.Shard;
+import com.amazonaws.services.dynamodbv2.model.ShardIteratorType;
+import com.amazonaws.services.dynamodbv2.model.StreamDescription;
+import com.amazonaws.services.dynamodbv2.model.TrimmedDataAccessException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reads the keys of the items changed in a table from its DynamoDB stream. Shards open when the reader is created are read
+ * from their latest position and shards created afterwards from their start, so every change made after the reader is
+ * created is read once. Not thread safe, {@link #poll(Consumer)} is called from a single thread.
+ */
+@Slf4j
+class DynamoDbStreamReader {
+
+	private final AmazonDynamoDBStreams amazonDynamoDBStreams;
+
+	private final String streamArn;
+
+	private final String hashKeyName;
+
+	/**
+	 * Iterator of every shard being read, by shard id
+	 */
+	private final Map<String, String> shardIterators = new LinkedHashMap<>();
+
+	/**
+	 * Shards read to their end. They stay listed in the stream for 24 hours after they are closed.
+	 */
+	private final Set<String> closedShardIds = new HashSet<>();
+
+	private DynamoDbStreamReader(AmazonDynamoDBStreams amazonDynamoDBStreams, String streamArn, String hashKeyName) {
+		this.amazonDynamoDBStreams = amazonDynamoDBStreams;
+		this.streamArn = streamArn;
+		this.hashKeyName = hashKeyName;
+	}
+
+	/**
+	 * @param amazonDynamoDB
+	 * @param amazonDynamoDBStreams
+	 * @param tableName
+	 * @param hashKeyName
+	 * @return reader positioned at the latest changes of the table, otherwise null if the table has no stream
+	 */
+	static DynamoDbStreamReader open(AmazonDynamoDB amazonDynamoDB, AmazonDynamoDBStreams amazonDynamoDBStreams, String tableName, String hashKeyName) {
+		String streamArn;
+		try {
+			streamArn = amazonDynamoDB.describeTable(tableName).getTable().getLatestStreamArn();
+		} catch (RuntimeException e) {
+			log.error("Unable to describe table " + tableName + ". Changes made by other instances are only picked up by the next rebuild", e);
+			return null;
+		}
+		if(streamArn == null) {
+			log.warn("Table " + tableName + " has no stream. Changes made by other instances are only picked up by the next rebuild. Enable a stream with KEYS_ONLY view type on the table to pick them up as they happen");
+			return null;
+		}
+		DynamoDbStreamReader streamReader = new DynamoDbStreamReader(amazonDynamoDBStreams, streamArn, hashKeyName);
+		streamReader.addShards(ShardIteratorType.LATEST);
+		log.info("Reading changes of table " + tableName + " from stream " + streamArn);
+		return streamReader;
+	}
+
+	/**
+	 * Passes the key of every item changed since the last poll to the consumer
+	 * @param changedKeys
+	 * @return false if changes may have been missed because they were trimmed from the stream before being read
+	 */
+	boolean poll(Consumer<String> changedKeys) {
+		addShards(ShardIteratorType.TRIM_HORIZON);
+		boolean complete = true;
+		for(Map.Entry<String, String> shardIterator: new LinkedHashMap<>(shardIterators).entrySet()) {
+			String shardId = shardIterator.getKey();
+			String iterator = shardIterator.getValue();
+			try {
+				GetRecordsResult records;
+				do {
+					records = amazonDynamoDBStreams.getRecords(new GetRecordsRequest().withShardIterator(iterator));
+					for(Record record: records.getRecords()) {
+						AttributeValue key = record.getDynamodb().getKeys().get(hashKeyName);
+						if(key != null && key.getS() != null) {
+							changedKeys.accept(key.getS());
+						}
+					}
+					iterator = records.getNextShardIterator();
+				} while(iterator != null && !records.getRecords().isEmpty());
+			} catch (ExpiredIteratorException | TrimmedDataAccessException e) {
+				log.warn("Lost position in shard " + shardId + " of stream " + streamArn + ". Reading it again from its start", e);
+				iterator = getShardIterator(shardId, ShardIteratorType.TRIM_HORIZON);
+				complete = false;
+			}
+			if(iterator == null) {
+				shardIterators.remove(shardId);
+				closedShardIds.add(shardId);
+			} else {
+				shardIterators.put(shardId, iterator);
+			}
+		}
+		return complete;
+	}
+
+	/**
+	 * Starts reading the shards of the stream not read yet
+	 * @param shardIteratorType position to read new shards from
+	 */
+	private void addShards(ShardIteratorType shardIteratorType) {
+		String lastShardId = null;
+		do {
+			StreamDescription streamDescription = amazonDynamoDBStreams.describeStream(new DescribeStreamRequest()
+					.withStreamArn(streamArn)
+					.withExclusiveStartShardId(lastShardId))
+					.getStreamDescription();
+			for(Shard shard: streamDescription.getShards()) {
+				String shardId = shard.getShardId();
+				if(!shardIterators.containsKey(shardId) && !closedShardIds.contains(shardId)) {
+					if(shardIteratorType == ShardIteratorType.LATEST && shard.getSequenceNumberRange().getEndingSequenceNumber() != null) {
+						//Closed before the reader was created so it has no change to read
+						closedShardIds.add(shardId);
+					} else {
+						shardIterators.put(shardId, getShardIterator(shardId, shardIteratorType));
+					}
+				}
+			}
+			lastShardId = streamDescription.getLastEvaluatedShardId();
+		} while(lastShardId != null);
+	}
+
+	private String getShardIterator(String shardId, ShardIteratorType shardIteratorType) {
+		return amazonDynamoDBStreams.getShardIterator(new GetShardIteratorRequest()
+				.withStreamArn(streamArn)
+				.withShardId(shardId)
+				.withShardIteratorType(shardIteratorType))
+				.getShardIterator();
+	}
+}
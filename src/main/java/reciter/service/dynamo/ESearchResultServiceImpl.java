@@ -2,6 +2,8 @@ package reciter.service.dynamo;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import javax.annotation.PostConstruct;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.stereotype.Service;
@@ -9,20 +11,38 @@ import org.springframework.stereotype.Service;
 import reciter.database.dynamodb.model.ESearchResult;
 import reciter.database.dynamodb.repository.ESearchResultRepository;
 import reciter.service.ESearchResultService;
+import reciter.service.cache.ReCiterCacheManager;
+import reciter.service.cache.SerializedObjectCache;
 
 @Service("eSearchResultService")
 public class ESearchResultServiceImpl implements ESearchResultService {
 
     @Autowired
     private ESearchResultRepository eSearchResultRepository;
+    
+    @Autowired
+    private ReCiterCacheManager reCiterCacheManager;
+    
+    private SerializedObjectCache<ESearchResult> eSearchResultCache;
+    
+    @PostConstruct
+    public void init() {
+    	eSearchResultCache = reCiterCacheManager.getCache("esearchresult", ESearchResult.class);
+    }
 
     @Override
     public void save(ESearchResult eSearchResult) {
         eSearchResultRepository.save(eSearchResult);
+        eSearchResultCache.invalidate(eSearchResult.getUid());
     }
 
     @Override
     public ESearchResult findByUid(String uid) throws EmptyResultDataAccessException {
+        return eSearchResultCache.get(uid, key -> eSearchResultRepository.findById(key).orElseGet(() -> null));
+    }
+
+    @Override
+    public ESearchResult findByUidForUpdate(String uid) {
         return eSearchResultRepository.findById(uid).orElseGet(() -> null);
     }
 
@@ -44,11 +64,13 @@ public class ESearchResultServiceImpl implements ESearchResultService {
 	@Override
 	public void deleteAll() {
 		eSearchResultRepository.deleteAll();
+		eSearchResultCache.invalidateAll();
 	}
 
 	@Override
 	public void delete(String uid) {
 		eSearchResultRepository.deleteById(uid);
+		eSearchResultCache.invalidate(uid);
 	}
 
 }
@@ -0,0 +1,330 @@
+package reciter.service.dynamo;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBStreams;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+
+import lombok.extern.slf4j.Slf4j;
+import reciter.database.dynamodb.repository.IdentityRepository;
+import reciter.model.identity.Identity;
+import reciter.service.cache.CompressedJson;
+import reciter.service.cache.ReCiterCacheManager;
+import reciter.service.cache.SerializedObjectCache;
+
+/**
+ * In-memory, versioned snapshot of the Identity table backing {@link IdentityServiceImpl#findAll()}.
+ * The snapshot is rebuilt in the background from a parallel scan every <code>reciter.identity.snapshot.refreshMinutes</code>.
+ * Uids changed in the table are marked as changed and re-read on the next access: those saved or deleted through
+ * {@link IdentityServiceImpl} on this instance right away, and those written by any other instance or directly to DynamoDB
+ * as they are read from the stream of the Identity table every <code>reciter.identity.snapshot.streamPollSeconds</code>.
+ * Uids read from the stream are also cleared from the identity cache so that {@link IdentityServiceImpl#findByUid(String)}
+ * does not serve an identity changed by another instance until the entry expires.
+ * Without a stream on the table, changes from elsewhere are only picked up by the next rebuild.
+ * Identities are held as compressed JSON and decoded once per snapshot version into a list shared by the readers.
+ * Callers that modify identities use {@link #getAllCopies()}.
+ */
+@Slf4j
+@Component
+public class IdentitySnapshot {
+
+	@Autowired
+	private IdentityRepository identityRepository;
+
+	@Autowired
+	private AmazonDynamoDB amazonDynamoDB;
+
+	@Autowired
+	private DynamoDBMapperConfig dynamoDBMapperConfig;
+
+	@Value("${reciter.identity.snapshot.refreshMinutes:60}")
+	private long refreshMinutes;
+
+	@Value("${reciter.identity.snapshot.scanSegments:4}")
+	private int scanSegments;
+
+	@Value("${reciter.identity.snapshot.streamPollSeconds:5}")
+	private long streamPollSeconds;
+
+	@Autowired
+	private AmazonDynamoDBStreams amazonDynamoDBStreams;
+
+	@Autowired
+	private ReCiterCacheManager reCiterCacheManager;
+
+	private SerializedObjectCache<Identity> identityCache;
+
+	private DynamoDbStreamReader streamReader;
+
+	private final Set<String> changedUids = ConcurrentHashMap.newKeySet();
+
+	private final AtomicLong versionCounter = new AtomicLong();
+
+	private volatile Snapshot snapshot;
+
+	private final Object rebuildLock = new Object();
+
+	private final Set<String> appliedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+	private volatile boolean rebuilding;
+
+	private ScheduledExecutorService scheduler;
+
+	private static final class Snapshot {
+		private final long version;
+		private final Date createdAt;
+		private final Map<String, byte[]> identities;
+		private volatile List<Identity> decoded;
+
+		private Snapshot(long version, Map<String, byte[]> identities) {
+			this.version = version;
+			this.createdAt = new Date();
+			this.identities = Collections.unmodifiableMap(identities);
+		}
+
+		/**
+		 * @return the identities of this version, decoded on first access
+		 */
+		private List<Identity> decoded() {
+			List<Identity> current = decoded;
+			if(current == null) {
+				synchronized (this) {
+					current = decoded;
+					if(current == null) {
+						current = Collections.unmodifiableList(decode());
+						decoded = current;
+					}
+				}
+			}
+			return current;
+		}
+
+		private List<Identity> decode() {
+			List<Identity> decodedIdentities = new ArrayList<>(identities.size());
+			for(Map.Entry<String, byte[]> identity: identities.entrySet()) {
+				try {
+					decodedIdentities.add(CompressedJson.deserialize(identity.getValue(), Identity.class));
+				} catch (IOException e) {
+					throw new UncheckedIOException("Unable to read identity " + identity.getKey() + " from the identity snapshot", e);
+				}
+			}
+			return decodedIdentities;
+		}
+	}
+
+	@PostConstruct
+	public void init() {
+		identityCache = reCiterCacheManager.getCache("identity", Identity.class);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void scheduleRebuild() {
+		scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "identity-snapshot");
+			thread.setDaemon(true);
+			return thread;
+		});
+		if(streamPollSeconds > 0) {
+			DynamoDBMapper dynamoDBMapper = new DynamoDBMapper(amazonDynamoDB, dynamoDBMapperConfig);
+			String tableName = dynamoDBMapper.generateCreateTableRequest(reciter.database.dynamodb.model.Identity.class).getTableName();
+			String hashKeyName = dynamoDBMapper.getTableModel(reciter.database.dynamodb.model.Identity.class).hashKey().name();
+			//The stream is read from its latest position before the first scan so that no change made after the scan started is missed
+			streamReader = DynamoDbStreamReader.open(amazonDynamoDB, amazonDynamoDBStreams, tableName, hashKeyName);
+			if(streamReader != null) {
+				scheduler.scheduleWithFixedDelay(this::pollStream, streamPollSeconds, streamPollSeconds, TimeUnit.SECONDS);
+			}
+		}
+		scheduler.scheduleWithFixedDelay(() -> {
+			try {
+				rebuild();
+			} catch (Exception e) {
+				log.error("Unable to rebuild identity snapshot", e);
+			}
+		}, 0, Math.max(1, refreshMinutes), TimeUnit.MINUTES);
+	}
+
+	private void pollStream() {
+		try {
+			if(!streamReader.poll(this::streamChanged)) {
+				//Records were trimmed from the stream before they were read so only a full rebuild is sure to have them
+				identityCache.invalidateAll();
+				rebuild();
+			}
+		} catch (Exception e) {
+			log.error("Unable to read changes from the identity stream", e);
+		}
+	}
+
+	private void streamChanged(String uid) {
+		markChanged(uid);
+		if(uid != null) {
+			identityCache.invalidate(uid.trim());
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		if(scheduler != null) {
+			scheduler.shutdownNow();
+		}
+	}
+
+	/**
+	 * @return all identities with any pending changes applied. The list and the identities are shared by every caller
+	 * until the next snapshot version and must not be modified.
+	 */
+	public List<Identity> getAll() {
+		return current().decoded();
+	}
+
+	/**
+	 * @return copies of all identities with any pending changes applied, for callers that modify them
+	 */
+	public List<Identity> getAllCopies() {
+		return current().decode();
+	}
+
+	private Snapshot current() {
+		Snapshot current = snapshot;
+		if(current != null && !changedUids.isEmpty()) {
+			current = applyChanges();
+		}
+		if(current == null) {
+			current = loadIfAbsent();
+		}
+		return current;
+	}
+
+	public void markChanged(String uid) {
+		if(uid != null) {
+			changedUids.add(uid.trim());
+		}
+	}
+
+	public void markChanged(Collection<String> uids) {
+		uids.forEach(this::markChanged);
+	}
+
+	/**
+	 * Drops the snapshot so the next access performs a full rebuild. Used when the whole table is cleared.
+	 */
+	public synchronized void invalidate() {
+		snapshot = null;
+		changedUids.clear();
+	}
+
+	public long getVersion() {
+		Snapshot current = snapshot;
+		return current == null ? 0 : current.version;
+	}
+
+	private Snapshot loadIfAbsent() {
+		synchronized (rebuildLock) {
+			Snapshot current = snapshot;
+			if(current == null) {
+				return rebuild();
+			}
+			return current;
+		}
+	}
+
+	/**
+	 * Full rebuild from a parallel scan. Readers keep being served from the previous snapshot while the scan runs.
+	 */
+	private Snapshot rebuild() {
+		synchronized (rebuildLock) {
+			//Changes marked from here on stay pending and are applied on top of the new snapshot
+			Set<String> pending = drainChangedUids();
+			appliedDuringRebuild.clear();
+			rebuilding = true;
+			boolean rebuilt = false;
+			try {
+				log.info("Rebuilding identity snapshot with a parallel scan of " + scanSegments + " segments");
+				DynamoDBMapper dynamoDBMapper = new DynamoDBMapper(amazonDynamoDB, dynamoDBMapperConfig);
+				Map<String, byte[]> identities = new LinkedHashMap<>();
+				for(reciter.database.dynamodb.model.Identity identityDynamo: dynamoDBMapper.parallelScan(reciter.database.dynamodb.model.Identity.class, new DynamoDBScanExpression(), Math.max(1, scanSegments))) {
+					put(identities, identityDynamo);
+				}
+				Snapshot rebuiltSnapshot;
+				synchronized (this) {
+					//Changes applied incrementally while scanning may not be part of the scan so they are re-applied
+					changedUids.addAll(appliedDuringRebuild);
+					rebuiltSnapshot = new Snapshot(versionCounter.incrementAndGet(), identities);
+					snapshot = rebuiltSnapshot;
+				}
+				rebuilt = true;
+				log.info("Identity snapshot version " + rebuiltSnapshot.version + " built at " + rebuiltSnapshot.createdAt + " with " + identities.size() + " identities");
+				return rebuiltSnapshot;
+			} finally {
+				rebuilding = false;
+				if(!rebuilt) {
+					changedUids.addAll(pending);
+				}
+			}
+		}
+	}
+
+	private synchronized Snapshot applyChanges() {
+		Set<String> pending = drainChangedUids();
+		if(snapshot == null || pending.isEmpty()) {
+			changedUids.addAll(pending);
+			return snapshot;
+		}
+		if(rebuilding) {
+			appliedDuringRebuild.addAll(pending);
+		}
+		Map<String, byte[]> identities = new LinkedHashMap<>(snapshot.identities);
+		identities.keySet().removeAll(pending);
+		identityRepository.findAllById(pending).forEach(identityDynamo -> put(identities, identityDynamo));
+		snapshot = new Snapshot(versionCounter.incrementAndGet(), identities);
+		log.info("Identity snapshot version " + snapshot.version + " refreshed " + pending.size() + " changed identities");
+		return snapshot;
+	}
+
+	private static void put(Map<String, byte[]> identities, reciter.database.dynamodb.model.Identity identityDynamo) {
+		if(identityDynamo.getIdentity() != null) {
+			try {
+				identities.put(identityDynamo.getUid(), CompressedJson.serialize(identityDynamo.getIdentity()));
+			} catch (IOException e) {
+				throw new UncheckedIOException("Unable to add identity " + identityDynamo.getUid() + " to the identity snapshot", e);
+			}
+		}
+	}
+
+	private Set<String> drainChangedUids() {
+		Set<String> pending = new HashSet<>();
+		for(String uid: changedUids) {
+			if(changedUids.remove(uid)) {
+				pending.add(uid);
+			}
+		}
+		return pending;
+	}
+}
@@ -1,19 +1,23 @@
 package reciter.service.dynamo;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import com.amazonaws.services.dynamodbv2.model.AmazonDynamoDBException;
-
 import lombok.extern.slf4j.Slf4j;
+import reciter.database.dynamodb.DynamoDbBatchWriter;
+import reciter.database.dynamodb.DynamoDbS3Operations;
 import reciter.database.dynamodb.repository.PubMedArticleRepository;
 import reciter.model.pubmed.PubMedArticle;
 import reciter.service.PubMedService;
+import reciter.storage.s3.AmazonS3Config;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service("pubMedService")
@@ -21,22 +25,61 @@ public class PubMedServiceImpl implements PubMedService {
 
     @Autowired
     private PubMedArticleRepository pubMedRepository;
+    
+    @Autowired
+    private DynamoDbBatchWriter dynamoDbBatchWriter;
+    
+    @Autowired(required=false)
+    private DynamoDbS3Operations ddbs3;
+    
+    @Value("${aws.s3.use}")
+    private boolean isS3Use;
+    
+    @Value("${aws.dynamoDb.local}")
+    private boolean isDynamoDbLocal;
 
     @Override
     public void save(Collection<PubMedArticle> pubMedArticles) {
-        List<reciter.database.dynamodb.model.PubMedArticle> pubmedArticlesDb = new ArrayList<>();
+        Map<Long, reciter.database.dynamodb.model.PubMedArticle> pubmedArticlesDb = new LinkedHashMap<>();
         for (PubMedArticle pubMedArticle : pubMedArticles) {
-            reciter.database.dynamodb.model.PubMedArticle pubMedArticleDb = new reciter.database.dynamodb.model.PubMedArticle(
-                    pubMedArticle.getMedlinecitation().getMedlinecitationpmid().getPmid(),
-                    pubMedArticle
-            );
-            pubmedArticlesDb.add(pubMedArticleDb);
+            long pmid = pubMedArticle.getMedlinecitation().getMedlinecitationpmid().getPmid();
+            pubmedArticlesDb.put(pmid, new reciter.database.dynamodb.model.PubMedArticle(pmid, pubMedArticle));
         }
-        try{
-        	pubMedRepository.saveAll(pubmedArticlesDb);
-        } catch(Exception e) { //This is to skip over articles with huge list of authors e.g. yiwang - 29547300
-        	log.info(e.getMessage());
+        //Articles with huge list of authors e.g. yiwang - 29547300 go over the 400kb item limit and are stored in s3
+        dynamoDbBatchWriter.batchSave(reciter.database.dynamodb.model.PubMedArticle.class, pubmedArticlesDb.values(), this::storeInS3);
+    }
+    
+    /**
+     * Stores the article in s3 and returns an item without the article to mark it as stored in s3
+     * @param pubMedArticleDb
+     * @return item to store in dynamodb or null if s3 is not available
+     */
+    private reciter.database.dynamodb.model.PubMedArticle storeInS3(reciter.database.dynamodb.model.PubMedArticle pubMedArticleDb) {
+        if(isS3Use && !isDynamoDbLocal && ddbs3 != null) {
+            log.info("Storing PubMed article " + pubMedArticleDb.getPmid() + " in s3 since it item size exceeds more than 400kb");
+            if(ddbs3.saveCompressedItem(AmazonS3Config.BUCKET_NAME, pubMedArticleDb.getPubMedArticle(), getS3Key(pubMedArticleDb.getPmid()))) {
+                return new reciter.database.dynamodb.model.PubMedArticle(pubMedArticleDb.getPmid(), null);
+            }
+        } else {
+            log.error("PubMed article " + pubMedArticleDb.getPmid() + " exceeds 400kb and was not saved. Set aws.s3.use to true and set aws.s3.dynamodb.bucketName to store larger objects.");
         }
+        return null;
+    }
+    
+    private PubMedArticle getPubMedArticle(reciter.database.dynamodb.model.PubMedArticle pubMedArticleDb) {
+        if(pubMedArticleDb.getPubMedArticle() == null) {
+            //Only stubs of articles stored in s3 have no article. A failure to retrieve it is thrown instead of leaving the article out
+            if(ddbs3 == null) {
+                throw new IllegalStateException("PubMed article " + pubMedArticleDb.getPmid() + " is stored in s3 but s3 is not configured");
+            }
+            log.info("Retreving PubMed article from s3 for " + pubMedArticleDb.getPmid());
+            return ddbs3.retrieveCompressedItem(AmazonS3Config.BUCKET_NAME, getS3Key(pubMedArticleDb.getPmid()), PubMedArticle.class);
+        }
+        return pubMedArticleDb.getPubMedArticle();
+    }
+    
+    private static String getS3Key(Long pmid) {
+        return reciter.database.dynamodb.model.PubMedArticle.class.getSimpleName() + "/" + pmid;
     }
 
     @Override
@@ -45,7 +88,10 @@ public class PubMedServiceImpl implements PubMedService {
         Iterator<reciter.database.dynamodb.model.PubMedArticle> iterator = pubMedRepository.findAllById(pmids).iterator();
         pubMedArticles = new ArrayList<>(pmids.size());
         while (iterator.hasNext()) {
-            pubMedArticles.add(iterator.next().getPubMedArticle());
+            PubMedArticle pubMedArticle = getPubMedArticle(iterator.next());
+            if (pubMedArticle != null) {
+                pubMedArticles.add(pubMedArticle);
+            }
         }
         return pubMedArticles;
     }
@@ -54,7 +100,7 @@ public class PubMedServiceImpl implements PubMedService {
     public PubMedArticle findByPmid(Long pmid) {
         reciter.database.dynamodb.model.PubMedArticle pubMedArticle = pubMedRepository.findById(pmid).orElseGet(() -> null);
         if (pubMedArticle != null) {
-            return pubMedArticle.getPubMedArticle();
+            return getPubMedArticle(pubMedArticle);
         }
         return null;
     }
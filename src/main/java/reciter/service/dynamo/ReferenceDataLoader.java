@@ -0,0 +1,310 @@
+package reciter.service.dynamo;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.amazonaws.AmazonClientException;
+
+import lombok.extern.slf4j.Slf4j;
+import reciter.database.dynamodb.DynamoDbS3Operations;
+import reciter.database.dynamodb.model.Gender;
+import reciter.database.dynamodb.model.InstitutionAfid;
+import reciter.database.dynamodb.model.MeshTerm;
+import reciter.database.dynamodb.model.ReferenceDataVersion;
+import reciter.database.dynamodb.model.ScienceMetrix;
+import reciter.database.dynamodb.model.ScienceMetrixDepartmentCategory;
+import reciter.database.dynamodb.repository.ReferenceDataVersionRepository;
+import reciter.engine.EngineParameters;
+import reciter.engine.MeshCountDictionary;
+import reciter.engine.ReferenceData;
+import reciter.engine.ReferenceDataSnapshot;
+import reciter.service.GenderService;
+import reciter.service.ScienceMetrixDepartmentCategoryService;
+import reciter.service.ScienceMetrixService;
+import reciter.storage.s3.AmazonS3Config;
+
+/**
+ * Loads the engine reference data. When <code>reciter.referenceData.snapshot.path</code> is set the data is read from the
+ * binary snapshot at that path and DynamoDB is only scanned when the snapshot is missing, unreadable, stale or
+ * <code>reciter.referenceData.snapshot.rebuild</code> is true. Every DynamoDB load rewrites the snapshot.
+ * The snapshot records the {@link ReferenceDataVersion} item that was current when it was built and is only used while that item
+ * is unchanged. The item is replaced by {@link #markSourceChanged()} after every write to the reference tables. When the item is
+ * missing or cannot be read the snapshot is not used. When S3 is used the snapshot is also stored under
+ * <code>reciter.referenceData.snapshot.s3Key</code> so a new instance without a local snapshot downloads it instead of scanning the tables.
+ * The data can be reloaded from DynamoDB in the background, on request or every <code>reciter.referenceData.reload.intervalMinutes</code>,
+ * and is then swapped into {@link EngineParameters} without a restart.
+ */
+@Slf4j
+@Component
+public class ReferenceDataLoader {
+
+	@Autowired
+	private DynamoDbMeshTermService dynamoDbMeshTermService;
+
+	@Autowired
+	private ScienceMetrixService scienceMetrixService;
+
+	@Autowired
+	private ScienceMetrixDepartmentCategoryService scienceMetrixDepartmentCategoryService;
+
+	@Autowired
+	private DynamoDbInstitutionAfidService dynamoDbInstitutionAfidService;
+
+	@Autowired
+	private GenderService genderService;
+
+	@Autowired
+	private ReferenceDataVersionRepository referenceDataVersionRepository;
+
+	@Autowired(required=false)
+	private DynamoDbS3Operations ddbs3;
+
+	@Value("${aws.s3.use}")
+	private boolean isS3Use;
+
+	@Value("${aws.dynamoDb.local}")
+	private boolean isDynamoDbLocal;
+
+	@Value("${use.scopus.articles}")
+	private boolean useScopusArticles;
+
+	@Value("${strategy.gender}")
+	private boolean useGenderStrategy;
+
+	@Value("${reciter.referenceData.snapshot.path:}")
+	private String snapshotPath;
+
+	@Value("${reciter.referenceData.snapshot.s3Key:}")
+	private String snapshotS3Key;
+
+	@Value("${reciter.referenceData.snapshot.rebuild:false}")
+	private boolean rebuildSnapshot;
+
+	@Value("${reciter.referenceData.reload.intervalMinutes:0}")
+	private long reloadIntervalMinutes;
+
+	private final AtomicBoolean reloading = new AtomicBoolean();
+
+	private final ScheduledExecutorService reloadExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "reference-data-reload");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void scheduleReload() {
+		if(reloadIntervalMinutes > 0) {
+			reloadExecutor.scheduleWithFixedDelay(this::reload, reloadIntervalMinutes, reloadIntervalMinutes, TimeUnit.MINUTES);
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		reloadExecutor.shutdownNow();
+	}
+
+	/**
+	 * Starts a reload from DynamoDB in the background unless one is already running
+	 * @return true if a reload was started
+	 */
+	public boolean reloadInBackground() {
+		if(reloading.get()) {
+			return false;
+		}
+		reloadExecutor.execute(this::reload);
+		return true;
+	}
+
+	public boolean isReloading() {
+		return reloading.get();
+	}
+
+	/**
+	 * @return reference data from the snapshot if available otherwise from DynamoDB
+	 */
+	public ReferenceData load() {
+		Path snapshot = getSnapshotPath();
+		if(snapshot != null && !rebuildSnapshot) {
+			String sourceVersion = getSourceVersion();
+			if(sourceVersion != null && !isCurrent(snapshot, sourceVersion) && downloadSnapshot(snapshot)) {
+				log.info("Downloaded reference data snapshot from s3 key " + snapshotS3Key);
+			}
+			if(isCurrent(snapshot, sourceVersion)) {
+				try {
+					long start = System.currentTimeMillis();
+					ReferenceData referenceData = ReferenceDataSnapshot.read(snapshot);
+					log.info("Loaded " + referenceData + " in " + (System.currentTimeMillis() - start) + "ms");
+					return referenceData;
+				} catch (IOException e) {
+					log.error("Unable to load reference data snapshot. Loading reference data from DynamoDB instead.", e);
+				}
+			}
+		}
+		return loadFromDynamoDb();
+	}
+
+	/**
+	 * Scans the reference data tables in DynamoDB and rewrites the snapshot if one is configured
+	 * @return reference data from DynamoDB
+	 */
+	public ReferenceData loadFromDynamoDb() {
+		long start = System.currentTimeMillis();
+		//Read before the scan so that a version replaced during the scan marks the snapshot as stale
+		String sourceVersion = getSourceVersion();
+		log.info("Loading ScienceMetrixJournals");
+		List<ScienceMetrix> scienceMetrixJournals = scienceMetrixService.findAll();
+
+		log.info("Loading ScienceMetrixDepartmentCategories");
+		List<ScienceMetrixDepartmentCategory> scienceMetrixDeptCategories = scienceMetrixDepartmentCategoryService.findAll();
+
+		log.info("Loading MeshTermCounts");
+		List<MeshTerm> meshTerms = dynamoDbMeshTermService.findAll();
+		Map<String, Long> meshCountMap = new HashMap<>();
+		for (MeshTerm meshTerm : meshTerms) {
+			meshCountMap.put(meshTerm.getMesh(), meshTerm.getCount());
+		}
+
+		List<Gender> genders = null;
+		if(useGenderStrategy) {
+			log.info("Loading GenderProbability");
+			genders = genderService.findAll();
+			if(genders != null && genders.isEmpty()) {
+				genders = null;
+			}
+		}
+
+		Map<String, List<String>> institutionAfids = null;
+		if(useScopusArticles) {
+			log.info("Loading ScopusInstitutionalAfids");
+			List<InstitutionAfid> instAfids = dynamoDbInstitutionAfidService.findAll();
+			if(instAfids != null && instAfids.size() > 0) {
+				institutionAfids = instAfids.stream().collect(Collectors.toMap(InstitutionAfid::getInstitution, InstitutionAfid::getAfids));
+			}
+		}
+		ReferenceData referenceData = new ReferenceData(System.currentTimeMillis(), "dynamodb", scienceMetrixJournals, scienceMetrixDeptCategories, MeshCountDictionary.build(meshCountMap), genders, institutionAfids);
+		log.info("Loaded " + referenceData + " in " + (System.currentTimeMillis() - start) + "ms");
+		writeSnapshot(referenceData, sourceVersion);
+		return referenceData;
+	}
+
+	private void reload() {
+		if(!reloading.compareAndSet(false, true)) {
+			log.info("Reference data reload is already running");
+			return;
+		}
+		try {
+			ReferenceData referenceData = loadFromDynamoDb();
+			ReferenceData previous = EngineParameters.setReferenceData(referenceData);
+			log.info("Replaced reference data version " + previous.getVersion() + " with version " + referenceData.getVersion());
+		} catch (Exception e) {
+			log.error("Unable to reload reference data. Keeping the current version.", e);
+		} finally {
+			reloading.set(false);
+		}
+	}
+
+	/**
+	 * Replaces the version of the reference tables so that existing snapshots are no longer used. Call after every write to
+	 * the reference tables. Loaders writing to them outside ReCiter must replace the version item the same way.
+	 */
+	public void markSourceChanged() {
+		String version = UUID.randomUUID().toString();
+		referenceDataVersionRepository.save(new ReferenceDataVersion(ReferenceDataVersion.REFERENCE_DATA, version, new Date()));
+		log.info("Reference data tables changed to version " + version);
+	}
+
+	private void writeSnapshot(ReferenceData referenceData, String sourceVersion) {
+		Path snapshot = getSnapshotPath();
+		if(snapshot == null) {
+			return;
+		}
+		if(sourceVersion == null) {
+			log.warn("Not writing the reference data snapshot since the version of the reference tables is unknown");
+			return;
+		}
+		try {
+			ReferenceDataSnapshot.write(referenceData, sourceVersion, snapshot);
+			log.info("Wrote reference data snapshot version " + referenceData.getVersion() + " to " + snapshot + " (" + Files.size(snapshot) + " bytes)");
+		} catch (IOException e) {
+			log.error("Unable to write reference data snapshot to " + snapshot, e);
+			return;
+		}
+		if(isSharedThroughS3() && ddbs3.saveFile(AmazonS3Config.BUCKET_NAME, snapshotS3Key.trim(), snapshot)) {
+			log.info("Stored reference data snapshot in s3 key " + snapshotS3Key);
+		}
+	}
+
+	/**
+	 * @param snapshot
+	 * @param sourceVersion current version of the reference tables or null if it is unknown
+	 * @return true if the snapshot exists and was built from the current version of the reference tables. When the version
+	 * of the tables is unknown no snapshot is current.
+	 */
+	private boolean isCurrent(Path snapshot, String sourceVersion) {
+		if(sourceVersion == null || !Files.exists(snapshot)) {
+			return false;
+		}
+		try {
+			String snapshotSourceVersion = ReferenceDataSnapshot.readSourceVersion(snapshot);
+			if(sourceVersion.equals(snapshotSourceVersion)) {
+				return true;
+			}
+			log.info("Reference data snapshot " + snapshot + " was built from " + snapshotSourceVersion + " but the tables are at " + sourceVersion);
+		} catch (IOException e) {
+			log.error("Unable to read reference data snapshot header from " + snapshot, e);
+		}
+		return false;
+	}
+
+	private boolean downloadSnapshot(Path snapshot) {
+		return isSharedThroughS3() && ddbs3.retrieveFile(AmazonS3Config.BUCKET_NAME, snapshotS3Key.trim(), snapshot);
+	}
+
+	private boolean isSharedThroughS3() {
+		return isS3Use && !isDynamoDbLocal && ddbs3 != null && snapshotS3Key != null && !snapshotS3Key.trim().isEmpty();
+	}
+
+	/**
+	 * @return version of the reference tables from the {@link ReferenceDataVersion} item or null if it is missing or cannot be read
+	 */
+	private String getSourceVersion() {
+		try {
+			ReferenceDataVersion referenceDataVersion = referenceDataVersionRepository.findById(ReferenceDataVersion.REFERENCE_DATA).orElse(null);
+			if(referenceDataVersion == null || referenceDataVersion.getVersion() == null) {
+				log.info("No " + ReferenceDataVersion.REFERENCE_DATA + " item in the ReferenceDataVersion table. The reference data snapshot is not used.");
+				return null;
+			}
+			return referenceDataVersion.getVersion();
+		} catch (AmazonClientException e) {
+			log.warn("Unable to read the version of the reference data tables. The reference data snapshot is not used.", e);
+			return null;
+		}
+	}
+
+	private Path getSnapshotPath() {
+		if(snapshotPath == null || snapshotPath.trim().isEmpty()) {
+			return null;
+		}
+		return Paths.get(snapshotPath.trim());
+	}
+}
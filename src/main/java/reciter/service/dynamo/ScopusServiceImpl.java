@@ -2,15 +2,21 @@ package reciter.service.dynamo;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reciter.database.dynamodb.DynamoDbBatchWriter;
+import reciter.database.dynamodb.DynamoDbS3Operations;
 import reciter.database.dynamodb.repository.ScopusArticleRepository;
 import reciter.model.scopus.ScopusArticle;
 import reciter.service.ScopusService;
+import reciter.storage.s3.AmazonS3Config;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
 @Slf4j
 @Service("scopusService")
@@ -18,10 +24,23 @@ public class ScopusServiceImpl implements ScopusService {
 
     @Autowired
     private ScopusArticleRepository scopusRepository;
+    
+    @Autowired
+    private DynamoDbBatchWriter dynamoDbBatchWriter;
+    
+    @Autowired(required=false)
+    private DynamoDbS3Operations ddbs3;
+    
+    @Value("${aws.s3.use}")
+    private boolean isS3Use;
+    
+    @Value("${aws.dynamoDb.local}")
+    private boolean isDynamoDbLocal;
 
     @Override
     public void save(Collection<ScopusArticle> scopusArticles) {
         List<reciter.database.dynamodb.model.ScopusArticle> dbScopusArticles = new ArrayList<>();
+        Set<String> ids = new HashSet<>();
         for (ScopusArticle scopusArticle : scopusArticles) {
             reciter.database.dynamodb.model.ScopusArticle dbScopusArticle = null;
             /* Commented out to store pubmed id as unique ID for ScopusArticle table in DynamoDb
@@ -38,7 +57,7 @@ public class ScopusServiceImpl implements ScopusService {
             }*/
 
             if (scopusArticle.getPubmedId() != 0 && 
-            		!dbScopusArticles.stream().anyMatch(article -> article.getId().equals(String.valueOf(scopusArticle.getPubmedId())))) {
+            		ids.add(String.valueOf(scopusArticle.getPubmedId()))) {
                 dbScopusArticle = new reciter.database.dynamodb.model.ScopusArticle(
                         String.valueOf(scopusArticle.getPubmedId()),
                         scopusArticle
@@ -47,7 +66,40 @@ public class ScopusServiceImpl implements ScopusService {
             if (dbScopusArticle != null)
                 dbScopusArticles.add(dbScopusArticle);
         }
-        scopusRepository.saveAll(dbScopusArticles);
+        dynamoDbBatchWriter.batchSave(reciter.database.dynamodb.model.ScopusArticle.class, dbScopusArticles, this::storeInS3);
+    }
+    
+    /**
+     * Stores the article in s3 and returns an item without the article to mark it as stored in s3
+     * @param dbScopusArticle
+     * @return item to store in dynamodb or null if s3 is not available
+     */
+    private reciter.database.dynamodb.model.ScopusArticle storeInS3(reciter.database.dynamodb.model.ScopusArticle dbScopusArticle) {
+        if(isS3Use && !isDynamoDbLocal && ddbs3 != null) {
+            log.info("Storing Scopus article " + dbScopusArticle.getId() + " in s3 since it item size exceeds more than 400kb");
+            if(ddbs3.saveCompressedItem(AmazonS3Config.BUCKET_NAME, dbScopusArticle.getScopusArticle(), getS3Key(dbScopusArticle.getId()))) {
+                return new reciter.database.dynamodb.model.ScopusArticle(dbScopusArticle.getId(), null);
+            }
+        } else {
+            log.error("Scopus article " + dbScopusArticle.getId() + " exceeds 400kb and was not saved. Set aws.s3.use to true and set aws.s3.dynamodb.bucketName to store larger objects.");
+        }
+        return null;
+    }
+    
+    private ScopusArticle getScopusArticle(reciter.database.dynamodb.model.ScopusArticle dbScopusArticle) {
+        if(dbScopusArticle.getScopusArticle() == null) {
+            //Only stubs of articles stored in s3 have no article. A failure to retrieve it is thrown instead of leaving the article out
+            if(ddbs3 == null) {
+                throw new IllegalStateException("Scopus article " + dbScopusArticle.getId() + " is stored in s3 but s3 is not configured");
+            }
+            log.info("Retreving Scopus article from s3 for " + dbScopusArticle.getId());
+            return ddbs3.retrieveCompressedItem(AmazonS3Config.BUCKET_NAME, getS3Key(dbScopusArticle.getId()), ScopusArticle.class);
+        }
+        return dbScopusArticle.getScopusArticle();
+    }
+    
+    private static String getS3Key(String id) {
+        return reciter.database.dynamodb.model.ScopusArticle.class.getSimpleName() + "/" + id;
     }
 
     @Override
@@ -56,7 +108,10 @@ public class ScopusServiceImpl implements ScopusService {
         Iterator<reciter.database.dynamodb.model.ScopusArticle> iterator = scopusRepository.findAllById(pmids).iterator();
         scopusArticles = new ArrayList<>(pmids.size());
         while (iterator.hasNext()) {
-            scopusArticles.add(iterator.next().getScopusArticle());
+            ScopusArticle scopusArticle = getScopusArticle(iterator.next());
+            if (scopusArticle != null) {
+                scopusArticles.add(scopusArticle);
+            }
         }
         return scopusArticles;
     }
@@ -65,7 +120,7 @@ public class ScopusServiceImpl implements ScopusService {
     public ScopusArticle findByPmid(String pmid) {
         reciter.database.dynamodb.model.ScopusArticle scopusArticle = scopusRepository.findById(pmid).orElseGet(() -> null);
         if (scopusArticle != null) {
-            return scopusArticle.getScopusArticle();
+            return getScopusArticle(scopusArticle);
         }
         return null;
     }
@@ -2,6 +2,10 @@ package reciter.storage.s3;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -49,6 +53,9 @@ public class AmazonS3Config {
     
     @Value("${aws.s3.use.dynamic.bucketName}")
 	private boolean isDynamicBucketName;
+    
+    @Value("${aws.s3.hydration.threads:10}")
+    private int s3HydrationThreads;
 	
 	/**
 	 * This static variable will hold the s3 bucketName based on dynamic bucket generation
@@ -86,6 +93,22 @@ public class AmazonS3Config {
     	return null;		
     }
     
+    /**
+     * Dedicated pool used to fetch large items (e.g. AnalysisOutput stored in S3) in parallel.
+     * Kept separate from the common ForkJoin pool so slow S3 GETs never starve request threads or parallel streams.
+     * @return bounded ExecutorService for S3 retrievals
+     */
+    @Bean(name = "s3HydrationExecutor", destroyMethod = "shutdown")
+    public ExecutorService s3HydrationExecutor() {
+    	final AtomicInteger threadCount = new AtomicInteger();
+    	ThreadFactory threadFactory = runnable -> {
+    		Thread thread = new Thread(runnable, "s3-hydration-" + threadCount.incrementAndGet());
+    		thread.setDaemon(true);
+    		return thread;
+    	};
+    	return Executors.newFixedThreadPool(Math.max(1, s3HydrationThreads), threadFactory);
+    }
+    
     private void createBucket(AmazonS3 s3) {
     	String accountNumber = getAccountIDUsingAccessKey(amazonAWSAccessKey, amazonAWSSecretKey);
     	BUCKET_NAME = s3BucketName.toLowerCase() + "-" + awsS3Region.toLowerCase() + "-" + accountNumber;
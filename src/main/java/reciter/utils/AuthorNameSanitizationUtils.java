@@ -1,7 +1,6 @@
 package reciter.utils;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -12,7 +11,6 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -76,12 +74,21 @@ public class AuthorNameSanitizationUtils {
 	
 	private StrategyParameters strategyParameters; 
 	
-	private List<String> nameExcludedSuffixes;
+	private NameNormalizationCache nameNormalizationCache;
 	
 	public AuthorNameSanitizationUtils(StrategyParameters strategyParameters) {
 		this.strategyParameters = strategyParameters;
 	}
 	
+	/**
+	 * @param strategyParameters
+	 * @param nameNormalizationCache per run memo of sanitized article author names
+	 */
+	public AuthorNameSanitizationUtils(StrategyParameters strategyParameters, NameNormalizationCache nameNormalizationCache) {
+		this.strategyParameters = strategyParameters;
+		this.nameNormalizationCache = nameNormalizationCache;
+	}
+	
 	/**
 	 * @author szd2013
 	 * @param reCiterArticle
@@ -94,10 +101,12 @@ public class AuthorNameSanitizationUtils {
 			for(ReCiterAuthor authorName: reCiterArticle.getArticleCoAuthors().getAuthors()) {
 				AuthorName articleAuthor = new AuthorName();
 				if(authorName.getAuthorName().getFirstName() != null) {
-					articleAuthor.setFirstName(ReCiterStringUtil.deAccent(authorName.getAuthorName().getFirstName().replaceAll("[-.\"() ]", "")));
+					articleAuthor.setFirstName((nameNormalizationCache != null) ? nameNormalizationCache.sanitizeArticleFirstName(authorName.getAuthorName().getFirstName()) 
+							: sanitizeArticleFirstName(authorName.getAuthorName().getFirstName()));
 				}
 				if(authorName.getAuthorName().getLastName() != null) {
-					articleAuthor.setLastName(ReCiterStringUtil.deAccent(authorName.getAuthorName().getLastName().replaceAll("[-.\",()\\s]|(" + generateSuffixRegex() + ")$", "")));
+					articleAuthor.setLastName((nameNormalizationCache != null) ? nameNormalizationCache.sanitizeArticleLastName(authorName.getAuthorName().getLastName()) 
+							: sanitizeArticleLastName(authorName.getAuthorName().getLastName(), strategyParameters.getNameExcludedSuffixes()));
 				}
 				ReCiterAuthor sanitizedReCiterAuthor = new ReCiterAuthor(articleAuthor, authorName.getAffiliation());
 				sanitizedReCiterAuthor.setRank(authorName.getRank());
@@ -109,6 +118,25 @@ public class AuthorNameSanitizationUtils {
 		return sanitizeArticleAuthors;
 	}
 	
+	/**
+	 * Removes periods, dashes, quotes, parentheses and spaces from an article first name and de-accents it
+	 * @param firstName
+	 * @return sanitized first name
+	 */
+	public static String sanitizeArticleFirstName(String firstName) {
+		return ReCiterStringUtil.deAccent(NamePatterns.removeChars(firstName, NamePatterns.ARTICLE_FIRST_NAME_CHARS));
+	}
+	
+	/**
+	 * Removes periods, dashes, quotes, commas, parentheses, whitespace and a trailing suffix from an article last name and de-accents it
+	 * @param lastName
+	 * @param nameExcludedSuffixes comma separated suffixes
+	 * @return sanitized last name
+	 */
+	public static String sanitizeArticleLastName(String lastName, String nameExcludedSuffixes) {
+		return ReCiterStringUtil.deAccent(NamePatterns.stripLastName(lastName, NamePatterns.NAME_CHARS, nameExcludedSuffixes));
+	}
+	
 	/**
 	 * Sanitize Identity Author Names and also derive author names if there is double code (") in the first name
 	 * @param identity
@@ -129,37 +157,35 @@ public class AuthorNameSanitizationUtils {
 				
 				if(identity.getPrimaryName().getFirstName() != null) {
 					if(identity.getPrimaryName().getFirstName().contains("\"") || (identity.getPrimaryName().getFirstName().contains("(") && identity.getPrimaryName().getFirstName().contains(")"))) {
-						firstName = identity.getPrimaryName().getFirstName().replaceAll("[-.,()\\s]", "").replaceAll("\"([^\"]*)\"|(\"([^\"]*)\")|(([a-z]*))/i/g", "");
+						firstName = NamePatterns.QUOTED_NAME.matcher(NamePatterns.removeCharsAndWhitespace(identity.getPrimaryName().getFirstName(), NamePatterns.IDENTITY_NAME_CHARS)).replaceAll("");
 						if(firstName !=null) {
 							additionalName.setFirstName(ReCiterStringUtil.deAccent(firstName));
 						}
-						Pattern pattern = Pattern.compile("\"([^\"]*)\"|(\"([^\"]*)\")|(([a-z]*))/i/g");
-						Matcher matcher = pattern.matcher(identity.getPrimaryName().getFirstName());
+						Matcher matcher = NamePatterns.QUOTED_NAME.matcher(identity.getPrimaryName().getFirstName());
 						while(matcher.find()) {
-							identityPrimaryName.setFirstName(ReCiterStringUtil.deAccent(matcher.group().replaceAll("\"", "")));
+							identityPrimaryName.setFirstName(ReCiterStringUtil.deAccent(NamePatterns.removeChars(matcher.group(), "\"")));
 						}
 					} else {
-						identityPrimaryName.setFirstName(ReCiterStringUtil.deAccent(identity.getPrimaryName().getFirstName().replaceAll("[-.,()\\s]", "")));
+						identityPrimaryName.setFirstName(ReCiterStringUtil.deAccent(NamePatterns.removeCharsAndWhitespace(identity.getPrimaryName().getFirstName(), NamePatterns.IDENTITY_NAME_CHARS)));
 					}
 				}
 				if(identity.getPrimaryName().getMiddleName() != null) {
 					if(identity.getPrimaryName().getMiddleName().contains("\"") || (identity.getPrimaryName().getMiddleName().contains("(") && identity.getPrimaryName().getMiddleName().contains(")"))) {
-						middleName = identity.getPrimaryName().getMiddleName().replaceAll("[-.,()\\s]", "").replaceAll("\"([^\"]*)\"|(\"([^\"]*)\")|(([a-z]*))/i/g", "");
+						middleName = NamePatterns.QUOTED_NAME.matcher(NamePatterns.removeCharsAndWhitespace(identity.getPrimaryName().getMiddleName(), NamePatterns.IDENTITY_NAME_CHARS)).replaceAll("");
 						if(middleName !=null) {
 							additionalName.setMiddleName(ReCiterStringUtil.deAccent(middleName));
 						}
-						Pattern pattern = Pattern.compile("\"([^\"]*)\"|(\"([^\"]*)\")|(([a-z]*))/i/g");
-						Matcher matcher = pattern.matcher(identity.getPrimaryName().getMiddleName());
+						Matcher matcher = NamePatterns.QUOTED_NAME.matcher(identity.getPrimaryName().getMiddleName());
 						while(matcher.find()) {
-							identityPrimaryName.setMiddleName(ReCiterStringUtil.deAccent(matcher.group().replaceAll("\"", "")));
+							identityPrimaryName.setMiddleName(ReCiterStringUtil.deAccent(NamePatterns.removeChars(matcher.group(), "\"")));
 						}
 					} else {
-						identityPrimaryName.setMiddleName(ReCiterStringUtil.deAccent(identity.getPrimaryName().getMiddleName().replaceAll("[-.,()\\s]", "")));
+						identityPrimaryName.setMiddleName(ReCiterStringUtil.deAccent(NamePatterns.removeCharsAndWhitespace(identity.getPrimaryName().getMiddleName(), NamePatterns.IDENTITY_NAME_CHARS)));
 					}
 				}
 				if(identity.getPrimaryName().getLastName() != null) {
 					//lastName = identity.getPrimaryName().getLastName().replaceAll("[-.,,()\\s]|(,Jr|, Jr|, MD PhD|,MD PhD|, MD-PhD|,MD-PhD|, PhD|,PhD|, MD|,MD|, III|,III|, II|,II|, Sr|,Sr|Jr|MD PhD|MD-PhD|PhD|MD|III|II|Sr)$", "");
-					lastName = identity.getPrimaryName().getLastName().replaceAll("[-.,,()\\s]|(" + generateSuffixRegex() + ")$", "");
+					lastName = NamePatterns.stripLastName(identity.getPrimaryName().getLastName(), NamePatterns.IDENTITY_NAME_CHARS, strategyParameters.getNameExcludedSuffixes());
 					identityPrimaryName.setLastName(ReCiterStringUtil.deAccent(lastName));
 					if(additionalName.getFirstName() != null) {
 						additionalName.setLastName(ReCiterStringUtil.deAccent(lastName));
@@ -174,13 +200,13 @@ public class AuthorNameSanitizationUtils {
 				for(AuthorName aliasAuthorName: identity.getAlternateNames()) {
 					AuthorName identityAliasAuthorName = new AuthorName();
 					if(aliasAuthorName.getFirstName() != null) {
-						identityAliasAuthorName.setFirstName(ReCiterStringUtil.deAccent(aliasAuthorName.getFirstName().replaceAll("[-.\",()\\s]", "")));
+						identityAliasAuthorName.setFirstName(ReCiterStringUtil.deAccent(NamePatterns.removeCharsAndWhitespace(aliasAuthorName.getFirstName(), NamePatterns.NAME_CHARS)));
 					}
 					if(aliasAuthorName.getMiddleName() != null) {
-						identityAliasAuthorName.setMiddleName(ReCiterStringUtil.deAccent(aliasAuthorName.getMiddleName().replaceAll("[-.\",()\\s]", "")));
+						identityAliasAuthorName.setMiddleName(ReCiterStringUtil.deAccent(NamePatterns.removeCharsAndWhitespace(aliasAuthorName.getMiddleName(), NamePatterns.NAME_CHARS)));
 					}
 					if(aliasAuthorName.getLastName() != null) {
-						identityAliasAuthorName.setLastName(ReCiterStringUtil.deAccent(aliasAuthorName.getLastName().replaceAll("[-.\",()\\s]|(" + generateSuffixRegex() + ")$", "")));
+						identityAliasAuthorName.setLastName(ReCiterStringUtil.deAccent(NamePatterns.stripLastName(aliasAuthorName.getLastName(), NamePatterns.NAME_CHARS, strategyParameters.getNameExcludedSuffixes())));
 					}
 					
 					if(identityAliasAuthorName.getLastName() != null) {
@@ -274,21 +300,11 @@ public class AuthorNameSanitizationUtils {
 	
 	
 	/**
-	 * This function generates regex of suffix from application.properties file
+	 * This function generates regex of suffix from application.properties file. The regex is built once per suffix configuration.
 	 * @return regex string
 	 */
 	public String generateSuffixRegex() {
-		nameExcludedSuffixes = Arrays.asList(strategyParameters.getNameExcludedSuffixes().trim().split("\\s*,\\s*"));
-		String suffixRegex = "";
-		String suffixTogether = "";
-		for(String suffix: nameExcludedSuffixes) {
-			suffixRegex = suffixRegex + "," + suffix + "|, " + suffix + "|";
-			suffixTogether = suffixTogether + suffix + "|";
-		}
-		if(suffixTogether.endsWith("|")) {
-			suffixTogether = suffixTogether.substring(0, suffixTogether.length() - 1);
-		}
-		return suffixRegex + "," + suffixTogether;
+		return NamePatterns.suffixRegex(strategyParameters.getNameExcludedSuffixes());
 	}
 	
 
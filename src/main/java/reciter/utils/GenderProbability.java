@@ -1,15 +1,13 @@
 package reciter.utils;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import reciter.database.dynamodb.model.Gender;
-import reciter.database.dynamodb.model.GenderEnum;
 import reciter.engine.EngineParameters;
+import reciter.engine.GenderIndex;
 import reciter.model.article.ReCiterArticle;
 import reciter.model.article.ReCiterAuthor;
 import reciter.model.identity.AuthorName;
@@ -26,8 +24,6 @@ public class GenderProbability {
 	 * Finds the Gender Name and the probability from Gender table and assigns to identity
 	 */
 	public static void getGenderIdentityProbability(Identity identity) {
-		List<Gender> genders = EngineParameters.getGenders();
-		List<Gender> matchingGenders = new ArrayList<Gender>();
 		Set<String> identityNames = new HashSet<String>();
 		if(identity.getPrimaryName() != null) {
 			if(identity.getPrimaryName().getFirstName() != null
@@ -88,24 +84,15 @@ public class GenderProbability {
 				}
 			}
 		}
+		GenderIndex genderIndex = EngineParameters.getGenderIndex();
 		if(!identityNames.isEmpty()
 				&&
-				genders != null
+				genderIndex != null
 				&&
-				!genders.isEmpty()) {
-			matchingGenders = genders
-				.parallelStream()
-				.filter(gender ->
-				identityNames.contains(gender.getName().toLowerCase())
-				).collect(Collectors.toList());
-			if(!matchingGenders.isEmpty()) {
-					List<Gender> matchingGendersCopy = new ArrayList<Gender>();
-					matchingGenders.forEach(matchGender -> {
-						matchingGendersCopy
-						.add(new Gender(matchGender.getUniqueId(), matchGender.getName(), matchGender.getGender(), ((matchGender.getGender() == GenderEnum.F)?(1 - matchGender.getProbability()):matchGender.getProbability())));
-					});
-					Double avgProbability = matchingGendersCopy.stream().mapToDouble(Gender::getProbability).average().getAsDouble();
-					identity.setGender(new Gender(null, null, null, avgProbability));
+				!genderIndex.isEmpty()) {
+			Gender gender = genderIndex.getAverageProbability(identityNames);
+			if(gender != null) {
+				identity.setGender(gender);
 			}
 		}
 	}
@@ -115,55 +102,37 @@ public class GenderProbability {
 	 * @return Gender match for article
 	 */
 	public static Gender getGenderArticleProbability(ReCiterArticle reCiterArticle) {
-		List<Gender> genders = EngineParameters.getGenders();
-		List<Gender> matchingGenders = new ArrayList<Gender>();
+		GenderIndex genderIndex = EngineParameters.getGenderIndex();
 		if(reCiterArticle.getArticleCoAuthors().getAuthors() != null 
 				&& 
 				!reCiterArticle.getArticleCoAuthors().getAuthors().isEmpty()
 				&&
-				genders != null
+				genderIndex != null
 				&&
-				!genders.isEmpty()) {
-			List<ReCiterAuthor> targetAuthorList = reCiterArticle.getArticleCoAuthors().getAuthors()
+				!genderIndex.isEmpty()) {
+			ReCiterAuthor targetAuthor = reCiterArticle.getArticleCoAuthors().getAuthors()
 			.stream()
 			.filter(reCiterAuthor -> reCiterAuthor.isTargetAuthor())
-			.collect(Collectors.toList());
+			.findFirst()
+			.orElse(null);
 			
-			if(targetAuthorList.isEmpty()) {
+			if(targetAuthor == null) {
 				return null;
-			} else {
-				if(targetAuthorList.get(0) != null && targetAuthorList.get(0).getAuthorName().getFirstName() != null) {
-					if(targetAuthorList.get(0).getAuthorName().getFirstName().contains(" ") || targetAuthorList.get(0).getAuthorName().getFirstName().contains("-")) {
-					String targetAuthor[] = targetAuthorList.get(0).getAuthorName().getFirstName().split("\\s+|-");
-					List<String> targetAuthorSplitList = Arrays.asList(targetAuthor);
-					matchingGenders = genders
-							.parallelStream()
-							.filter(gender ->
-							targetAuthorSplitList.stream().anyMatch(split -> split.length() >= 2 &&  split.equalsIgnoreCase(gender.getName().trim())
-							))
-							.collect(Collectors.toList());
-					} else {
-						matchingGenders = genders
-								.parallelStream()
-								.filter(gender ->
-										targetAuthorList.get(0).getAuthorName().getFirstName() != null
-										&&
-										targetAuthorList.get(0).getAuthorName().getFirstName().length() >= 2
-										&& 
-										targetAuthorList.get(0).getAuthorName().getFirstName().equalsIgnoreCase(gender.getName())).collect(Collectors.toList());
+			} else if(targetAuthor.getAuthorName().getFirstName() != null) {
+				String firstName = targetAuthor.getAuthorName().getFirstName();
+				List<String> targetAuthorNames = new ArrayList<String>();
+				if(firstName.contains(" ") || firstName.contains("-")) {
+					for(String split: firstName.split("\\s+|-")) {
+						if(split.length() >= 2) {
+							targetAuthorNames.add(split);
+						}
 					}
+				} else if(firstName.length() >= 2) {
+					targetAuthorNames.add(firstName);
 				}
+				return genderIndex.getAverageProbability(targetAuthorNames);
 			}
 		}
-		if(!matchingGenders.isEmpty()) {
-			List<Gender> matchingGendersCopy = new ArrayList<Gender>();
-			matchingGenders.forEach(matchGender -> {
-				matchingGendersCopy
-				.add(new Gender(matchGender.getUniqueId(), matchGender.getName(), matchGender.getGender(), ((matchGender.getGender() == GenderEnum.F)?(1 - matchGender.getProbability()):matchGender.getProbability())));
-			});
-			Double avgProbability = matchingGendersCopy.stream().mapToDouble(Gender::getProbability).average().getAsDouble();
-			return new Gender(null, null, null, avgProbability);
-		}
 		return null;
 	}
 }
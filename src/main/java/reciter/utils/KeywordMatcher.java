@@ -0,0 +1,119 @@
+package reciter.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Aho-Corasick automaton that finds which of a fixed list of keywords occur in a text in a single pass over the text,
+ * independent of the number of keywords. When built to ignore case, keywords and text are compared the way
+ * {@link org.apache.commons.lang3.StringUtils#containsIgnoreCase(CharSequence, CharSequence)} compares them.
+ * Instances are immutable and can be shared between threads.
+ */
+public final class KeywordMatcher {
+
+	private static final int ROOT = 0;
+
+	private final boolean ignoreCase;
+
+	private final int keywordCount;
+
+	private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+
+	private final List<int[]> outputs = new ArrayList<>();
+
+	private final int[] failure;
+
+	/**
+	 * @param keywords keywords to find, identified by their index in the list
+	 * @param ignoreCase
+	 */
+	public KeywordMatcher(List<String> keywords, boolean ignoreCase) {
+		this.ignoreCase = ignoreCase;
+		this.keywordCount = keywords.size();
+		List<List<Integer>> keywordEnds = new ArrayList<>();
+		addNode(keywordEnds);
+		for(int keyword = 0; keyword < keywords.size(); keyword++) {
+			String text = keywords.get(keyword);
+			int node = ROOT;
+			for(int i = 0; i < text.length(); i++) {
+				char c = normalize(text.charAt(i));
+				Integer next = transitions.get(node).get(c);
+				if(next == null) {
+					next = addNode(keywordEnds);
+					transitions.get(node).put(c, next);
+				}
+				node = next;
+			}
+			keywordEnds.get(node).add(keyword);
+		}
+
+		failure = new int[transitions.size()];
+		Queue<Integer> queue = new ArrayDeque<>();
+		for(int child: transitions.get(ROOT).values()) {
+			queue.add(child);
+		}
+		while(!queue.isEmpty()) {
+			int node = queue.poll();
+			for(Map.Entry<Character, Integer> transition: transitions.get(node).entrySet()) {
+				int child = transition.getValue();
+				int fallback = failure[node];
+				while(fallback != ROOT && !transitions.get(fallback).containsKey(transition.getKey())) {
+					fallback = failure[fallback];
+				}
+				Integer target = transitions.get(fallback).get(transition.getKey());
+				failure[child] = (target == null || target == child) ? ROOT : target;
+				keywordEnds.get(child).addAll(keywordEnds.get(failure[child]));
+				queue.add(child);
+			}
+		}
+		for(List<Integer> ends: keywordEnds) {
+			outputs.add(ends.stream().mapToInt(Integer::intValue).distinct().toArray());
+		}
+	}
+
+	/**
+	 * @param text
+	 * @return indexes of the keywords contained in text. Empty keywords are contained in any text.
+	 */
+	public BitSet find(CharSequence text) {
+		BitSet found = new BitSet(keywordCount);
+		int node = ROOT;
+		mark(found, node);
+		for(int i = 0; i < text.length(); i++) {
+			char c = normalize(text.charAt(i));
+			Integer next = transitions.get(node).get(c);
+			while(next == null && node != ROOT) {
+				node = failure[node];
+				next = transitions.get(node).get(c);
+			}
+			node = (next == null) ? ROOT : next;
+			mark(found, node);
+		}
+		return found;
+	}
+
+	private void mark(BitSet found, int node) {
+		for(int keyword: outputs.get(node)) {
+			found.set(keyword);
+		}
+	}
+
+	private int addNode(List<List<Integer>> keywordEnds) {
+		transitions.add(new HashMap<>());
+		keywordEnds.add(new ArrayList<>());
+		return transitions.size() - 1;
+	}
+
+	/**
+	 * Two characters are equal ignoring case, as in <code>String.regionMatches(true, ...)</code>, exactly when their
+	 * lower case of upper case forms are equal
+	 */
+	private char normalize(char c) {
+		return ignoreCase ? Character.toLowerCase(Character.toUpperCase(c)) : c;
+	}
+}
@@ -0,0 +1,60 @@
+package reciter.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Memo of normalized author name forms for one engine run, keyed by the raw name string. The same co-authors appear on many
+ * of a person's candidate articles so article translation and name scoring look their names up here instead of sanitizing
+ * and lower casing them again for every article. Safe for concurrent use.
+ */
+public class NameNormalizationCache {
+
+	private final String nameExcludedSuffixes;
+
+	private final Map<String, String> articleFirstNames = new ConcurrentHashMap<>();
+
+	private final Map<String, String> articleLastNames = new ConcurrentHashMap<>();
+
+	private final Map<String, String> lowerCaseNames = new ConcurrentHashMap<>();
+
+	/**
+	 * @param nameExcludedSuffixes comma separated suffixes stripped from last names
+	 */
+	public NameNormalizationCache(String nameExcludedSuffixes) {
+		this.nameExcludedSuffixes = nameExcludedSuffixes;
+	}
+
+	/**
+	 * @param firstName raw article first name
+	 * @return first name without punctuation and spaces and de-accented
+	 * @see AuthorNameSanitizationUtils#sanitizeArticleFirstName(String)
+	 */
+	public String sanitizeArticleFirstName(String firstName) {
+		return articleFirstNames.computeIfAbsent(firstName, AuthorNameSanitizationUtils::sanitizeArticleFirstName);
+	}
+
+	/**
+	 * @param lastName raw article last name
+	 * @return last name without punctuation, whitespace and suffix and de-accented
+	 * @see AuthorNameSanitizationUtils#sanitizeArticleLastName(String, String)
+	 */
+	public String sanitizeArticleLastName(String lastName) {
+		return articleLastNames.computeIfAbsent(lastName, name -> AuthorNameSanitizationUtils.sanitizeArticleLastName(name, nameExcludedSuffixes));
+	}
+
+	/**
+	 * @param name
+	 * @return name in lower case
+	 */
+	public String lowerCase(String name) {
+		return lowerCaseNames.computeIfAbsent(name, String::toLowerCase);
+	}
+
+	/**
+	 * @return number of distinct raw names held
+	 */
+	public int size() {
+		return articleFirstNames.size() + articleLastNames.size() + lowerCaseNames.size();
+	}
+}
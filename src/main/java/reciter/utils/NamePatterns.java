@@ -0,0 +1,223 @@
+package reciter.utils;
+
+import java.text.Normalizer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Registry of the precompiled patterns used to normalize author names, together with character scans that replace
+ * <code>String.replaceAll</code> where the pattern is only a character class. {@link Pattern} instances are immutable and
+ * safe to share between threads. Patterns built from configuration such as the excluded name suffixes are compiled once
+ * per distinct configuration value.
+ */
+public final class NamePatterns {
+
+	public static final Pattern COMBINING_DIACRITICAL_MARKS = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+
+	public static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+	/**
+	 * Nickname in quotes in an identity first or middle name e.g. Wing Tak "Jack"
+	 */
+	public static final Pattern QUOTED_NAME = Pattern.compile("\"([^\"]*)\"|(\"([^\"]*)\")|(([a-z]*))/i/g");
+
+	/**
+	 * Characters removed from article first names
+	 */
+	public static final String ARTICLE_FIRST_NAME_CHARS = "-.\"() ";
+
+	/**
+	 * Characters removed, along with whitespace, from identity primary first and middle names
+	 */
+	public static final String IDENTITY_NAME_CHARS = "-.,()";
+
+	/**
+	 * Characters removed, along with whitespace, from alias names and article last names
+	 */
+	public static final String NAME_CHARS = "-.\",()";
+
+	private static final String REGEX_METACHARACTERS = "\\^$.|?*+()[]{}";
+
+	private static final Map<String, String> suffixRegexes = new ConcurrentHashMap<>();
+
+	private static final Map<String, Pattern> patterns = new ConcurrentHashMap<>();
+
+	private NamePatterns() {
+	}
+
+	/**
+	 * @param regex
+	 * @return compiled pattern shared by all callers using the same regex
+	 */
+	public static Pattern compile(String regex) {
+		return patterns.computeIfAbsent(regex, Pattern::compile);
+	}
+
+	/**
+	 * Builds the alternation of name suffixes to be stripped from last names e.g. ",Jr|, Jr|,Jr" for Jr
+	 * @param nameExcludedSuffixes comma separated suffixes from the <code>nameScoringStrategy-excludedSuffixes</code> property
+	 * @return suffix regex
+	 */
+	public static String suffixRegex(String nameExcludedSuffixes) {
+		return suffixRegexes.computeIfAbsent(nameExcludedSuffixes, NamePatterns::buildSuffixRegex);
+	}
+
+	/**
+	 * Removes accents by dropping the combining marks of the NFD form. ASCII input has nothing to remove and is returned as is.
+	 * @param str
+	 * @return str without accents
+	 */
+	public static String deAccent(String str) {
+		if(isAscii(str)) {
+			return str;
+		}
+		String nfdNormalizedString = Normalizer.normalize(str, Normalizer.Form.NFD);
+		return COMBINING_DIACRITICAL_MARKS.matcher(nfdNormalizedString).replaceAll("");
+	}
+
+	/**
+	 * Same as <code>s.replaceAll("[^A-Za-z0-9\\s+]", "").split("\\s+")</code>
+	 * @param s
+	 * @return tokens
+	 */
+	public static String[] tokenize(String s) {
+		int length = s.length();
+		StringBuilder sb = null;
+		for(int i = 0; i < length; i++) {
+			char c = s.charAt(i);
+			boolean tokenChar = (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '+' || isWhitespace(c);
+			if(!tokenChar && sb == null) {
+				sb = new StringBuilder(length - 1).append(s, 0, i);
+			} else if(tokenChar && sb != null) {
+				sb.append(c);
+			}
+		}
+		return WHITESPACE.split(sb == null ? s : sb);
+	}
+
+	/**
+	 * Same as <code>lastName.replaceAll("[" + chars + "\\s]|(" + suffixRegex + ")$", "")</code> with the pattern compiled once
+	 * @param lastName
+	 * @param chars characters to remove in addition to whitespace, as written inside a regex character class
+	 * @param nameExcludedSuffixes comma separated suffixes
+	 * @return last name without the characters and a trailing suffix
+	 */
+	public static String stripLastName(String lastName, String chars, String nameExcludedSuffixes) {
+		return compile("[" + chars + "\\s]|(" + suffixRegex(nameExcludedSuffixes) + ")$").matcher(lastName).replaceAll("");
+	}
+
+	/**
+	 * Same as <code>s.replaceAll("[" + chars + "]", "")</code> for characters that are literal in a regex character class
+	 * @param s
+	 * @param chars characters to remove
+	 * @return s without any of the characters
+	 */
+	public static String removeChars(String s, String chars) {
+		return removeChars(s, chars, false);
+	}
+
+	/**
+	 * Same as <code>s.replaceAll("[" + chars + "\\s]", "")</code>
+	 * @param s
+	 * @param chars characters to remove in addition to whitespace
+	 * @return s without any of the characters or whitespace
+	 */
+	public static String removeCharsAndWhitespace(String s, String chars) {
+		return removeChars(s, chars, true);
+	}
+
+	/**
+	 * Same as <code>s.matches(prefix + "(.*)" + suffix)</code> without compiling a regex when prefix and suffix are plain text
+	 * @param s
+	 * @param prefix
+	 * @param suffix
+	 * @return true if s starts with prefix and ends with suffix without a line terminator in between
+	 */
+	public static boolean matchesPrefixAndSuffix(String s, String prefix, String suffix) {
+		if(containsRegexMetacharacter(prefix) || containsRegexMetacharacter(suffix)) {
+			return s.matches(prefix + "(.*)" + suffix);
+		}
+		int end = s.length() - suffix.length();
+		if(end < prefix.length() || !s.startsWith(prefix) || !s.endsWith(suffix)) {
+			return false;
+		}
+		for(int i = prefix.length(); i < end; i++) {
+			if(isLineTerminator(s.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static String removeChars(String s, String chars, boolean whitespace) {
+		int length = s.length();
+		int i = 0;
+		while(i < length && !isRemoved(s.charAt(i), chars, whitespace)) {
+			i++;
+		}
+		if(i == length) {
+			return s;
+		}
+		StringBuilder sb = new StringBuilder(length - 1);
+		sb.append(s, 0, i);
+		for(i++; i < length; i++) {
+			char c = s.charAt(i);
+			if(!isRemoved(c, chars, whitespace)) {
+				sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+
+	private static boolean isRemoved(char c, String chars, boolean whitespace) {
+		return chars.indexOf(c) >= 0 || (whitespace && isWhitespace(c));
+	}
+
+	/**
+	 * Characters matched by \s in a regex without UNICODE_CHARACTER_CLASS
+	 */
+	static boolean isWhitespace(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+	}
+
+	/**
+	 * Characters not matched by . in a regex without DOTALL
+	 */
+	private static boolean isLineTerminator(char c) {
+		return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+	}
+
+	private static boolean isAscii(String s) {
+		for(int i = 0; i < s.length(); i++) {
+			if(s.charAt(i) >= 0x80) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean containsRegexMetacharacter(String s) {
+		for(int i = 0; i < s.length(); i++) {
+			if(REGEX_METACHARACTERS.indexOf(s.charAt(i)) >= 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static String buildSuffixRegex(String nameExcludedSuffixes) {
+		StringBuilder suffixRegex = new StringBuilder();
+		StringBuilder suffixTogether = new StringBuilder();
+		boolean first = true;
+		for(String suffix: nameExcludedSuffixes.trim().split("\\s*,\\s*")) {
+			suffixRegex.append(',').append(suffix).append("|, ").append(suffix).append('|');
+			if(!first) {
+				suffixTogether.append('|');
+			}
+			suffixTogether.append(suffix);
+			first = false;
+		}
+		return suffixRegex.append(',').append(suffixTogether).toString();
+	}
+}
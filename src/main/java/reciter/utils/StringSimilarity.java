@@ -0,0 +1,107 @@
+package reciter.utils;
+
+/**
+ * String similarity kernels used in name matching. The Levenshtein distance is computed with two rows that are reused per
+ * thread, so a comparison does not allocate. When the caller only needs to know whether the distance is within a threshold,
+ * the strings are rejected on their length difference first and otherwise only the diagonal band of width 2 * threshold + 1
+ * is computed, stopping as soon as a whole row exceeds the threshold.
+ */
+public final class StringSimilarity {
+
+	private static final ThreadLocal<int[][]> rows = ThreadLocal.withInitial(() -> new int[2][32]);
+
+	private StringSimilarity() {
+	}
+
+	/**
+	 * @param lhs
+	 * @param rhs
+	 * @return Levenshtein distance between lhs and rhs
+	 */
+	public static int levenshteinDistance(CharSequence lhs, CharSequence rhs) {
+		return levenshteinDistance(lhs, rhs, Math.max(lhs.length(), rhs.length()));
+	}
+
+	/**
+	 * @param lhs
+	 * @param rhs
+	 * @param threshold largest distance of interest
+	 * @return Levenshtein distance between lhs and rhs if it is at most threshold otherwise threshold + 1
+	 */
+	public static int levenshteinDistance(CharSequence lhs, CharSequence rhs, int threshold) {
+		if(threshold < 0) {
+			throw new IllegalArgumentException("Threshold must not be negative: " + threshold);
+		}
+		int lhsEnd = lhs.length();
+		int rhsEnd = rhs.length();
+		if(Math.abs(lhsEnd - rhsEnd) > threshold) {
+			return threshold + 1;
+		}
+		// A common prefix or suffix does not change the distance
+		int start = 0;
+		while(start < lhsEnd && start < rhsEnd && lhs.charAt(start) == rhs.charAt(start)) {
+			start++;
+		}
+		while(lhsEnd > start && rhsEnd > start && lhs.charAt(lhsEnd - 1) == rhs.charAt(rhsEnd - 1)) {
+			lhsEnd--;
+			rhsEnd--;
+		}
+		int n = lhsEnd - start;
+		int m = rhsEnd - start;
+		if(n == 0 || m == 0) {
+			return Math.max(n, m);
+		}
+		int k = Math.min(threshold, Math.max(n, m));
+		int outside = k + 1;
+
+		int[][] buffers = rows(n + 2);
+		int[] previous = buffers[0];
+		int[] current = buffers[1];
+		for(int i = 0; i <= n; i++) {
+			previous[i] = (i <= k) ? i : outside;
+		}
+		previous[n + 1] = outside;
+
+		for(int j = 1; j <= m; j++) {
+			int low = Math.max(1, j - k);
+			int high = Math.min(n, j + k);
+			current[low - 1] = (low == 1 && j <= k) ? j : outside;
+			int rowMin = current[low - 1];
+			char rhsChar = rhs.charAt(start + j - 1);
+			for(int i = low; i <= high; i++) {
+				int cost = (lhs.charAt(start + i - 1) == rhsChar) ? 0 : 1;
+				int distance = Math.min(Math.min(previous[i] + 1, current[i - 1] + 1), previous[i - 1] + cost);
+				current[i] = Math.min(distance, outside);
+				rowMin = Math.min(rowMin, current[i]);
+			}
+			current[high + 1] = outside;
+			if(rowMin > k) {
+				return threshold + 1;
+			}
+			int[] swap = previous;
+			previous = current;
+			current = swap;
+		}
+		return (previous[n] <= k) ? previous[n] : threshold + 1;
+	}
+
+	/**
+	 * @param lhs
+	 * @param rhs
+	 * @param maxDistance
+	 * @return true if the Levenshtein distance between lhs and rhs is at most maxDistance
+	 */
+	public static boolean isWithinDistance(CharSequence lhs, CharSequence rhs, int maxDistance) {
+		return levenshteinDistance(lhs, rhs, maxDistance) <= maxDistance;
+	}
+
+	private static int[][] rows(int length) {
+		int[][] buffers = rows.get();
+		if(buffers[0].length < length) {
+			int capacity = Math.max(length, buffers[0].length * 2);
+			buffers[0] = new int[capacity];
+			buffers[1] = new int[capacity];
+		}
+		return buffers;
+	}
+}
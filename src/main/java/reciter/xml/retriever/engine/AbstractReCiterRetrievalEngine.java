@@ -119,7 +119,7 @@ public abstract class AbstractReCiterRetrievalEngine implements ReCiterRetrieval
 			}
 			eSearchPmid = new ESearchPmid(pmids, retrievalStrategyName, new Date(), eSearchPmidRefreshFlag);
 		}
-		ESearchResult eSearchResultDb = eSearchResultService.findByUid(uid);
+		ESearchResult eSearchResultDb = eSearchResultService.findByUidForUpdate(uid);
 		if (eSearchResultDb == null) {
 			List<ESearchPmid> eSearchPmids = new ArrayList<>();
 			if(eSearchPmid != null) {
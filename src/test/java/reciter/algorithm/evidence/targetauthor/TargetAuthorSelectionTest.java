@@ -76,11 +76,27 @@ public class TargetAuthorSelectionTest {
 			    new AbstractMap.SimpleEntry<ReCiterAuthor, ReCiterAuthor>(new ReCiterAuthor(new AuthorName("Ayman", "A.", "El-Menyar"), "aae2001@med.cornell.edu"), new ReCiterAuthor(new AuthorName("Ayman", "A", "ElMenyar"), "aae2001@med.cornell.edu"));
 		Set<Entry<ReCiterAuthor, ReCiterAuthor>> sanitizedAuthorSet = new HashSet<>(1);
 		sanitizedAuthorSet.add(entry);
-		assertEquals("author name match", 1, targetAuthorSelection.checkExactLastMiddleFirstNameMatch(sanitizedAuthorSet, sanitizedIdentityAuthors, 0, multipleMarkedTargetAuthor));
+		assertEquals("author name match", 1, targetAuthorSelection.checkExactLastMiddleFirstNameMatch(sanitizedAuthorSet, new TargetAuthorNameIndex(sanitizedIdentityAuthors), 0, multipleMarkedTargetAuthor));
 		sanitizedIdentityAuthors.clear();
 		
 		sanitizedIdentityAuthors.add(new AuthorName("Ayman", "Alhul", "Elmenyar"));
-		assertEquals("no author name match", 0, targetAuthorSelection.checkExactLastMiddleFirstNameMatch(sanitizedAuthorSet, sanitizedIdentityAuthors, 0, multipleMarkedTargetAuthor));
+		assertEquals("no author name match", 0, targetAuthorSelection.checkExactLastMiddleFirstNameMatch(sanitizedAuthorSet, new TargetAuthorNameIndex(sanitizedIdentityAuthors), 0, multipleMarkedTargetAuthor));
+	}
+
+	/**
+	 * This test for last name lookups in the identity name index being case insensitive like the name comparisons
+	 */
+	@Test
+	public final void testTargetAuthorNameIndex() {
+		sanitizedIdentityAuthors.add(new AuthorName("Ayman", "A", "Elmenyar"));
+		sanitizedIdentityAuthors.add(new AuthorName("Wing Tak", null, "Wong "));
+		TargetAuthorNameIndex identityNameIndex = new TargetAuthorNameIndex(sanitizedIdentityAuthors);
+		
+		assertTrue(identityNameIndex.matchesLastFirstName(new AuthorName("AYMAN", null, "ElMenyar")));
+		assertTrue(identityNameIndex.matchesLastNameArticleFirstNameInIdentity(new AuthorName("Aym", null, "elmenyar")));
+		assertTrue(identityNameIndex.matchesLastName(new AuthorName("Tak", null, " wong")));
+		assertFalse(identityNameIndex.matchesLastFirstName(new AuthorName("Wing Tak", null, "Wong")));
+		assertFalse(identityNameIndex.matchesLastMiddleFirstName(new AuthorName("Ayman", "B", "Elmenyar")));
 	}
 
 	/*@Test
@@ -0,0 +1,88 @@
+package reciter.algorithm.util;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+
+import org.junit.Test;
+
+import reciter.model.article.ReCiterArticle;
+import reciter.model.article.ReCiterArticleAuthors;
+import reciter.model.article.ReCiterAuthor;
+import reciter.model.identity.AuthorName;
+
+public class ArticleAuthorIndexTest {
+
+	@Test
+	public final void positionsByLastNameTest() {
+		List<ReCiterAuthor> authors = Arrays.asList(
+				new ReCiterAuthor(new AuthorName("Jochen", null, "Buck"), null),
+				new ReCiterAuthor(new AuthorName("Lonny", "R", "Levin"), null),
+				new ReCiterAuthor(new AuthorName("J", null, "BUCK"), null));
+		ArticleAuthorIndex authorIndex = new ArticleAuthorIndex(authors);
+
+		assertEquals(3, authorIndex.size());
+		assertArrayEquals(new int[] {0, 2}, authorIndex.getPositionsByLastName("buck"));
+		assertArrayEquals(new int[] {1}, authorIndex.getPositionsByLastName("Levin"));
+		assertEquals(0, authorIndex.getPositionsByLastName("Smith").length);
+		assertEquals(0, authorIndex.getPositionsByLastName(null).length);
+		assertSame(authors.get(2), authorIndex.getAuthor(2));
+	}
+
+	@Test
+	public final void indexesOfRunTest() {
+		ReCiterArticle reCiterArticle = new ReCiterArticle(1L);
+		ReCiterArticleAuthors articleAuthors = new ReCiterArticleAuthors();
+		ReCiterAuthor buck = new ReCiterAuthor(new AuthorName("Jochen", null, "Buck"), null);
+		ReCiterAuthor levin = new ReCiterAuthor(new AuthorName("Lonny", "R", "Levin"), null);
+		articleAuthors.addAuthor(buck);
+		articleAuthors.addAuthor(levin);
+		Map<ReCiterAuthor, ReCiterAuthor> sanitizedAuthorMap = new LinkedHashMap<>();
+		sanitizedAuthorMap.put(buck, new ReCiterAuthor(new AuthorName("Jochen ", null, "Buck "), null));
+		sanitizedAuthorMap.put(levin, new ReCiterAuthor(new AuthorName("Lonny", "R", "Levin"), null));
+		articleAuthors.setSanitizedAuthorMap(sanitizedAuthorMap);
+		reCiterArticle.setArticleCoAuthors(articleAuthors);
+
+		ReCiterArticle otherArticle = new ReCiterArticle(1L);
+		Map<ReCiterArticle, ArticleAuthorIndex> articleAuthorIndexes = ArticleAuthorIndex.of(Arrays.asList(reCiterArticle, otherArticle));
+		assertEquals(2, articleAuthorIndexes.size());
+		assertEquals(0, articleAuthorIndexes.get(otherArticle).size());
+		ArticleAuthorIndex authorIndex = articleAuthorIndexes.get(reCiterArticle);
+		assertEquals(2, authorIndex.size());
+		assertArrayEquals(new int[] {1}, authorIndex.getPositionsByLastName("LEVIN"));
+
+		List<Entry<ReCiterAuthor, ReCiterAuthor>> byLastName = authorIndex.getSanitizedAuthorsByTrimmedLastName(" buck");
+		assertEquals(1, byLastName.size());
+		assertSame(buck, byLastName.get(0).getKey());
+		List<Entry<ReCiterAuthor, ReCiterAuthor>> byFirstName = authorIndex.getSanitizedAuthorsByTrimmedFirstName("lonny");
+		assertEquals(1, byFirstName.size());
+		assertSame(levin, byFirstName.get(0).getKey());
+		assertTrue(authorIndex.getSanitizedAuthorsByTrimmedLastName("Smith").isEmpty());
+		assertTrue(authorIndex.getSanitizedAuthorsByTrimmedFirstName(null).isEmpty());
+	}
+
+	@Test
+	public final void foldCaseMatchesEqualsIgnoreCaseTest() {
+		int[] codePoints = "aAbB İiıIßsſSKKkµμΜ".codePoints().toArray();
+		Random random = new Random(7);
+		for(int t = 0; t < 20000; t++) {
+			String s = randomText(random, codePoints);
+			String other = randomText(random, codePoints);
+			assertEquals(s + " / " + other, s.equalsIgnoreCase(other), ArticleAuthorIndex.foldCase(s).equals(ArticleAuthorIndex.foldCase(other)));
+		}
+	}
+
+	private static String randomText(Random random, int[] codePoints) {
+		int length = random.nextInt(4);
+		StringBuilder text = new StringBuilder();
+		for(int i = 0; i < length; i++) {
+			text.appendCodePoint(codePoints[random.nextInt(codePoints.length)]);
+		}
+		return text.toString();
+	}
+}
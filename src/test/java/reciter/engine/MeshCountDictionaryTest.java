@@ -0,0 +1,54 @@
+package reciter.engine;
+
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class MeshCountDictionaryTest {
+
+	@Test
+	public final void lookupMatchesMapTest() {
+		Map<String, Long> meshCountMap = new HashMap<>();
+		for(int i = 0; i < 5000; i++) {
+			meshCountMap.put("Descriptor " + i, (long) i * 7);
+		}
+		meshCountMap.put("Humans", 1000000L);
+		meshCountMap.put("", 3L);
+		MeshCountDictionary meshCounts = MeshCountDictionary.build(meshCountMap);
+
+		assertEquals(meshCountMap.size(), meshCounts.size());
+		for(Map.Entry<String, Long> meshCount: meshCountMap.entrySet()) {
+			int id = meshCounts.getId(meshCount.getKey());
+			assertNotEquals(MeshCountDictionary.NOT_FOUND, id);
+			assertEquals(meshCount.getKey(), meshCounts.getDescriptor(id));
+			assertEquals(meshCount.getValue().longValue(), meshCounts.getCount(id));
+			assertEquals(meshCount.getValue(), meshCounts.getCount(meshCount.getKey()));
+		}
+		assertNull(meshCounts.getCount("Descriptor 5000"));
+		assertFalse(meshCounts.contains("humans"));
+		assertFalse(meshCounts.contains(null));
+		assertTrue(meshCounts.isCountBelow("Descriptor 10", 4000L));
+		assertFalse(meshCounts.isCountBelow("Humans", 4000L));
+		assertFalse(meshCounts.isCountBelow("Unknown", 4000L));
+	}
+
+	@Test
+	public final void idsFollowDescriptorOrderTest() {
+		MeshCountDictionary meshCounts = MeshCountDictionary.builder(3)
+				.add("Apoptosis", 5L)
+				.add("Brain", 6L)
+				.add("Cells", 7L)
+				.build();
+		assertEquals(0, meshCounts.getId("Apoptosis"));
+		assertEquals(1, meshCounts.getId("Brain"));
+		assertEquals(2, meshCounts.getId("Cells"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public final void unsortedDescriptorsAreRejectedTest() {
+		MeshCountDictionary.builder(2).add("Brain", 1L).add("Apoptosis", 2L);
+	}
+}
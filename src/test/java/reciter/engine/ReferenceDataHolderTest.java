@@ -0,0 +1,31 @@
+package reciter.engine;
+
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class ReferenceDataHolderTest {
+
+	private final ReferenceData original = ReferenceDataHolder.getCurrent();
+
+	@After
+	public void restore() {
+		ReferenceDataHolder.swap(original);
+	}
+
+	@Test
+	public final void pinnedRunKeepsItsVersionTest() {
+		ReferenceData first = new ReferenceData(1L, "dynamodb", null, null, MeshCountDictionary.build(new HashMap<>()), null, null);
+		ReferenceData second = new ReferenceData(2L, "dynamodb", null, null, MeshCountDictionary.build(new HashMap<>()), null, null);
+		ReferenceDataHolder.swap(first);
+		try (ReferenceDataHolder.Pin pin = ReferenceDataHolder.pin()) {
+			assertSame(first, ReferenceDataHolder.swap(second));
+			assertSame(first, ReferenceDataHolder.get());
+			assertSame(second, ReferenceDataHolder.getCurrent());
+		}
+		assertSame(second, ReferenceDataHolder.get());
+	}
+}
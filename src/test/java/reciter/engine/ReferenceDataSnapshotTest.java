@@ -0,0 +1,77 @@
+package reciter.engine;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import reciter.database.dynamodb.model.Gender;
+import reciter.database.dynamodb.model.GenderEnum;
+import reciter.database.dynamodb.model.ScienceMetrix;
+import reciter.database.dynamodb.model.ScienceMetrixDepartmentCategory;
+
+public class ReferenceDataSnapshotTest {
+
+	@Test
+	public final void snapshotRoundTripTest() throws IOException {
+		ScienceMetrix scienceMetrix = new ScienceMetrix();
+		scienceMetrix.setSmsid(1L);
+		scienceMetrix.setIssn("0028-0836");
+		scienceMetrix.setEissn(null);
+		scienceMetrix.setPublicationName("Nature");
+		scienceMetrix.setScienceMatrixSubfieldId("42");
+		scienceMetrix.setScienceMetrixSubfield("General Science & Technology");
+		ScienceMetrixDepartmentCategory category = new ScienceMetrixDepartmentCategory();
+		category.setPk(7);
+		category.setLogOddsRatio(1.25);
+		category.setPrimaryDepartment("Medicine");
+		category.setScienceMetrixJournalSubfield("General Science & Technology");
+		category.setScienceMetrixJournalSubfieldId(42);
+		Map<String, Long> meshCountMap = new HashMap<>();
+		meshCountMap.put("Humans", 1000000L);
+		meshCountMap.put("M\u00fcller Cells", 12L);
+		List<Gender> genders = Arrays.asList(new Gender("1", "paul", GenderEnum.M, 0.99), new Gender("2", "mary", GenderEnum.F, 0.98));
+		ReferenceData referenceData = new ReferenceData(123456789L, "dynamodb", Arrays.asList(scienceMetrix), Arrays.asList(category), MeshCountDictionary.build(meshCountMap), genders, null);
+
+		Path snapshot = Files.createTempFile("reference-data", ".bin");
+		try {
+			ReferenceDataSnapshot.write(referenceData, "0f4d7c9e-reference-data", snapshot);
+			ReferenceData read = ReferenceDataSnapshot.read(snapshot);
+
+			assertEquals(123456789L, read.getVersion());
+			assertEquals(referenceData.getScienceMetrixJournals(), read.getScienceMetrixJournals());
+			assertEquals(referenceData.getScienceMetrixDepartmentCategories(), read.getScienceMetrixDepartmentCategories());
+			assertEquals(meshCountMap.size(), read.getMeshCounts().size());
+			for(Map.Entry<String, Long> meshCount: meshCountMap.entrySet()) {
+				assertEquals(meshCount.getValue(), read.getMeshCounts().getCount(meshCount.getKey()));
+			}
+			assertEquals(genders, read.getGenders());
+			assertNull(read.getAfiliationNameToAfidMap());
+			assertEquals("0f4d7c9e-reference-data", ReferenceDataSnapshot.readSourceVersion(snapshot));
+		} finally {
+			Files.deleteIfExists(snapshot);
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public final void corruptSnapshotIsRejectedTest() throws IOException {
+		ReferenceData referenceData = new ReferenceData(1L, "dynamodb", null, null, MeshCountDictionary.build(new HashMap<>()), null, null);
+		Path snapshot = Files.createTempFile("reference-data", ".bin");
+		try {
+			ReferenceDataSnapshot.write(referenceData, null, snapshot);
+			byte[] bytes = Files.readAllBytes(snapshot);
+			bytes[10] ^= 0x1;
+			Files.write(snapshot, bytes);
+			ReferenceDataSnapshot.read(snapshot);
+		} finally {
+			Files.deleteIfExists(snapshot);
+		}
+	}
+}
@@ -44,6 +44,19 @@ public class AuthorNameSanitizationUtilsTest {
 		//fail("Not yet implemented");
 	}
 
+	@Test
+	public final void testNameNormalizationCacheMatchesSanitization() {
+		String suffixes = "Jr,MD PhD,MD-PhD,PhD,MD,III,II,Sr";
+		NameNormalizationCache nameNormalizationCache = new NameNormalizationCache(suffixes);
+		for(String name: new String[] {"Chi-chao", "Eliot A.", "Garcia-Marquez, Jr", "Del Cole", "M\u00fcller"}) {
+			assertEquals(AuthorNameSanitizationUtils.sanitizeArticleFirstName(name), nameNormalizationCache.sanitizeArticleFirstName(name));
+			assertEquals(AuthorNameSanitizationUtils.sanitizeArticleLastName(name, suffixes), nameNormalizationCache.sanitizeArticleLastName(name));
+			assertSame(nameNormalizationCache.sanitizeArticleLastName(name), nameNormalizationCache.sanitizeArticleLastName(name));
+		}
+		assertEquals("GarciaMarquez", nameNormalizationCache.sanitizeArticleLastName("Garcia-Marquez, Jr"));
+		assertEquals("Muller", nameNormalizationCache.sanitizeArticleFirstName("M\u00fcller"));
+	}
+
 	@Test
 	public final void testCheckToIgnoreNameVariants() {
 		Map<AuthorName, AuthorName> sanitizedIdentityAuthorMap = new HashMap<AuthorName, AuthorName>(); 
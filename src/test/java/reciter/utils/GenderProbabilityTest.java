@@ -7,6 +7,7 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.BeforeClass;
@@ -18,6 +19,7 @@ import com.google.common.reflect.TypeToken;
 
 import lombok.extern.slf4j.Slf4j;
 import reciter.database.dynamodb.model.Gender;
+import reciter.database.dynamodb.model.GenderEnum;
 import reciter.engine.EngineParameters;
 import reciter.model.article.ReCiterArticle;
 import reciter.model.identity.AuthorName;
@@ -52,6 +54,23 @@ public class GenderProbabilityTest {
 		assertNotNull(identity.getGender());
 	}
 	
+	@Test
+	public final void genderIndexMatchesAverageOverGenderListTest() {
+		EngineParameters.setGenders(GenderProbabilityTest.genders);
+		List<String> names = Arrays.asList("Paul", "james", "ANDREW");
+		
+		double sum = 0;
+		int count = 0;
+		for(Gender gender: GenderProbabilityTest.genders) {
+			if(names.stream().anyMatch(name -> name.equalsIgnoreCase(gender.getName().trim()))) {
+				sum += (gender.getGender() == GenderEnum.F) ? (1 - gender.getProbability()) : gender.getProbability();
+				count++;
+			}
+		}
+		assertTrue("Gender list has matching names", count > 0);
+		assertEquals(sum / count, EngineParameters.getGenderIndex().getAverageProbability(names).getProbability(), 1e-9);
+		assertNull(EngineParameters.getGenderIndex().getAverageProbability(Arrays.asList("zzzqx")));
+	}
 	
 	@Test
 	public final void getGenderArticleProbabilityTest() {
@@ -0,0 +1,57 @@
+package reciter.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+
+public class KeywordMatcherTest {
+
+	@Test
+	public final void departmentPhrasesTest() {
+		List<String> keywords = Arrays.asList("Department of Pharmacology", "Pharmacology Department", "Dept of Medicine", "Program in Neuroscience");
+		String affiliation = "DEPARTMENT OF PHARMACOLOGY, Weill Cornell Medical College. New York NY 10021 USA. jobuck@med.cornell.edu";
+
+		BitSet ignoringCase = new KeywordMatcher(keywords, true).find(affiliation);
+		assertTrue(ignoringCase.get(0));
+		assertFalse(ignoringCase.get(1));
+		assertFalse(ignoringCase.get(2));
+		assertFalse(ignoringCase.get(3));
+
+		assertTrue(new KeywordMatcher(keywords, false).find(affiliation).isEmpty());
+	}
+
+	@Test
+	public final void findMatchesContainsTest() {
+		Random random = new Random(7);
+		for(int t = 0; t < 2000; t++) {
+			List<String> keywords = new ArrayList<>();
+			int keywordCount = 1 + random.nextInt(6);
+			for(int i = 0; i < keywordCount; i++) {
+				keywords.add(randomText(random, 4));
+			}
+			String text = randomText(random, 30);
+			BitSet ignoringCase = new KeywordMatcher(keywords, true).find(text);
+			BitSet matchingCase = new KeywordMatcher(keywords, false).find(text);
+			for(int i = 0; i < keywordCount; i++) {
+				assertEquals(text + " / " + keywords.get(i), StringUtils.containsIgnoreCase(text, keywords.get(i)), ignoringCase.get(i));
+				assertEquals(text + " / " + keywords.get(i), text.contains(keywords.get(i)), matchingCase.get(i));
+			}
+		}
+	}
+
+	private static String randomText(Random random, int maxLength) {
+		int length = random.nextInt(maxLength + 1);
+		StringBuilder text = new StringBuilder(length);
+		for(int i = 0; i < length; i++) {
+			text.append("abAB \u0130i".charAt(random.nextInt(7)));
+		}
+		return text.toString();
+	}
+}
@@ -0,0 +1,49 @@
+package reciter.utils;
+
+import static org.junit.Assert.*;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class NamePatternsTest {
+
+	private static final String SUFFIXES = "Jr,MD PhD,MD-PhD,PhD,MD,III,II,Sr";
+
+	private static final List<String> NAMES = Arrays.asList("", " ", "Chi-chao", "Minh-Nhut Yvonne", "Eliot A.", "Wing Tak \"Jack\"", "Qihui (Jim)",
+			"Del Cole", "Garcia-Marquez, Jr", "Smith MD PhD", "Smith, MD-PhD", "Gates III", "Hill", "O'Brien", "M\u00fcller\tSr",
+			"Zo\u00eb", "line\nbreak", "a+b c", " leading space", "trailing  ");
+
+	@Test
+	public final void charScansMatchRegexReplacementsTest() {
+		for(String name: NAMES) {
+			assertEquals(name, name.replaceAll("[-.\"() ]", ""), NamePatterns.removeChars(name, NamePatterns.ARTICLE_FIRST_NAME_CHARS));
+			assertEquals(name, name.replaceAll("[-.,()\\s]", ""), NamePatterns.removeCharsAndWhitespace(name, NamePatterns.IDENTITY_NAME_CHARS));
+			assertEquals(name, name.replaceAll("[-.\",()\\s]", ""), NamePatterns.removeCharsAndWhitespace(name, NamePatterns.NAME_CHARS));
+			assertArrayEquals(name, name.replaceAll("[^A-Za-z0-9\\s+]", "").split("\\s+"), NamePatterns.tokenize(name));
+			String nfd = Normalizer.normalize(name, Normalizer.Form.NFD);
+			assertEquals(name, nfd.replaceAll("\\p{InCombiningDiacriticalMarks}+", ""), NamePatterns.deAccent(name));
+		}
+	}
+
+	@Test
+	public final void stripLastNameMatchesRegexReplacementTest() {
+		String suffixRegex = ",Jr|, Jr|,MD PhD|, MD PhD|,MD-PhD|, MD-PhD|,PhD|, PhD|,MD|, MD|,III|, III|,II|, II|,Sr|, Sr|,Jr|MD PhD|MD-PhD|PhD|MD|III|II|Sr";
+		assertEquals(suffixRegex, NamePatterns.suffixRegex(SUFFIXES));
+		for(String name: NAMES) {
+			assertEquals(name, name.replaceAll("[-.\",()\\s]|(" + suffixRegex + ")$", ""), NamePatterns.stripLastName(name, NamePatterns.NAME_CHARS, SUFFIXES));
+			assertEquals(name, name.replaceAll("[-.,,()\\s]|(" + suffixRegex + ")$", ""), NamePatterns.stripLastName(name, NamePatterns.IDENTITY_NAME_CHARS, SUFFIXES));
+		}
+	}
+
+	@Test
+	public final void prefixAndSuffixMatchTest() {
+		String[][] cases = {{"paulajames", "paul", "james"}, {"paul", "paul", ""}, {"paulj", "paul", "j"}, {"pau", "paul", ""},
+				{"jamespaul", "", "paul"}, {"paul\njames", "paul", "james"}, {"ab", "ab", "b"}, {"c++", "c+", ""}, {"a.b", "a.", ""}};
+		for(String[] c: cases) {
+			assertEquals(Arrays.toString(c), c[0].matches(c[1] + "(.*)" + c[2]), NamePatterns.matchesPrefixAndSuffix(c[0], c[1], c[2]));
+		}
+	}
+}
@@ -0,0 +1,70 @@
+package reciter.utils;
+
+/**
+ * Microbenchmark of {@link StringSimilarity} against the previous Levenshtein implementation, which allocated two rows per
+ * comparison and always computed the full distance. It is not run as part of the tests; run the main method from the test
+ * classpath e.g. <code>java -cp target/classes:target/test-classes reciter.utils.StringSimilarityBenchmark</code>
+ */
+public class StringSimilarityBenchmark {
+
+	private static final String[][] NAME_PAIRS = {
+			{"Kaushal", "Kaushai"}, {"Nassar", "Nasser"}, {"Paula", "Pauly"}, {"Jeffery", "Jeffrey"},
+			{"Antony", "Anthony"}, {"Elmenyar", "ElMenyar"}, {"Somersan", "SomersanKarakaya"}, {"Wong", "Wang"},
+			{"ManneyCarrington", "MannyCarrington"}, {"Christopher", "Kristoffer"}, {"Alexander", "Smith"}, {"Zhang", "Zhao"}
+	};
+
+	private static final int WARMUP_ITERATIONS = 200000;
+
+	private static final int MEASURED_ITERATIONS = 2000000;
+
+	private static volatile int sink;
+
+	public static void main(String[] args) {
+		for(int round = 0; round < 3; round++) {
+			run("previous full distance", WARMUP_ITERATIONS, MEASURED_ITERATIONS, StringSimilarityBenchmark::previousDistance);
+			run("full distance", WARMUP_ITERATIONS, MEASURED_ITERATIONS, StringSimilarity::levenshteinDistance);
+			run("distance with threshold 1", WARMUP_ITERATIONS, MEASURED_ITERATIONS, (lhs, rhs) -> StringSimilarity.levenshteinDistance(lhs, rhs, 1));
+			run("distance with threshold 2", WARMUP_ITERATIONS, MEASURED_ITERATIONS, (lhs, rhs) -> StringSimilarity.levenshteinDistance(lhs, rhs, 2));
+		}
+	}
+
+	private interface Distance {
+		int apply(String lhs, String rhs);
+	}
+
+	private static void run(String name, int warmupIterations, int measuredIterations, Distance distance) {
+		int result = 0;
+		for(int i = 0; i < warmupIterations; i++) {
+			String[] pair = NAME_PAIRS[i % NAME_PAIRS.length];
+			result += distance.apply(pair[0], pair[1]);
+		}
+		long start = System.nanoTime();
+		for(int i = 0; i < measuredIterations; i++) {
+			String[] pair = NAME_PAIRS[i % NAME_PAIRS.length];
+			result += distance.apply(pair[0], pair[1]);
+		}
+		long elapsed = System.nanoTime() - start;
+		sink = result;
+		System.out.printf("%-28s %8.1f ns/op%n", name, (double) elapsed / measuredIterations);
+	}
+
+	private static int previousDistance(CharSequence lhs, CharSequence rhs) {
+		int len0 = lhs.length() + 1;
+		int len1 = rhs.length() + 1;
+		int[] cost = new int[len0];
+		int[] newcost = new int[len0];
+		for (int i = 0; i < len0; i++) cost[i] = i;
+		for (int j = 1; j < len1; j++) {
+			newcost[0] = j;
+			for(int i = 1; i < len0; i++) {
+				int match = (lhs.charAt(i - 1) == rhs.charAt(j - 1)) ? 0 : 1;
+				int cost_replace = cost[i - 1] + match;
+				int cost_insert  = cost[i] + 1;
+				int cost_delete  = newcost[i - 1] + 1;
+				newcost[i] = Math.min(Math.min(cost_insert, cost_delete), cost_replace);
+			}
+			int[] swap = cost; cost = newcost; newcost = swap;
+		}
+		return cost[len0 - 1];
+	}
+}
@@ -0,0 +1,61 @@
+package reciter.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class StringSimilarityTest {
+
+	@Test
+	public final void boundedDistanceMatchesFullDistanceTest() {
+		Random random = new Random(42);
+		for(int t = 0; t < 20000; t++) {
+			String lhs = randomName(random);
+			String rhs = randomName(random);
+			int distance = fullDistance(lhs, rhs);
+			assertEquals(lhs + "/" + rhs, distance, StringSimilarity.levenshteinDistance(lhs, rhs));
+			for(int threshold = 0; threshold <= 4; threshold++) {
+				int expected = (distance <= threshold) ? distance : threshold + 1;
+				assertEquals(lhs + "/" + rhs + " threshold " + threshold, expected, StringSimilarity.levenshteinDistance(lhs, rhs, threshold));
+				assertEquals(distance <= threshold, StringSimilarity.isWithinDistance(lhs, rhs, threshold));
+			}
+		}
+	}
+
+	@Test
+	public final void namesTest() {
+		assertEquals(1, StringSimilarity.levenshteinDistance("Antony", "Anthony"));
+		assertEquals(2, StringSimilarity.levenshteinDistance("Jeffery", "Jeffrey"));
+		assertTrue(StringSimilarity.isWithinDistance("Kaushal", "Kaushai", 1));
+		assertFalse(StringSimilarity.isWithinDistance("Nassar", "Nasr", 1));
+		assertEquals(2, StringSimilarity.levenshteinDistance("Christopher", "Kristoffer", 1));
+		assertEquals(0, StringSimilarity.levenshteinDistance("", "", 0));
+		assertEquals(3, StringSimilarity.levenshteinDistance("", "abc"));
+	}
+
+	private static String randomName(Random random) {
+		int length = random.nextInt(9);
+		StringBuilder name = new StringBuilder(length);
+		for(int i = 0; i < length; i++) {
+			name.append("abcAB-".charAt(random.nextInt(6)));
+		}
+		return name.toString();
+	}
+
+	private static int fullDistance(String lhs, String rhs) {
+		int[][] d = new int[lhs.length() + 1][rhs.length() + 1];
+		for(int i = 0; i <= lhs.length(); i++) {
+			for(int j = 0; j <= rhs.length(); j++) {
+				if(i == 0 || j == 0) {
+					d[i][j] = i + j;
+				} else {
+					int cost = (lhs.charAt(i - 1) == rhs.charAt(j - 1)) ? 0 : 1;
+					d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+				}
+			}
+		}
+		return d[lhs.length()][rhs.length()];
+	}
+}